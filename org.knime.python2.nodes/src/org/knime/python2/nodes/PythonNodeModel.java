@@ -45,19 +45,39 @@
 
 package org.knime.python2.nodes;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.knime.base.node.util.exttool.ExtToolOutputNodeModel;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.node.workflow.FlowVariable.Type;
+import org.knime.core.util.DuplicateChecker;
 import org.knime.python2.config.PythonSourceCodeConfig;
+import org.knime.python2.generic.VariableNames;
 import org.knime.python2.kernel.FlowVariableOptions;
+import org.knime.python2.kernel.PythonCancelable;
+import org.knime.python2.kernel.PythonCanceledExecutionException;
+import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
+import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonKernelPool;
+import org.knime.python2.kernel.PythonOutputBuffer;
+import org.knime.python2.kernel.PythonPreparedScript;
 
 /**
  * Base model for all python related nodes. Provides methods for loading and saving settings and for pushing a
@@ -68,6 +88,25 @@
  */
 public abstract class PythonNodeModel<Config extends PythonSourceCodeConfig> extends ExtToolOutputNodeModel {
 
+    private static final String INFER_OUTPUT_SPEC_TIMEOUT_VM_OPT = "knime.python.inferspec.timeout";
+
+    private static final long DEFAULT_INFER_OUTPUT_SPEC_TIMEOUT_IN_MS = 10000;
+
+    private static final long INFER_OUTPUT_SPEC_TIMEOUT_IN_MS = getInferOutputSpecTimeout();
+
+    private static long getInferOutputSpecTimeout() {
+        final String defaultTimeout = Long.toString(DEFAULT_INFER_OUTPUT_SPEC_TIMEOUT_IN_MS);
+        try {
+            final String timeout = System.getProperty(INFER_OUTPUT_SPEC_TIMEOUT_VM_OPT, defaultTimeout);
+            return Long.parseLong(timeout);
+        } catch (final NumberFormatException ex) {
+            NodeLogger.getLogger(PythonNodeModel.class).warn("The VM option -D" + INFER_OUTPUT_SPEC_TIMEOUT_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultTimeout
+                + " ms.");
+            return DEFAULT_INFER_OUTPUT_SPEC_TIMEOUT_IN_MS;
+        }
+    }
+
     Config m_config = createConfig();
 
     /**
@@ -154,6 +193,156 @@ protected void addNewVariables(final Collection<FlowVariable> newVariables) {
         }
     }
 
+    /**
+     * Infers the spec of the output table during configuration by executing the configured script on an empty table
+     * of the given spec. Only done if {@link PythonSourceCodeConfig#getInferOutputSpec() enabled}. The inferred spec
+     * is only correct if the script produces the same columns for an empty input as for the actual input.
+     * <P>
+     * Since configuration cannot be canceled by the user, the dry run is canceled once it takes longer than the time
+     * limit that can be set via the VM option {@value #INFER_OUTPUT_SPEC_TIMEOUT_VM_OPT} (in milliseconds).
+     *
+     * @param inSpec the spec of the input table, may be <code>null</code>
+     * @param variableNames the names of the flow variables, the input table, and the output table in the workspace
+     * @return the inferred spec, <code>null</code> if inference is disabled, the input spec is not available, or the
+     *         spec could not be inferred (a warning is set in the latter case)
+     * @since 3.8
+     */
+    protected DataTableSpec inferOutputSpec(final DataTableSpec inSpec, final VariableNames variableNames) {
+        if (!getConfig().getInferOutputSpec() || inSpec == null) {
+            return null;
+        }
+        final long deadline = System.currentTimeMillis() + INFER_OUTPUT_SPEC_TIMEOUT_IN_MS;
+        final PythonCancelable cancelable = () -> {
+            if (System.currentTimeMillis() > deadline) {
+                throw new PythonCanceledExecutionException("Inferring the output table spec took longer than "
+                    + INFER_OUTPUT_SPEC_TIMEOUT_IN_MS + " ms.");
+            }
+        };
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
+            kernel.putFlowVariables(variableNames.getFlowVariables(), getAvailableFlowVariables().values());
+            kernel.putDataRows(variableNames.getInputTables()[0], inSpec, Collections.emptyList(), cancelable);
+            kernel.execute(getConfig().getSourceCode(), cancelable);
+            final DataTableSpec outSpec = kernel.getDataTableSpec(variableNames.getOutputTables()[0], cancelable);
+            if (outSpec == null) {
+                setWarningMessage("The output table spec cannot be inferred since the types of some columns depend "
+                    + "on their values.");
+            }
+            return outSpec;
+        } catch (final PythonCanceledExecutionException ex) {
+            getLogger().debug(ex.getMessage(), ex);
+            setWarningMessage("The output table spec could not be inferred within " + INFER_OUTPUT_SPEC_TIMEOUT_IN_MS
+                + " ms. It is only known after execution.");
+            return null;
+        } catch (final Exception ex) {
+            getLogger().debug(ex.getMessage(), ex);
+            setWarningMessage("The output table spec could not be inferred: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Executes the given source code and displays its standard and error output as the external output of this node.
+     * The output is streamed into bounded {@link PythonOutputBuffer buffers} while the code runs instead of being
+     * returned as a whole once it is done. The external output is also set if the execution fails.
+     *
+     * @param kernel the kernel in which to execute the source code
+     * @param sourceCode the source code to execute
+     * @param exec the execution context of this node
+     * @throws Exception if the execution failed or was canceled
+     * @since 3.8
+     */
+    protected void executeScript(final PythonKernel kernel, final String sourceCode, final ExecutionContext exec)
+        throws Exception {
+        final PythonOutputBuffer stdout = new PythonOutputBuffer();
+        final PythonOutputBuffer stderr = new PythonOutputBuffer();
+        try {
+            // Kernels cache prepared scripts for their lifetime. Kernels that are reused across executions (see
+            // PythonModelKernelPool) therefore neither receive nor compile the same script again.
+            final PythonPreparedScript script = kernel.prepare(sourceCode);
+            kernel.executePrepared(script, new PythonExecutionMonitorCancelable(exec), stdout, stderr);
+        } finally {
+            setExternalOutput(stdout.getLines());
+            setExternalErrorOutput(stderr.getLines());
+        }
+    }
+
+    /**
+     * Executes the configured script once per chunk of the streamed input table. Each chunk of at most
+     * {@link PythonKernelOptions#getChunkSize()} rows is put into the workspace under the given input name, the script
+     * is executed, and the rows of the table the script assigned to the given output name are pushed to the output. At
+     * least one chunk is processed, even if the input is empty. The workspace is not reset in between chunks, so
+     * objects and flow variables put into it before are available in all executions. Standard and error output of all
+     * executions are collected in bounded buffers and displayed as the external output of this node.
+     * <P>
+     * The output tables of all chunks must have the same spec, and their row keys must be unique across all chunks.
+     *
+     * @param kernel the kernel in which to execute the script
+     * @param inputTableName the name of the input table in the workspace
+     * @param outputTableName the name of the output table in the workspace
+     * @param input the streamed input table
+     * @param output the streamed output table, is closed once all chunks were processed
+     * @param exec the execution context of this node
+     * @throws Exception if putting, executing, or getting a chunk failed, if the output of a chunk does not match that
+     *             of the first chunk, or if the execution was canceled
+     * @since 3.8
+     */
+    protected void executeStreamed(final PythonKernel kernel, final String inputTableName,
+        final String outputTableName, final RowInput input, final RowOutput output, final ExecutionContext exec)
+        throws Exception {
+        final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(exec);
+        final DataTableSpec inSpec = input.getDataTableSpec();
+        final int chunkSize = getKernelOptions().getChunkSize();
+        final List<DataRow> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+        final PythonOutputBuffer stdout = new PythonOutputBuffer();
+        final PythonOutputBuffer stderr = new PythonOutputBuffer();
+        final DuplicateChecker rowKeys = new DuplicateChecker();
+        DataTableSpec outSpec = null;
+        try {
+            // The script is only sent and compiled once, not once per chunk.
+            final PythonPreparedScript script = kernel.prepare(getConfig().getSourceCode());
+            long rowsDone = 0;
+            DataRow next = input.poll();
+            boolean isFirstChunk = true;
+            while (isFirstChunk || next != null) {
+                isFirstChunk = false;
+                chunk.clear();
+                while (next != null && chunk.size() < chunkSize) {
+                    chunk.add(next);
+                    next = input.poll();
+                }
+                kernel.putDataRows(inputTableName, inSpec, chunk, cancelable);
+                kernel.executePrepared(script, cancelable, stdout, stderr);
+                final BufferedDataTable outputChunk =
+                    kernel.getDataTable(outputTableName, exec, exec.createSilentSubProgress(0));
+                if (outSpec == null) {
+                    outSpec = outputChunk.getDataTableSpec();
+                } else if (!outSpec.equalStructure(outputChunk.getDataTableSpec())) {
+                    throw new IllegalStateException("The output table of the chunk starting at row " + (rowsDone + 1)
+                        + " does not have the same columns as that of the first chunk. Expected: " + outSpec
+                        + ", actual: " + outputChunk.getDataTableSpec());
+                }
+                try (final CloseableRowIterator rows = outputChunk.iterator()) {
+                    while (rows.hasNext()) {
+                        final DataRow row = rows.next();
+                        rowKeys.addKey(row.getKey().getString());
+                        output.push(row);
+                    }
+                }
+                exec.clearTable(outputChunk);
+                rowsDone += chunk.size();
+                exec.setMessage(rowsDone + " rows processed");
+            }
+            // Detects duplicates that were already swapped to disk.
+            rowKeys.checkForDuplicates();
+            input.close();
+            output.close();
+        } finally {
+            rowKeys.clear();
+            setExternalOutput(stdout.getLines());
+            setExternalErrorOutput(stderr.getLines());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
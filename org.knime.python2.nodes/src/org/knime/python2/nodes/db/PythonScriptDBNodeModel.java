@@ -49,7 +49,6 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 
@@ -67,10 +66,10 @@
 import org.knime.core.node.port.database.reader.DBReader;
 import org.knime.core.node.workflow.CredentialsProvider;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.kernel.PythonKernelCleanupException;
 import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 
 /**
@@ -98,16 +97,14 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
 
         final DatabasePortObject dbObj = (DatabasePortObject)inData[0];
         checkDBConnection(dbObj.getSpec());
-        try(final PythonKernel kernel = new PythonKernel(options)) {
+        try(final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(options)) {
             kernel.putFlowVariables(PythonScriptDBNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             final CredentialsProvider cp = getCredentialsProvider();
             final DatabaseQueryConnectionSettings connIn = dbObj.getConnectionSettings(cp);
             final Collection<String> jars = getJars(connIn);
             kernel.putSql(PythonScriptDBNodeConfig.getVariableNames().getGeneralInputObjects()[0], connIn, cp, jars);
-            final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScriptDBNodeConfig.getVariableNames().getFlowVariables());
             addNewVariables(variables);
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.learner2;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.UUID;
 
 import org.knime.core.data.filestore.FileStore;
@@ -60,10 +58,9 @@
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
-import org.knime.python2.port.PickledObject;
 import org.knime.python2.port.PickledObjectFileStorePortObject;
 
 /**
@@ -77,25 +74,23 @@ protected PythonLearnerNodeModel2() {
 
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        PickledObject object = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        PickledObjectFileStorePortObject object = null;
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonLearnerNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonLearnerNodeConfig2.getVariableNames().getInputTables()[0],
                 (BufferedDataTable)inData[0], exec.createSubProgress(0.3));
-            final String[] output =
-                kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             exec.createSubProgress(0.6).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonLearnerNodeConfig2.getVariableNames().getFlowVariables());
-            object = kernel.getObject(PythonLearnerNodeConfig2.getVariableNames().getOutputObjects()[0], exec);
+            final FileStore fileStore = exec.createFileStore(UUID.randomUUID().toString());
+            object =
+                kernel.getObject(PythonLearnerNodeConfig2.getVariableNames().getOutputObjects()[0], fileStore, exec);
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
         }
-        final FileStore fileStore = exec.createFileStore(UUID.randomUUID().toString());
-        return new PortObject[]{new PickledObjectFileStorePortObject(object, fileStore)};
+        return new PortObject[]{object};
     }
 
     @Override
@@ -49,9 +49,7 @@
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
@@ -60,8 +58,8 @@
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 import org.knime.python2.port.PickledObject;
 import org.knime.python2.port.PickledObjectPortObject;
@@ -102,12 +100,10 @@ protected PythonObjectReaderNodeModel(final NodeCreationContext context) {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         PickledObject object = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonObjectReaderNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             exec.createSubProgress(0.9).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonObjectReaderNodeConfig.getVariableNames().getFlowVariables());
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.objectwriter2;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
@@ -57,8 +55,8 @@
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 import org.knime.python2.port.PickledObjectFileStorePortObject;
 
@@ -73,16 +71,13 @@ protected PythonObjectWriterNodeModel2() {
 
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonObjectWriterNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putObject(PythonObjectWriterNodeConfig2.getVariableNames().getInputObjects()[0],
-                ((PickledObjectFileStorePortObject)inData[0]).getPickledObject(), exec);
+                (PickledObjectFileStorePortObject)inData[0], exec);
             exec.createSubProgress(0.1).setProgress(1);
-            final String[] output =
-                kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonObjectWriterNodeConfig2.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.9).setProgress(1);
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.predictor;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
@@ -58,8 +56,8 @@
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 import org.knime.python2.port.PickledObjectPortObject;
 
@@ -86,7 +84,7 @@ protected PythonPredictorNodeModel() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putObject(PythonPredictorNodeConfig.getVariableNames().getInputObjects()[0],
@@ -94,9 +92,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             exec.createSubProgress(0.1).setProgress(1);
             kernel.putDataTable(PythonPredictorNodeConfig.getVariableNames().getInputTables()[0],
                 (BufferedDataTable)inData[1], exec.createSubProgress(0.2));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             exec.createSubProgress(0.4).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables());
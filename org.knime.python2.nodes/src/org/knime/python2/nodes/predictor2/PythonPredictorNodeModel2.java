@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.predictor2;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
@@ -57,13 +55,26 @@
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonModelKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 import org.knime.python2.port.PickledObjectFileStorePortObject;
 
 /**
+ * The model is put into the workspace as {@link PythonKernel#putResidentObject(String,
+ * PickledObjectFileStorePortObject, org.knime.core.node.ExecutionMonitor) resident object} if kernels are kept by the
+ * {@link PythonModelKernelPool} (opt-in). In that case, the script's <code>input_object</code> is the same live
+ * object in each execution that reuses a kernel, so changes the script makes to it persist across executions.
+ *
  * @author Patrick Winter, KNIME AG, Zurich, Switzerland
  */
 class PythonPredictorNodeModel2 extends PythonNodeModel<PythonPredictorNodeConfig2> {
@@ -76,28 +87,73 @@ protected PythonPredictorNodeModel2() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        final PickledObjectFileStorePortObject model = (PickledObjectFileStorePortObject)inData[0];
+        try (final PythonModelKernelPool.Lease lease =
+            PythonModelKernelPool.getInstance().getKernel(getKernelOptions(), model.getKey())) {
+            final PythonKernel kernel = lease.getKernel();
             kernel.putFlowVariables(PythonPredictorNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putObject(PythonPredictorNodeConfig2.getVariableNames().getInputObjects()[0],
-                ((PickledObjectFileStorePortObject)inData[0]).getPickledObject(), exec);
+            kernel.putResidentObject(PythonPredictorNodeConfig2.getVariableNames().getInputObjects()[0], model, exec);
             exec.createSubProgress(0.1).setProgress(1);
             kernel.putDataTable(PythonPredictorNodeConfig2.getVariableNames().getInputTables()[0],
                 (BufferedDataTable)inData[1], exec.createSubProgress(0.2));
-            final String[] output =
-                kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             exec.createSubProgress(0.4).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonPredictorNodeConfig2.getVariableNames().getFlowVariables());
             table = kernel.getDataTable(PythonPredictorNodeConfig2.getVariableNames().getOutputTables()[0], exec,
                 exec.createSubProgress(0.3));
             addNewVariables(variables);
+            lease.setReusable();
         }
         return new BufferedDataTable[]{table};
     }
 
+    /**
+     * {@inheritDoc} The table input is only streamable if {@link PythonPredictorNodeConfig2#getStreamingEnabled()
+     * streaming} is enabled.
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        if (!getConfig().getStreamingEnabled()) {
+            return super.getInputPortRoles();
+        }
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_NONSTREAMABLE,
+            InputPortRole.NONDISTRIBUTED_STREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc} The model is put into the workspace once, the script is executed once per chunk of the input
+     * table.
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final PickledObjectFileStorePortObject model =
+                    (PickledObjectFileStorePortObject)((PortObjectInput)inputs[0]).getPortObject();
+                try (final PythonModelKernelPool.Lease lease =
+                    PythonModelKernelPool.getInstance().getKernel(getKernelOptions(), model.getKey())) {
+                    final PythonKernel kernel = lease.getKernel();
+                    kernel.putFlowVariables(PythonPredictorNodeConfig2.getVariableNames().getFlowVariables(),
+                        getAvailableFlowVariables().values());
+                    kernel.putResidentObject(PythonPredictorNodeConfig2.getVariableNames().getInputObjects()[0], model,
+                        exec);
+                    executeStreamed(kernel, PythonPredictorNodeConfig2.getVariableNames().getInputTables()[0],
+                        PythonPredictorNodeConfig2.getVariableNames().getOutputTables()[0], (RowInput)inputs[1],
+                        (RowOutput)outputs[0], exec);
+                    addNewVariables(
+                        kernel.getFlowVariables(PythonPredictorNodeConfig2.getVariableNames().getFlowVariables()));
+                    lease.setReusable();
+                }
+            }
+        };
+    }
+
     @Override
     protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
         return new PortObjectSpec[]{null};
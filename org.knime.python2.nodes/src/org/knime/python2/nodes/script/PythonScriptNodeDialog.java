@@ -81,6 +81,8 @@ protected PythonScriptNodeDialog() {
         m_sourceCodePanel = new PythonSourceCodePanel(this, PythonScriptNodeConfig.getVariableNames(),
             FlowVariableOptions.create(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.setInferOutputSpecVisible(true);
+        m_sourceCodeOptionsPanel.setStreamingEnabledVisible(true);
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-script");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
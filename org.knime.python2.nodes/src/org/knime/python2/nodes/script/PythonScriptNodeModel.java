@@ -47,18 +47,24 @@
  */
 package org.knime.python2.nodes.script;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 
 /**
@@ -82,14 +88,12 @@ protected PythonScriptNodeModel() {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec) throws Exception {
         BufferedDataTable table = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try(final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonScriptNodeConfig.getVariableNames().getInputTables()[0], inData[0],
                 exec.createSubProgress(0.3));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             exec.createSubProgress(0.4).setProgress(1);
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables());
@@ -100,12 +104,48 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         return new BufferedDataTable[]{table};
     }
 
+    /**
+     * {@inheritDoc} The input is only streamable if {@link PythonScriptNodeConfig#getStreamingEnabled() streaming} is
+     * enabled.
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        if (!getConfig().getStreamingEnabled()) {
+            return super.getInputPortRoles();
+        }
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_STREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc} The script is executed once per chunk of the input table.
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
+                    kernel.putFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables(),
+                        getAvailableFlowVariables().values());
+                    executeStreamed(kernel, PythonScriptNodeConfig.getVariableNames().getInputTables()[0],
+                        PythonScriptNodeConfig.getVariableNames().getOutputTables()[0], (RowInput)inputs[0],
+                        (RowOutput)outputs[0], exec);
+                    addNewVariables(
+                        kernel.getFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables()));
+                }
+            }
+        };
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
-        return new DataTableSpec[]{null};
+        return new DataTableSpec[]{inferOutputSpec(inSpecs[0], PythonScriptNodeConfig.getVariableNames())};
     }
 
     @Override
@@ -47,9 +47,7 @@
  */
 package org.knime.python2.nodes.script2in1out;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataTable;
@@ -57,8 +55,8 @@
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
-import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.nodes.PythonNodeModel;
 
 /**
@@ -83,16 +81,13 @@ protected PythonScript2In1OutNodeModel() {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().getNextKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonScript2In1OutNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putDataTable(PythonScript2In1OutNodeConfig.getVariableNames().getInputTables()[0], inData[0],
-                exec.createSubProgress(0.15));
-            kernel.putDataTable(PythonScript2In1OutNodeConfig.getVariableNames().getInputTables()[1], inData[1],
-                exec.createSubProgress(0.15));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+            // Both tables are transferred concurrently.
+            kernel.putDataTables(PythonScript2In1OutNodeConfig.getVariableNames().getInputTables(), inData,
+                exec.createSubProgress(0.3), Integer.MAX_VALUE);
+            executeScript(kernel, getConfig().getSourceCode(), exec);
             exec.createSubProgress(0.4).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonScript2In1OutNodeConfig.getVariableNames().getFlowVariables());
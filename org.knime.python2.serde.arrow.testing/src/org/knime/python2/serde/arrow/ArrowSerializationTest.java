@@ -46,8 +46,38 @@
  */
 package org.knime.python2.serde.arrow;
 
+import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_SERIALIZATION_OPTIONS;
+import static org.knime.python2.serde.SerializationTestUtil.assertRowsEqual;
+import static org.knime.python2.serde.SerializationTestUtil.createMissingsVector;
+import static org.knime.python2.serde.SerializationTestUtil.populateMissingsVectorIndex;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.python2.extensions.serializationlibrary.SerializationException;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibraryFactory;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
+import org.knime.python2.kernel.PythonCancelable;
+import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.serde.SerializationTest;
+import org.knime.python2.serde.SerializationTestUtil.RowListIterator;
 
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -59,4 +89,213 @@ public final class ArrowSerializationTest extends SerializationTest {
 	protected Class<? extends SerializationLibraryFactory> getSerializationLibraryFactoryClass() {
 		return ArrowSerializationFactory.class;
 	}
+
+	/**
+	 * Tests Java side only. Missing list and set cells between present ones must not shift the values of the
+	 * subsequent cells of Arrow's native list vectors.
+	 */
+	@Test
+	public void testInteriorMissingCollectionCellsOfflineSerializationDeserializationIdentity()
+			throws SerializationException, PythonCanceledExecutionException {
+		testOfflineSerializationDeserializationIdentity(createTableWithInteriorMissingCollectionCells());
+	}
+
+	/**
+	 * Tests Java side and Python side.
+	 */
+	@Test
+	public void testInteriorMissingCollectionCellsOnlineSerializationDeserializationIdentity()
+			throws PythonCanceledExecutionException, IOException {
+		testOnlineSerializationDeserializationIdentity(createTableWithInteriorMissingCollectionCells());
+	}
+
+	/**
+	 * Tests Java side only. Deserializing into a {@link ColumnarTableCreator} must yield the same rows as deserializing
+	 * row by row.
+	 */
+	@Test
+	public void testColumnarOfflineSerializationDeserializationIdentity()
+			throws SerializationException, PythonCanceledExecutionException {
+		testColumnarOfflineSerializationDeserializationIdentity(createTableWithPrimitiveColumns());
+		testColumnarOfflineSerializationDeserializationIdentity(createTableWithInteriorMissingCollectionCells());
+	}
+
+	/**
+	 * Tests Java side only.
+	 */
+	@Test
+	public void testTemporalOfflineSerializationDeserializationIdentity()
+			throws SerializationException, PythonCanceledExecutionException {
+		final TestTable temporalTable = createTemporalTable();
+		testOfflineSerializationDeserializationIdentity(temporalTable);
+		testColumnarOfflineSerializationDeserializationIdentity(temporalTable);
+	}
+
+	/**
+	 * Tests Java side and Python side. Values are converted to pandas and Python date and time objects and back.
+	 */
+	@Test
+	public void testTemporalOnlineSerializationDeserializationIdentity()
+			throws PythonCanceledExecutionException, IOException {
+		testOnlineSerializationDeserializationIdentity(createTemporalTable());
+	}
+
+	private void testColumnarOfflineSerializationDeserializationIdentity(final TestTable testTable)
+			throws SerializationException, PythonCanceledExecutionException {
+		final byte[] bytes = m_serializer.tableToBytes(new RowListIterator(testTable.m_spec, testTable.m_rows),
+				DEFAULT_SERIALIZATION_OPTIONS, PythonCancelable.NOT_CANCELABLE);
+		final ColumnarRowListCreator creator = new ColumnarRowListCreator(
+				m_serializer.tableSpecFromBytes(bytes, PythonCancelable.NOT_CANCELABLE));
+		m_serializer.bytesIntoTable(creator, bytes, DEFAULT_SERIALIZATION_OPTIONS, PythonCancelable.NOT_CANCELABLE);
+		Assert.assertTrue(creator.m_numBatches > 0);
+		assertRowsEqual(Arrays.asList(testTable.m_rows), creator.getTable());
+	}
+
+	private TestTable createTableWithPrimitiveColumns() {
+		final Type[] types = new Type[] { Type.BOOLEAN, Type.INTEGER, Type.LONG, Type.DOUBLE, Type.STRING };
+		final String[] names = new String[] { "boolean", "integer", "long", "double", "string" };
+		final TableSpecImpl spec = new TableSpecImpl(types, names, null);
+		final Row[] rows = new Row[20];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, types.length);
+			// Missing doubles are deserialized as NaN, the double column therefore has no missing cells.
+			final boolean missing = i % 3 == 1;
+			row.setCell(missing ? new CellImpl() : new CellImpl(i % 2 == 0), 0);
+			row.setCell(missing ? new CellImpl() : new CellImpl(i - 10), 1);
+			row.setCell(missing ? new CellImpl() : new CellImpl(Long.MAX_VALUE / (i + 2)), 2);
+			row.setCell(new CellImpl(i * 0.5), 3);
+			row.setCell(missing ? new CellImpl() : new CellImpl("value" + i), 4);
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec);
+	}
+
+	private TestTable createTemporalTable() {
+		final Type[] types = new Type[] { Type.LOCAL_DATE_TIME, Type.LOCAL_DATE, Type.LOCAL_TIME, Type.DURATION };
+		final String[] names = new String[] { "date_time", "date", "time", "duration" };
+		final TableSpecImpl spec = new TableSpecImpl(types, names, null);
+		// Before and after the epoch, within the range of pandas' datetime64[ns] and timedelta64[ns].
+		final LocalDateTime[] dateTimes = new LocalDateTime[] { LocalDateTime.of(1900, 1, 1, 0, 0),
+				LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000), LocalDateTime.of(1970, 1, 1, 0, 0),
+				LocalDateTime.of(2019, 3, 14, 15, 9, 26, 535897000), LocalDateTime.of(2200, 12, 31, 12, 30) };
+		final Duration[] durations = new Duration[] { Duration.ofDays(-365).minusNanos(1000), Duration.ofMillis(-1),
+				Duration.ZERO, Duration.ofHours(25).plusNanos(123000), Duration.ofDays(100000) };
+		final Row[] rows = new Row[dateTimes.length * 2];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, types.length);
+			if (i % 2 == 1) {
+				for (int j = 0; j < types.length; j++) {
+					row.setCell(new CellImpl(), j);
+				}
+			} else {
+				final LocalDateTime dateTime = dateTimes[i / 2];
+				final LocalDate date = dateTime.toLocalDate();
+				final LocalTime time = dateTime.toLocalTime();
+				final Duration duration = durations[i / 2];
+				final long dateTimeMicros = dateTime.toEpochSecond(ZoneOffset.UTC) * 1000000 + dateTime.getNano() / 1000;
+				row.setCell(new CellImpl(dateTimeMicros), 0);
+				row.setCell(new CellImpl(date.toEpochDay()), 1);
+				row.setCell(new CellImpl(time.toNanoOfDay() / 1000), 2);
+				row.setCell(new CellImpl(duration.getSeconds() * 1000000 + duration.getNano() / 1000), 3);
+			}
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec);
+	}
+
+	private TestTable createTableWithInteriorMissingCollectionCells() {
+		final Type[] types = new Type[] { Type.FLOAT_LIST, Type.FLOAT_SET, Type.STRING_LIST, Type.STRING_SET };
+		final String[] names = new String[] { "float_list", "float_set", "string_list", "string_set" };
+		final TableSpecImpl spec = new TableSpecImpl(types, names, null);
+		final Row[] rows = new Row[5];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, types.length);
+			// Every other row consists of missing cells only, starting with the second one.
+			final boolean missing = i % 2 == 1;
+			row.setCell(missing ? new CellImpl() : m_util.createRandomFloatListCell(3, 0.3f), 0);
+			row.setCell(missing ? new CellImpl() : m_util.createRandomFloatSetCell(3, 0.5f), 1);
+			row.setCell(missing ? new CellImpl() : createStringListCell(i), 2);
+			row.setCell(missing ? new CellImpl() : new CellImpl(new String[] { "a" + i, "b" + i }, i == 2), 3);
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec);
+	}
+
+	private static Cell createStringListCell(final int rowIndex) {
+		final String[] elements = new String[] { "x" + rowIndex, null, "z" + rowIndex };
+		final byte[] missings = createMissingsVector(elements.length);
+		populateMissingsVectorIndex(missings, 0);
+		populateMissingsVectorIndex(missings, 2);
+		return new CellImpl(elements, missings);
+	}
+
+	/**
+	 * Collects the rows of the batches it is fed. Primitive, string, and temporal values are read via the typed
+	 * accessors of the batches, all other values as cells.
+	 */
+	private static final class ColumnarRowListCreator implements ColumnarTableCreator<List<Row>> {
+
+		private final TableSpec m_spec;
+
+		private final List<Row> m_rows = new ArrayList<>();
+
+		private int m_numBatches = 0;
+
+		private ColumnarRowListCreator(final TableSpec spec) {
+			m_spec = spec;
+		}
+
+		@Override
+		public void addBatch(final ColumnBatch batch) {
+			m_numBatches++;
+			final Type[] types = batch.getTableSpec().getColumnTypes();
+			for (int r = 0; r < batch.getNumberRows(); r++) {
+				final Row row = new RowImpl(batch.getRowKey(r), types.length);
+				for (int c = 0; c < types.length; c++) {
+					row.setCell(getCell(batch, types[c], c, r), c);
+				}
+				m_rows.add(row);
+			}
+		}
+
+		private static Cell getCell(final ColumnBatch batch, final Type type, final int column, final int row) {
+			if (batch.isMissing(column, row)) {
+				Assert.assertEquals(0, batch.getValidity(column)[row >> 3] & (1 << (row & 7)));
+				return new CellImpl();
+			}
+			switch (type) {
+			case BOOLEAN:
+				return new CellImpl(batch.getBooleanValue(column, row));
+			case INTEGER:
+				return new CellImpl(batch.getIntegerValue(column, row));
+			case LONG:
+			case LOCAL_DATE_TIME:
+			case LOCAL_DATE:
+			case LOCAL_TIME:
+			case DURATION:
+				return new CellImpl(batch.getLongValue(column, row));
+			case DOUBLE:
+				return new CellImpl(batch.getDoubleValue(column, row));
+			case STRING:
+				return new CellImpl(batch.getStringValue(column, row));
+			default:
+				return batch.getCell(column, row);
+			}
+		}
+
+		@Override
+		public void addRow(final Row row) {
+			Assert.fail("Batches must be preferred over rows.");
+		}
+
+		@Override
+		public TableSpec getTableSpec() {
+			return m_spec;
+		}
+
+		@Override
+		public List<Row> getTable() {
+			return m_rows;
+		}
+	}
 }
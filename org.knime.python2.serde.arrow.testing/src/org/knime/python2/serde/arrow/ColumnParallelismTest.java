@@ -0,0 +1,109 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ColumnParallelism}.
+ */
+public final class ColumnParallelismTest {
+
+	private static final int NUM_COLUMNS = 1000;
+
+	@Test
+	public void testEachColumnIsProcessedExactlyOnce() {
+		final AtomicIntegerArray counts = new AtomicIntegerArray(NUM_COLUMNS);
+		ColumnParallelism.forEachColumn(NUM_COLUMNS, counts::incrementAndGet);
+		for (int i = 0; i < NUM_COLUMNS; i++) {
+			Assert.assertEquals("Column " + i, 1, counts.get(i));
+		}
+	}
+
+	@Test
+	public void testFailureOfActionIsRethrown() {
+		try {
+			ColumnParallelism.forEachColumn(NUM_COLUMNS, i -> {
+				if (i == NUM_COLUMNS / 2) {
+					throw new IllegalArgumentException("column " + i);
+				}
+			});
+			Assert.fail("Expected the failure of the action to be rethrown.");
+		} catch (final IllegalArgumentException ex) {
+			Assert.assertEquals("column " + NUM_COLUMNS / 2, ex.getMessage());
+		}
+	}
+
+	@Test
+	public void testInterruptionCancelsProcessing() {
+		final Thread caller = Thread.currentThread();
+		final AtomicIntegerArray counts = new AtomicIntegerArray(NUM_COLUMNS);
+		try {
+			ColumnParallelism.forEachColumn(NUM_COLUMNS, i -> {
+				counts.incrementAndGet(i);
+				if (i == 0) {
+					caller.interrupt();
+				}
+			});
+			Assert.fail("Expected processing to be canceled.");
+		} catch (final CancellationException ex) {
+			// Expected.
+		} finally {
+			// Do not affect subsequent tests if the interruption was not detected.
+			Thread.interrupted();
+		}
+		int numProcessed = 0;
+		for (int i = 0; i < NUM_COLUMNS; i++) {
+			numProcessed += counts.get(i);
+		}
+		Assert.assertTrue(numProcessed < NUM_COLUMNS);
+	}
+}
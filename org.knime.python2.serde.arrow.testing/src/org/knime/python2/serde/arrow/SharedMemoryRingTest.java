@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link SharedMemoryRing}. The ring file is created in a temporary directory instead of the shared memory file
+ * system, which does not change the ring's behavior.
+ */
+public final class SharedMemoryRingTest {
+
+	private static final int RING_SIZE = 64;
+
+	@Rule
+	public final TemporaryFolder m_folder = new TemporaryFolder();
+
+	private SharedMemoryRing m_ring;
+
+	@Before
+	public void createRing() {
+		m_ring = SharedMemoryRing.tryCreate(m_folder.getRoot(), RING_SIZE);
+		Assert.assertNotNull(m_ring);
+	}
+
+	@After
+	public void closeRing() {
+		m_ring.close();
+	}
+
+	@Test
+	public void testNoRingIsCreatedForMissingDirectoryOrZeroSize() {
+		Assert.assertNull(SharedMemoryRing.tryCreate(new File(m_folder.getRoot(), "missing"), RING_SIZE));
+		Assert.assertNull(SharedMemoryRing.tryCreate(m_folder.getRoot(), 0));
+	}
+
+	@Test
+	public void testSmallChunkIsCommittedToRing() throws IOException {
+		final byte[] chunk = "chunk".getBytes(StandardCharsets.UTF_8);
+		final String location;
+		try (final SharedMemoryRing.Slot slot = m_ring.openSlot(newSpillFile())) {
+			slot.getChannel().write(ByteBuffer.wrap(chunk));
+			location = new String(slot.commit(), StandardCharsets.UTF_8);
+		}
+		Assert.assertTrue(location.startsWith(SharedMemoryRing.RING_SLOT_PREFIX));
+		final String[] parts = location.substring(SharedMemoryRing.RING_SLOT_PREFIX.length()).split(":", 3);
+		final int offset = Integer.parseInt(parts[0]);
+		Assert.assertEquals(chunk.length, Integer.parseInt(parts[1]));
+		Assert.assertEquals(m_ring.getFile().getAbsolutePath(), parts[2]);
+		final byte[] ringContent = Files.readAllBytes(m_ring.getFile().toPath());
+		final byte[] readChunk = new byte[chunk.length];
+		System.arraycopy(ringContent, offset, readChunk, 0, chunk.length);
+		Assert.assertArrayEquals(chunk, readChunk);
+		// The slot header marks the slot as used until Python released it.
+		Assert.assertEquals(1, ringContent[offset - 8]);
+	}
+
+	@Test
+	public void testLargeChunkIsSpilledToFile() throws IOException {
+		final byte[] chunk = new byte[RING_SIZE * 2];
+		final File spillFile = newSpillFile();
+		final String location;
+		try (final SharedMemoryRing.Slot slot = m_ring.openSlot(spillFile)) {
+			// Split the chunk to make sure that data already written to the ring is moved to the spill file.
+			slot.getChannel().write(ByteBuffer.wrap(chunk, 0, 8));
+			slot.getChannel().write(ByteBuffer.wrap(chunk, 8, chunk.length - 8));
+			location = new String(slot.commit(), StandardCharsets.UTF_8);
+			Assert.assertEquals(spillFile.getAbsolutePath(), location);
+			Assert.assertEquals(chunk.length, spillFile.length());
+		}
+	}
+
+	@Test
+	public void testSlotsAreReclaimedOnceReleased() throws IOException {
+		final int offset = commitChunk(new byte[40]);
+		// The remaining free space does not suffice for another chunk of that size.
+		Assert.assertFalse(isInRing(commitChunkLocation(new byte[40])));
+		// Release the first slot the way Python does.
+		try (RandomAccessFile raf = new RandomAccessFile(m_ring.getFile(), "rw")) {
+			raf.seek(offset - 8);
+			raf.write(0);
+		}
+		Assert.assertTrue(isInRing(commitChunkLocation(new byte[40])));
+	}
+
+	@Test
+	public void testUncommittedSlotIsImmediatelyAvailableAgain() throws IOException {
+		try (final SharedMemoryRing.Slot slot = m_ring.openSlot(newSpillFile())) {
+			slot.getChannel().write(ByteBuffer.wrap(new byte[40]));
+		}
+		Assert.assertTrue(isInRing(commitChunkLocation(new byte[40])));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testOnlyOneSlotCanBeOpen() {
+		try (final SharedMemoryRing.Slot slot = m_ring.openSlot(newSpillFile())) {
+			m_ring.openSlot(newSpillFile());
+		}
+	}
+
+	@Test
+	public void testClosedSlotRejectsWritesAndCommits() throws IOException {
+		final SharedMemoryRing.Slot slot = m_ring.openSlot(newSpillFile());
+		slot.close();
+		Assert.assertFalse(slot.getChannel().isOpen());
+		try {
+			slot.getChannel().write(ByteBuffer.wrap(new byte[1]));
+			Assert.fail("Writing to a closed slot must fail.");
+		} catch (final ClosedChannelException ex) {
+			// expected
+		}
+		try {
+			slot.commit();
+			Assert.fail("Committing a closed slot must fail.");
+		} catch (final ClosedChannelException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCloseDeletesRingFile() {
+		final File file = m_ring.getFile();
+		Assert.assertTrue(file.exists());
+		m_ring.close();
+		Assert.assertFalse(file.exists());
+	}
+
+	private File newSpillFile() {
+		return new File(m_folder.getRoot(), "spill-" + System.nanoTime() + ".dat");
+	}
+
+	private int commitChunk(final byte[] chunk) throws IOException {
+		final String location = commitChunkLocation(chunk);
+		Assert.assertTrue(isInRing(location));
+		return Integer.parseInt(location.substring(SharedMemoryRing.RING_SLOT_PREFIX.length()).split(":", 3)[0]);
+	}
+
+	private String commitChunkLocation(final byte[] chunk) throws IOException {
+		try (final SharedMemoryRing.Slot slot = m_ring.openSlot(newSpillFile())) {
+			slot.getChannel().write(ByteBuffer.wrap(chunk));
+			return new String(slot.commit(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static boolean isInRing(final String location) {
+		return location.startsWith(SharedMemoryRing.RING_SLOT_PREFIX);
+	}
+}
@@ -42,7 +42,9 @@
 # ------------------------------------------------------------------------
 
 import atexit
+import datetime
 import json
+import mmap
 import os
 import shutil
 import struct
@@ -65,9 +67,27 @@ _python3 = sys.version_info >= (3, 0)
 _types_ = None
 _pandas_native_types_ = None
 _bytes_types_ = None
+_set_types_ = None
+# Collection type -> pyarrow.DataType of the collection's elements
+_collection_element_types_ = None
+# Temporal type -> pyarrow.DataType of the column, see temporal_array(...)
+_temporal_types_ = None
+
+_EPOCH = datetime.datetime(1970, 1, 1)
+_EPOCH_ORDINAL = _EPOCH.toordinal()
+_MICROS_PER_SECOND = 1000000
+# Largest number of microseconds that can be represented by a pandas datetime64[ns] or timedelta64[ns] column
+_MAX_NANOS_AS_MICROS = np.iinfo(np.int64).max // 1000
 
 _temp_dir = None
 
+# Prefix of table chunks that Java wrote to its memory-mapped ring file: ring:<offset>:<length>:<path>. The byte at
+# <offset> - 8 marks the chunk's slot as used and is reset once the chunk was read. Do not change. Used on Java side.
+_RING_SLOT_PREFIX = 'ring:'
+_RING_SLOT_HEADER_SIZE = 8
+# Ring file path -> (file, memory map)
+_ring_maps = {}
+
 read_data_frame = None
 read_types = []
 read_serializers = {}
@@ -77,12 +97,29 @@ path_to_mmap = None
 # Initialize the enum of known type ids
 # @param types     the enum of known type ids
 def init(types):
-    global _types_, _pandas_native_types_, _bytes_types_
+    global _types_, _pandas_native_types_, _bytes_types_, _set_types_, _collection_element_types_, _temporal_types_
     _types_ = types
     _pandas_native_types_ = {_types_.INTEGER, _types_.LONG, _types_.DOUBLE,
                              _types_.STRING, _types_.BYTES, _types_.BOOLEAN,
                              _types_.FLOAT}
     _bytes_types_ = {_types_.BYTES, _types_.BYTES_LIST, _types_.BYTES_SET}
+    _set_types_ = {_types_.BOOLEAN_SET, _types_.INTEGER_SET, _types_.LONG_SET, _types_.DOUBLE_SET,
+                   _types_.FLOAT_SET, _types_.STRING_SET, _types_.BYTES_SET}
+    _collection_element_types_ = {_types_.BOOLEAN_LIST: pyarrow.bool_(), _types_.BOOLEAN_SET: pyarrow.bool_(),
+                                  _types_.INTEGER_LIST: pyarrow.int32(), _types_.INTEGER_SET: pyarrow.int32(),
+                                  _types_.LONG_LIST: pyarrow.int64(), _types_.LONG_SET: pyarrow.int64(),
+                                  _types_.DOUBLE_LIST: pyarrow.float64(), _types_.DOUBLE_SET: pyarrow.float64(),
+                                  _types_.FLOAT_LIST: pyarrow.float32(), _types_.FLOAT_SET: pyarrow.float32(),
+                                  _types_.STRING_LIST: pyarrow.string(), _types_.STRING_SET: pyarrow.string(),
+                                  _types_.BYTES_LIST: pyarrow.binary(), _types_.BYTES_SET: pyarrow.binary()}
+    _temporal_types_ = {_types_.LOCAL_DATE_TIME: pyarrow.timestamp('us'), _types_.LOCAL_DATE: pyarrow.date32(),
+                        _types_.LOCAL_TIME: pyarrow.time64('us'), _types_.DURATION: pyarrow.int64()}
+
+
+# Tell the serializer that date and time columns are transferred natively (see temporal_values(...) and
+# temporal_array(...)) rather than via type extensions.
+def supports_temporal_types():
+    return True
 
 
 # Get the column names of the table to create from the serialized data.
@@ -116,6 +153,61 @@ def column_serializers_from_bytes(data_bytes):
     return read_serializers
 
 
+# Parse the location of a table chunk within Java's ring file.
+# @param path    the serialized chunk location
+# @return a triple (ring file path, offset, length) or None if the chunk does not reside in a ring file
+def _parse_ring_slot(path):
+    if not path.startswith(_RING_SLOT_PREFIX):
+        return None
+    offset, length, ring_path = path[len(_RING_SLOT_PREFIX):].split(':', 2)
+    return ring_path, int(offset), int(length)
+
+
+def _get_ring_map(ring_path):
+    if ring_path not in _ring_maps:
+        f = open(ring_path, 'r+b')
+        try:
+            _ring_maps[ring_path] = (f, mmap.mmap(f.fileno(), 0))
+        except BaseException:
+            f.close()
+            raise
+    return _ring_maps[ring_path][1]
+
+
+# Open the serialized table chunk for reading. Chunks in Java's ring file are read in place, without copying them.
+# Values read from such a chunk may therefore reference the ring's memory and must be copied before the chunk is
+# released (see _owning_memory).
+# @param path    the serialized path to the temporary file or the location of the chunk within Java's ring file
+def _open_table_chunk(path):
+    ring_slot = _parse_ring_slot(path)
+    if ring_slot is None:
+        return pyarrow.OSFile(path, 'rb')
+    ring_path, offset, length = ring_slot
+    return pyarrow.BufferReader(pyarrow.py_buffer(memoryview(_get_ring_map(ring_path))[offset:offset + length]))
+
+
+# Make sure that the given pandas.Series does not reference memory of the table chunk from which it was read. Arrow
+# converts primitive columns without missing values to views of its buffers, which would point into Java's ring file.
+# @param dfcol    the pandas.Series
+def _owning_memory(dfcol):
+    values = dfcol.values
+    if isinstance(values, np.ndarray) and not values.flags.owndata:
+        return dfcol.copy(deep=True)
+    return dfcol
+
+
+# Release the serialized table chunk, i.e. delete its temporary file or hand its slot in Java's ring file back to Java.
+# @param path    the serialized path to the temporary file or the location of the chunk within Java's ring file
+def _release_table_chunk(path):
+    ring_slot = _parse_ring_slot(path)
+    if ring_slot is None:
+        os.remove(path)
+    else:
+        ring_path, offset, _ = ring_slot
+        slot_start = offset - _RING_SLOT_HEADER_SIZE
+        _get_ring_map(ring_path)[slot_start:slot_start + 1] = b'\x00'
+
+
 # Read the CSV serialized data into a pandas.DataFrame.
 # Delete the temporary CSV file afterwards.
 # @param table        a {@link ToPandasTable} wrapping the data frame and 
@@ -132,7 +224,68 @@ def bytes_into_table(table, data_bytes):
         read_types = []
         read_serializers = {}
     finally:
-        PythonUtils.invoke_safely(None, os.remove, [path])
+        PythonUtils.invoke_safely(None, _release_table_chunk, [path])
+
+
+# Generator over the values of all chunks of a pyarrow.Column. Java writes large table chunks as several record
+# batches, each of which results in a chunk of the column.
+# @param arrowcolumn    the pyarrow.Column
+# @return the pyarrow values of the column
+def column_chunk_values(arrowcolumn):
+    for chunk_index in range(arrowcolumn.data.num_chunks):
+        chunk = arrowcolumn.data.chunk(chunk_index)
+        for i in range(len(chunk)):
+            yield chunk[i]
+
+
+# Get the values of a collection column that was transferred as native arrow list column. The conversion to Python
+# objects is done by pyarrow. Missing values in sets are transferred as null list elements.
+# @param arrowcolumn    the pyarrow.Column to extract the values from
+# @param isset          are the column values sets or lists
+# @return a list of collection type values
+def native_collection_values(arrowcolumn, isset):
+    values = arrowcolumn.to_pylist()
+    if isset:
+        values = [None if value is None else set(value) for value in values]
+    return values
+
+
+# Get the values of a temporal column. Java transfers them as native arrow timestamp, date, time and int64 columns,
+# see Type.java for their integer representations. Date-times and durations become datetime64[ns] and timedelta64[ns]
+# columns if pandas can represent all of their values, Python objects otherwise. Dates and times always become
+# datetime.date and datetime.time objects so that they are recognized as such when sent back to Java.
+# @param arrowcolumn    the pyarrow.Column to extract the values from
+# @param coltype        the temporal type of the column
+# @return a pandas.Series
+def temporal_values(arrowcolumn, coltype):
+    int_type = pyarrow.int32() if coltype == _types_.LOCAL_DATE else pyarrow.int64()
+    values = []
+    for chunk_index in range(arrowcolumn.data.num_chunks):
+        chunk = arrowcolumn.data.chunk(chunk_index)
+        if chunk.type != int_type:
+            # Zero-copy cast to the physical type of the column.
+            chunk = chunk.cast(int_type)
+        values.extend(chunk.to_pylist())
+    if coltype == _types_.LOCAL_DATE:
+        return pandas.Series([None if v is None else datetime.date.fromordinal(_EPOCH_ORDINAL + v) for v in values],
+                             dtype=object)
+    elif coltype == _types_.LOCAL_TIME:
+        return pandas.Series([None if v is None else _time_from_micros(v) for v in values], dtype=object)
+    is_date_time = coltype == _types_.LOCAL_DATE_TIME
+    if all(v is None or abs(v) <= _MAX_NANOS_AS_MICROS for v in values):
+        nanos = np.array([np.iinfo(np.int64).min if v is None else v * 1000 for v in values], dtype=np.int64)
+        return pandas.Series(nanos.view('datetime64[ns]' if is_date_time else 'timedelta64[ns]'))
+    else:
+        return pandas.Series([None if v is None else (_EPOCH + datetime.timedelta(microseconds=v) if is_date_time
+                                                      else datetime.timedelta(microseconds=v)) for v in values],
+                             dtype=object)
+
+
+def _time_from_micros(micros):
+    seconds, microsecond = divmod(micros, _MICROS_PER_SECOND)
+    minutes, second = divmod(seconds, 60)
+    hour, minute = divmod(minutes, 60)
+    return datetime.time(hour, minute, second, microsecond)
 
 
 # Generator function for collection columns of type Integer, Long, Double, Float.
@@ -142,11 +295,11 @@ def bytes_into_table(table, data_bytes):
 # @param format_char    the format char to pass to struct.unpack for the primitive type inside every collection (e.g. 'i' for Integer collections)
 # @return collection type values
 def collection_generator(arrowcolumn, isset, entry_len, format_char):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
+    for value in column_chunk_values(arrowcolumn):
+        if type(value) == pyarrow.lib.NAType:
             yield None
         else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
+            py_obj = value.as_py()
             if py_obj is None:
                 yield None
             else:
@@ -178,11 +331,11 @@ def collection_generator(arrowcolumn, isset, entry_len, format_char):
 # @param isset          are the column values sets or lists
 # @return collection type values
 def string_collection_generator(arrowcolumn, isset):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
+    for value in column_chunk_values(arrowcolumn):
+        if type(value) == pyarrow.lib.NAType:
             yield None
         else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
+            py_obj = value.as_py()
             if py_obj is None:
                 yield None
             else:
@@ -218,11 +371,11 @@ def string_collection_generator(arrowcolumn, isset):
 # @param isset          are the column values sets or lists
 # @return collection type values
 def bytes_collection_generator(arrowcolumn, isset):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
+    for value in column_chunk_values(arrowcolumn):
+        if type(value) == pyarrow.lib.NAType:
             yield None
         else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
+            py_obj = value.as_py()
             if py_obj is None:
                 yield None
             else:
@@ -256,11 +409,11 @@ def bytes_collection_generator(arrowcolumn, isset):
 # @param isset          are the column values sets or lists
 # @return collection type values
 def boolean_collection_generator(arrowcolumn, isset):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
+    for value in column_chunk_values(arrowcolumn):
+        if type(value) == pyarrow.lib.NAType:
             yield None
         else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
+            py_obj = value.as_py()
             if py_obj is None:
                 yield None
             else:
@@ -300,7 +453,8 @@ def boolean_collection_generator(arrowcolumn, isset):
 def deserialize_data_frame(path):
     global read_data_frame, read_types, read_serializers, _pandas_native_types_, path_to_mmap
     path_to_mmap = path
-    with pyarrow.OSFile(path, 'rb') as f:
+    from_ring = _parse_ring_slot(path) is not None
+    with _open_table_chunk(path) as f:
         stream_reader = pyarrow.RecordBatchStreamReader(f)
         arrowtable = stream_reader.read_all()
         # metadata
@@ -320,6 +474,12 @@ def deserialize_data_frame(path):
             coltype = read_types[typeidx]
             if coltype in _pandas_native_types_:
                 dfcol = arrowcolumn.to_pandas()
+                if from_ring:
+                    dfcol = _owning_memory(dfcol)
+            elif coltype in _temporal_types_:
+                dfcol = temporal_values(arrowcolumn, coltype)
+            elif isinstance(arrowcolumn.type, pyarrow.lib.ListType):
+                dfcol = pandas.Series(native_collection_values(arrowcolumn, coltype in _set_types_))
             else:
                 if coltype == _types_.INTEGER_LIST or coltype == _types_.INTEGER_SET:
                     dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.INTEGER_SET, 4, 'i'))
@@ -371,6 +531,46 @@ def to_pyarrow_type(type):
         return pyarrow.binary()
 
 
+# Convert a list or set type column into a native pyarrow list array. Missing values in sets become null list
+# elements.
+# @param column      the column to convert (a pandas.Series)
+# @param coltype     the type of the column
+# @return the pyarrow.Array or None if the values of the column cannot be converted this way, in which case the binary
+#         representation has to be used
+def native_list_array(column, coltype):
+    try:
+        values = [None if cell is None else (cell.tolist() if isinstance(cell, np.ndarray) else list(cell))
+                  for cell in column]
+        return pyarrow.array(values, type=pyarrow.list_(_collection_element_types_[coltype]))
+    except (pyarrow.lib.ArrowException, TypeError, ValueError, OverflowError):
+        # Cells that are not iterable or elements that do not match the element type of the column.
+        return None
+
+
+# Convert a temporal type column into a native pyarrow array using the integer representations of Type.java. Date-time
+# and duration columns are datetime64 and timedelta64 columns, date and time columns hold datetime.date and
+# datetime.time objects (see Serializer.simpletype_for_column(...)).
+# @param column      the column to convert (a pandas.Series)
+# @param coltype     the temporal type of the column
+# @return the pyarrow.Array
+def temporal_array(column, coltype):
+    mask = column.isnull().values
+    if coltype == _types_.LOCAL_DATE_TIME:
+        ints = column.values.astype('datetime64[us]').view(np.int64)
+    elif coltype == _types_.DURATION:
+        ints = column.values.astype('timedelta64[us]').view(np.int64)
+    elif coltype == _types_.LOCAL_DATE:
+        ints = np.array([0 if missing else v.toordinal() - _EPOCH_ORDINAL for v, missing in zip(column, mask)],
+                        dtype=np.int32)
+    else:
+        ints = np.array([0 if missing else ((v.hour * 60 + v.minute) * 60 + v.second) * _MICROS_PER_SECOND
+                         + v.microsecond for v, missing in zip(column, mask)], dtype=np.int64)
+    array = pyarrow.Array.from_pandas(ints, mask=mask)
+    pa_type = _temporal_types_[coltype]
+    # Zero-copy cast from the physical type of the column.
+    return array if array.type == pa_type else array.cast(pa_type)
+
+
 # Generator converting values in a list type column to a binary representation
 # having the format (length(values), values, missing_mask). Works on Integer,
 # Long, Double, and Float lists.
@@ -658,8 +858,15 @@ def table_to_bytes(table):
                 missing_names.append(table.get_name(i))
                 all_names.append(table.get_name(i))
                 continue
-            # Convert collection types to binary
-            if table.get_type(i) == _types_.INTEGER_LIST:
+            # Prefer native list arrays for collection types, convert them to binary otherwise
+            native_array = None
+            if table.get_type(i) in _collection_element_types_:
+                native_array = native_list_array(table._data_frame.iloc[:, i], table.get_type(i))
+            if native_array is not None:
+                col_arrays.append(native_array)
+            elif table.get_type(i) in _temporal_types_:
+                col_arrays.append(temporal_array(table._data_frame.iloc[:, i], table.get_type(i)))
+            elif table.get_type(i) == _types_.INTEGER_LIST:
                 col_arrays.append(
                     pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<i4')))
             elif table.get_type(i) == _types_.LONG_LIST:
@@ -762,3 +969,7 @@ def close():
     global _temp_dir
     # Remove entire temporary directory.
     PythonUtils.invoke_safely(None, lambda p: shutil.rmtree(p, ignore_errors=True), [_temp_dir])
+    # Unmap Java's ring files. Java deletes them.
+    for f, ring_map in _ring_maps.values():
+        PythonUtils.invoke_safely(None, lambda c: c.close(), [ring_map, f])
+    _ring_maps.clear()
@@ -0,0 +1,292 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.serde.arrow.extractors.TemporalExtractor;
+
+/**
+ * A {@link ColumnBatch} view on the vectors of a {@link org.apache.arrow.vector.VectorSchemaRoot}. Values of primitive,
+ * string and temporal columns are read straight from their vectors. Values of all other columns are extracted into
+ * {@link Cell cells} up front using the regular {@link VectorExtractor extractors}, in parallel for wide tables (see
+ * {@link ColumnParallelism}).
+ * <P>
+ * Missing value semantics are the same as the ones of the extractors: <code>null</code> entries of double and float
+ * vectors are NaN (and not missing), and integer and long sentinels are missing if
+ * {@link SerializationOptions#getConvertMissingFromPython()} is set.
+ */
+final class ArrowColumnBatch implements ColumnBatch {
+
+    private final TableSpec m_spec;
+
+    private final int m_numRows;
+
+    private final FieldVector m_indexVector;
+
+    private final Type[] m_types;
+
+    /** <code>null</code> for missing columns and for columns whose values are held in {@link #m_cells}. */
+    private final FieldVector[] m_vectors;
+
+    /** <code>null</code> for columns whose values are read from {@link #m_vectors}. */
+    private final Cell[][] m_cells;
+
+    private final boolean[] m_missingColumns;
+
+    private final SerializationOptions m_serializationOptions;
+
+    /**
+     * @param spec the spec of the deserialized table
+     * @param numRows the number of rows in the vectors
+     * @param indexVector the vector holding the row keys, either a {@link VarCharVector} or a {@link VarBinaryVector}
+     * @param vectors per column: the column's vector, or <code>null</code> if the column is missing entirely
+     * @param extractors per column: the extractor to use if the column is neither missing nor of a primitive or string
+     *            type
+     * @param serializationOptions the serialization options
+     */
+    ArrowColumnBatch(final TableSpec spec, final int numRows, final FieldVector indexVector,
+        final FieldVector[] vectors, final VectorExtractor[] extractors,
+        final SerializationOptions serializationOptions) {
+        m_spec = spec;
+        m_numRows = numRows;
+        m_indexVector = indexVector;
+        m_types = spec.getColumnTypes();
+        m_vectors = vectors.clone();
+        m_cells = new Cell[vectors.length][];
+        m_missingColumns = new boolean[vectors.length];
+        m_serializationOptions = serializationOptions;
+        // Extractors are independent of each other, the columns of wide tables are extracted in parallel.
+        ColumnParallelism.forEachColumn(vectors.length, column -> {
+            if (vectors[column] == null) {
+                m_missingColumns[column] = true;
+            } else if (!isDirectlyReadable(m_types[column])) {
+                final Cell[] cells = new Cell[numRows];
+                for (int row = 0; row < numRows; row++) {
+                    cells[row] = extractors[column].extract();
+                }
+                m_cells[column] = cells;
+                m_vectors[column] = null;
+            }
+        });
+    }
+
+    /**
+     * @param type a column type
+     * @return true if values of the given type are read from their vector directly, false if they are extracted into
+     *         cells up front.
+     */
+    static boolean isDirectlyReadable(final Type type) {
+        switch (type) {
+            case BOOLEAN:
+            case INTEGER:
+            case LONG:
+            case DOUBLE:
+            case FLOAT:
+            case STRING:
+            case LOCAL_DATE_TIME:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+            case DURATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    @Override
+    public int getNumberRows() {
+        return m_numRows;
+    }
+
+    @Override
+    public String getRowKey(final int row) {
+        return readString(m_indexVector, row);
+    }
+
+    @Override
+    public byte[] getValidity(final int column) {
+        final byte[] validity = new byte[(m_numRows + 7) / 8];
+        for (int row = 0; row < m_numRows; row++) {
+            if (!isMissing(column, row)) {
+                validity[row >> 3] |= 1 << (row & 7);
+            }
+        }
+        return validity;
+    }
+
+    @Override
+    public boolean isMissing(final int column, final int row) {
+        if (m_missingColumns[column]) {
+            return true;
+        }
+        if (m_cells[column] != null) {
+            return m_cells[column][row].isMissing();
+        }
+        final FieldVector vector = m_vectors[column];
+        switch (m_types[column]) {
+            case DOUBLE:
+            case FLOAT:
+                // Null is deserialized as NaN.
+                return false;
+            case INTEGER:
+                return vector.isNull(row) || (m_serializationOptions.getConvertMissingFromPython()
+                    && m_serializationOptions.isSentinel(Type.INTEGER, ((IntVector)vector).get(row)));
+            case LONG:
+                return vector.isNull(row) || (m_serializationOptions.getConvertMissingFromPython()
+                    && m_serializationOptions.isSentinel(Type.LONG, ((BigIntVector)vector).get(row)));
+            default:
+                return vector.isNull(row);
+        }
+    }
+
+    @Override
+    public boolean getBooleanValue(final int column, final int row) {
+        return ((BitVector)m_vectors[column]).get(row) > 0;
+    }
+
+    @Override
+    public int getIntegerValue(final int column, final int row) {
+        return ((IntVector)m_vectors[column]).get(row);
+    }
+
+    @Override
+    public long getLongValue(final int column, final int row) {
+        if (m_types[column].isTemporal()) {
+            return TemporalExtractor.getValue(m_vectors[column], row);
+        }
+        return ((BigIntVector)m_vectors[column]).get(row);
+    }
+
+    @Override
+    public double getDoubleValue(final int column, final int row) {
+        final Float8Vector vector = (Float8Vector)m_vectors[column];
+        return vector.isNull(row) ? Double.NaN : vector.get(row);
+    }
+
+    @Override
+    public float getFloatValue(final int column, final int row) {
+        final Float4Vector vector = (Float4Vector)m_vectors[column];
+        return vector.isNull(row) ? Float.NaN : vector.get(row);
+    }
+
+    @Override
+    public String getStringValue(final int column, final int row) {
+        if (m_types[column] != Type.STRING) {
+            throw new ClassCastException("Column " + column + " is not of type " + Type.STRING + ".");
+        }
+        return isMissing(column, row) ? null : readString(m_vectors[column], row);
+    }
+
+    @Override
+    public byte[] getBytesValue(final int column, final int row) {
+        if (m_types[column] != Type.BYTES) {
+            throw new ClassCastException("Column " + column + " is not of type " + Type.BYTES + ".");
+        }
+        return isMissing(column, row) ? null : m_cells[column][row].getBytesValue();
+    }
+
+    @Override
+    public Cell getCell(final int column, final int row) {
+        if (m_cells[column] != null) {
+            return m_cells[column][row];
+        }
+        if (isMissing(column, row)) {
+            return new CellImpl();
+        }
+        switch (m_types[column]) {
+            case BOOLEAN:
+                return new CellImpl(getBooleanValue(column, row));
+            case INTEGER:
+                return new CellImpl(getIntegerValue(column, row));
+            case LONG:
+            case LOCAL_DATE_TIME:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+            case DURATION:
+                return new CellImpl(getLongValue(column, row));
+            case DOUBLE:
+                return new CellImpl(getDoubleValue(column, row));
+            case FLOAT:
+                return new CellImpl(getFloatValue(column, row));
+            case STRING:
+                return new CellImpl(getStringValue(column, row));
+            default:
+                throw new IllegalStateException("Unexpected column type: " + m_types[column]);
+        }
+    }
+
+    private static String readString(final FieldVector vector, final int row) {
+        if (vector.isNull(row)) {
+            return null;
+        }
+        if (vector instanceof VarCharVector) {
+            return ((VarCharVector)vector).getObject(row).toString();
+        } else {
+            return new String(((VarBinaryVector)vector).getObject(row), StandardCharsets.UTF_8);
+        }
+    }
+}
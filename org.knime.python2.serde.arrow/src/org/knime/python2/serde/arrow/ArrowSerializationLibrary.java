@@ -50,14 +50,17 @@
 import java.io.RandomAccessFile;
 import java.io.StringReader;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -66,6 +69,7 @@
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonReader;
 
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
@@ -76,6 +80,7 @@
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.apache.arrow.vector.ipc.ArrowStreamWriter;
 import org.apache.arrow.vector.types.pojo.Field;
@@ -88,6 +93,9 @@
 import org.knime.core.util.ThreadUtils;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
@@ -101,6 +109,7 @@
 import org.knime.python2.kernel.PythonCancelable;
 import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.kernel.PythonExecutionException;
+import org.knime.python2.kernel.PythonKernelRuntime;
 import org.knime.python2.serde.arrow.ReadContextManager.ReadContext;
 import org.knime.python2.serde.arrow.extractors.BooleanExtractor;
 import org.knime.python2.serde.arrow.extractors.BooleanListExtractor;
@@ -121,9 +130,11 @@
 import org.knime.python2.serde.arrow.extractors.LongListExtractor;
 import org.knime.python2.serde.arrow.extractors.LongSetExtractor;
 import org.knime.python2.serde.arrow.extractors.MissingExtractor;
+import org.knime.python2.serde.arrow.extractors.NativeCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.StringExtractor;
 import org.knime.python2.serde.arrow.extractors.StringListExtractor;
 import org.knime.python2.serde.arrow.extractors.StringSetExtractor;
+import org.knime.python2.serde.arrow.extractors.TemporalExtractor;
 import org.knime.python2.serde.arrow.inserters.ArrowVectorInserter;
 import org.knime.python2.serde.arrow.inserters.BooleanInserter;
 import org.knime.python2.serde.arrow.inserters.BooleanListInserter;
@@ -143,16 +154,17 @@
 import org.knime.python2.serde.arrow.inserters.LongInserter;
 import org.knime.python2.serde.arrow.inserters.LongListInserter;
 import org.knime.python2.serde.arrow.inserters.LongSetInserter;
+import org.knime.python2.serde.arrow.inserters.NativeCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.StringInserter;
 import org.knime.python2.serde.arrow.inserters.StringListInserter;
 import org.knime.python2.serde.arrow.inserters.StringSetInserter;
+import org.knime.python2.serde.arrow.inserters.TemporalInserter;
 import org.knime.python2.util.PythonUtils;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 /**
  * Serializes tables to bytes and deserializes bytes to tables using the Apache Arrow Format. The serialized data is
- * written to temporary files, the file paths are shared via the command socket.
+ * written to temporary files, the file paths are shared via the command socket. Tables sent to Python are written to a
+ * {@link SharedMemoryRing memory-mapped ring file} instead, if available.
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -169,8 +181,54 @@ public class ArrowSerializationLibrary implements SerializationLibrary {
     /* Note: should be a power of 2 */
     private static final int ASSUMED_BYTES_VAL_BYTE_SIZE = 32;
 
+    /**
+     * VM option that controls whether list and set columns are sent to Python as native arrow list vectors (the
+     * default) or in their legacy binary encoding. Tables received from Python are read in either encoding.
+     */
+    private static final String NATIVE_COLLECTIONS_VM_OPT = "knime.python.arrow.nativecollections";
+
+    private static final boolean NATIVE_COLLECTIONS =
+        Boolean.parseBoolean(System.getProperty(NATIVE_COLLECTIONS_VM_OPT, "true"));
+
+    /**
+     * VM option that controls whether date and time columns are sent to Python as native arrow temporal vectors (the
+     * default) or as strings via their type extensions. Tables received from Python are read in either form.
+     */
+    private static final String NATIVE_TEMPORAL_TYPES_VM_OPT = "knime.python.arrow.nativetemporaltypes";
+
+    private static final boolean NATIVE_TEMPORAL_TYPES =
+        Boolean.parseBoolean(System.getProperty(NATIVE_TEMPORAL_TYPES_VM_OPT, "true"));
+
+    /**
+     * VM option that limits the number of rows per arrow record batch. Larger chunks are written as several record
+     * batches into one arrow stream. This bounds the size of the vectors, which are reused across batches and chunks.
+     */
+    private static final String BATCH_SIZE_VM_OPT = "knime.python.arrow.batchsize";
+
+    private static final int DEFAULT_BATCH_SIZE = 65536;
+
+    private static final int BATCH_SIZE = getConfiguredBatchSize();
+
+    private static int getConfiguredBatchSize() {
+        final String defaultBatchSize = Integer.toString(DEFAULT_BATCH_SIZE);
+        try {
+            final String batchSize = System.getProperty(BATCH_SIZE_VM_OPT, defaultBatchSize);
+            final int parsedBatchSize = Integer.parseInt(batchSize);
+            if (parsedBatchSize > 0) {
+                return parsedBatchSize;
+            }
+        } catch (final NumberFormatException ex) {
+            // Handled below.
+        }
+        NodeLogger.getLogger(ArrowSerializationLibrary.class).warn("The VM option -D" + BATCH_SIZE_VM_OPT
+            + " was set to a non-positive or non-integer value. This is invalid. It therefore defaults to "
+            + defaultBatchSize + " rows.");
+        return DEFAULT_BATCH_SIZE;
+    }
+
     private enum PandasType {
-            BOOL("bool"), INT("int"), UNICODE("unicode"), BYTES("bytes");
+            BOOL("bool"), INT("int"), UNICODE("unicode"), BYTES("bytes"), LIST("list"), DATETIME("datetime"),
+            DATE("date"), TIME("time"), TIMEDELTA("timedelta");
 
         private final String m_id;
 
@@ -184,7 +242,8 @@ String getId() {
     }
 
     private enum NumpyType {
-            OBJECT("object"), INT32("int32"), INT64("int64"), FLOAT64("float64"), FLOAT32("float32");
+            OBJECT("object"), INT32("int32"), INT64("int64"), FLOAT64("float64"), FLOAT32("float32"),
+            DATETIME64("datetime64[ns]"), TIMEDELTA64("timedelta64[ns]");
 
         private final String m_id;
 
@@ -220,8 +279,8 @@ private static JsonObjectBuilder createColumnMetadataBuilder(final String name,
     }
 
     /** Used to make (de-)serialization cancelable. */
-    private final ExecutorService m_executorService = ThreadUtils.executorServiceWithContext(
-        Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("python-arrow-serde-%d").build()));
+    private final ExecutorService m_executorService =
+        ThreadUtils.executorServiceWithContext(PythonKernelRuntime.newComputeExecutor("python-arrow-serde"));
 
     /**
      * The root directory in which the temporary files used for data transfer are stored. Will be populated during the
@@ -229,11 +288,41 @@ private static JsonObjectBuilder createColumnMetadataBuilder(final String name,
      */
     private File m_tempDir;
 
+    /**
+     * Shared with Python to transfer table chunks without creating a temporary file per chunk. <code>null</code> if it
+     * could not be created, in which case temporary files are used. Guarded by <code>this</code>.
+     */
+    private SharedMemoryRing m_ring;
+
+    private boolean m_ringCreationAttempted = false;
+
+    private boolean m_closed = false;
+
+    /**
+     * Allocates the buffers of all tables sent to and received from Python by this instance, i.e. during the lifetime
+     * of its kernel. Created lazily, closed in {@link #close()}.
+     */
+    private RootAllocator m_allocator;
+
+    /**
+     * The inserters of the most recent serialization. They are reused by the next serialization if it has the same
+     * table spec, which saves reallocating their buffers for each chunk. Only accessed by {@link #m_executorService}.
+     */
+    private ReusableInserters m_inserters;
+
     // Note: we will never get a multi-index due to index standardization in FromPandasTable.
     private String m_indexColumnName = null;
 
     private String[] m_missingColumnNames = null;
 
+    private synchronized SharedMemoryRing getRing() {
+        if (!m_ringCreationAttempted && !m_closed) {
+            m_ringCreationAttempted = true;
+            m_ring = SharedMemoryRing.tryCreate();
+        }
+        return m_ring;
+    }
+
     @Override
     public byte[] tableToBytes(final TableIterator tableIterator, final SerializationOptions serializationOptions,
         final PythonCancelable cancelable) throws SerializationException, PythonCanceledExecutionException {
@@ -244,13 +333,24 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
                 // Deleted upon JVM shutdown (or #close()).
                 m_tempDir = FileUtil.createTempDir("knime-python-");
             }
+            final SharedMemoryRing ring = getRing();
+            if (ring != null) {
+                // Spill file is only created if the chunk does not fit into the ring.
+                final File spillFile = new File(m_tempDir, "java-to-python-" + UUID.randomUUID() + ".dat");
+                try (final SharedMemoryRing.Slot slot = ring.openSlot(spillFile)) {
+                    return PythonUtils.Misc.executeCancelable(() -> {
+                        tableToBytesInternal(tableIterator, serializationOptions, slot.getChannel());
+                        return slot.commit();
+                    }, m_executorService, cancelable);
+                }
+            }
             file = FileUtil.createTempFile("java-to-python-", ".dat", m_tempDir, false);
             final File finalFile = file;
             return PythonUtils.Misc.executeCancelable(() -> {
                 try (RandomAccessFile raf = new RandomAccessFile(finalFile, "rw");
                         FileChannel channel = raf.getChannel()) {
-                    return tableToBytesInternal(tableIterator, serializationOptions, channel,
-                        finalFile.getAbsolutePath());
+                    tableToBytesInternal(tableIterator, serializationOptions, channel);
+                    return finalFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
                 }
             }, m_executorService, cancelable);
         } catch (IOException | PythonExecutionException e) {
@@ -271,201 +371,291 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
     /**
      * Possibly interrupted by {@link #tableToBytes(TableIterator, SerializationOptions, PythonCancelable)}.
      */
-    private static byte[] tableToBytesInternal(final TableIterator tableIterator,
-        final SerializationOptions serializationOptions, final FileChannel fc, final String path) throws IOException {
-        try (RootAllocator rootAllocator = new RootAllocator(Long.MAX_VALUE)) {
-            List<ArrowVectorInserter> inserters = null;
-            try {
-                final String indexColName = "__index_level_0__";
-                // Metadata is transferred in JSON format.
-                final JsonObjectBuilder metadataBuilder = Json.createObjectBuilder();
-                final TableSpec spec = tableIterator.getTableSpec();
-                inserters = new ArrayList<>();
-                final JsonArrayBuilder icBuilder = Json.createArrayBuilder();
-
-                icBuilder.add(indexColName);
-                metadataBuilder.add("index_columns", icBuilder);
-                final JsonArrayBuilder colBuilder = Json.createArrayBuilder();
-                final int numRows = tableIterator.getNumberRemainingRows();
-                // Row ids
-                final JsonObjectBuilder rowIdBuilder =
-                    createColumnMetadataBuilder(indexColName, PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
-                inserters.add(new StringInserter(indexColName, rootAllocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE));
-                colBuilder.add(rowIdBuilder);
-
-                // Create inserters and metadata.
-                for (int i = 0; i < spec.getNumberColumns(); i++) {
-                    JsonObjectBuilder colMetadataBuilder;
-                    switch (spec.getColumnTypes()[i]) {
-                        case BOOLEAN:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BOOL,
-                                NumpyType.OBJECT, Type.BOOLEAN);
-                            inserters.add(new BooleanInserter(spec.getColumnNames()[i], rootAllocator, numRows));
-                            break;
-                        case INTEGER:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.INT32, Type.INTEGER);
-                            inserters.add(new IntegerInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                serializationOptions));
-                            break;
-                        case LONG:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.INT64, Type.LONG);
-                            inserters.add(new LongInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                serializationOptions));
-                            break;
-                        case DOUBLE:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.FLOAT64, Type.DOUBLE);
-                            inserters.add(new DoubleInserter(spec.getColumnNames()[i], rootAllocator, numRows));
-                            break;
-                        case FLOAT:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.FLOAT32, Type.FLOAT);
-                            inserters.add(new FloatInserter(spec.getColumnNames()[i], rootAllocator, numRows));
-                            break;
-                        case STRING:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
-                                PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
-                            inserters.add(new StringInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_STRING_VAL_BYTE_SIZE));
-                            break;
-                        case BYTES:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case INTEGER_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.INTEGER_LIST);
-                            inserters.add(new IntListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case INTEGER_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.INTEGER_SET);
-                            inserters.add(new IntSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case LONG_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.LONG_LIST);
-                            inserters.add(new LongListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case LONG_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.LONG_SET);
-                            inserters.add(new LongSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case DOUBLE_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.DOUBLE_LIST);
-                            inserters.add(new DoubleListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case DOUBLE_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.DOUBLE_SET);
-                            inserters.add(new DoubleSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case FLOAT_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.FLOAT_LIST);
-                            inserters.add(new FloatListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case FLOAT_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.FLOAT_SET);
-                            inserters.add(new FloatSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BOOLEAN_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BOOLEAN_LIST);
-                            inserters.add(new BooleanListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BOOLEAN_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BOOLEAN_SET);
-                            inserters.add(new BooleanSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case STRING_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.STRING_LIST);
-                            inserters.add(new StringListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case STRING_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.STRING_SET);
-                            inserters.add(new StringSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BYTES_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES_LIST,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BYTES_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES_SET,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        default:
-                            throw new IllegalStateException(
-                                "Serialization is not implemented for type: " + spec.getColumnTypes()[i].name());
-                    }
-                    colBuilder.add(colMetadataBuilder);
-                }
-                metadataBuilder.add("columns", colBuilder);
-
-                // Iterate over table and put every cell in an arrow buffer using the inserters.
-                while (tableIterator.hasNext()) {
-                    if (Thread.interrupted()) {
-                        // Stop serialization if canceled by client.
-                        throw new CancellationException("Serialization canceled by client.");
+    private void tableToBytesInternal(final TableIterator tableIterator,
+        final SerializationOptions serializationOptions, final WritableByteChannel channel) throws IOException {
+        final TableSpec spec = tableIterator.getTableSpec();
+        final int numRows = tableIterator.getNumberRemainingRows();
+        final int batchSize = Math.min(numRows, BATCH_SIZE);
+        if (m_inserters == null || !m_inserters.canBeReusedFor(spec, serializationOptions, batchSize)) {
+            if (m_inserters != null) {
+                m_inserters.close();
+                m_inserters = null;
+            }
+            m_inserters = createInserters(spec, serializationOptions, getAllocator(), batchSize);
+        }
+        final List<ArrowVectorInserter> inserters = m_inserters.m_inserters;
+        boolean success = false;
+        try {
+            final List<FieldVector> vecs = new ArrayList<>();
+            final List<Field> fields = new ArrayList<>();
+            for (int i = 0; i < inserters.size(); i++) {
+                final FieldVector vec = inserters.get(i).retrieveVector(); // Closed via inserters.
+                vecs.add(vec);
+                fields.add(vec.getField());
+            }
+            final Schema schema = new Schema(fields, m_inserters.m_metadata);
+            // Not closed, vectors are owned by the inserters.
+            final VectorSchemaRoot root = new VectorSchemaRoot(schema, vecs, 0);
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, channel)) {
+                final ColumnBatch chunk = tableIterator instanceof ColumnarTableIterator
+                    ? ((ColumnarTableIterator)tableIterator).nextBatch() : null;
+                int rowsDone = 0;
+                int rowsInBatch;
+                // Write at least one (possibly empty) record batch per chunk.
+                do {
+                    for (final ArrowVectorInserter inserter : inserters) {
+                        inserter.reset();
                     }
-                    final Row row = tableIterator.next();
-                    inserters.get(0).put(new CellImpl(row.getRowKey()));
-                    for (int i = 0; i < spec.getNumberColumns(); i++) {
-                        inserters.get(i + 1).put(row.getCell(i));
+                    rowsInBatch = 0;
+                    if (chunk != null) {
+                        // Fill the arrow buffers column by column, without creating row or cell objects.
+                        final ColumnBatch batch =
+                            new ColumnBatchSlice(chunk, rowsDone, Math.min(numRows - rowsDone, batchSize));
+                        final StringInserter rowKeyInserter = (StringInserter)inserters.get(0);
+                        for (int r = 0; r < batch.getNumberRows(); r++) {
+                            rowKeyInserter.put(batch.getRowKey(r));
+                        }
+                        // Columns are independent of each other, wide tables are filled in parallel.
+                        ColumnParallelism.forEachColumn(spec.getNumberColumns(),
+                            i -> inserters.get(i + 1).putColumn(batch, i));
+                        rowsInBatch = batch.getNumberRows();
+                    } else {
+                        // Iterate over table and put every cell in an arrow buffer using the inserters.
+                        while (rowsInBatch < batchSize && tableIterator.hasNext()) {
+                            if (Thread.interrupted()) {
+                                // Stop serialization if canceled by client.
+                                throw new CancellationException("Serialization canceled by client.");
+                            }
+                            final Row row = tableIterator.next();
+                            inserters.get(0).put(new CellImpl(row.getRowKey()));
+                            for (int i = 0; i < spec.getNumberColumns(); i++) {
+                                inserters.get(i + 1).put(row.getCell(i));
+                            }
+                            rowsInBatch++;
+                        }
                     }
-                }
-
-                // Build final representation and transmit.
-                final Map<String, String> metadata = new HashMap<>();
-                metadata.put("pandas", metadataBuilder.build().toString());
+                    root.setRowCount(rowsInBatch);
+                    writer.writeBatch();
+                    rowsDone += rowsInBatch;
+                } while (rowsInBatch > 0 && rowsDone < numRows);
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                // The state of the inserters is unknown. Free their memory, they will be recreated for the next chunk.
+                m_inserters.close();
+                m_inserters = null;
+            }
+        }
+    }
 
-                final List<FieldVector> vecs = new ArrayList<>();
-                final List<Field> fields = new ArrayList<>();
-                for (int i = 0; i < inserters.size(); i++) {
-                    final FieldVector vec = inserters.get(i).retrieveVector(); // Closed via inserters.
-                    vecs.add(vec);
-                    fields.add(vec.getField());
+    private static ReusableInserters createInserters(final TableSpec spec,
+        final SerializationOptions serializationOptions, final BufferAllocator allocator, final int capacity) {
+        List<ArrowVectorInserter> inserters = null;
+        boolean success = false;
+        try {
+            final String indexColName = "__index_level_0__";
+            // Metadata is transferred in JSON format.
+            final JsonObjectBuilder metadataBuilder = Json.createObjectBuilder();
+            inserters = new ArrayList<>();
+            final JsonArrayBuilder icBuilder = Json.createArrayBuilder();
+
+            icBuilder.add(indexColName);
+            metadataBuilder.add("index_columns", icBuilder);
+            final JsonArrayBuilder colBuilder = Json.createArrayBuilder();
+            // Row ids
+            final JsonObjectBuilder rowIdBuilder =
+                createColumnMetadataBuilder(indexColName, PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
+            inserters.add(new StringInserter(indexColName, allocator, capacity, ASSUMED_ROWID_VAL_BYTE_SIZE));
+            colBuilder.add(rowIdBuilder);
+
+            // Create inserters and metadata.
+            for (int i = 0; i < spec.getNumberColumns(); i++) {
+                JsonObjectBuilder colMetadataBuilder;
+                final Type type = spec.getColumnTypes()[i];
+                if (NATIVE_COLLECTIONS && NativeCollectionInserter.isCollectionType(type)) {
+                    final String serializer = NativeCollectionInserter.getElementType(type) == Type.BYTES
+                        ? spec.getColumnSerializers().get(spec.getColumnNames()[i]) : "";
+                    colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
+                        NumpyType.OBJECT, type, serializer);
+                    inserters.add(new NativeCollectionInserter(spec.getColumnNames()[i], allocator, capacity,
+                        type));
+                    colBuilder.add(colMetadataBuilder);
+                    continue;
                 }
-                final Schema schema = new Schema(fields, metadata);
-                try (ArrowStreamWriter writer =
-                    new ArrowStreamWriter(new VectorSchemaRoot(schema, vecs, numRows), null, fc)) {
-                    writer.writeBatch();
+                switch (type) {
+                    case BOOLEAN:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BOOL,
+                            NumpyType.OBJECT, Type.BOOLEAN);
+                        inserters.add(new BooleanInserter(spec.getColumnNames()[i], allocator, capacity));
+                        break;
+                    case INTEGER:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
+                            NumpyType.INT32, Type.INTEGER);
+                        inserters.add(new IntegerInserter(spec.getColumnNames()[i], allocator, capacity,
+                            serializationOptions));
+                        break;
+                    case LONG:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
+                            NumpyType.INT64, Type.LONG);
+                        inserters.add(new LongInserter(spec.getColumnNames()[i], allocator, capacity,
+                            serializationOptions));
+                        break;
+                    case DOUBLE:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
+                            NumpyType.FLOAT64, Type.DOUBLE);
+                        inserters.add(new DoubleInserter(spec.getColumnNames()[i], allocator, capacity));
+                        break;
+                    case FLOAT:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
+                            NumpyType.FLOAT32, Type.FLOAT);
+                        inserters.add(new FloatInserter(spec.getColumnNames()[i], allocator, capacity));
+                        break;
+                    case STRING:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
+                            PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
+                        inserters.add(new StringInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_STRING_VAL_BYTE_SIZE));
+                        break;
+                    case BYTES:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.BYTES,
+                            spec.getColumnSerializers().get(spec.getColumnNames()[i]));
+                        inserters.add(new BytesInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case LOCAL_DATE_TIME:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
+                            PandasType.DATETIME, NumpyType.DATETIME64, Type.LOCAL_DATE_TIME);
+                        inserters.add(new TemporalInserter(spec.getColumnNames()[i], allocator, capacity, type));
+                        break;
+                    case LOCAL_DATE:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.DATE,
+                            NumpyType.OBJECT, Type.LOCAL_DATE);
+                        inserters.add(new TemporalInserter(spec.getColumnNames()[i], allocator, capacity, type));
+                        break;
+                    case LOCAL_TIME:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.TIME,
+                            NumpyType.OBJECT, Type.LOCAL_TIME);
+                        inserters.add(new TemporalInserter(spec.getColumnNames()[i], allocator, capacity, type));
+                        break;
+                    case DURATION:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
+                            PandasType.TIMEDELTA, NumpyType.TIMEDELTA64, Type.DURATION);
+                        inserters.add(new TemporalInserter(spec.getColumnNames()[i], allocator, capacity, type));
+                        break;
+                    case INTEGER_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.INTEGER_LIST);
+                        inserters.add(new IntListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case INTEGER_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.INTEGER_SET);
+                        inserters.add(new IntSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case LONG_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.LONG_LIST);
+                        inserters.add(new LongListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case LONG_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.LONG_SET);
+                        inserters.add(new LongSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case DOUBLE_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.DOUBLE_LIST);
+                        inserters.add(new DoubleListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case DOUBLE_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.DOUBLE_SET);
+                        inserters.add(new DoubleSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case FLOAT_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.FLOAT_LIST);
+                        inserters.add(new FloatListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case FLOAT_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.FLOAT_SET);
+                        inserters.add(new FloatSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case BOOLEAN_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.BOOLEAN_LIST);
+                        inserters.add(new BooleanListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case BOOLEAN_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.BOOLEAN_SET);
+                        inserters.add(new BooleanSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case STRING_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.STRING_LIST);
+                        inserters.add(new StringListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case STRING_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.STRING_SET);
+                        inserters.add(new StringSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case BYTES_LIST:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.BYTES_LIST,
+                            spec.getColumnSerializers().get(spec.getColumnNames()[i]));
+                        inserters.add(new BytesListInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case BYTES_SET:
+                        colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            NumpyType.OBJECT, Type.BYTES_SET,
+                            spec.getColumnSerializers().get(spec.getColumnNames()[i]));
+                        inserters.add(new BytesSetInserter(spec.getColumnNames()[i], allocator, capacity,
+                            ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    default:
+                        throw new IllegalStateException(
+                            "Serialization is not implemented for type: " + spec.getColumnTypes()[i].name());
                 }
-            } finally {
+                colBuilder.add(colMetadataBuilder);
+            }
+            metadataBuilder.add("columns", colBuilder);
+
+            // Build final representation.
+            final Map<String, String> metadata = new HashMap<>();
+            metadata.put("pandas", metadataBuilder.build().toString());
+            success = true;
+            return new ReusableInserters(spec, serializationOptions, capacity, inserters, metadata);
+        } finally {
+            if (!success) {
                 // Close inserters to free memory.
                 PythonUtils.Misc.invokeSafely(null, ArrowVectorInserter::close, inserters);
             }
         }
-        return path.getBytes("UTF-8");
+    }
+
+    private synchronized BufferAllocator getAllocator() {
+        if (m_allocator == null) {
+            m_allocator = new RootAllocator(Long.MAX_VALUE);
+        }
+        return m_allocator;
     }
 
     private static VectorExtractor getStringOrByteExtractor(final FieldVector vec) {
@@ -506,104 +696,139 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
      */
     private void bytesIntoTableInternal(final TableCreator<?> tableCreator,
         final SerializationOptions serializationOptions, final TableSpec spec, final File file) throws IOException {
-        try (ArrowStreamReader reader = ReadContextManager.createForFile(file).getReader()) {
+        try (ArrowStreamReader reader = ReadContextManager.createForFile(file, getAllocator()).getReader()) {
             final VectorSchemaRoot root = reader.getVectorSchemaRoot(); // Will be closed by reader.
-            final Type[] types = spec.getColumnTypes();
-            final String[] names = spec.getColumnNames();
-
-            final List<VectorExtractor> extractors = new ArrayList<>();
-            // Index is always string.
-            extractors.add(getStringOrByteExtractor(root.getVector(m_indexColumnName)));
+            // The first record batch was already loaded by tableSpecFromBytes(..).
+            do {
+                batchIntoTable(tableCreator, serializationOptions, spec, root);
+            } while (reader.loadNextBatch());
+        }
+    }
 
-            // Setup an extractor for every column.
-            for (int j = 0; j < spec.getNumberColumns(); j++) {
-                if (ArrayUtils.contains(m_missingColumnNames, names[j])) {
-                    extractors.add(new MissingExtractor());
-                } else {
-                    switch (types[j]) {
-                        case BOOLEAN:
-                            extractors.add(new BooleanExtractor((BitVector)root.getVector(names[j])));
-                            break;
-                        case INTEGER:
-                            extractors
-                                .add(new IntegerExtractor((IntVector)root.getVector(names[j]), serializationOptions));
-                            break;
-                        case LONG:
-                            extractors
-                                .add(new LongExtractor((BigIntVector)root.getVector(names[j]), serializationOptions));
-                            break;
-                        case DOUBLE:
-                            extractors.add(new DoubleExtractor((Float8Vector)root.getVector(names[j])));
-                            break;
-                        case FLOAT:
-                            extractors.add(new FloatExtractor((Float4Vector)root.getVector(names[j])));
-                            break;
-                        case STRING:
-                            extractors.add(getStringOrByteExtractor(root.getVector(names[j])));
-                            break;
-                        case BYTES:
-                            extractors.add(new BytesExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case INTEGER_LIST:
-                            extractors.add(new IntListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case INTEGER_SET:
-                            extractors.add(new IntSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case LONG_LIST:
-                            extractors.add(new LongListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case LONG_SET:
-                            extractors.add(new LongSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case DOUBLE_LIST:
-                            extractors.add(new DoubleListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case DOUBLE_SET:
-                            extractors.add(new DoubleSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case FLOAT_LIST:
-                            extractors.add(new FloatListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case FLOAT_SET:
-                            extractors.add(new FloatSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case BOOLEAN_LIST:
-                            extractors.add(new BooleanListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case BOOLEAN_SET:
-                            extractors.add(new BooleanSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case STRING_LIST:
-                            extractors.add(new StringListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case STRING_SET:
-                            extractors.add(new StringSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case BYTES_LIST:
-                            extractors.add(new BytesListExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        case BYTES_SET:
-                            extractors.add(new BytesSetExtractor((VarBinaryVector)root.getVector(names[j])));
-                            break;
-                        default:
-                            throw new IllegalStateException("Deserialization is not implemented for type: " + types[j]);
-                    }
+    private void batchIntoTable(final TableCreator<?> tableCreator, final SerializationOptions serializationOptions,
+        final TableSpec spec, final VectorSchemaRoot root) {
+        final Type[] types = spec.getColumnTypes();
+        final String[] names = spec.getColumnNames();
+
+        final List<VectorExtractor> extractors = new ArrayList<>();
+        // Index is always string.
+        extractors.add(getStringOrByteExtractor(root.getVector(m_indexColumnName)));
+
+        // Setup an extractor for every column.
+        for (int j = 0; j < spec.getNumberColumns(); j++) {
+            if (ArrayUtils.contains(m_missingColumnNames, names[j])) {
+                extractors.add(new MissingExtractor());
+            } else if (root.getVector(names[j]) instanceof ListVector) {
+                // Collections that were sent as native arrow lists.
+                extractors.add(new NativeCollectionExtractor((ListVector)root.getVector(names[j]), types[j]));
+            } else {
+                switch (types[j]) {
+                    case BOOLEAN:
+                        extractors.add(new BooleanExtractor((BitVector)root.getVector(names[j])));
+                        break;
+                    case INTEGER:
+                        extractors
+                            .add(new IntegerExtractor((IntVector)root.getVector(names[j]), serializationOptions));
+                        break;
+                    case LONG:
+                        extractors
+                            .add(new LongExtractor((BigIntVector)root.getVector(names[j]), serializationOptions));
+                        break;
+                    case DOUBLE:
+                        extractors.add(new DoubleExtractor((Float8Vector)root.getVector(names[j])));
+                        break;
+                    case FLOAT:
+                        extractors.add(new FloatExtractor((Float4Vector)root.getVector(names[j])));
+                        break;
+                    case STRING:
+                        extractors.add(getStringOrByteExtractor(root.getVector(names[j])));
+                        break;
+                    case BYTES:
+                        extractors.add(new BytesExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case LOCAL_DATE_TIME:
+                    case LOCAL_DATE:
+                    case LOCAL_TIME:
+                    case DURATION:
+                        extractors.add(new TemporalExtractor(root.getVector(names[j])));
+                        break;
+                    case INTEGER_LIST:
+                        extractors.add(new IntListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case INTEGER_SET:
+                        extractors.add(new IntSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case LONG_LIST:
+                        extractors.add(new LongListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case LONG_SET:
+                        extractors.add(new LongSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case DOUBLE_LIST:
+                        extractors.add(new DoubleListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case DOUBLE_SET:
+                        extractors.add(new DoubleSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case FLOAT_LIST:
+                        extractors.add(new FloatListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case FLOAT_SET:
+                        extractors.add(new FloatSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case BOOLEAN_LIST:
+                        extractors.add(new BooleanListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case BOOLEAN_SET:
+                        extractors.add(new BooleanSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case STRING_LIST:
+                        extractors.add(new StringListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case STRING_SET:
+                        extractors.add(new StringSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case BYTES_LIST:
+                        extractors.add(new BytesListExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    case BYTES_SET:
+                        extractors.add(new BytesSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                        break;
+                    default:
+                        throw new IllegalStateException("Deserialization is not implemented for type: " + types[j]);
                 }
             }
-            // Extract each value as a Cell, collate the cells to Rows and add the rows to the table creator for
-            // further processing
-            for (int i = 0; i < root.getRowCount(); i++) {
-                if (Thread.interrupted()) {
-                    // Stop deserialization if canceled by client.
-                    throw new CancellationException("Deserialization canceled by client.");
-                }
-                final Row row = new RowImpl(extractors.get(0).extract().getStringValue(), spec.getNumberColumns());
-                for (int j = 0; j < spec.getNumberColumns(); j++) {
-                    row.setCell(extractors.get(j + 1).extract(), j);
+        }
+        if (tableCreator instanceof ColumnarTableCreator) {
+            if (Thread.interrupted()) {
+                // Stop deserialization if canceled by client.
+                throw new CancellationException("Deserialization canceled by client.");
+            }
+            // Hand the vectors to the table creator as a whole. Only non-primitive columns are extracted cell-wise.
+            final FieldVector[] vectors = new FieldVector[spec.getNumberColumns()];
+            final VectorExtractor[] columnExtractors = new VectorExtractor[spec.getNumberColumns()];
+            for (int j = 0; j < spec.getNumberColumns(); j++) {
+                if (!ArrayUtils.contains(m_missingColumnNames, names[j])) {
+                    vectors[j] = root.getVector(names[j]);
                 }
-                tableCreator.addRow(row);
+                columnExtractors[j] = extractors.get(j + 1);
+            }
+            ((ColumnarTableCreator<?>)tableCreator).addBatch(new ArrowColumnBatch(spec, root.getRowCount(),
+                root.getVector(m_indexColumnName), vectors, columnExtractors, serializationOptions));
+            return;
+        }
+        // Extract each value as a Cell, collate the cells to Rows and add the rows to the table creator for
+        // further processing
+        for (int i = 0; i < root.getRowCount(); i++) {
+            if (Thread.interrupted()) {
+                // Stop deserialization if canceled by client.
+                throw new CancellationException("Deserialization canceled by client.");
+            }
+            final Row row = new RowImpl(extractors.get(0).extract().getStringValue(), spec.getNumberColumns());
+            for (int j = 0; j < spec.getNumberColumns(); j++) {
+                row.setCell(extractors.get(j + 1).extract(), j);
             }
+            tableCreator.addRow(row);
         }
     }
 
@@ -616,7 +841,7 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
         final File file = new File(path);
         try {
             // Read context is shared across this method and bytesIntoTableInternal(..).
-            final ReadContext rc = ReadContextManager.createForFile(file);
+            final ReadContext rc = ReadContextManager.createForFile(file, getAllocator());
             if (rc.getTableSpec() == null) {
                 if (file.exists()) {
                     ArrowStreamReader reader = null;
@@ -696,11 +921,75 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <P>
+     * Can be disabled via the VM option {@value #NATIVE_TEMPORAL_TYPES_VM_OPT}.
+     */
+    @Override
+    public boolean supportsTemporalTypes() {
+        return NATIVE_TEMPORAL_TYPES;
+    }
+
     @Override
     public void close() {
         PythonUtils.Misc.invokeSafely(null, ExecutorService::shutdownNow, m_executorService);
+        if (m_inserters != null) {
+            PythonUtils.Misc.closeSafely(null, m_inserters);
+        }
+        synchronized (this) {
+            if (m_allocator != null) {
+                PythonUtils.Misc.closeSafely(null, m_allocator);
+            }
+        }
+        synchronized (this) {
+            m_closed = true;
+            if (m_ring != null) {
+                PythonUtils.Misc.closeSafely(null, m_ring);
+            }
+        }
         if (m_tempDir != null) {
             PythonUtils.Misc.invokeSafely(null, FileUtil::deleteRecursively, m_tempDir);
         }
     }
+
+    /**
+     * The inserters and the pandas metadata that were created for a table spec.
+     */
+    private static final class ReusableInserters implements AutoCloseable {
+
+        private final TableSpec m_spec;
+
+        private final SerializationOptions m_serializationOptions;
+
+        private final int m_capacity;
+
+        private final List<ArrowVectorInserter> m_inserters;
+
+        private final Map<String, String> m_metadata;
+
+        private ReusableInserters(final TableSpec spec, final SerializationOptions serializationOptions,
+            final int capacity, final List<ArrowVectorInserter> inserters, final Map<String, String> metadata) {
+            m_spec = spec;
+            m_serializationOptions = serializationOptions;
+            m_capacity = capacity;
+            m_inserters = inserters;
+            m_metadata = metadata;
+        }
+
+        private boolean canBeReusedFor(final TableSpec spec, final SerializationOptions serializationOptions,
+            final int batchSize) {
+            return batchSize <= m_capacity //
+                && Objects.equals(serializationOptions, m_serializationOptions) //
+                && Arrays.equals(spec.getColumnTypes(), m_spec.getColumnTypes()) //
+                && Arrays.equals(spec.getColumnNames(), m_spec.getColumnNames()) //
+                && Objects.equals(spec.getColumnSerializers(), m_spec.getColumnSerializers());
+        }
+
+        @Override
+        public void close() {
+            // Frees the buffers.
+            PythonUtils.Misc.invokeSafely(null, ArrowVectorInserter::close, m_inserters);
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+
+/**
+ * A view on a contiguous range of rows of another {@link ColumnBatch}. Used to split a chunk into several arrow record
+ * batches without copying it.
+ */
+final class ColumnBatchSlice implements ColumnBatch {
+
+    private final ColumnBatch m_batch;
+
+    private final int m_offset;
+
+    private final int m_numRows;
+
+    /**
+     * @param batch the underlying batch
+     * @param offset the index of the first row of the slice in the underlying batch
+     * @param numRows the number of rows of the slice
+     */
+    ColumnBatchSlice(final ColumnBatch batch, final int offset, final int numRows) {
+        m_batch = batch;
+        m_offset = offset;
+        m_numRows = numRows;
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_batch.getTableSpec();
+    }
+
+    @Override
+    public int getNumberRows() {
+        return m_numRows;
+    }
+
+    @Override
+    public String getRowKey(final int row) {
+        return m_batch.getRowKey(m_offset + row);
+    }
+
+    @Override
+    public byte[] getValidity(final int column) {
+        final byte[] validity = new byte[(m_numRows + 7) / 8];
+        for (int row = 0; row < m_numRows; row++) {
+            if (!isMissing(column, row)) {
+                validity[row >> 3] |= 1 << (row & 7);
+            }
+        }
+        return validity;
+    }
+
+    @Override
+    public boolean isMissing(final int column, final int row) {
+        return m_batch.isMissing(column, m_offset + row);
+    }
+
+    @Override
+    public boolean getBooleanValue(final int column, final int row) {
+        return m_batch.getBooleanValue(column, m_offset + row);
+    }
+
+    @Override
+    public int getIntegerValue(final int column, final int row) {
+        return m_batch.getIntegerValue(column, m_offset + row);
+    }
+
+    @Override
+    public long getLongValue(final int column, final int row) {
+        return m_batch.getLongValue(column, m_offset + row);
+    }
+
+    @Override
+    public double getDoubleValue(final int column, final int row) {
+        return m_batch.getDoubleValue(column, m_offset + row);
+    }
+
+    @Override
+    public float getFloatValue(final int column, final int row) {
+        return m_batch.getFloatValue(column, m_offset + row);
+    }
+
+    @Override
+    public String getStringValue(final int column, final int row) {
+        return m_batch.getStringValue(column, m_offset + row);
+    }
+
+    @Override
+    public byte[] getBytesValue(final int column, final int row) {
+        return m_batch.getBytesValue(column, m_offset + row);
+    }
+
+    @Override
+    public Cell getCell(final int column, final int row) {
+        return m_batch.getCell(column, m_offset + row);
+    }
+}
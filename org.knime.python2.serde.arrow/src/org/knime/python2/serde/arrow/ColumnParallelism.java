@@ -0,0 +1,226 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.kernel.PythonKernelRuntime;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Processes the columns of a table chunk in parallel. The vectors of different columns are independent of each other,
+ * so filling inserters and running extractors can be split into disjoint column groups once the rows of a chunk are
+ * buffered in columnar form. Only tables that have at least {@value #MIN_NUM_COLUMNS} columns are processed in
+ * parallel, narrower tables do not amortize the scheduling overhead.
+ * <P>
+ * The calling thread processes columns itself and is helped by tasks that run on the bounded compute pool of the
+ * {@link PythonKernelRuntime}. The VM option <code>-Dknime.python.runtime.computethreads</code> therefore limits this
+ * work together with all other (de)serialization work. Helper tasks that did not start by the time the calling thread
+ * runs out of columns are skipped, so processing never waits for a compute thread to become available. This also
+ * keeps callers that run on the compute pool themselves from starving it.
+ * <P>
+ * The number of threads that process the columns of a single chunk (including the calling thread) can be configured
+ * via the VM option <code>-D{@value #PARALLELISM_VM_OPT}</code>. It defaults to the number of available processors,
+ * but at most {@value #MAX_DEFAULT_PARALLELISM}. A value of 1 disables parallel processing.
+ */
+final class ColumnParallelism {
+
+    private static final String PARALLELISM_VM_OPT = "knime.python.arrow.columnparallelism";
+
+    private static final int MAX_DEFAULT_PARALLELISM = 4;
+
+    private static final int MIN_NUM_COLUMNS = 32;
+
+    private static final int PARALLELISM = getConfiguredParallelism();
+
+    /**
+     * Runs the helper tasks. <code>null</code> if parallel processing is disabled. Never shut down; it does not hold
+     * any threads while idle.
+     */
+    private static final ExecutorService HELPERS =
+        PARALLELISM > 1 ? PythonKernelRuntime.newComputeExecutor("python-arrow-columns", PARALLELISM - 1) : null;
+
+    private static int getConfiguredParallelism() {
+        final String defaultParallelism =
+            Integer.toString(Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_PARALLELISM));
+        try {
+            final String parallelism = System.getProperty(PARALLELISM_VM_OPT, defaultParallelism);
+            final int parsedParallelism = Integer.parseInt(parallelism);
+            if (parsedParallelism > 0) {
+                return parsedParallelism;
+            }
+        } catch (final NumberFormatException ex) {
+            // Handled below.
+        }
+        NodeLogger.getLogger(ColumnParallelism.class).warn("The VM option -D" + PARALLELISM_VM_OPT
+            + " was set to a non-positive or non-integer value. This is invalid. It therefore defaults to "
+            + defaultParallelism + ".");
+        return Integer.parseInt(defaultParallelism);
+    }
+
+    private ColumnParallelism() {
+    }
+
+    /**
+     * Applies the given action to each column index. The action is invoked concurrently for different columns if the
+     * table is wide enough, and must therefore only access state that belongs to the given column.
+     * <P>
+     * If the calling thread is interrupted, no further columns are processed and a {@link CancellationException} is
+     * thrown once the columns that are already being processed are done. The caller may therefore release the
+     * resources of all columns afterwards. As with the other cancellation checks of the serialization library, the
+     * interrupted status of the calling thread is cleared in this case.
+     *
+     * @param numColumns the number of columns
+     * @param action invoked with the index of each column
+     * @throws CancellationException if the calling thread was interrupted
+     */
+    static void forEachColumn(final int numColumns, final IntConsumer action) {
+        if (HELPERS == null || numColumns < MIN_NUM_COLUMNS) {
+            for (int i = 0; i < numColumns; i++) {
+                if (Thread.interrupted()) {
+                    // Stop (de)serialization if canceled by client.
+                    throw new CancellationException("Canceled by client.");
+                }
+                action.accept(i);
+            }
+            return;
+        }
+        final ColumnRun run = new ColumnRun(numColumns, action);
+        final int numHelpers = Math.min(PARALLELISM, numColumns) - 1;
+        final AtomicBoolean[] helperClaims = new AtomicBoolean[numHelpers];
+        final CountDownLatch helpersDone = new CountDownLatch(numHelpers);
+        for (int h = 0; h < numHelpers; h++) {
+            final AtomicBoolean claim = new AtomicBoolean(false);
+            helperClaims[h] = claim;
+            try {
+                HELPERS.execute(() -> {
+                    if (claim.compareAndSet(false, true)) {
+                        try {
+                            run.processColumns();
+                        } finally {
+                            helpersDone.countDown();
+                        }
+                    }
+                });
+            } catch (final RejectedExecutionException ex) {
+                // Cannot happen since the executor is never shut down. The calling thread does the helper's share.
+            }
+        }
+        run.processColumns();
+        // All columns are taken. Helpers that did not start yet are skipped, running ones finish their last column.
+        for (final AtomicBoolean claim : helperClaims) {
+            if (claim.compareAndSet(false, true)) {
+                helpersDone.countDown();
+            }
+        }
+        Uninterruptibles.awaitUninterruptibly(helpersDone);
+        final Throwable failure = run.m_failure.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException)failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error)failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure.getMessage(), failure);
+        }
+        if (run.m_canceled.get()) {
+            Thread.interrupted();
+            throw new CancellationException("Canceled by client.");
+        }
+    }
+
+    /**
+     * The state of one invocation of {@link ColumnParallelism#forEachColumn(int, IntConsumer)} that is shared by the
+     * calling thread and the helpers.
+     */
+    private static final class ColumnRun {
+
+        private final int m_numColumns;
+
+        private final IntConsumer m_action;
+
+        private final Thread m_caller = Thread.currentThread();
+
+        private final AtomicInteger m_nextColumn = new AtomicInteger();
+
+        /** Set if the calling thread was interrupted. Its interrupted status is cleared by the calling thread. */
+        private final AtomicBoolean m_canceled = new AtomicBoolean(false);
+
+        private final AtomicReference<Throwable> m_failure = new AtomicReference<>();
+
+        private ColumnRun(final int numColumns, final IntConsumer action) {
+            m_numColumns = numColumns;
+            m_action = action;
+        }
+
+        private void processColumns() {
+            int column;
+            while (!m_canceled.get() && m_failure.get() == null
+                && (column = m_nextColumn.getAndIncrement()) < m_numColumns) {
+                if (m_caller.isInterrupted()) {
+                    // Stop (de)serialization if canceled by client.
+                    m_canceled.set(true);
+                    return;
+                }
+                try {
+                    m_action.accept(column);
+                } catch (final Throwable t) {
+                    m_failure.compareAndSet(null, t);
+                }
+            }
+        }
+    }
+}
@@ -55,7 +55,7 @@
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.knime.core.node.NodeLogger;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
@@ -73,13 +73,15 @@ class ReadContextManager {
     /**
      * Get or create the {@link ReadContext} for the given file. The absolute file path is used as a key.
      * @param file a file containing serialized data
+     * @param allocator the allocator from which the buffers of a newly created context are allocated
      * @return the corresponding {@link ReadContext}
      * @throws FileNotFoundException If the given file does not exist
      */
-    static synchronized ReadContext createForFile(final File file) throws FileNotFoundException {
+    static synchronized ReadContext createForFile(final File file, final BufferAllocator allocator)
+        throws FileNotFoundException {
         String path = file.getAbsolutePath();
         if(!m_contextMap.containsKey(path)) {
-            ReadContext rc = new ReadContext(file);
+            ReadContext rc = new ReadContext(file, allocator);
             m_contextMap.put(file.getAbsolutePath(), rc);
             return rc;
         }
@@ -106,7 +108,7 @@ static class ReadContext {
 
         private RandomAccessFile m_raFile;
 
-        private RootAllocator m_rootAllocator;
+        private BufferAllocator m_allocator;
 
         private ArrowStreamReader m_streamReader;
 
@@ -114,10 +116,11 @@ static class ReadContext {
 
         private int m_numRows;
 
-        private ReadContext(final File file) throws FileNotFoundException {
+        private ReadContext(final File file, final BufferAllocator allocator) throws FileNotFoundException {
             m_raFile = new RandomAccessFile(file, "rw");
-            m_rootAllocator = new RootAllocator(Long.MAX_VALUE);
-            m_streamReader = new ArrowStreamReader(m_raFile.getChannel(), m_rootAllocator);
+            // Child allocator, so that leaks can be attributed to the file.
+            m_allocator = allocator.newChildAllocator(file.getName(), 0, Long.MAX_VALUE);
+            m_streamReader = new ArrowStreamReader(m_raFile.getChannel(), m_allocator);
             m_numRows = 0;
         }
 
@@ -147,7 +150,7 @@ void destroy() {
             } catch (IOException ex) {
                 LOGGER.warn("Could not close arrow file!");
             }
-            m_rootAllocator.close();
+            m_allocator.close();
         }
 
         /**
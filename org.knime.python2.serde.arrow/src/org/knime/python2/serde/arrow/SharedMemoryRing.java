@@ -0,0 +1,366 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.util.PythonUtils;
+
+/**
+ * A pre-sized, memory-mapped file that is shared with the Python process and used as a ring buffer of slots, each of
+ * which holds one serialized table chunk. Instead of a file path, the serialized representation of a chunk that was
+ * written to the ring consists of its offset and length within the ring file. This avoids creating, writing and
+ * deleting a temporary file per chunk.
+ * <P>
+ * Each slot is preceded by a header whose first byte marks the slot as used. Python resets this byte once it has read
+ * the slot. Slots are reclaimed in the order in which they were written. If a chunk does not fit into the free space of
+ * the ring, it is spilled to a temporary file, i.e. the former transfer behavior is used for this chunk.
+ * <P>
+ * Each serialization library instance maps its own ring, and a kernel may use several instances when transferring
+ * tables in parallel. The default ring size is therefore kept small; it can be changed via the VM option
+ * {@value #RING_SIZE_VM_OPT}.
+ */
+final class SharedMemoryRing implements AutoCloseable {
+
+    /**
+     * Prefix of the serialized representation of a chunk that resides in the ring. Do not change. Used on Python side.
+     */
+    static final String RING_SLOT_PREFIX = "ring:";
+
+    private static final String RING_SIZE_VM_OPT = "knime.python.arrow.ringsize";
+
+    private static final int DEFAULT_RING_SIZE_IN_MB = 16;
+
+    private static final String SHARED_MEMORY_DIRECTORY = "/dev/shm";
+
+    private static final int SLOT_HEADER_SIZE = 8;
+
+    private static final byte SLOT_FREE = 0;
+
+    private static final byte SLOT_USED = 1;
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SharedMemoryRing.class);
+
+    /**
+     * Tries to create a ring file of the configured size in the shared memory file system. No ring is created if there
+     * is no such file system (e.g., on Windows, where a file cannot be deleted while it is still mapped).
+     *
+     * @return the created ring or <code>null</code> if the ring is disabled or could not be created
+     */
+    static SharedMemoryRing tryCreate() {
+        return tryCreate(new File(SHARED_MEMORY_DIRECTORY), getRingSizeInMB() * 1024L * 1024L);
+    }
+
+    /**
+     * Tries to create a ring file of the given size in the given directory.
+     *
+     * @param directory the directory in which to place the ring file
+     * @param sizeInBytes the size of the ring file
+     * @return the created ring or <code>null</code> if the ring is disabled or could not be created
+     */
+    static SharedMemoryRing tryCreate(final File directory, final long sizeInBytes) {
+        if (sizeInBytes <= 0 || !directory.isDirectory() || !directory.canWrite()) {
+            return null;
+        }
+        File file = null;
+        try {
+            file = File.createTempFile("knime-python-arrow-", ".ring", directory);
+            file.deleteOnExit();
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+                final int capacity = (int)Math.min(Integer.MAX_VALUE, sizeInBytes);
+                raf.setLength(capacity);
+                // The mapping stays valid after the channel is closed.
+                return new SharedMemoryRing(file, channel.map(MapMode.READ_WRITE, 0, capacity));
+            }
+        } catch (final Exception ex) {
+            LOGGER.debug("Could not create shared memory ring file. Falling back to temporary files per table chunk.",
+                ex);
+            PythonUtils.Misc.invokeSafely(null, File::delete, file);
+            return null;
+        }
+    }
+
+    private static int getRingSizeInMB() {
+        final String defaultSize = Integer.toString(DEFAULT_RING_SIZE_IN_MB);
+        try {
+            final String size = System.getProperty(RING_SIZE_VM_OPT, defaultSize);
+            return Integer.parseInt(size);
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + RING_SIZE_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultSize + " MB.");
+            return DEFAULT_RING_SIZE_IN_MB;
+        }
+    }
+
+    private final File m_file;
+
+    private final MappedByteBuffer m_map;
+
+    private final int m_capacity;
+
+    /**
+     * Start (inclusive) and end (exclusive) offsets of all slots that may not yet have been read by Python, in the order
+     * in which they were written.
+     */
+    private final Deque<int[]> m_usedSlots = new ArrayDeque<>();
+
+    private boolean m_slotOpen = false;
+
+    private SharedMemoryRing(final File file, final MappedByteBuffer map) {
+        m_file = file;
+        m_map = map;
+        m_capacity = map.capacity();
+    }
+
+    /**
+     * Opens a slot that spans the largest contiguous free region of the ring. At most one slot can be open at a time.
+     *
+     * @param spillFile the file to which the chunk is written if it exceeds the free region, not created unless needed
+     * @return the opened slot
+     */
+    synchronized Slot openSlot(final File spillFile) {
+        if (m_slotOpen) {
+            throw new IllegalStateException("Another slot of the ring is still open.");
+        }
+        reclaimSlots();
+        final int start;
+        final int end;
+        if (m_usedSlots.isEmpty()) {
+            start = 0;
+            end = m_capacity;
+        } else {
+            final int head = m_usedSlots.peekFirst()[0];
+            final int tail = m_usedSlots.peekLast()[1];
+            if (tail > head) {
+                // Free space at the end of the ring and (after wrapping around) at its start.
+                if (m_capacity - tail >= head) {
+                    start = tail;
+                    end = m_capacity;
+                } else {
+                    start = 0;
+                    end = head;
+                }
+            } else {
+                start = tail;
+                end = head;
+            }
+        }
+        m_slotOpen = true;
+        return new Slot(start, Math.max(start, end), spillFile);
+    }
+
+    private void reclaimSlots() {
+        while (!m_usedSlots.isEmpty() && m_map.get(m_usedSlots.peekFirst()[0]) == SLOT_FREE) {
+            m_usedSlots.pollFirst();
+        }
+    }
+
+    private synchronized void closeSlot(final int start, final int end, final boolean committed) {
+        if (committed) {
+            m_map.put(start, SLOT_USED);
+            m_usedSlots.addLast(new int[]{start, end});
+        }
+        m_slotOpen = false;
+    }
+
+    /**
+     * Deletes the ring file. Chunks that still reside in the ring can no longer be read afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        m_usedSlots.clear();
+        if (!m_file.delete() && m_file.exists()) {
+            LOGGER.debug("Could not delete shared memory ring file '" + m_file.getAbsolutePath()
+                + "'. It will be deleted on exit.");
+        }
+    }
+
+    /**
+     * @return the ring file
+     */
+    File getFile() {
+        return m_file;
+    }
+
+    /**
+     * A region of the ring that receives exactly one serialized table chunk via its {@link #getChannel() channel}.
+     * Transparently spills to a file if the chunk exceeds the region.
+     * <P>
+     * The chunk is usually written by a different thread than the one that owns and closes the slot. Writing,
+     * committing and closing are therefore mutually exclusive, and writing to or committing a closed slot fails.
+     */
+    final class Slot implements AutoCloseable {
+
+        private final int m_start;
+
+        private final ByteBuffer m_data;
+
+        private final File m_spillFile;
+
+        private RandomAccessFile m_spillRaf;
+
+        private boolean m_closed = false;
+
+        private boolean m_committed = false;
+
+        private final WritableByteChannel m_channel = new WritableByteChannel() {
+
+            @Override
+            public int write(final ByteBuffer src) throws IOException {
+                synchronized (Slot.this) {
+                    if (m_closed) {
+                        throw new ClosedChannelException();
+                    }
+                    final int numBytes = src.remaining();
+                    if (m_spillRaf == null && numBytes <= m_data.remaining()) {
+                        m_data.put(src);
+                    } else {
+                        getSpillChannel().write(src);
+                    }
+                    return numBytes;
+                }
+            }
+
+            @Override
+            public boolean isOpen() {
+                synchronized (Slot.this) {
+                    return !m_closed;
+                }
+            }
+
+            @Override
+            public void close() {
+                // Writers close their channel when done. The slot is released by its owner instead.
+            }
+        };
+
+        private Slot(final int start, final int end, final File spillFile) {
+            m_start = start;
+            final ByteBuffer region = m_map.duplicate();
+            final int dataStart = Math.min(start + SLOT_HEADER_SIZE, end);
+            region.limit(end);
+            region.position(dataStart);
+            m_data = region.slice();
+            m_spillFile = spillFile;
+            // The slot must not be considered readable until it is committed.
+            if (end > start) {
+                m_map.put(start, SLOT_FREE);
+            }
+        }
+
+        /**
+         * @return the channel via which the chunk is written to the slot
+         */
+        WritableByteChannel getChannel() {
+            return m_channel;
+        }
+
+        private FileChannel getSpillChannel() throws IOException {
+            if (m_spillRaf == null) {
+                m_spillRaf = new RandomAccessFile(m_spillFile, "rw");
+                // Move everything written so far to the spill file.
+                final ByteBuffer written = m_data.duplicate();
+                written.flip();
+                m_spillRaf.getChannel().write(written);
+            }
+            return m_spillRaf.getChannel();
+        }
+
+        /**
+         * Finishes writing the chunk and hands it over to Python.
+         *
+         * @return the serialized representation of the chunk: either its location within the ring or the path of the
+         *         file to which it was spilled
+         * @throws IOException if writing to or closing the spill file failed or if the slot was already closed
+         */
+        synchronized byte[] commit() throws IOException {
+            if (m_closed) {
+                throw new ClosedChannelException();
+            }
+            if (m_spillRaf == null && m_data.capacity() == 0) {
+                // The ring is full.
+                getSpillChannel();
+            }
+            if (m_spillRaf != null) {
+                m_spillRaf.close();
+                m_spillRaf = null;
+                return m_spillFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+            }
+            m_committed = true;
+            final int length = m_data.position();
+            return (RING_SLOT_PREFIX + (m_start + SLOT_HEADER_SIZE) + ":" + length + ":" + m_file.getAbsolutePath())
+                .getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Releases the slot. If the chunk was not {@link #commit() committed} to the ring, the slot's region is
+         * immediately available again and the spill file, if any, is deleted.
+         */
+        @Override
+        public synchronized void close() {
+            if (!m_closed) {
+                m_closed = true;
+                if (m_spillRaf != null) {
+                    PythonUtils.Misc.closeSafely(null, m_spillRaf);
+                    PythonUtils.Misc.invokeSafely(null, File::delete, m_spillFile);
+                }
+                closeSlot(m_start, m_start + SLOT_HEADER_SIZE + m_data.position(), m_committed);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow.extractors;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.serde.arrow.inserters.NativeCollectionInserter;
+
+/**
+ * Manages the data transfer between the arrow table format and the python table format. Works on native arrow
+ * {@link ListVector list vectors} of any element type, which may hold list or set cells. <code>null</code> entries of
+ * the list's child vector are missing list elements, or the missing value of a set, respectively.
+ *
+ * @see NativeCollectionInserter
+ */
+public class NativeCollectionExtractor implements VectorExtractor {
+
+    private final ListVector m_vector;
+
+    private final FieldVector m_child;
+
+    private final Type m_elementType;
+
+    private final boolean m_isSet;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param vector the vector to extract from
+     * @param type the type of the column, must be a collection type
+     */
+    public NativeCollectionExtractor(final ListVector vector, final Type type) {
+        m_elementType = NativeCollectionInserter.getElementType(type);
+        if (m_elementType == null) {
+            throw new IllegalArgumentException("Type " + type + " is not a collection type.");
+        }
+        m_isSet = type.name().endsWith("_SET");
+        m_vector = vector;
+        m_child = (FieldVector)vector.getDataVector();
+    }
+
+    @Override
+    public Cell extract() {
+        if (m_vector.isNull(m_ctr)) {
+            m_ctr++;
+            return new CellImpl();
+        }
+        final int start = m_vector.getOffsetBuffer().getInt(m_ctr * ListVector.OFFSET_WIDTH);
+        final int end = m_vector.getOffsetBuffer().getInt((m_ctr + 1) * ListVector.OFFSET_WIDTH);
+        m_ctr++;
+        // Bit i is 0 if element i is missing (lists). Sets only contain their non-missing elements.
+        final byte[] missings = new byte[(end - start) / 8 + ((end - start) % 8 == 0 ? 0 : 1)];
+        int numVals = 0;
+        for (int i = start; i < end; i++) {
+            if (!m_child.isNull(i)) {
+                if (!m_isSet) {
+                    missings[(i - start) / 8] |= 1 << ((i - start) % 8);
+                }
+                numVals++;
+            }
+        }
+        final boolean hasMissing = numVals < end - start;
+        final int length = m_isSet ? numVals : end - start;
+        int pos = 0;
+        switch (m_elementType) {
+            case BOOLEAN:
+                final boolean[] booleans = new boolean[length];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        booleans[pos++] = ((BitVector)m_child).get(i) > 0;
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(booleans, hasMissing) : new CellImpl(booleans, missings);
+            case INTEGER:
+                final int[] ints = new int[length];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        ints[pos++] = ((IntVector)m_child).get(i);
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(ints, hasMissing) : new CellImpl(ints, missings);
+            case LONG:
+                final long[] longs = new long[length];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        longs[pos++] = ((BigIntVector)m_child).get(i);
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(longs, hasMissing) : new CellImpl(longs, missings);
+            case DOUBLE:
+                final double[] doubles = new double[length];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        doubles[pos++] = ((Float8Vector)m_child).get(i);
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(doubles, hasMissing) : new CellImpl(doubles, missings);
+            case FLOAT:
+                final float[] floats = new float[length];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        floats[pos++] = ((Float4Vector)m_child).get(i);
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(floats, hasMissing) : new CellImpl(floats, missings);
+            case STRING:
+                final String[] strings = new String[length];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        strings[pos++] = ((VarCharVector)m_child).getObject(i).toString();
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(strings, hasMissing) : new CellImpl(strings, missings);
+            default:
+                final byte[][] bytes = new byte[length][];
+                for (int i = start; i < end; i++) {
+                    if (!m_child.isNull(i)) {
+                        bytes[pos++] = ((VarBinaryVector)m_child).getObject(i);
+                    } else if (!m_isSet) {
+                        pos++;
+                    }
+                }
+                return m_isSet ? new CellImpl(bytes, hasMissing) : new CellImpl(bytes, missings);
+        }
+    }
+}
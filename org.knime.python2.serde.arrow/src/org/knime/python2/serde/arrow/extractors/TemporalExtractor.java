@@ -0,0 +1,124 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow.extractors;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+
+/**
+ * Manages the data transfer between the arrow table format and the python table format. Works on the vectors of the
+ * {@link Type#isTemporal() temporal types} (see {@link #getValue(FieldVector, int)}) and extracts long cells.
+ */
+public class TemporalExtractor implements VectorExtractor {
+
+    /**
+     * Reads the value at the given index of a vector of a temporal column in its long representation (see
+     * {@link Type}). Time stamp vectors of any time unit, date day vectors, time vectors of microsecond and nanosecond
+     * resolution and big int vectors (microseconds) are supported.
+     *
+     * @param vector the vector
+     * @param index the index of a non-<code>null</code> entry of the vector
+     * @return the value in its long representation
+     */
+    public static long getValue(final FieldVector vector, final int index) {
+        if (vector instanceof TimeStampVector) {
+            final ArrowType.Timestamp type = (ArrowType.Timestamp)vector.getField().getType();
+            final long value = ((TimeStampVector)vector).get(index);
+            switch (type.getUnit()) {
+                case SECOND:
+                    return TimeUnit.SECONDS.toMicros(value);
+                case MILLISECOND:
+                    return TimeUnit.MILLISECONDS.toMicros(value);
+                case NANOSECOND:
+                    return Math.floorDiv(value, 1000L);
+                default:
+                    return value;
+            }
+        } else if (vector instanceof DateDayVector) {
+            return ((DateDayVector)vector).get(index);
+        } else if (vector instanceof TimeMicroVector) {
+            return ((TimeMicroVector)vector).get(index);
+        } else if (vector instanceof TimeNanoVector) {
+            return ((TimeNanoVector)vector).get(index) / 1000L;
+        } else if (vector instanceof BigIntVector) {
+            return ((BigIntVector)vector).get(index);
+        } else {
+            throw new IllegalStateException(
+                "Vector of type " + vector.getMinorType() + " does not hold values of a temporal type.");
+        }
+    }
+
+    private final FieldVector m_vector;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param vector the vector to extract from
+     */
+    public TemporalExtractor(final FieldVector vector) {
+        m_vector = vector;
+    }
+
+    @Override
+    public Cell extract() {
+        final Cell c = m_vector.isNull(m_ctr) ? new CellImpl() : new CellImpl(getValue(m_vector, m_ctr));
+        m_ctr++;
+        return c;
+    }
+}
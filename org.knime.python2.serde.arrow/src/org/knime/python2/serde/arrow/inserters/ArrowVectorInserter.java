@@ -64,6 +64,12 @@ public interface ArrowVectorInserter extends VectorInserter {
      */
     FieldVector retrieveVector();
 
+    /**
+     * Empties the arrow vector while keeping its buffers, so that it can be filled with the next batch of rows. Batches
+     * must not exceed the number of rows the inserter was created for.
+     */
+    void reset();
+
     /**
      * Closes the underlying buffer. Important for freeing buffers after serialization.
      */
@@ -49,6 +49,7 @@
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.FieldVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * Manages the data transfer between the python table format and the arrow table format. Works on Boolean cells.
@@ -85,11 +86,31 @@ public void put(final Cell cell) {
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            if (!batch.isMissing(column, row)) {
+                m_vec.set(m_ctr, batch.getBooleanValue(column, row) ? 1 : 0);
+            }
+            m_ctr++;
+        }
+        m_vec.setValueCount(m_ctr);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -136,6 +136,16 @@ public FieldVector retrieveVector() {
         return m_vec;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+        m_byteCount = 0;
+    }
+
     /**
      * {@inheritDoc}
      */
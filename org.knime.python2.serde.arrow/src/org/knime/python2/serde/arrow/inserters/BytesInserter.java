@@ -49,6 +49,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * Manages the data transfer between the python table format and the arrow table format. Works on byte[] cells.
@@ -82,20 +83,31 @@ public BytesInserter(final String name, final BufferAllocator allocator, final i
 
     @Override
     public void put(final Cell cell) {
+        set(cell.isMissing() ? null : cell.getBytesValue());
+        m_vec.setValueCount(m_ctr);
+    }
+
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            set(batch.isMissing(column, row) ? null : batch.getBytesValue(column, row));
+        }
+        m_vec.setValueCount(m_ctr);
+    }
+
+    private void set(final byte[] value) {
         if (m_ctr >= m_vec.getValueCapacity()) {
             m_vec.reallocValidityAndOffsetBuffers();
         }
-        if (!cell.isMissing()) {
+        if (value != null) {
             // Implicitly assumed to be missing.
-
-            byte[] bVal = cell.getBytesValue();
-            m_byteCount += bVal.length;
+            m_byteCount += value.length;
             while (m_byteCount > m_vec.getByteCapacity()) {
                 m_vec.reallocDataBuffer();
             }
-            m_vec.set(m_ctr, bVal);
+            m_vec.set(m_ctr, value);
         }
-        m_vec.setValueCount(++m_ctr);
+        m_ctr++;
     }
 
     @Override
@@ -103,6 +115,16 @@ public FieldVector retrieveVector() {
         return m_vec;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+        m_byteCount = 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -52,6 +52,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -81,11 +82,28 @@ public void put(final Cell cell) {
         m_vector.setValueCount(++m_nextCellIndex);
     }
 
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            if (!batch.isMissing(column, row)) {
+                m_vector.set(m_nextCellIndex, batch.getFloatValue(column, row));
+            }
+            m_nextCellIndex++;
+        }
+        m_vector.setValueCount(m_nextCellIndex);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vector;
     }
 
+    @Override
+    public void reset() {
+        m_vector.reset();
+        m_nextCellIndex = 0;
+    }
+
     @Override
     public void close() {
         m_vector.close();
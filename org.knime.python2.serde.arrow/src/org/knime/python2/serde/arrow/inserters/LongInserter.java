@@ -50,6 +50,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
@@ -99,11 +100,34 @@ public void put(final Cell cell) {
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        final boolean convertMissingToPython = m_serializationOptions.getConvertMissingToPython();
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            if (!batch.isMissing(column, row)) {
+                m_vec.set(m_ctr, batch.getLongValue(column, row));
+            } else if (convertMissingToPython) {
+                m_vec.set(m_ctr, m_longSentinel);
+            }
+            m_ctr++;
+        }
+        m_vec.setValueCount(m_ctr);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,284 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow.inserters;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * Manages the data transfer between the python table format and the arrow table format. Works on list and set cells of
+ * any element type and writes them into a native arrow {@link ListVector} (as opposed to the binary encoding of e.g.
+ * {@link IntListInserter}). Missing list elements become <code>null</code> entries of the list's child vector. A
+ * missing value in a set is written as an additional <code>null</code> entry. A missing cell is written as an empty
+ * list whose validity bit is cleared.
+ */
+public class NativeCollectionInserter implements ArrowVectorInserter {
+
+    /**
+     * @param type a column type
+     * @return true if columns of the given type can be handled by this inserter, false otherwise.
+     */
+    public static boolean isCollectionType(final Type type) {
+        return getElementType(type) != null;
+    }
+
+    /**
+     * @param type a collection column type
+     * @return the type of the elements of the given collection type, <code>null</code> if the given type is not a
+     *         collection type.
+     */
+    public static Type getElementType(final Type type) {
+        switch (type) {
+            case BOOLEAN_LIST:
+            case BOOLEAN_SET:
+                return Type.BOOLEAN;
+            case INTEGER_LIST:
+            case INTEGER_SET:
+                return Type.INTEGER;
+            case LONG_LIST:
+            case LONG_SET:
+                return Type.LONG;
+            case DOUBLE_LIST:
+            case DOUBLE_SET:
+                return Type.DOUBLE;
+            case FLOAT_LIST:
+            case FLOAT_SET:
+                return Type.FLOAT;
+            case STRING_LIST:
+            case STRING_SET:
+                return Type.STRING;
+            case BYTES_LIST:
+            case BYTES_SET:
+                return Type.BYTES;
+            default:
+                return null;
+        }
+    }
+
+    private static MinorType getMinorType(final Type elementType) {
+        switch (elementType) {
+            case BOOLEAN:
+                return MinorType.BIT;
+            case INTEGER:
+                return MinorType.INT;
+            case LONG:
+                return MinorType.BIGINT;
+            case DOUBLE:
+                return MinorType.FLOAT8;
+            case FLOAT:
+                return MinorType.FLOAT4;
+            case STRING:
+                return MinorType.VARCHAR;
+            default:
+                return MinorType.VARBINARY;
+        }
+    }
+
+    private final ListVector m_vec;
+
+    private final FieldVector m_child;
+
+    private final Type m_elementType;
+
+    private final boolean m_isSet;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffers
+     * @param numRows the number of rows in the managed vector
+     * @param type the type of the column, must be a {@link #isCollectionType(Type) collection type}
+     */
+    public NativeCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final Type type) {
+        m_elementType = getElementType(type);
+        if (m_elementType == null) {
+            throw new IllegalArgumentException("Type " + type + " is not a collection type.");
+        }
+        m_isSet = type.name().endsWith("_SET");
+        m_vec = ListVector.empty(name, allocator);
+        m_child = m_vec.addOrGetVector(FieldType.nullable(getMinorType(m_elementType).getType())).getVector();
+        m_vec.setInitialCapacity(numRows);
+        m_vec.allocateNew();
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        final int offset = m_vec.startNewValue(m_ctr);
+        if (cell.isMissing()) {
+            // Missing rows are empty entries whose validity bit is cleared. This keeps the offsets consistent even if
+            // the vector is reused or missing rows are followed by further values.
+            m_vec.endValue(m_ctr, 0);
+            BitVectorHelper.setValidityBit(m_vec.getValidityBuffer(), m_ctr, 0);
+        } else {
+            int size = putElements(cell, offset);
+            if (m_isSet && cell.hasMissingInSet()) {
+                setNull(offset + size);
+                size++;
+            }
+            m_vec.endValue(m_ctr, size);
+        }
+        m_ctr++;
+    }
+
+    private int putElements(final Cell cell, final int offset) {
+        switch (m_elementType) {
+            case BOOLEAN:
+                final boolean[] booleans = cell.getBooleanArrayValue();
+                for (int i = 0; i < booleans.length; i++) {
+                    ((BitVector)m_child).setSafe(offset + i, isSet(cell, i), booleans[i] ? 1 : 0);
+                }
+                return booleans.length;
+            case INTEGER:
+                final int[] ints = cell.getIntegerArrayValue();
+                for (int i = 0; i < ints.length; i++) {
+                    ((IntVector)m_child).setSafe(offset + i, isSet(cell, i), ints[i]);
+                }
+                return ints.length;
+            case LONG:
+                final long[] longs = cell.getLongArrayValue();
+                for (int i = 0; i < longs.length; i++) {
+                    ((BigIntVector)m_child).setSafe(offset + i, isSet(cell, i), longs[i]);
+                }
+                return longs.length;
+            case DOUBLE:
+                final double[] doubles = cell.getDoubleArrayValue();
+                for (int i = 0; i < doubles.length; i++) {
+                    ((Float8Vector)m_child).setSafe(offset + i, isSet(cell, i), doubles[i]);
+                }
+                return doubles.length;
+            case FLOAT:
+                final float[] floats = cell.getFloatArrayValue();
+                for (int i = 0; i < floats.length; i++) {
+                    ((Float4Vector)m_child).setSafe(offset + i, isSet(cell, i), floats[i]);
+                }
+                return floats.length;
+            case STRING:
+                final String[] strings = cell.getStringArrayValue();
+                for (int i = 0; i < strings.length; i++) {
+                    if (isSet(cell, i) == 1) {
+                        ((VarCharVector)m_child).setSafe(offset + i, strings[i].getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                return strings.length;
+            default:
+                final byte[][] bytes = cell.getBytesArrayValue();
+                for (int i = 0; i < bytes.length; i++) {
+                    if (isSet(cell, i) == 1) {
+                        ((VarBinaryVector)m_child).setSafe(offset + i, bytes[i]);
+                    }
+                }
+                return bytes.length;
+        }
+    }
+
+    /**
+     * Returns 1 if the element at the given index is present, 0 if it is missing. Elements of sets are never missing,
+     * their missing value is indicated by {@link Cell#hasMissingInSet()}.
+     */
+    private int isSet(final Cell cell, final int index) {
+        return m_isSet || !cell.isMissing(index) ? 1 : 0;
+    }
+
+    private void setNull(final int index) {
+        switch (m_elementType) {
+            case BOOLEAN:
+                ((BitVector)m_child).setSafe(index, 0, 0);
+                break;
+            case INTEGER:
+                ((IntVector)m_child).setSafe(index, 0, 0);
+                break;
+            case LONG:
+                ((BigIntVector)m_child).setSafe(index, 0, 0L);
+                break;
+            case DOUBLE:
+                ((Float8Vector)m_child).setSafe(index, 0, 0d);
+                break;
+            case FLOAT:
+                ((Float4Vector)m_child).setSafe(index, 0, 0f);
+                break;
+            default:
+                // Variable width entries that are not set are implicitly null.
+                break;
+        }
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        // Also sets the value count of the child vector.
+        m_vec.setValueCount(m_ctr);
+        return m_vec;
+    }
+
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+    }
+
+    @Override
+    public void close() {
+        m_vec.close();
+    }
+}
@@ -51,6 +51,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * Manages the data transfer between the python table format and the arrow table format. Works on String cells.
@@ -84,19 +85,41 @@ public StringInserter(final String name, final BufferAllocator allocator, final
 
     @Override
     public void put(final Cell cell) {
+        put(cell.isMissing() ? null : cell.getStringValue());
+    }
+
+    /**
+     * Add a string to the end of the managed vector.
+     *
+     * @param value the string, <code>null</code> if missing
+     */
+    public void put(final String value) {
+        set(value);
+        m_vec.setValueCount(m_ctr);
+    }
+
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            set(batch.isMissing(column, row) ? null : batch.getStringValue(column, row));
+        }
+        m_vec.setValueCount(m_ctr);
+    }
+
+    private void set(final String value) {
         if (m_ctr >= m_vec.getValueCapacity()) {
             m_vec.reallocValidityAndOffsetBuffers();
         }
-        if (!cell.isMissing()) {
+        if (value != null) {
             // Implicitly assumed to be missing.
-            byte[] bVal = cell.getStringValue().getBytes(StandardCharsets.UTF_8);
+            byte[] bVal = value.getBytes(StandardCharsets.UTF_8);
             m_byteCount += bVal.length;
             while (m_byteCount > m_vec.getByteCapacity()) {
                 m_vec.reallocDataBuffer();
             }
             m_vec.set(m_ctr, bVal);
         }
-        m_vec.setValueCount(++m_ctr);
+        m_ctr++;
     }
 
     @Override
@@ -104,6 +127,16 @@ public FieldVector retrieveVector() {
         return m_vec;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+        m_byteCount = 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow.inserters;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * Manages the data transfer between the python table format and the arrow table format. Works on the long cells of the
+ * {@link Type#isTemporal() temporal types} and writes them into the matching native arrow vectors:
+ * {@link TimeStampMicroVector} for local date and times, {@link DateDayVector} for local dates, {@link TimeMicroVector}
+ * for local times and {@link BigIntVector} (microseconds) for durations, which have no arrow vector of their own in
+ * the arrow version at hand. Missing values are <code>null</code> entries, no sentinels are involved.
+ */
+public class TemporalInserter implements ArrowVectorInserter {
+
+    private final Type m_type;
+
+    private final FieldVector m_vec;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffer
+     * @param numRows the number of rows in the managed vector
+     * @param type the type of the column, must be a {@link Type#isTemporal() temporal type}
+     */
+    public TemporalInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final Type type) {
+        m_type = type;
+        switch (type) {
+            case LOCAL_DATE_TIME:
+                final TimeStampMicroVector dateTimeVector = new TimeStampMicroVector(name, allocator);
+                dateTimeVector.allocateNew(numRows);
+                m_vec = dateTimeVector;
+                break;
+            case LOCAL_DATE:
+                final DateDayVector dateVector = new DateDayVector(name, allocator);
+                dateVector.allocateNew(numRows);
+                m_vec = dateVector;
+                break;
+            case LOCAL_TIME:
+                final TimeMicroVector timeVector = new TimeMicroVector(name, allocator);
+                timeVector.allocateNew(numRows);
+                m_vec = timeVector;
+                break;
+            case DURATION:
+                final BigIntVector durationVector = new BigIntVector(name, allocator);
+                durationVector.allocateNew(numRows);
+                m_vec = durationVector;
+                break;
+            default:
+                throw new IllegalArgumentException("Type " + type + " is not a temporal type.");
+        }
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        if (!cell.isMissing()) {
+            // Missing is implicitly assumed.
+            set(m_ctr, cell.getLongValue());
+        }
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            if (!batch.isMissing(column, row)) {
+                set(m_ctr, batch.getLongValue(column, row));
+            }
+            m_ctr++;
+        }
+        m_vec.setValueCount(m_ctr);
+    }
+
+    private void set(final int index, final long value) {
+        switch (m_type) {
+            case LOCAL_DATE_TIME:
+                ((TimeStampMicroVector)m_vec).set(index, value);
+                break;
+            case LOCAL_DATE:
+                ((DateDayVector)m_vec).set(index, Math.toIntExact(value));
+                break;
+            case LOCAL_TIME:
+                ((TimeMicroVector)m_vec).set(index, value);
+                break;
+            default:
+                ((BigIntVector)m_vec).set(index, value);
+                break;
+        }
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        return m_vec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        m_vec.reset();
+        m_ctr = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        m_vec.close();
+    }
+}
@@ -59,7 +59,6 @@
 import java.util.Map.Entry;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.knime.core.util.FileUtil;
@@ -79,11 +78,10 @@
 import org.knime.python2.kernel.PythonCancelable;
 import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.kernel.PythonExecutionException;
+import org.knime.python2.kernel.PythonKernelRuntime;
 import org.knime.python2.util.BitArray;
 import org.knime.python2.util.PythonUtils;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 /**
  * Used for (de)serializing KNIME tables via CSV files.
  *
@@ -94,8 +92,8 @@
 public class CsvSerializationLibrary implements SerializationLibrary {
 
     /** Used to make (de-)serialization cancelable. */
-    private final ExecutorService m_executorService = ThreadUtils.executorServiceWithContext(
-        Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("python-csv-serde-%d").build()));
+    private final ExecutorService m_executorService =
+        ThreadUtils.executorServiceWithContext(PythonKernelRuntime.newComputeExecutor("python-csv-serde"));
 
     /**
      * The root directory in which the temporary files used for data transfer are stored. Will be populated during the
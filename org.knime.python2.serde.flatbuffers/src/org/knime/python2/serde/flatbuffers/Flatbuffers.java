@@ -52,11 +52,12 @@
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.knime.core.util.ThreadUtils;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
@@ -69,6 +70,7 @@
 import org.knime.python2.kernel.PythonCancelable;
 import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.kernel.PythonExecutionException;
+import org.knime.python2.kernel.PythonKernelRuntime;
 import org.knime.python2.serde.flatbuffers.extractors.BooleanExtractor;
 import org.knime.python2.serde.flatbuffers.extractors.BooleanListExtractor;
 import org.knime.python2.serde.flatbuffers.extractors.BooleanSetExtractor;
@@ -122,7 +124,6 @@
 import org.knime.python2.serde.flatbuffers.inserters.StringSetInserter;
 import org.knime.python2.util.PythonUtils;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.flatbuffers.FlatBufferBuilder;
 
 /**
@@ -136,8 +137,8 @@
 public class Flatbuffers implements SerializationLibrary {
 
     /** Used to make (de-)serialization cancelable. */
-    private final ExecutorService m_executorService = ThreadUtils.executorServiceWithContext(Executors
-        .newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("python-flatbuffers-serde-%d").build()));
+    private final ExecutorService m_executorService =
+        ThreadUtils.executorServiceWithContext(PythonKernelRuntime.newComputeExecutor("python-flatbuffers-serde"));
 
     @Override
     public byte[] tableToBytes(final TableIterator tableIterator, final SerializationOptions serializationOptions,
@@ -251,20 +252,35 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
         }
 
         final int[] rowIdOffsets = new int[numRows];
-        int rowIdx = 0;
-        // Convert the rows to columns.
-        while (tableIterator.hasNext()) {
-            if (Thread.interrupted()) {
-                // Stop serialization if canceled by client.
-                throw new CancellationException("Serialization canceled by client.");
+        if (tableIterator instanceof ColumnarTableIterator) {
+            // The table is already in columnar form, no need to create row or cell objects.
+            final ColumnBatch batch = ((ColumnarTableIterator)tableIterator).nextBatch();
+            for (int rowIdx = 0; rowIdx < batch.getNumberRows(); rowIdx++) {
+                rowIdOffsets[rowIdx] = builder.createString(batch.getRowKey(rowIdx));
             }
-            final Row row = tableIterator.next();
-            rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
-
             for (int i = 0; i < inserters.size(); i++) {
-                inserters.get(i).put(row.getCell(i));
+                if (Thread.interrupted()) {
+                    // Stop serialization if canceled by client.
+                    throw new CancellationException("Serialization canceled by client.");
+                }
+                inserters.get(i).putColumn(batch, i);
+            }
+        } else {
+            int rowIdx = 0;
+            // Convert the rows to columns.
+            while (tableIterator.hasNext()) {
+                if (Thread.interrupted()) {
+                    // Stop serialization if canceled by client.
+                    throw new CancellationException("Serialization canceled by client.");
+                }
+                final Row row = tableIterator.next();
+                rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
+
+                for (int i = 0; i < inserters.size(); i++) {
+                    inserters.get(i).put(row.getCell(i));
+                }
+                rowIdx++;
             }
-            rowIdx++;
         }
 
         final int numCols = tableIterator.getTableSpec().getNumberColumns();
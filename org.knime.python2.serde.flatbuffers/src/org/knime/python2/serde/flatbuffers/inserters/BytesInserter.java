@@ -49,6 +49,7 @@
 package org.knime.python2.serde.flatbuffers.inserters;
 
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.serde.flatbuffers.flatc.ByteCell;
 import org.knime.python2.serde.flatbuffers.flatc.ByteColumn;
@@ -93,6 +94,21 @@ public void put(final Cell cell) {
         m_ctr++;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            if (batch.isMissing(column, row)) {
+                m_missings[m_ctr] = true;
+            } else {
+                m_values[m_ctr] = batch.getBytesValue(column, row);
+            }
+            m_ctr++;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -50,6 +50,7 @@
 
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.serde.flatbuffers.flatc.Column;
 import org.knime.python2.serde.flatbuffers.flatc.IntColumn;
@@ -97,6 +98,24 @@ public void put(final Cell cell) {
         m_ctr++;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putColumn(final ColumnBatch batch, final int column) {
+        final boolean convertMissingToPython = m_serializationOptions.getConvertMissingToPython();
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            if (!batch.isMissing(column, row)) {
+                m_values[m_ctr] = batch.getIntegerValue(column, row);
+            } else if (convertMissingToPython) {
+                m_values[m_ctr] = (int) m_serializationOptions.getSentinelForType(Type.INTEGER);
+            } else {
+                m_missings[m_ctr] = true;
+            }
+            m_ctr++;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
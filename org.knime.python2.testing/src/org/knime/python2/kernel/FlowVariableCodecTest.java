@@ -0,0 +1,158 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests {@link FlowVariableCodec} and its counterpart on Python side.
+ */
+public final class FlowVariableCodecTest {
+
+	private static final String FLOW_VARIABLES_NAME = "flow_variables";
+
+	private static List<FlowVariable> createFlowVariables() {
+		return Arrays.asList(new FlowVariable("int", 42), new FlowVariable("int_min", Integer.MIN_VALUE),
+				new FlowVariable("int_max", Integer.MAX_VALUE), new FlowVariable("double", -0.125),
+				new FlowVariable("double_max", Double.MAX_VALUE),
+				new FlowVariable("double_infinity", Double.NEGATIVE_INFINITY), new FlowVariable("string", "value"),
+				new FlowVariable("string_empty", ""), new FlowVariable("string_unicode", "\u00e4\u00f6\u00fc \u20ac"),
+				new FlowVariable("name \u00e4\u00f6\u00fc", 1));
+	}
+
+	private static void assertFlowVariablesEqual(final Collection<FlowVariable> expected,
+			final Collection<FlowVariable> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		final Iterator<FlowVariable> actualIterator = actual.iterator();
+		for (final FlowVariable expectedFlowVariable : expected) {
+			final FlowVariable actualFlowVariable = actualIterator.next();
+			Assert.assertEquals(expectedFlowVariable.getName(), actualFlowVariable.getName());
+			Assert.assertEquals(expectedFlowVariable.getType(), actualFlowVariable.getType());
+			Assert.assertEquals(expectedFlowVariable.getValueAsString(), actualFlowVariable.getValueAsString());
+		}
+	}
+
+	private static PythonKernel createKernel() throws IOException {
+		final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+		kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+		return new PythonKernel(kernelOptions);
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final List<FlowVariable> flowVariables = createFlowVariables();
+		assertFlowVariablesEqual(flowVariables, FlowVariableCodec.decode(FlowVariableCodec.encode(flowVariables)));
+	}
+
+	@Test
+	public void testEmptyRoundTrip() {
+		Assert.assertTrue(FlowVariableCodec.decode(FlowVariableCodec.encode(Collections.emptyList())).isEmpty());
+	}
+
+	@Test
+	public void testNaNRoundTrip() {
+		final List<FlowVariable> decoded =
+				FlowVariableCodec.decode(FlowVariableCodec.encode(Arrays.asList(new FlowVariable("nan", Double.NaN))));
+		Assert.assertTrue(Double.isNaN(decoded.get(0).getDoubleValue()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnknownTypeIsRejected() {
+		final byte[] bytes = FlowVariableCodec.encode(Arrays.asList(new FlowVariable("int", 1)));
+		// Type of the first variable.
+		bytes[4] = 3;
+		FlowVariableCodec.decode(bytes);
+	}
+
+	/**
+	 * Tests Java side and Python side.
+	 */
+	@Test
+	public void testRoundTripThroughPython() throws IOException, InterruptedException, ExecutionException {
+		final List<FlowVariable> flowVariables = createFlowVariables();
+		try (final PythonKernel kernel = createKernel()) {
+			kernel.putFlowVariables(FLOW_VARIABLES_NAME, flowVariables);
+			assertFlowVariablesEqual(flowVariables, kernel.getFlowVariables(FLOW_VARIABLES_NAME));
+		}
+	}
+
+	/**
+	 * Tests Python side. Integers that do not fit into 32 bits are omitted, values of other types become strings.
+	 */
+	@Test
+	public void testPythonValuesAreConverted() throws IOException, CanceledExecutionException {
+		try (final PythonKernel kernel = createKernel()) {
+			kernel.execute(FLOW_VARIABLES_NAME + " = {'int': 1, 'too_big': 2 ** 40, 'float': 0.5, 'bool': True, "
+					+ "'none': None}", PythonCancelable.NOT_CANCELABLE);
+			final List<FlowVariable> expected = new ArrayList<>();
+			expected.add(new FlowVariable("int", 1));
+			expected.add(new FlowVariable("float", 0.5));
+			expected.add(new FlowVariable("bool", "True"));
+			expected.add(new FlowVariable("none", "None"));
+			final List<FlowVariable> actual = new ArrayList<>(kernel.getFlowVariables(FLOW_VARIABLES_NAME));
+			// Python dicts do not necessarily preserve insertion order.
+			final Comparator<FlowVariable> byName = Comparator.comparing(FlowVariable::getName);
+			expected.sort(byName);
+			actual.sort(byName);
+			assertFlowVariablesEqual(expected, actual);
+		}
+	}
+}
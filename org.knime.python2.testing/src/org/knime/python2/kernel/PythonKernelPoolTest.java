@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.python2.extensions.serializationlibrary.SentinelOption;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests the pooling behavior of {@link PythonKernelPool}.
+ */
+public final class PythonKernelPoolTest {
+
+	private static final long TIMEOUT_IN_MILLIS = 30000;
+
+	private static PythonKernelOptions createOptions() {
+		final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+		kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+		return kernelOptions;
+	}
+
+	private static void awaitNumIdleKernels(final PythonKernelPool pool, final PythonKernelOptions options,
+			final int numIdleKernels) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MILLIS;
+		while (pool.getNumIdleKernels(options) != numIdleKernels) {
+			if (System.currentTimeMillis() > deadline) {
+				Assert.fail("Expected " + numIdleKernels + " idle kernel(s) but found "
+						+ pool.getNumIdleKernels(options) + ".");
+			}
+			Thread.sleep(50);
+		}
+	}
+
+	@Test
+	public void testKeyIgnoresJavaSideOptions() {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelOptions other = new PythonKernelOptions(options);
+		other.setChunkSize(options.getChunkSize() + 1);
+		other.setTransferQueueDepth(options.getTransferQueueDepth() + 1);
+		Assert.assertEquals(new PythonKernelPoolKey(options), new PythonKernelPoolKey(other));
+		Assert.assertEquals(new PythonKernelPoolKey(options).hashCode(), new PythonKernelPoolKey(other).hashCode());
+	}
+
+	@Test
+	public void testKeyDistinguishesPythonSideOptions() {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelOptions otherSentinel = new PythonKernelOptions(options);
+		otherSentinel.setSentinelOption(SentinelOption.CUSTOM);
+		otherSentinel.setSentinelValue(42);
+		Assert.assertFalse(new PythonKernelPoolKey(options).equals(new PythonKernelPoolKey(otherSentinel)));
+		final PythonKernelOptions otherModules = new PythonKernelOptions(options);
+		otherModules.addRequiredModule("numpy");
+		Assert.assertFalse(new PythonKernelPoolKey(options).equals(new PythonKernelPoolKey(otherModules)));
+		final PythonKernelOptions otherVersion = new PythonKernelOptions(options);
+		otherVersion.setPythonVersionOption(PythonVersionOption.PYTHON2);
+		Assert.assertFalse(new PythonKernelPoolKey(options).equals(new PythonKernelPoolKey(otherVersion)));
+	}
+
+	@Test
+	public void testKeyIsUnaffectedByLaterChangesToOptions() {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelPoolKey key = new PythonKernelPoolKey(options);
+		final int hashCode = key.hashCode();
+		options.setPython3Command(options.getPython3Command() + "-other");
+		Assert.assertEquals(hashCode, key.hashCode());
+		Assert.assertFalse(key.equals(new PythonKernelPoolKey(options)));
+	}
+
+	@Test
+	public void testPoolingIsDisabledByDefault() {
+		Assert.assertEquals(0, PythonKernelPool.getPoolSize());
+	}
+
+	@Test
+	public void testDisabledPoolDoesNotKeepKernels() throws IOException, InterruptedException {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelPool pool = new PythonKernelPool(0, TIMEOUT_IN_MILLIS);
+		try (final PythonKernel kernel = pool.getNextKernel(options)) {
+			Assert.assertTrue(kernel.isPythonProcessAlive());
+			Thread.sleep(500);
+			Assert.assertEquals(0, pool.getNumIdleKernels(options));
+		} finally {
+			pool.close();
+		}
+	}
+
+	@Test
+	public void testPoolIsRefilledAndHandsOutIdleKernels() throws IOException, InterruptedException {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelPool pool = new PythonKernelPool(1, TIMEOUT_IN_MILLIS);
+		try {
+			try (final PythonKernel kernel = pool.getNextKernel(options)) {
+				Assert.assertTrue(kernel.isPythonProcessAlive());
+			}
+			awaitNumIdleKernels(pool, options, 1);
+			try (final PythonKernel kernel = pool.getNextKernel(options)) {
+				// The idle kernel was handed out, a new one is being started in its place.
+				Assert.assertTrue(kernel.isPythonProcessAlive());
+				Assert.assertEquals(0, pool.getNumIdleKernels(options));
+			}
+			awaitNumIdleKernels(pool, options, 1);
+		} finally {
+			pool.close();
+		}
+		Assert.assertEquals(0, pool.getNumIdleKernels(options));
+	}
+
+	@Test
+	public void testIdleKernelsAreEvictedAfterTimeout() throws IOException, InterruptedException {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelPool pool = new PythonKernelPool(1, 1000);
+		try {
+			pool.getNextKernel(options).close();
+			// The refilled kernel is evicted once it has been idle for longer than the timeout.
+			final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MILLIS;
+			boolean sawIdleKernel = false;
+			while (System.currentTimeMillis() < deadline) {
+				final int numIdle = pool.getNumIdleKernels(options);
+				sawIdleKernel |= numIdle == 1;
+				if (sawIdleKernel && numIdle == 0) {
+					return;
+				}
+				Thread.sleep(50);
+			}
+			Assert.fail("The idle kernel was not evicted.");
+		} finally {
+			pool.close();
+		}
+	}
+
+	@Test
+	public void testClosedPoolCreatesKernelsOnTheFly() throws IOException, InterruptedException {
+		final PythonKernelOptions options = createOptions();
+		final PythonKernelPool pool = new PythonKernelPool(1, TIMEOUT_IN_MILLIS);
+		pool.close();
+		try (final PythonKernel kernel = pool.getNextKernel(options)) {
+			Assert.assertTrue(kernel.isPythonProcessAlive());
+		}
+		Thread.sleep(500);
+		Assert.assertEquals(0, pool.getNumIdleKernels(options));
+	}
+}
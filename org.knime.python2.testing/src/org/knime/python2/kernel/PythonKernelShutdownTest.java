@@ -0,0 +1,119 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests that Python acknowledges the shutdown request that is sent when a {@link PythonKernel} is closed and then
+ * terminates by itself rather than being killed.
+ */
+public final class PythonKernelShutdownTest {
+
+	private static final String SHUTDOWN_TIMEOUT_VM_OPT = "knime.python.shutdowntimeout";
+
+	private static final long TIMEOUT_IN_MILLIS = 10000;
+
+	private String m_shutdownTimeout;
+
+	@Before
+	public void setup() {
+		m_shutdownTimeout = System.getProperty(SHUTDOWN_TIMEOUT_VM_OPT);
+		// Python would only be killed long after the test timed out.
+		System.setProperty(SHUTDOWN_TIMEOUT_VM_OPT, "60000");
+	}
+
+	@After
+	public void cleanup() {
+		if (m_shutdownTimeout != null) {
+			System.setProperty(SHUTDOWN_TIMEOUT_VM_OPT, m_shutdownTimeout);
+		} else {
+			System.clearProperty(SHUTDOWN_TIMEOUT_VM_OPT);
+		}
+	}
+
+	private static PythonKernel createKernel() throws IOException {
+		final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+		kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+		return new PythonKernel(kernelOptions);
+	}
+
+	private static void awaitTermination(final PythonKernel kernel) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MILLIS;
+		while (kernel.isPythonProcessAlive()) {
+			if (System.currentTimeMillis() > deadline) {
+				Assert.fail("Python did not terminate after the shutdown request.");
+			}
+			Thread.sleep(50);
+		}
+	}
+
+	@Test
+	public void testPythonTerminatesAfterShutdownRequest() throws IOException, InterruptedException {
+		final PythonKernel kernel = createKernel();
+		Assert.assertTrue(kernel.isPythonProcessAlive());
+		final long start = System.currentTimeMillis();
+		kernel.close();
+		// Closing does not wait for Python to terminate.
+		Assert.assertTrue(System.currentTimeMillis() - start < TIMEOUT_IN_MILLIS);
+		awaitTermination(kernel);
+	}
+
+	@Test
+	public void testRepeatedCloseIsNoOp() throws IOException, InterruptedException {
+		final PythonKernel kernel = createKernel();
+		kernel.close();
+		kernel.close();
+		awaitTermination(kernel);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link PythonOutputBuffer}.
+ */
+public final class PythonOutputBufferTest {
+
+	@Test
+	public void testRetainsLinesInOrder() {
+		final PythonOutputBuffer buffer = new PythonOutputBuffer(3);
+		buffer.messageReceived("a", false);
+		buffer.messageReceived("b", true);
+		Assert.assertEquals(Arrays.asList("a", "b"), buffer.getLines());
+	}
+
+	@Test
+	public void testDropsOldestLinesOnceFull() {
+		final PythonOutputBuffer buffer = new PythonOutputBuffer(2);
+		for (int i = 0; i < 5; i++) {
+			buffer.messageReceived("line" + i, false);
+		}
+		Assert.assertEquals(Arrays.asList("[3 earlier lines omitted]", "line3", "line4"), buffer.getLines());
+	}
+
+	@Test
+	public void testIgnoresLinesWhileSilenced() {
+		final PythonOutputBuffer buffer = new PythonOutputBuffer(3);
+		buffer.messageReceived("a", false);
+		buffer.setSilenced(true);
+		buffer.messageReceived("b", false);
+		buffer.setSilenced(false);
+		buffer.messageReceived("c", false);
+		Assert.assertEquals(Arrays.asList("a", "c"), buffer.getLines());
+	}
+
+	@Test
+	public void testGetLinesReturnsCopy() {
+		final PythonOutputBuffer buffer = new PythonOutputBuffer(3);
+		buffer.messageReceived("a", false);
+		buffer.getLines().clear();
+		Assert.assertEquals(Arrays.asList("a"), buffer.getLines());
+	}
+
+	@Test
+	public void testConcurrentWritersDoNotExceedCapacity() throws InterruptedException {
+		final int capacity = 100;
+		final int numWriters = 4;
+		final int numLinesPerWriter = 1000;
+		final PythonOutputBuffer buffer = new PythonOutputBuffer(capacity);
+		final ExecutorService writers = Executors.newFixedThreadPool(numWriters);
+		for (int i = 0; i < numWriters; i++) {
+			writers.execute(() -> {
+				for (int j = 0; j < numLinesPerWriter; j++) {
+					buffer.messageReceived("line", false);
+				}
+			});
+		}
+		writers.shutdown();
+		Assert.assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+		Assert.assertEquals(capacity + 1, buffer.getLines().size());
+		Assert.assertEquals("[" + (numWriters * numLinesPerWriter - capacity) + " earlier lines omitted]",
+				buffer.getLines().getFirst());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsNonPositiveCapacity() {
+		new PythonOutputBuffer(0);
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests the caching and eviction of scripts that are executed via
+ * {@link PythonKernel#executePrepared(PythonPreparedScript, PythonCancelable)}.
+ */
+public final class PythonPreparedScriptTest {
+
+	private static final int MAX_NUM_PREPARED_SCRIPTS = 64;
+
+	private PythonKernel m_kernel;
+
+	@Before
+	public void setup() throws IOException {
+		final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+		kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+		m_kernel = new PythonKernel(kernelOptions);
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		m_kernel.close();
+	}
+
+	private boolean isCachedInPython(final PythonPreparedScript script)
+			throws InterruptedException, ExecutionException {
+		return m_kernel.getCommands().executePrepared(script.getKey(), null, false).get() != null;
+	}
+
+	private void assertExecutes(final PythonPreparedScript script, final String expectedOutput)
+			throws IOException, CanceledExecutionException {
+		final String[] out = m_kernel.executePrepared(script, PythonCancelable.NOT_CANCELABLE);
+		Assert.assertEquals(expectedOutput, out[0].trim());
+	}
+
+	@Test
+	public void testEqualSourceCodeHasEqualKey() {
+		Assert.assertEquals(m_kernel.prepare("print(1)").getKey(), m_kernel.prepare("print(1)").getKey());
+		Assert.assertFalse(m_kernel.prepare("print(1)").getKey().equals(m_kernel.prepare("print(2)").getKey()));
+	}
+
+	@Test
+	public void testFirstExecutionCachesScript()
+			throws IOException, CanceledExecutionException, InterruptedException, ExecutionException {
+		final PythonPreparedScript script = m_kernel.prepare("print('first')");
+		Assert.assertFalse(isCachedInPython(script));
+		assertExecutes(script, "first");
+		Assert.assertTrue(isCachedInPython(script));
+		assertExecutes(script, "first");
+	}
+
+	@Test
+	public void testCacheOutlivesWorkspaceReset()
+			throws IOException, CanceledExecutionException, InterruptedException, ExecutionException {
+		final PythonPreparedScript script = m_kernel.prepare("x = 42\nprint(x)");
+		assertExecutes(script, "42");
+		m_kernel.resetWorkspace();
+		Assert.assertTrue(isCachedInPython(script));
+		assertExecutes(script, "42");
+	}
+
+	@Test
+	public void testLeastRecentlyUsedScriptIsEvicted()
+			throws IOException, CanceledExecutionException, InterruptedException, ExecutionException {
+		final PythonPreparedScript first = m_kernel.prepare("print('evicted')");
+		final PythonPreparedScript second = m_kernel.prepare("print('kept')");
+		assertExecutes(first, "evicted");
+		assertExecutes(second, "kept");
+		for (int i = 0; i < MAX_NUM_PREPARED_SCRIPTS - 2; i++) {
+			assertExecutes(m_kernel.prepare("print(" + i + ")"), Integer.toString(i));
+		}
+		// Marks the first script as most recently used, so the second one is evicted next.
+		assertExecutes(first, "evicted");
+		assertExecutes(m_kernel.prepare("print('new')"), "new");
+		Assert.assertTrue(isCachedInPython(first));
+		Assert.assertFalse(isCachedInPython(second));
+		// The source code is sent again.
+		assertExecutes(second, "kept");
+	}
+
+	@Test
+	public void testScriptEvictedOnlyInPythonIsResent()
+			throws IOException, CanceledExecutionException, InterruptedException, ExecutionException {
+		final PythonPreparedScript script = m_kernel.prepare("print('resent')");
+		assertExecutes(script, "resent");
+		// Bypass the kernel to fill the cache on Python side without the kernel noticing.
+		for (int i = 0; i < MAX_NUM_PREPARED_SCRIPTS; i++) {
+			final PythonPreparedScript other = m_kernel.prepare("y = " + i);
+			m_kernel.getCommands().executePrepared(other.getKey(), other.getSourceCode(), false).get();
+		}
+		Assert.assertFalse(isCachedInPython(script));
+		assertExecutes(script, "resent");
+		Assert.assertTrue(isCachedInPython(script));
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel.messaging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.python2.kernel.PythonCancelable;
+import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests {@link BinaryHeaderCodec} and its compatibility with its counterpart on Python side.
+ */
+public final class BinaryHeaderCodecTest {
+
+	private static DefaultMessage roundTrip(final DefaultMessage message) {
+		final byte[] header = BinaryHeaderCodec.encode(message);
+		return BinaryHeaderCodec.decode(header, header.length, message.getPayload());
+	}
+
+	private static void assertMessageEquals(final DefaultMessage expected, final DefaultMessage actual) {
+		Assert.assertEquals(expected.getId(), actual.getId());
+		Assert.assertEquals(expected.getCategory(), actual.getCategory());
+		Assert.assertEquals(expected.getHeaderFields(), actual.getHeaderFields());
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final Map<String, String> fields = new LinkedHashMap<>();
+		fields.put(AbstractTaskHandler.FIELD_KEY_MESSAGE_TYPE, AbstractTaskHandler.MESSAGE_TYPE_SUCCESS);
+		fields.put(AbstractTaskHandler.FIELD_KEY_REPLY_TO, "42");
+		fields.put("custom_key", "custom value");
+		fields.put("unicode", "\u00e4\u00f6\u00fc \u20ac \ud83d\udc0d");
+		fields.put("empty", "");
+		fields.put("min", Integer.toString(Integer.MIN_VALUE));
+		fields.put("max", Integer.toString(Integer.MAX_VALUE));
+		final byte[] payload = new byte[] { 1, 2, 3 };
+		final DefaultMessage message = new DefaultMessage(7, "execute", payload, fields);
+		final DefaultMessage decoded = roundTrip(message);
+		assertMessageEquals(message, decoded);
+		Assert.assertSame(payload, decoded.getPayload());
+	}
+
+	@Test
+	public void testNonCanonicalIntegersSurviveRoundTrip() {
+		final Map<String, String> fields = new LinkedHashMap<>();
+		final List<String> values = Arrays.asList("007", "-0", "+1", "0", "-1", "2147483648", "-2147483649", "1e3",
+				" 1", "-");
+		for (int i = 0; i < values.size(); i++) {
+			fields.put("value" + i, values.get(i));
+		}
+		final DefaultMessage message = new DefaultMessage(Integer.MAX_VALUE, "12", null, fields);
+		assertMessageEquals(message, roundTrip(message));
+	}
+
+	@Test
+	public void testInternedStringsAndIntegersAreCompact() {
+		final Map<String, String> fields = new LinkedHashMap<>();
+		fields.put(AbstractTaskHandler.FIELD_KEY_MESSAGE_TYPE, AbstractTaskHandler.MESSAGE_TYPE_FAILURE);
+		fields.put(AbstractTaskHandler.FIELD_KEY_REPLY_TO, "123456");
+		final byte[] header = BinaryHeaderCodec.encode(new DefaultMessage(1, "execute", null, fields));
+		// id + interned category + number of fields + two interned tokens + interned key + int token
+		Assert.assertEquals(4 + 2 + 2 + 2 + 2 + 2 + 5, header.length);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnknownTokenTypeIsRejected() {
+		final byte[] header = ByteBuffer.allocate(6).putInt(1).put((byte)3).put((byte)0).array();
+		BinaryHeaderCodec.decode(header, header.length, null);
+	}
+
+	/**
+	 * Tests Java side and Python side. Both sides must agree on the table of interned strings and on the encoding of
+	 * all token types.
+	 */
+	@Test
+	public void testCompatibilityWithPython() throws IOException, CanceledExecutionException {
+		final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+		kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+		try (final PythonKernel kernel = new PythonKernel(kernelOptions)) {
+			final String[] internedStrings = kernel.execute("from messaging import BinaryHeaderCodec\n" //
+					+ "print('\\n'.join(BinaryHeaderCodec._INTERNED_STRINGS))", PythonCancelable.NOT_CANCELABLE)[0]
+							.trim().split("\n");
+			final Map<String, String> fields = new LinkedHashMap<>();
+			for (final String internedString : internedStrings) {
+				fields.put(internedString, internedString);
+			}
+			// Every interned string of Python is interned on Java side, too.
+			Assert.assertEquals(4 + 2 + 2 + internedStrings.length * 4,
+					BinaryHeaderCodec.encode(new DefaultMessage(3, "execute", null, fields)).length);
+
+			fields.put("literal", "\u00e4\u00f6\u00fc");
+			fields.put("int", "-17");
+			final DefaultMessage message = new DefaultMessage(3, "execute", null, fields);
+			final String[] out = kernel.execute("import base64\n" //
+					+ "from messaging import BinaryHeaderCodec\n" //
+					+ "m = BinaryHeaderCodec.decode(bytearray(base64.b64decode('"
+					+ Base64.getEncoder().encodeToString(BinaryHeaderCodec.encode(message)) + "')), None)\n" //
+					+ "print(base64.b64encode(BinaryHeaderCodec.encode(m)).decode('ascii'))", //
+					PythonCancelable.NOT_CANCELABLE);
+			final byte[] reencodedHeader = Base64.getDecoder().decode(out[0].trim());
+			assertMessageEquals(message, BinaryHeaderCodec.decode(reencodedHeader, reencodedHeader.length, null));
+		}
+	}
+}
@@ -235,11 +235,11 @@ protected void testOnlineSerializationDeserializationIdentity(final TestTable te
 
 	protected class TestTable {
 
-		protected final Row[] m_rows;
+		public final Row[] m_rows;
 
-		protected final TableSpec m_spec;
+		public final TableSpec m_spec;
 
-		protected TestTable(final Row[] rows, final TableSpec spec) {
+		public TestTable(final Row[] rows, final TableSpec spec) {
 			m_rows = rows;
 			m_spec = spec;
 		}
@@ -99,11 +99,20 @@ class PythonCommands(object):
         return self.create_task(PythonCommands._ResolveKnimeUrlTaskHandler(),
                                 Message(self._messaging.create_next_message_id(), "resolve_knime_url", payload))
 
+    def send_output(self, stream_name, text):
+        """
+        Forwards the given (complete) lines of output to Java. Only to be used while Java listens for output, i.e. while
+        executing source code whose output is streamed.
+        """
+        payload = PayloadEncoder().put_string(text).payload
+        self._messaging.send(Message(self._messaging.create_next_message_id(), "output", payload,
+                                     {"output_stream": stream_name}))
+
     def start(self):
         self._messaging.start()
 
-    def close(self):
-        invoke_safely(None, lambda m: m.close(), self._messaging)
+    def close(self, last_message=None):
+        invoke_safely(None, lambda m: m.close(last_message), self._messaging)
 
     # Task handlers:
 
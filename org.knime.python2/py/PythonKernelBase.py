@@ -59,12 +59,16 @@ else:
     from StringIO import StringIO
 
 import abc
+import collections
 import os
 import socket
 import sys
+import threading
 import traceback
 import warnings
 
+import pandas
+
 from debug_util import debug_msg
 
 from Borg import Borg
@@ -84,16 +88,38 @@ if EnvironmentHelper.is_jedi_available():
 class PythonKernelBase(Borg):
     __metaclass__ = abc.ABCMeta
 
+    _MAX_NUM_PREPARED_SCRIPTS = 64
+
     def __init__(self):
         super(PythonKernelBase, self).__init__()
 
         self._is_running = False
         self._is_closed = False
 
+        # Table chunks may be received out of order if Java pipelines them. Per table name, these hold the index of the
+        # next chunk to append and the chunks that were received ahead of it.
+        self._table_chunks_lock = threading.Lock()
+        self._next_table_chunk_indices = {}
+        self._pending_table_chunks = {}
+        # Tables whose number of chunks is announced up front are assembled in one go once all of their chunks have
+        # been received. Per table name, these hold the received chunks (by index), and the announced row count.
+        self._assembled_table_chunks = {}
+        self._assembled_table_num_rows = {}
+
         # Initialize workspace.
         self._exec_env = None
         self.reset()
 
+        # An unpickled object that outlives workspace resets, e.g. a model that is applied repeatedly. Identified by a
+        # key that is assigned on Java side.
+        self._resident_object_key = None
+        self._resident_object = None
+
+        # Compiled scripts that outlive workspace resets, keyed by a hash of their source code that is computed on Java
+        # side. Least recently used entries are evicted first. Values are (source code, code object) pairs.
+        self._prepared_scripts_lock = threading.Lock()
+        self._prepared_scripts = collections.OrderedDict()
+
         # These will be populated in start():
         # TCP connection.
         self._connection = None
@@ -154,6 +180,12 @@ class PythonKernelBase(Borg):
     def unregister_task_handler(self, task_category):
         return self._commands.message_handlers.unregister_message_handler(task_category)
 
+    def enable_binary_message_headers(self):
+        """
+        Makes all subsequently sent messages use the compact binary header format. Called once Java requested it.
+        """
+        self._commands.message_handlers.enable_binary_headers()
+
     def add_cleanup_object_name(self, variable_name):
         self._cleanup_object_names.add(variable_name)
 
@@ -162,6 +194,24 @@ class PythonKernelBase(Borg):
 
     # Kernel commands:
 
+    def get_resident_object(self, key):
+        """
+        Get the resident object with the given key.
+        @return a tuple of whether the object is resident and the object itself (None if it is not resident)
+        """
+        if key == self._resident_object_key:
+            return True, self._resident_object
+        else:
+            return False, None
+
+    def set_resident_object(self, key, resident_object):
+        """
+        Make the given object the resident object of this kernel, replacing the current one.
+        The object is not copied when it is put into the workspace, so in-place modifications by a script persist.
+        """
+        self._resident_object_key = key
+        self._resident_object = resident_object
+
     def put_variable(self, name, variable):
         """
         Put the given variable into the local environment under the given name.
@@ -235,6 +285,57 @@ class PythonKernelBase(Borg):
         else:
             self._exec_env[name] = self._exec_env[name].append(data_frame)
 
+    def put_table_chunk(self, name, data_frame, chunk_index, num_chunks=None, num_rows=None):
+        """
+        Put the given data frame into the local environment as the chunk with the given index of the table with the
+        given name. The chunk with index zero (re)creates the table. All other chunks are appended to the table in the
+        order of their indices, regardless of the order in which they are put. Chunks that arrive ahead of their
+        predecessors are kept until the gap is closed.
+        If the first chunk announces the total number of chunks, the chunks are collected instead and concatenated
+        once after the last of them has been received. This avoids copying the growing table for each appended chunk.
+        Until then, the table in the local environment only consists of the first chunk.
+        """
+        with self._table_chunks_lock:
+            if chunk_index == 0:
+                self.put_variable(name, data_frame)
+                self._next_table_chunk_indices[name] = 1
+                self._pending_table_chunks[name] = {}
+                self._assembled_table_chunks.pop(name, None)
+                self._assembled_table_num_rows.pop(name, None)
+                if num_chunks is not None and num_chunks > 1:
+                    chunks = [None] * num_chunks
+                    chunks[0] = data_frame
+                    self._assembled_table_chunks[name] = chunks
+                    self._assembled_table_num_rows[name] = num_rows
+            elif name in self._assembled_table_chunks:
+                chunks = self._assembled_table_chunks[name]
+                if chunk_index < 0 or chunk_index >= len(chunks):
+                    raise ValueError("Chunk index " + str(chunk_index) + " of table '" + name
+                                     + "' is out of range. " + str(len(chunks)) + " chunks were announced.")
+                chunks[chunk_index] = data_frame
+                self._next_table_chunk_indices[name] += 1
+                if self._next_table_chunk_indices[name] == len(chunks):
+                    del self._assembled_table_chunks[name]
+                    num_rows = self._assembled_table_num_rows.pop(name)
+                    table = pandas.concat(chunks)
+                    # Release the chunks before the table is handed out.
+                    del chunks[:]
+                    if num_rows is not None and len(table) != num_rows:
+                        raise RuntimeError("Table '" + name + "' has " + str(len(table)) + " rows, but "
+                                           + str(num_rows) + " rows were announced.")
+                    self.put_variable(name, table)
+            else:
+                if name not in self._pending_table_chunks:
+                    raise ValueError("Received chunk " + str(chunk_index) + " of table '" + name
+                                     + "' before its first chunk. The workspace may have been reset in between.")
+                pending_chunks = self._pending_table_chunks[name]
+                pending_chunks[chunk_index] = data_frame
+                next_chunk_index = self._next_table_chunk_indices[name]
+                while next_chunk_index in pending_chunks:
+                    self.append_to_table(name, pending_chunks.pop(next_chunk_index))
+                    next_chunk_index += 1
+                self._next_table_chunk_indices[name] = next_chunk_index
+
     @staticmethod
     def has_auto_complete():
         """
@@ -259,12 +360,57 @@ class PythonKernelBase(Borg):
                 warnings.warn("An error occurred while autocompleting.")
         return response
 
-    def execute(self, source_code, initiating_message_id=None):
+    def prepare(self, script_key, source_code):
+        """
+        Compile the given source code and cache the result under the given key for later calls to execute_prepared.
+        Syntax errors are not raised here but reported when the script is executed, as for unprepared source code.
+        Returns the cached script.
+        """
+        try:
+            code = compile(source_code, '<string>', 'exec')
+        except SyntaxError:
+            code = None
+        script = (source_code, code)
+        with self._prepared_scripts_lock:
+            self._prepared_scripts.pop(script_key, None)
+            self._prepared_scripts[script_key] = script
+            while len(self._prepared_scripts) > PythonKernelBase._MAX_NUM_PREPARED_SCRIPTS:
+                self._prepared_scripts.popitem(last=False)
+        return script
+
+    def execute_prepared(self, script_key, source_code=None, initiating_message_id=None, stream_output=False):
+        """
+        Execute the script that was prepared under the given key. See execute. If source_code is given, it is prepared
+        under the key first. Otherwise, returns None if no script is cached under the key (anymore).
         """
-        Execute the given source code
+        if source_code is not None:
+            script = self.prepare(script_key, source_code)
+        else:
+            with self._prepared_scripts_lock:
+                script = self._prepared_scripts.pop(script_key, None)
+                if script is None:
+                    return None
+                # Mark as most recently used.
+                self._prepared_scripts[script_key] = script
+        source_code, code = script
+        return self.execute(source_code, initiating_message_id, stream_output, code)
+
+    def execute(self, source_code, initiating_message_id=None, stream_output=False, code=None):
+        """
+        Execute the given source code. If stream_output is True, standard and error output are forwarded to Java line by
+        line while the code runs instead of being collected and returned. The returned error output still contains the
+        traceback if the execution failed. If given, code is the compiled form of the source code and is executed
+        instead.
         """
-        output = StringIO()
         error = StringIO()
+        backup_std_err = sys.stderr
+        if stream_output:
+            output = PythonKernelBase._OutputForwarder(self._commands, "stdout")
+            error_forwarder = PythonKernelBase._OutputForwarder(self._commands, "stderr")
+            sys.stderr = PythonKernelBase._Logger(sys.stderr, error_forwarder)
+        else:
+            output = StringIO()
+            error_forwarder = None
 
         # log to stdout and output variable simultaneously
         backup_std_out = sys.stdout
@@ -275,7 +421,7 @@ class PythonKernelBase(Borg):
 
         # run execute with the provided source code
         try:
-            exec(source_code, self._exec_env, self._exec_env)
+            exec(code if code is not None else source_code, self._exec_env, self._exec_env)
         except Exception:
             # Print failing source code to simplify debugging.
             debug_msg("Source code that caused failure:\n" + source_code)
@@ -286,12 +432,22 @@ class PythonKernelBase(Borg):
             sys.stderr = backup_std_error
 
         sys.stdout = backup_std_out
+        sys.stderr = backup_std_err
+        if stream_output:
+            # Forward trailing partial lines before the response is sent.
+            output.close()
+            error_forwarder.close()
         return [output.getvalue(), error.getvalue()]
 
     def reset(self):
         """
-        Reset the current workspace.
+        Reset the current workspace. This also discards tables whose chunks have not all been received yet.
         """
+        with self._table_chunks_lock:
+            self._next_table_chunk_indices.clear()
+            self._pending_table_chunks.clear()
+            self._assembled_table_chunks.clear()
+            self._assembled_table_num_rows.clear()
         self._exec_env = {"workspace": self}
         try:
             import knime_jupyter
@@ -326,15 +482,20 @@ class PythonKernelBase(Borg):
             debug_msg("Start Python commands.")
             self._commands.start()
 
-    def close(self):
+    def close(self, acknowledgement=None):
+        """
+        Cleans up and closes the kernel. If an acknowledgement message is given, it is sent as the very last message,
+        i.e. after cleanup and after the standard streams were flushed.
+        """
         if self._is_running and not self._is_closed:
             self._is_running = False
             self._is_closed = True
             # Order is intended.
             invoke_safely(None, lambda s: s._cleanup(), self)
+            invoke_safely(None, lambda s: s.flush(), [sys.stdout, sys.stderr])
             invoke_safely(None, lambda e: e.shutdown(wait=False), self._executor)
             invoke_safely(None, lambda e: e.shutdown(wait=False), self._execute_thread_executor)
-            invoke_safely(None, lambda c: c.close(), self._commands)
+            invoke_safely(None, lambda c: c.close(acknowledgement), self._commands)
             invoke_safely(None, lambda c: c.shutdown(socket.SHUT_RDWR), self._connection)
             invoke_safely(None, lambda c: c.close(), self._connection)
 
@@ -401,3 +562,58 @@ class PythonKernelBase(Borg):
 
         def isatty(self):
             return False
+
+    class _OutputForwarder(object):
+        """
+        Sink for _Logger that forwards complete lines of output to Java as soon as they were written. Nothing is
+        retained apart from the current partial line. Both '\n' and '\r' (e.g. used by progress bars) end a line, as
+        does '\r\n'. A partial line that exceeds _MAX_PARTIAL_LINE_LENGTH characters is forwarded as if it were
+        complete, so output without line breaks cannot exhaust the memory.
+        """
+
+        _MAX_PARTIAL_LINE_LENGTH = 8192
+
+        def __init__(self, commands, stream_name):
+            self._commands = commands
+            self._stream_name = stream_name
+            self._partial_line = ''
+            # Output may also be written by threads started by the executed code.
+            self._lock = threading.Lock()
+
+        def write(self, message):
+            if not message:
+                return
+            with self._lock:
+                text = self._partial_line + message
+                if text.endswith('\r'):
+                    # Might be the first half of a '\r\n' that is split across writes, decide once more is written.
+                    complete, self._partial_line = text[:-1], '\r'
+                else:
+                    complete, self._partial_line = text, ''
+                complete = complete.replace('\r\n', '\n').replace('\r', '\n')
+                end = complete.rfind('\n')
+                if end >= 0:
+                    self._commands.send_output(self._stream_name, complete[:end])
+                partial_line = complete[end + 1:]
+                max_length = PythonKernelBase._OutputForwarder._MAX_PARTIAL_LINE_LENGTH
+                while len(partial_line) > max_length:
+                    self._commands.send_output(self._stream_name, partial_line[:max_length])
+                    partial_line = partial_line[max_length:]
+                self._partial_line = partial_line + self._partial_line
+
+        def writelines(self, sequence):
+            for message in sequence:
+                self.write(message)
+
+        def flush(self):
+            pass  # Partial lines are forwarded once they are complete or once the execution is done.
+
+        def close(self):
+            with self._lock:
+                partial_line = self._partial_line.rstrip('\r')
+                self._partial_line = ''
+            if partial_line:
+                self._commands.send_output(self._stream_name, partial_line)
+
+        def getvalue(self):
+            return ''  # Everything was forwarded.
@@ -127,6 +127,12 @@ class Simpletype:
     FLOAT = 19  # np.float32 and smaller numpy floats
     FLOAT_LIST = 20
     FLOAT_SET = 21
+    # Temporal types are only used if the serialization library supports them (see Serializer). Their values are
+    # transferred as integers: microseconds since epoch, days since epoch, microseconds of day, and microseconds.
+    LOCAL_DATE_TIME = 22
+    LOCAL_DATE = 23
+    LOCAL_TIME = 24
+    DURATION = 25
 
 
 def is_collection(data_type):
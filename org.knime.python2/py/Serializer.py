@@ -49,6 +49,9 @@
 @author Christian Dietz, KNIME GmbH, Konstanz, Germany
 """
 
+import datetime
+import threading
+
 import numpy
 from pandas import DataFrame
 
@@ -78,6 +81,15 @@ class Serializer(object):
     def __init__(self, serialization_library, type_extension_manager):
         self._serialization_library = serialization_library
         self._type_extension_manager = type_extension_manager
+        # Libraries that transfer date and time values natively declare so via a module-level function.
+        supports_temporal_types = getattr(serialization_library, 'supports_temporal_types', None)
+        self._temporal_types = supports_temporal_types is not None and supports_temporal_types()
+        # Serialization libraries may keep module-level state while deserializing a table (e.g., Arrow does), so
+        # concurrently received table chunks must be deserialized one at a time.
+        self._deserialization_lock = threading.Lock()
+        # Table chunks requested ahead of time are serialized concurrently as well. Libraries lazily set up shared
+        # resources (e.g., their temporary directory) upon serialization, which is not thread-safe either.
+        self._serialization_lock = threading.Lock()
 
     def serialize_objects_to_bytes(self, data_frame, column_serializers):
         """
@@ -180,12 +192,13 @@ class Serializer(object):
         For extension types appropriate deserializers are requested from the type extension manager.
         @param data_bytes a byte array containing a serialized KNIME table
         """
-        column_names = self._serialization_library.column_names_from_bytes(data_bytes)
-        column_types = self._serialization_library.column_types_from_bytes(data_bytes)
-        column_serializers = self._serialization_library.column_serializers_from_bytes(data_bytes)
-        table = ToPandasTable(column_names, column_types, column_serializers, self)
-        self._serialization_library.bytes_into_table(table, data_bytes)
-        return table.get_data_frame()
+        with self._deserialization_lock:
+            column_names = self._serialization_library.column_names_from_bytes(data_bytes)
+            column_types = self._serialization_library.column_types_from_bytes(data_bytes)
+            column_serializers = self._serialization_library.column_serializers_from_bytes(data_bytes)
+            table = ToPandasTable(column_names, column_types, column_serializers, self)
+            self._serialization_library.bytes_into_table(table, data_bytes)
+            return table.get_data_frame()
 
     def data_frame_to_bytes(self, data_frame, start_row_number=0):
         """
@@ -202,41 +215,10 @@ class Serializer(object):
         # prof = cProfile.Profile()
         # data_bytes = prof.runcall(_serializer.table_to_bytes, table)
         # prof.dump_stats(profilepath)
-        data_bytes = self._serialization_library.table_to_bytes(table)
+        with self._serialization_lock:
+            data_bytes = self._serialization_library.table_to_bytes(table)
         return data_bytes
 
-    def fill_flow_variables_from_data_frame(self, flow_variables, data_frame):
-        """
-        Fill the flow variable dict using a pandas DataFrame. The DataFrame is expected to contain only a single row.
-        Each column name corresponds to a flow variable name and each cell to the respective flow variable's value.
-        @param flow_variables  the flow variable dict to fill
-        @param data_frame the pandas DataFrame to fill from
-        """
-        for column in data_frame.columns:
-            simpletype = self.simpletype_for_column(data_frame, column)[0]
-            if simpletype == Simpletype.INTEGER:
-                flow_variables[column] = int(data_frame[column][0])
-            elif simpletype == Simpletype.DOUBLE or simpletype == Simpletype.FLOAT:
-                flow_variables[column] = float(data_frame[column][0])
-            else:
-                flow_variables[column] = str(data_frame[column][0])
-
-    @staticmethod
-    def flow_variables_dict_to_data_frame(dictionary):
-        """
-        Convert a python dict to a pandas DataFrame in which each dict key represents a column and each dict value a
-        cell in the respective column. Thus the resulting DataFrame will contain a single row.
-        # @param dictionary a python dictionary
-        """
-        df = DataFrame()
-        for key in dictionary:
-            type_ = get_type_string(dictionary[key])
-            if type_.find('int') >= 0 or type_.find('float') >= 0:
-                df[key] = [dictionary[key]]
-            else:
-                df[key] = [str(dictionary[key])]
-        return df
-
     def simpletype_for_column(self, data_frame, column_name):
         """
         Get the {@link Simpletype} of a column in the passed data frame and the serializer_id if available (only
@@ -250,8 +232,9 @@ class Serializer(object):
         column_serializer = None
         is_too_big_number = False
         if len(data_frame.index) == 0:
-            # If the table is empty, we don't know the types so we make them strings.
-            simple_type = Simpletype.STRING
+            # If the table is empty, only the dtype of the column is known. Columns of generic dtype (e.g., 'object')
+            # become strings.
+            simple_type = self._simpletype_for_empty_column(data_frame[column_name].dtype)
         else:
             column = data_frame[column_name]
             if Serializer._is_nested(column):
@@ -268,6 +251,10 @@ class Serializer(object):
                 simple_type = Simpletype.FLOAT
             elif is_double_type(column_type):
                 simple_type = Simpletype.DOUBLE
+            elif self._temporal_types and Serializer._is_naive_datetime_dtype(column_type):
+                simple_type = Simpletype.LOCAL_DATE_TIME
+            elif self._temporal_types and getattr(column_type, 'kind', None) == 'm':
+                simple_type = Simpletype.DURATION
             else:
                 # We don't recognize the column's dtype or the dtype is too generic/not specified (e.g., 'object').
                 # Look at the column's elements to infer the type. The inferred type will either be a Python class type
@@ -326,6 +313,11 @@ class Serializer(object):
                 elif types_are_equivalent(column_type, bytes) or types_are_equivalent(column_type, bytearray):
                     # Raw bytes, no serializer needed.
                     simple_type = Simpletype.BYTES
+                elif self._temporal_types and column_type is datetime.date:
+                    simple_type = Simpletype.LOCAL_DATE
+                elif (self._temporal_types and column_type is datetime.time
+                      and Serializer._first_valid_object(data_frame, column_name).tzinfo is None):
+                    simple_type = Simpletype.LOCAL_TIME
         if simple_type is None:
             # Not a simple or collection type. Check if there's an extension that can handle the column type.
             type_string = get_type_string(Serializer._first_valid_object(data_frame, column_name))
@@ -354,6 +346,33 @@ class Serializer(object):
 
     # Helper methods:
 
+    def _simpletype_for_empty_column(self, column_type):
+        """
+        Get the {@link Simpletype} of an empty column based on its dtype alone, since there are no values to inspect.
+        Integer columns become Simpletype.LONG unless their dtype is narrower than 64 bits, since their value range is
+        unknown.
+        """
+        if is_boolean_type(column_type):
+            return Simpletype.BOOLEAN
+        elif is_integer_type(column_type):
+            return Simpletype.INTEGER if column_type.itemsize < 4 or column_type.name == 'int32' else Simpletype.LONG
+        elif is_float_type(column_type):
+            return Simpletype.FLOAT
+        elif is_double_type(column_type):
+            return Simpletype.DOUBLE
+        elif self._temporal_types and Serializer._is_naive_datetime_dtype(column_type):
+            return Simpletype.LOCAL_DATE_TIME
+        elif self._temporal_types and getattr(column_type, 'kind', None) == 'm':
+            return Simpletype.DURATION
+        else:
+            return Simpletype.STRING
+
+    @staticmethod
+    def _is_naive_datetime_dtype(dtype):
+        # Time zone aware datetime dtypes share the kind of naive ones but carry a time zone. Those are left to the
+        # type extensions since their zone may differ from the one of the KNIME column.
+        return getattr(dtype, 'kind', None) == 'M' and getattr(dtype, 'tz', None) is None
+
     @staticmethod
     def _is_nested(column):
         return isinstance(column, DataFrame)
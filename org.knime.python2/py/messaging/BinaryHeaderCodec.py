@@ -0,0 +1,145 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+
+"""
+Compact binary message header format that is used instead of the textual "@key=value" format once both sides have
+agreed on it (see SetHeaderFormatRequestHandler). Frames that carry a binary header are marked by the highest bit of
+their header size. Receivers therefore always accept both formats.
+
+Format (big-endian): (id: int32)(category: token)(number of additional fields: uint16)(key: token)(value: token)...
+where a token is one of:
+ - (0: uint8)(length: int32)(UTF-8 bytes) for an arbitrary string
+ - (1: uint8)(index: uint8) for a string from the table of interned strings known to both sides
+ - (2: uint8)(value: int32) for the decimal representation of an integer, e.g. reply-to fields
+
+Must be kept in sync with org.knime.python2.kernel.messaging.BinaryHeaderCodec on Java side.
+"""
+
+import struct
+
+from messaging.Message import Message
+
+BINARY_HEADER_FLAG = 0x80000000
+
+_TOKEN_LITERAL = 0
+
+_TOKEN_INTERNED = 1
+
+_TOKEN_INT = 2
+
+# Do not reorder, only append. Must match the table on Java side.
+_INTERNED_STRINGS = ["type", "reply-to", "success", "failure", "payload_name", "chunk_index", "getpid",
+                     "putFlowVariables", "getFlowVariables", "putTable", "appendToTable", "getTableSize", "getTable",
+                     "getTableChunk", "putObject", "getObject", "putSql", "getSql", "getImage", "listVariables",
+                     "hasAutoComplete", "autoComplete", "addSerializer", "addDeserializer", "setCustomModulePaths",
+                     "execute", "execute_async", "reset", "cleanup", "shutdown", "setHeaderFormat",
+                     "serializer_request", "deserializer_request", "resolve_knime_url", "num_chunks", "num_rows",
+                     "file_path", "object_type", "object_key", "stream_output", "output", "output_stream",
+                     "stdout", "stderr", "prepareScript", "executePrepared", "script_key", "script_missing",
+                     "object_file"]
+
+_INTERNED_STRING_INDICES = {string: index for index, string in enumerate(_INTERNED_STRINGS)}
+
+
+def encode(message):
+    fields = [(k, v) for k, v in message.header_fields.items() if k != Message.KEY_ID and k != Message.KEY_CATEGORY]
+    parts = [struct.pack('>i', int(message.id)), _encode_token(message.category), struct.pack('>H', len(fields))]
+    for key, value in fields:
+        parts.append(_encode_token(key))
+        parts.append(_encode_token(value))
+    return b''.join(parts)
+
+
+def decode(header, payload):
+    id, offset = struct.unpack_from('>i', header, 0)[0], 4
+    category, offset = _decode_token(header, offset)
+    num_fields, offset = struct.unpack_from('>H', header, offset)[0], offset + 2
+    additional_fields = {}
+    for _ in range(num_fields):
+        key, offset = _decode_token(header, offset)
+        value, offset = _decode_token(header, offset)
+        additional_fields[key] = value
+    # Ids of messages with textual headers are strings as well.
+    return Message(str(id), category, payload, additional_fields)
+
+
+def _encode_token(value):
+    interned_index = _INTERNED_STRING_INDICES.get(value)
+    if interned_index is not None:
+        return struct.pack('>BB', _TOKEN_INTERNED, interned_index)
+    int_value = _parse_canonical_int(value)
+    if int_value is not None:
+        return struct.pack('>Bi', _TOKEN_INT, int_value)
+    data = value.encode('utf-8')
+    return struct.pack('>Bi', _TOKEN_LITERAL, len(data)) + data
+
+
+def _decode_token(header, offset):
+    token_type = header[offset]
+    offset += 1
+    if token_type == _TOKEN_INTERNED:
+        return _INTERNED_STRINGS[header[offset]], offset + 1
+    elif token_type == _TOKEN_INT:
+        return str(struct.unpack_from('>i', header, offset)[0]), offset + 4
+    elif token_type == _TOKEN_LITERAL:
+        length = struct.unpack_from('>i', header, offset)[0]
+        offset += 4
+        return bytes(header[offset:offset + length]).decode('utf-8'), offset + length
+    else:
+        raise ValueError("Unknown header token type: " + str(token_type) + ".")
+
+
+def _parse_canonical_int(value):
+    """
+    Returns the integer whose decimal representation is exactly the given string, None if there is none. This excludes
+    strings with leading zeros or a plus sign which would not survive a round trip.
+    """
+    try:
+        int_value = int(value)
+    except ValueError:
+        return None
+    if str(int_value) == value and -2 ** 31 <= int_value < 2 ** 31:
+        return int_value
+    return None
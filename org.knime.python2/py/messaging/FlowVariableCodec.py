@@ -0,0 +1,123 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+
+"""
+Compact binary format of the flow variables that are sent inline in the payload of the putFlowVariables and
+getFlowVariables messages.
+
+Format (big-endian): (number of variables: int32)(type: uint8)(name: string)(value)...
+where a string is (length: int32)(UTF-8 bytes) and the value is an int32, a float64, or a string depending on the
+type.
+
+Must be kept in sync with org.knime.python2.kernel.FlowVariableCodec on Java side.
+"""
+
+import collections
+import numbers
+import struct
+
+_TYPE_INTEGER = 0
+
+_TYPE_DOUBLE = 1
+
+_TYPE_STRING = 2
+
+_INT_32_MIN = -2147483648
+_INT_32_MAX = 2147483647
+
+
+def encode(flow_variables):
+    """
+    Encode the given flow variables. Integers that do not fit into 32 bits are omitted as KNIME cannot represent them.
+    Values that are neither integers nor real numbers are encoded as their string representation.
+    @param flow_variables a dict of flow variable names to values
+    @return the encoded flow variables
+    """
+    records = []
+    for name, value in flow_variables.items():
+        if isinstance(value, numbers.Integral) and not isinstance(value, bool):
+            if _INT_32_MIN <= value <= _INT_32_MAX:
+                records.append(struct.pack('>B', _TYPE_INTEGER) + _encode_string(name) + struct.pack('>i', value))
+        elif isinstance(value, numbers.Real) and not isinstance(value, bool):
+            records.append(struct.pack('>B', _TYPE_DOUBLE) + _encode_string(name) + struct.pack('>d', value))
+        else:
+            records.append(struct.pack('>B', _TYPE_STRING) + _encode_string(name) + _encode_string(str(value)))
+    return struct.pack('>i', len(records)) + b''.join(records)
+
+
+def decode(data_bytes):
+    """
+    Decode flow variables.
+    @param data_bytes the encoded flow variables
+    @return an ordered dict of flow variable names to values
+    """
+    flow_variables = collections.OrderedDict()
+    num_flow_variables, = struct.unpack_from('>i', data_bytes, 0)
+    offset = 4
+    for _ in range(num_flow_variables):
+        flow_variable_type, = struct.unpack_from('>B', data_bytes, offset)
+        name, offset = _decode_string(data_bytes, offset + 1)
+        if flow_variable_type == _TYPE_INTEGER:
+            flow_variables[name], = struct.unpack_from('>i', data_bytes, offset)
+            offset += 4
+        elif flow_variable_type == _TYPE_DOUBLE:
+            flow_variables[name], = struct.unpack_from('>d', data_bytes, offset)
+            offset += 8
+        elif flow_variable_type == _TYPE_STRING:
+            flow_variables[name], offset = _decode_string(data_bytes, offset)
+        else:
+            raise ValueError("Unknown flow variable type: " + str(flow_variable_type) + ".")
+    return flow_variables
+
+
+def _encode_string(value):
+    value_bytes = value.encode('utf-8')
+    return struct.pack('>i', len(value_bytes)) + value_bytes
+
+
+def _decode_string(data_bytes, offset):
+    length, = struct.unpack_from('>i', data_bytes, offset)
+    offset += 4
+    return data_bytes[offset:offset + length].decode('utf-8'), offset + length
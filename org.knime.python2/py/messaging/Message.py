@@ -100,6 +100,13 @@ class Message(object):
     def header(self):
         return ''.join(['@' + k + '=' + v for k, v in self._header_fields.items()])
 
+    @property
+    def header_fields(self):
+        """
+        All header fields of this message, including id and category.
+        """
+        return self._header_fields
+
     def get_header_field(self, field_key):
         return self._header_fields.get(field_key)  # returns None if no mapping present
 
@@ -51,6 +51,7 @@
 import struct
 
 from debug_util import debug_msg
+from messaging import BinaryHeaderCodec
 from messaging.Message import Message
 
 
@@ -61,12 +62,18 @@ class MessageReceiver(object):
     def receive(self):
         header_size = self._read_size()
         payload_size = self._read_size()
-        header = self._read_data(header_size).decode('utf-8')
+        # Both header formats are always accepted, independent of which format was negotiated for outgoing messages.
+        binary_header = (header_size & BinaryHeaderCodec.BINARY_HEADER_FLAG) != 0
+        header_size &= ~BinaryHeaderCodec.BINARY_HEADER_FLAG
+        header = self._read_data(header_size)
         if payload_size > 0:
             payload = self._read_data(payload_size)
         else:
             payload = None
-        message = Message.create(header, payload)
+        if binary_header:
+            message = BinaryHeaderCodec.decode(header, payload)
+        else:
+            message = Message.create(header.decode('utf-8'), payload)
         debug_msg("Python - Received message: " + str(message))
         return message
 
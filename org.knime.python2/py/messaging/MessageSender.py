@@ -51,16 +51,34 @@
 import struct
 
 from debug_util import debug_msg
+from messaging import BinaryHeaderCodec
 
 
 class MessageSender(object):
     def __init__(self, connection):
         self._connection = connection
+        self._binary_headers = False
+
+    @property
+    def binary_headers(self):
+        return self._binary_headers
+
+    @binary_headers.setter
+    def binary_headers(self, binary_headers):
+        """
+        Switches the header format of all subsequently sent messages. Must only be enabled once the Java side is known
+        to understand binary headers.
+        """
+        self._binary_headers = binary_headers
 
     def send(self, message):
         debug_msg("Python - Send message: " + str(message))
-        header = message.header.encode('utf-8')
-        self._write_size(len(header))
+        if self._binary_headers:
+            header = BinaryHeaderCodec.encode(message)
+            self._write_size(len(header) | BinaryHeaderCodec.BINARY_HEADER_FLAG)
+        else:
+            header = message.header.encode('utf-8')
+            self._write_size(len(header))
         payload = message.payload
         if payload:
             self._write_size(len(payload))
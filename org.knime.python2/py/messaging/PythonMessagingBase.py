@@ -78,12 +78,20 @@ class PythonMessagingBase(object):
     def handle(self, message):
         raise NotImplementedError()
 
+    @abc.abstractmethod
+    def enable_binary_headers(self):
+        """
+        Makes all subsequently sent messages use the compact binary header format instead of the textual one. Incoming
+        messages are accepted in either format regardless of this setting.
+        """
+        raise NotImplementedError()
+
     @abc.abstractmethod
     def _start(self):
         raise NotImplementedError()
 
     @abc.abstractmethod
-    def _close(self):
+    def _close(self, last_message):
         raise NotImplementedError()
 
     @property
@@ -109,7 +117,11 @@ class PythonMessagingBase(object):
             self._is_running = True
             self._start()
 
-    def close(self):
+    def close(self, last_message=None):
+        """
+        Closes the messaging system. If a last message is given, it is written to the connection after all other
+        outgoing messages, right before the system stops sending.
+        """
         if self._is_running:
             self._is_running = False
-            self._close()
+            self._close(last_message)
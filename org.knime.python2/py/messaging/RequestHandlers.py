@@ -56,9 +56,10 @@ import EnvironmentHelper
 EnvironmentHelper.dummy_call()
 
 import abc
-import collections
+import hashlib
 import os
 import pickle
+import struct
 import sys
 
 import pandas
@@ -69,6 +70,7 @@ import traceback
 
 from debug_util import debug_msg
 from DBUtil import DBUtil
+from messaging import FlowVariableCodec
 from messaging.AbstractTaskHandler import AbstractTaskHandler
 from messaging.Message import Message
 from messaging.Message import PayloadDecoder
@@ -112,6 +114,16 @@ class AbstractRequestHandler(AbstractTaskHandler):
 # Implementations:
 
 _PAYLOAD_NAME = "payload_name"
+_CHUNK_INDEX = "chunk_index"
+_NUM_CHUNKS = "num_chunks"
+_NUM_ROWS = "num_rows"
+# Marks object requests whose payload holds the path of the file that contains the object. Textual headers cannot hold
+# arbitrary strings such as paths.
+_OBJECT_FILE = "object_file"
+_OBJECT_TYPE = "object_type"
+_OBJECT_KEY = "object_key"
+_SCRIPT_KEY = "script_key"
+_SCRIPT_MISSING = "script_missing"
 
 
 class GetPidRequestHandler(AbstractRequestHandler):
@@ -128,10 +140,7 @@ class PutFlowVariablesRequestHandler(AbstractRequestHandler):
         data_bytes = payload_decoder.get_next_bytes()
         name = request.get_header_field(_PAYLOAD_NAME)
 
-        flow_variables = collections.OrderedDict()
-        data_frame = workspace.serializer.bytes_to_data_frame(data_bytes)
-        workspace.serializer.fill_flow_variables_from_data_frame(flow_variables, data_frame)
-        workspace.put_variable(name, flow_variables)
+        workspace.put_variable(name, FlowVariableCodec.decode(data_bytes))
 
         return AbstractRequestHandler._create_response(request, response_message_id)
 
@@ -140,9 +149,7 @@ class GetFlowVariablesRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         name = PayloadDecoder(request.payload).get_next_string()
 
-        variables = workspace.get_variable(name)
-        data_frame = workspace.serializer.flow_variables_dict_to_data_frame(variables)
-        data_bytes = workspace.serializer.data_frame_to_bytes(data_frame)
+        data_bytes = FlowVariableCodec.encode(workspace.get_variable(name))
 
         return AbstractRequestHandler._create_response(request, response_message_id,
                                                        response_payload=_create_byte_array_payload(data_bytes))
@@ -154,8 +161,12 @@ class PutTableRequestHandler(AbstractRequestHandler):
         data_bytes = payload_decoder.get_next_bytes()
         name = request.get_header_field(_PAYLOAD_NAME)
 
+        num_chunks = request.get_header_field(_NUM_CHUNKS)
+        num_rows = request.get_header_field(_NUM_ROWS)
+
         data_frame = workspace.serializer.bytes_to_data_frame(data_bytes)
-        workspace.put_variable(name, data_frame)
+        workspace.put_table_chunk(name, data_frame, 0, int(num_chunks) if num_chunks is not None else None,
+                                  int(num_rows) if num_rows is not None else None)
 
         return AbstractRequestHandler._create_response(request, response_message_id)
 
@@ -166,8 +177,14 @@ class AppendToTableRequestHandler(AbstractRequestHandler):
         data_bytes = payload_decoder.get_next_bytes()
         name = request.get_header_field(_PAYLOAD_NAME)
 
+        chunk_index = request.get_header_field(_CHUNK_INDEX)
+
         data_frame = workspace.serializer.bytes_to_data_frame(data_bytes)
-        workspace.append_to_table(name, data_frame)
+        if chunk_index is None:
+            workspace.append_to_table(name, data_frame)
+        else:
+            # Chunks may be processed concurrently, so they have to be ordered before being appended.
+            workspace.put_table_chunk(name, data_frame, int(chunk_index))
 
         return AbstractRequestHandler._create_response(request, response_message_id)
 
@@ -216,11 +233,22 @@ class GetTableChunkRequestHandler(AbstractRequestHandler):
 
 class PutObjectRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
-        payload_decoder = PayloadDecoder(request.payload)
-        data_bytes = payload_decoder.get_next_bytes()
         name = request.get_header_field(_PAYLOAD_NAME)
-
-        data_object = pickle.loads(data_bytes)
+        is_file = request.get_header_field(_OBJECT_FILE) == "true"
+        object_key = request.get_header_field(_OBJECT_KEY)
+
+        is_resident, data_object = False, None
+        if object_key is not None:
+            # May have already been unpickled by a previous execution.
+            is_resident, data_object = workspace.get_resident_object(object_key)
+        if not is_resident:
+            if is_file:
+                # Unpickle directly from the file store on Java side.
+                data_object = _read_pickled_object(PayloadDecoder(request.payload).get_next_string())
+            else:
+                data_object = pickle.loads(PayloadDecoder(request.payload).get_next_bytes())
+            if object_key is not None:
+                workspace.set_resident_object(object_key, data_object)
         workspace.put_variable(name, data_object)
 
         return AbstractRequestHandler._create_response(request, response_message_id)
@@ -228,17 +256,23 @@ class PutObjectRequestHandler(AbstractRequestHandler):
 
 class GetObjectRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
-        name = PayloadDecoder(request.payload).get_next_string()
+        payload_decoder = PayloadDecoder(request.payload)
+        name = payload_decoder.get_next_string()
+        file_path = payload_decoder.get_next_string() if request.get_header_field(_OBJECT_FILE) == "true" else None
 
         data_object = workspace.get_variable(name)
-        o_bytes = bytearray(pickle.dumps(data_object))
         o_type = type(data_object).__name__
         o_representation = PythonUtils.object_to_string(data_object)
-        data_frame = pandas.DataFrame([{'bytes': o_bytes, 'type': o_type, 'representation': o_representation}])
-        data_bytes = workspace.serializer.data_frame_to_bytes(data_frame)
-
-        return AbstractRequestHandler._create_response(request, response_message_id,
-                                                       response_payload=_create_byte_array_payload(data_bytes))
+        if file_path is not None:
+            # Pickle directly into the file store on Java side instead of sending the (possibly huge) bytes.
+            digest = _write_pickled_object(file_path, data_object, o_type, o_representation)
+            payload = PayloadEncoder().put_string(o_representation).put_bytes(digest).payload
+            return AbstractRequestHandler._create_response(request, response_message_id, response_payload=payload,
+                                                           response_additional_options={_OBJECT_TYPE: o_type})
+        else:
+            payload = PayloadEncoder().put_bytes(pickle.dumps(data_object)).put_string(o_type).put_string(
+                o_representation).payload
+            return AbstractRequestHandler._create_response(request, response_message_id, response_payload=payload)
 
 
 class PutSqlRequestHandler(AbstractRequestHandler):
@@ -356,15 +390,40 @@ class ExecuteRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         source_code = PayloadDecoder(request.payload).get_next_string()
 
+        stream_output = request.get_header_field("stream_output") == "true"
+
         debug_msg('Executing:\n' + source_code + '\n')
-        output, error = workspace.execute(source_code, request.id)
-        if error:
-            debug_msg('Error during execution. Message: \'' + error + '\'', exc_info=True)
-        else:
-            debug_msg('Execution done.')
+        output, error = workspace.execute(source_code, request.id, stream_output)
+        return _create_execute_response(request, response_message_id, output, error)
+
+
+class ExecutePreparedRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        script_key = request.get_header_field(_SCRIPT_KEY)
+        # The source code is only sent along if the script is not yet cached.
+        source_code = PayloadDecoder(request.payload).get_next_string() if request.payload is not None else None
+
+        stream_output = request.get_header_field("stream_output") == "true"
+
+        debug_msg('Executing prepared script ' + script_key + '.')
+        result = workspace.execute_prepared(script_key, source_code, request.id, stream_output)
+        if result is None:
+            # Java resends the source code.
+            debug_msg('Prepared script ' + script_key + ' is not cached.')
+            return AbstractRequestHandler._create_response(request, response_message_id,
+                                                           response_additional_options={_SCRIPT_MISSING: "true"})
+        output, error = result
+        return _create_execute_response(request, response_message_id, output, error)
 
-        response_payload = PayloadEncoder().put_string(output).put_string(error).payload
-        return AbstractRequestHandler._create_response(request, response_message_id, response_payload=response_payload)
+
+class SetHeaderFormatRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        header_format = PayloadDecoder(request.payload).get_next_string()
+        if header_format != "binary":
+            raise ValueError("Unsupported message header format: '" + header_format + "'.")
+        # Java only switches its own header format after receiving our response, which it accepts in either format.
+        workspace.enable_binary_message_headers()
+        return AbstractRequestHandler._create_response(request, response_message_id)
 
 
 class ResetRequestHandler(AbstractRequestHandler):
@@ -376,13 +435,16 @@ class ResetRequestHandler(AbstractRequestHandler):
 class CleanupRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         workspace._cleanup()
+        # Java stops listening to the output streams shortly after cleanup, so make sure that nothing is left behind.
+        PythonUtils.invoke_safely(None, lambda s: s.flush(), [sys.stdout, sys.stderr])
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
 class ShutdownRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
-        # TODO: Send success message?
-        workspace.close()
+        # The acknowledgement is the last message that is sent to Java. It is sent after the workspace was cleaned up
+        # and the standard streams were flushed which allows Java to close its end right away.
+        workspace.close(acknowledgement=AbstractRequestHandler._create_response(request, response_message_id))
 
 
 # Note that all builtin request handlers need to be stateless since a single instance is used per message category.
@@ -407,6 +469,8 @@ _builtin_request_handlers = {'getpid': GetPidRequestHandler(),
                              'setCustomModulePaths': SetCustomModulePathsRequestHandler(),
                              'execute': ExecuteRequestHandler(),
                              'execute_async': ExecuteRequestHandler(),
+                             'executePrepared': ExecutePreparedRequestHandler(),
+                             'setHeaderFormat': SetHeaderFormatRequestHandler(),
                              'reset': ResetRequestHandler(),
                              'cleanup': CleanupRequestHandler(),
                              'shutdown': ShutdownRequestHandler()}
@@ -416,6 +480,16 @@ def get_builtin_request_handlers():
     return _builtin_request_handlers.copy()
 
 
+def _create_execute_response(request, response_message_id, output, error):
+    if error:
+        debug_msg('Error during execution. Message: \'' + error + '\'', exc_info=True)
+    else:
+        debug_msg('Execution done.')
+
+    response_payload = PayloadEncoder().put_string(output).put_string(error).payload
+    return AbstractRequestHandler._create_response(request, response_message_id, response_payload=response_payload)
+
+
 def _create_byte_array_payload(value):
     return PayloadEncoder().put_bytes(value).payload
 
@@ -426,3 +500,56 @@ def _create_int_payload(value):
 
 def _create_string_payload(value):
     return PayloadEncoder().put_string(value).payload
+
+
+def _write_pickled_object(file_path, data_object, o_type, o_representation):
+    """
+    Writes the given object in the format of org.knime.python2.port.PickledObject#save(OutputStream) on Java side:
+    (length of pickled object: int32)(pickled object)(type: Java modified UTF-8 with uint16 length)
+    (length of representation: int32)(representation: UTF-8)
+    @return the SHA-256 digest of the pickled object, see PickledObjectFileStorePortObject#DIGEST_ALGORITHM on Java side
+    """
+    with open(file_path, 'wb') as f:
+        # Placeholder for the length of the pickled object which is only known afterwards.
+        f.write(struct.pack('>i', 0))
+        digesting_file = _DigestingFile(f)
+        pickle.dump(data_object, digesting_file)
+        pickled_object_length = f.tell() - 4
+        if pickled_object_length > 2147483647:
+            raise ValueError("Object '" + o_type + "' is too large to be transferred to KNIME (" + str(
+                pickled_object_length) + " bytes when pickled).")
+        type_bytes = o_type.encode('utf-8')
+        f.write(struct.pack('>H', len(type_bytes)) + type_bytes)
+        representation_bytes = o_representation.encode('utf-8')
+        f.write(struct.pack('>i', len(representation_bytes)) + representation_bytes)
+        f.seek(0)
+        f.write(struct.pack('>i', pickled_object_length))
+    return digesting_file.digest()
+
+
+def _read_pickled_object(file_path):
+    """
+    Reads an object that was written in the format of org.knime.python2.port.PickledObject#save(OutputStream) on Java
+    side. Type and representation are not needed and not read.
+    """
+    with open(file_path, 'rb') as f:
+        # Skip the length of the pickled object, unpickling stops at its end.
+        f.seek(4)
+        return pickle.load(f)
+
+
+class _DigestingFile(object):
+    """
+    Write-only file wrapper that updates a digest of everything that is written through it.
+    """
+
+    def __init__(self, f):
+        self._f = f
+        self._digest = hashlib.sha256()
+
+    def write(self, data):
+        self._digest.update(data)
+        return self._f.write(data)
+
+    def digest(self):
+        return self._digest.digest()
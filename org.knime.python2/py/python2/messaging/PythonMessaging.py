@@ -47,6 +47,7 @@
 @author Christian Dietz, KNIME GmbH, Konstanz, Germany
 """
 
+import threading
 from Queue import Empty
 
 from messaging.MessageReceiver import MessageReceiver
@@ -62,13 +63,20 @@ class PythonMessaging(PythonMessagingBase):
     def __init__(self, connection):
         super(PythonMessaging, self).__init__()
         self._sender = MessageSender(connection)
+        # Messages are sent synchronously by the calling thread, which is not necessarily the main thread (e.g. output
+        # written by threads that the executed code started). The frames of concurrent sends must not interleave.
+        self._send_lock = threading.Lock()
         self._receiver = MessageReceiver(connection)
 
     def create_receive_queue(self):
         return PythonMessaging._MessageFetchingQueue(self._receiver)
 
     def send(self, message):
-        self._sender.send(message)
+        with self._send_lock:
+            self._sender.send(message)
+
+    def enable_binary_headers(self):
+        self._sender.binary_headers = True
 
     def handle(self, message):
         if self._distributor.can_handle(message.category):
@@ -85,8 +93,10 @@ class PythonMessaging(PythonMessagingBase):
             message = self._receiver.receive()
             self._distributor.handle(message)
 
-    def _close(self):
-        pass  # no-op
+    def _close(self, last_message):
+        # Sending is synchronous, so the last message is on the wire once this returns.
+        if last_message is not None:
+            self.send(last_message)
 
     class _MessageFetchingQueue(object):
         """
@@ -88,11 +88,11 @@ class PythonKernel(PythonKernelBase):
         self.execute_thread_executor.start()
         self._monitor.wait_for_close()
 
-    def close(self):
+    def close(self, acknowledgement=None):
         # Note: This method may not be called from self._execute_thread_executor because some cleanup operations need
         # to be forwarded to that executor which would cause a deadlock.
         with self._is_running_or_closed_lock:
-            super(PythonKernel, self).close()
+            super(PythonKernel, self).close(acknowledgement)
             # Hold lock. Make all that closing atomic.
             self._monitor.report_close()
 
@@ -108,7 +108,8 @@ class PythonKernel(PythonKernelBase):
                   'listVariables',
                   'hasAutoComplete',
                   'autoComplete',
-                  'execute']:
+                  'execute',
+                  'executePrepared']:
             self.unregister_task_handler(k)
             self.register_task_handler(k, _builtin_request_handlers[k], executor=self.execute_thread_executor)
 
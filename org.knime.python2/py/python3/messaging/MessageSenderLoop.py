@@ -47,6 +47,8 @@
 @author Christian Dietz, KNIME GmbH, Konstanz, Germany
 """
 
+import threading
+
 from python3.messaging.AbstractMessageLoop import AbstractMessageLoop
 
 
@@ -55,16 +57,32 @@ class MessageSenderLoop(AbstractMessageLoop):
         super(MessageSenderLoop, self).__init__(monitor)
         self._sender = sender
         self._send_queue = send_queue
+        self._last_message = None
+        self._terminated = threading.Event()
 
     def send(self, message):
         self._send_queue.put(message)
 
+    def close_after(self, last_message, timeout):
+        """
+        Closes the loop such that the given message is the last one that is written to the connection. Blocks until
+        the message was written or the given timeout (in seconds) elapsed. Returns True in the former case.
+        """
+        self._last_message = last_message
+        self.close()
+        return self._terminated.wait(timeout)
+
     def _loop(self):
-        while self.is_running:
-            message = self._send_queue.get()
-            if message == self._monitor.poison_pill:
-                break
-            self._sender.send(message)
+        try:
+            while self.is_running:
+                message = self._send_queue.get()
+                if message == self._monitor.poison_pill:
+                    break
+                self._sender.send(message)
+            if self._last_message is not None:
+                self._sender.send(self._last_message)
+        finally:
+            self._terminated.set()
 
     def _close(self):
         AbstractMessageLoop._clear_queue_and_put_message(self._send_queue, self._monitor.poison_pill)
@@ -70,13 +70,16 @@ class PythonMessaging(PythonMessagingBase):
 
     _TASK_RECEIVE_QUEUE_LENGTH = 10
 
+    _LAST_MESSAGE_TIMEOUT = 5  # In seconds.
+
     def __init__(self, connection, monitor):
         super(PythonMessaging, self).__init__()
         self._monitor = monitor
         self._is_running_lock = threading.Lock()
         self._message_id_lock = threading.Lock()
 
-        self._send_loop = MessageSenderLoop(MessageSender(connection),
+        self._sender = MessageSender(connection)
+        self._send_loop = MessageSenderLoop(self._sender,
                                             monitor.create_message_queue(PythonMessaging._SEND_QUEUE_LENGTH), monitor)
 
         self._receive_queue = monitor.create_message_queue(PythonMessaging._RECEIVE_QUEUE_LENGTH)
@@ -110,6 +113,9 @@ class PythonMessaging(PythonMessagingBase):
     def send(self, message):
         self._send_loop.send(message)
 
+    def enable_binary_headers(self):
+        self._sender.binary_headers = True
+
     def handle(self, message):
         if self._distribute_loop.can_handle(message.category):
             self._receive_queue.put(message)
@@ -117,9 +123,9 @@ class PythonMessaging(PythonMessagingBase):
         else:
             return False
 
-    def close(self):
+    def close(self, last_message=None):
         with self._is_running_lock:
-            super(PythonMessaging, self).close()
+            super(PythonMessaging, self).close(last_message)
 
     def _start(self):
         # Order is intended (and differs from Java since we are the server).
@@ -127,7 +133,13 @@ class PythonMessaging(PythonMessagingBase):
         self._distribute_loop.start()
         self._receive_loop.start()
 
-    def _close(self):
+    def _close(self, last_message):
         # Order is intended (and differs from Java since we are the server).
-        loops = [self._receive_loop, self._distribute_loop, self._send_loop]
+        loops = [self._receive_loop, self._distribute_loop]
         invoke_safely(lambda msg, _: debug_msg(msg, exc_info=True), lambda l: l.close(), loops)
+        if last_message is not None:
+            # Block until the last message was written, the connection is shut down right after this call.
+            invoke_safely(lambda msg, _: debug_msg(msg, exc_info=True),
+                          lambda l: l.close_after(last_message, PythonMessaging._LAST_MESSAGE_TIMEOUT), self._send_loop)
+        else:
+            invoke_safely(lambda msg, _: debug_msg(msg, exc_info=True), lambda l: l.close(), self._send_loop)
@@ -58,6 +58,8 @@
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
 import org.knime.python2.generic.templates.SourceCodeTemplatesExtensions;
+import org.knime.python2.kernel.PythonKernelPool;
+import org.knime.python2.kernel.PythonModelKernelPool;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
@@ -102,7 +104,9 @@ public void start(final BundleContext bundleContext) throws Exception {
 
     @Override
     public void stop(final BundleContext bundleContext) throws Exception {
-        // no op
+        // The model kernel pool draws its kernels from the kernel pool.
+        PythonModelKernelPool.closeInstance();
+        PythonKernelPool.closeInstance();
     }
 
     /**
@@ -75,12 +75,22 @@ public class PythonSourceCodeConfig extends SourceCodeConfig {
 
     private static final String CFG_CHUNK_SIZE = "chunkSize";
 
+    private static final String CFG_TRANSFER_QUEUE_DEPTH = "transferQueueDepth";
+
+    private static final String CFG_INFER_OUTPUT_SPEC = "inferOutputSpec";
+
+    private static final String CFG_STREAMING_ENABLED = "streamingEnabled";
+
     public static final String CFG_PYTHON2COMMAND = "python2Command";
 
     public static final String CFG_PYTHON3COMMAND = "python3Command";
 
     private PythonKernelOptions m_kernelOptions = new PythonKernelOptions();
 
+    private boolean m_inferOutputSpec = false;
+
+    private boolean m_streamingEnabled = false;
+
     @Override
     public void saveTo(final NodeSettingsWO settings) {
         super.saveTo(settings);
@@ -90,6 +100,9 @@ public void saveTo(final NodeSettingsWO settings) {
         settings.addString(CFG_SENTINEL_OPTION, m_kernelOptions.getSentinelOption().name());
         settings.addInt(CFG_SENTINEL_VALUE, m_kernelOptions.getSentinelValue());
         settings.addInt(CFG_CHUNK_SIZE, m_kernelOptions.getChunkSize());
+        settings.addInt(CFG_TRANSFER_QUEUE_DEPTH, m_kernelOptions.getTransferQueueDepth());
+        settings.addBoolean(CFG_INFER_OUTPUT_SPEC, m_inferOutputSpec);
+        settings.addBoolean(CFG_STREAMING_ENABLED, m_streamingEnabled);
         settings.addString(CFG_PYTHON2COMMAND, "");
         settings.addString(CFG_PYTHON3COMMAND, "");
     }
@@ -108,6 +121,14 @@ public void loadFrom(final NodeSettingsRO settings) throws InvalidSettingsExcept
         m_kernelOptions
         .setSentinelValue(settings.getInt(CFG_SENTINEL_VALUE, SerializationOptions.DEFAULT_SENTINEL_VALUE));
         m_kernelOptions.setChunkSize(settings.getInt(CFG_CHUNK_SIZE, PythonKernelOptions.DEFAULT_CHUNK_SIZE));
+        final int transferQueueDepth =
+            settings.getInt(CFG_TRANSFER_QUEUE_DEPTH, PythonKernelOptions.DEFAULT_TRANSFER_QUEUE_DEPTH);
+        if (transferQueueDepth < 1) {
+            throw new InvalidSettingsException("The number of chunks in flight must be at least one.");
+        }
+        m_kernelOptions.setTransferQueueDepth(transferQueueDepth);
+        m_inferOutputSpec = settings.getBoolean(CFG_INFER_OUTPUT_SPEC, false);
+        m_streamingEnabled = settings.getBoolean(CFG_STREAMING_ENABLED, false);
 
         if(settings.containsKey(CFG_PYTHON2COMMAND)) {
             final String python2Command = settings.getString(CFG_PYTHON2COMMAND);
@@ -135,6 +156,10 @@ public void loadFromInDialog(final NodeSettingsRO settings) {
         m_kernelOptions
         .setSentinelValue(settings.getInt(CFG_SENTINEL_VALUE, SerializationOptions.DEFAULT_SENTINEL_VALUE));
         m_kernelOptions.setChunkSize(settings.getInt(CFG_CHUNK_SIZE, PythonKernelOptions.DEFAULT_CHUNK_SIZE));
+        m_kernelOptions.setTransferQueueDepth(Math.max(1,
+            settings.getInt(CFG_TRANSFER_QUEUE_DEPTH, PythonKernelOptions.DEFAULT_TRANSFER_QUEUE_DEPTH)));
+        m_inferOutputSpec = settings.getBoolean(CFG_INFER_OUTPUT_SPEC, false);
+        m_streamingEnabled = settings.getBoolean(CFG_STREAMING_ENABLED, false);
 
         try {
             if (settings.containsKey(CFG_PYTHON2COMMAND)) {
@@ -153,7 +178,8 @@ public void loadFromInDialog(final NodeSettingsRO settings) {
     }
 
     /**
-     * Sets the internal {@link PythonKernelOptions} to a new object created using the specified parameters.
+     * Sets the internal {@link PythonKernelOptions} to a new object created using the specified parameters. The
+     * {@link PythonKernelOptions#getTransferQueueDepth() transfer queue depth} is retained.
      *
      * @param versionOption the version options
      * @param convertToPython convert missing values to sentinel on the way to python
@@ -167,8 +193,31 @@ public void loadFromInDialog(final NodeSettingsRO settings) {
     public void setKernelOptions(final PythonVersionOption versionOption, final boolean convertToPython,
         final boolean convertFromPython, final SentinelOption sentinelOption, final int sentinelValue,
         final int chunkSize, final String python2Command, final String python3Command) {
+        setKernelOptions(versionOption, convertToPython, convertFromPython, sentinelOption, sentinelValue, chunkSize,
+            m_kernelOptions.getTransferQueueDepth(), python2Command, python3Command);
+    }
+
+    /**
+     * Sets the internal {@link PythonKernelOptions} to a new object created using the specified parameters.
+     *
+     * @param versionOption the version options
+     * @param convertToPython convert missing values to sentinel on the way to python
+     * @param convertFromPython convert sentinel to missing values on the way from python to KNIME
+     * @param sentinelOption the sentinel option
+     * @param sentinelValue the sentinel value (only used if sentinelOption is CUSTOM)
+     * @param chunkSize the number of rows to transfer per chunk
+     * @param transferQueueDepth the maximum number of chunks in flight during a transfer, at least one
+     * @param python2Command command to start python 2
+     * @param python3Command command to start python 3
+     * @since 3.8
+     */
+    public void setKernelOptions(final PythonVersionOption versionOption, final boolean convertToPython,
+        final boolean convertFromPython, final SentinelOption sentinelOption, final int sentinelValue,
+        final int chunkSize, final int transferQueueDepth, final String python2Command,
+        final String python3Command) {
         m_kernelOptions = new PythonKernelOptions(versionOption, convertToPython, convertFromPython, sentinelOption,
             sentinelValue, chunkSize, python2Command, python3Command);
+        m_kernelOptions.setTransferQueueDepth(transferQueueDepth);
     }
 
     /**
@@ -180,6 +229,42 @@ public PythonKernelOptions getKernelOptions() {
         return new PythonKernelOptions(m_kernelOptions);
     }
 
+    /**
+     * @param inferOutputSpec true if the spec of the output table shall be inferred during configuration by executing
+     *            the script on an empty input table, false if the spec is only known after execution
+     * @since 3.8
+     */
+    public void setInferOutputSpec(final boolean inferOutputSpec) {
+        m_inferOutputSpec = inferOutputSpec;
+    }
+
+    /**
+     * @return true if the spec of the output table shall be inferred during configuration by executing the script on an
+     *         empty input table, false if the spec is only known after execution
+     * @since 3.8
+     */
+    public boolean getInferOutputSpec() {
+        return m_inferOutputSpec;
+    }
+
+    /**
+     * @param streamingEnabled true if the node shall execute its script once per chunk of the input table when run in
+     *            a streaming executor, false if it shall always process the entire input table at once
+     * @since 3.8
+     */
+    public void setStreamingEnabled(final boolean streamingEnabled) {
+        m_streamingEnabled = streamingEnabled;
+    }
+
+    /**
+     * @return true if the node shall execute its script once per chunk of the input table when run in a streaming
+     *         executor, false if it shall always process the entire input table at once
+     * @since 3.8
+     */
+    public boolean getStreamingEnabled() {
+        return m_streamingEnabled;
+    }
+
     /**
      * Indicates if the use of python 3 is configured.
      *
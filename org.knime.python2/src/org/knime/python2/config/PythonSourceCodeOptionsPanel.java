@@ -109,6 +109,16 @@
 
     private JSpinner m_chunkSize;
 
+    private JSpinner m_transferQueueDepth;
+
+    private JCheckBox m_inferOutputSpec;
+
+    private JPanel m_outputSpecPanel;
+
+    private JCheckBox m_streamingEnabled;
+
+    private JPanel m_streamingPanel;
+
     private JPanel m_versionPanel;
 
     private final EnforcePythonVersion m_enforcedVersion;
@@ -237,13 +247,61 @@ public void changedUpdate(final DocumentEvent e) {
         chunkingPanel.add(new JLabel("Rows per chunk: "));
         m_chunkSize = new JSpinner(new SpinnerNumberModel(PythonKernelOptions.DEFAULT_CHUNK_SIZE, 1, Integer.MAX_VALUE, 1));
         chunkingPanel.add(m_chunkSize);
+        // More chunks in flight overlap serialization and transmission at the cost of memory.
+        chunkingPanel.add(new JLabel("Chunks in flight: "));
+        m_transferQueueDepth = new JSpinner(
+            new SpinnerNumberModel(PythonKernelOptions.DEFAULT_TRANSFER_QUEUE_DEPTH, 1, Integer.MAX_VALUE, 1));
+        chunkingPanel.add(m_transferQueueDepth);
         gbc.gridx = 0;
         gbc.gridy++;
         panel.add(chunkingPanel, gbc);
 
+        // Only shown by nodes that support it, see #setInferOutputSpecVisible(boolean)
+        m_outputSpecPanel = new JPanel(new FlowLayout());
+        m_outputSpecPanel.setBorder(BorderFactory.createTitledBorder("Output Table Spec"));
+        m_inferOutputSpec = new JCheckBox("infer during configuration (executes the script on an empty input table)");
+        m_outputSpecPanel.add(m_inferOutputSpec);
+        m_outputSpecPanel.setVisible(false);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(m_outputSpecPanel, gbc);
+
+        // Only shown by nodes that support it, see #setStreamingEnabledVisible(boolean)
+        m_streamingPanel = new JPanel(new FlowLayout());
+        m_streamingPanel.setBorder(BorderFactory.createTitledBorder("Streaming"));
+        m_streamingEnabled =
+            new JCheckBox("execute the script once per chunk of the input table when run in a streaming executor");
+        m_streamingPanel.add(m_streamingEnabled);
+        m_streamingPanel.setVisible(false);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(m_streamingPanel, gbc);
+
         return panel;
     }
 
+    /**
+     * Shows or hides the option to infer the spec of the output table during configuration. Hidden by default, since
+     * only some nodes support it.
+     *
+     * @param visible true if the option shall be shown, false otherwise
+     * @since 3.8
+     */
+    public void setInferOutputSpecVisible(final boolean visible) {
+        m_outputSpecPanel.setVisible(visible);
+    }
+
+    /**
+     * Shows or hides the option to execute the script once per chunk of the input table when the node is run in a
+     * streaming executor. Hidden by default, since only some nodes support it.
+     *
+     * @param visible true if the option shall be shown, false otherwise
+     * @since 3.8
+     */
+    public void setStreamingEnabledVisible(final boolean visible) {
+        m_streamingPanel.setVisible(visible);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -269,6 +327,9 @@ public void loadSettingsFrom(final PythonSourceCodeConfig config) {
         m_sentinelInput.setText(kopts.getSentinelValue() + "");
         m_sentinelValue = kopts.getSentinelValue();
         m_chunkSize.setValue(kopts.getChunkSize());
+        m_transferQueueDepth.setValue(kopts.getTransferQueueDepth());
+        m_inferOutputSpec.setSelected(config.getInferOutputSpec());
+        m_streamingEnabled.setSelected(config.getStreamingEnabled());
         m_python2Command = kopts.getPython2Command();
         m_python3Command = kopts.getPython3Command();
         getSourceCodePanel().setKernelOptions(getSelectedOpitons());
@@ -282,7 +343,10 @@ public void saveSettingsTo(final PythonSourceCodeConfig config) {
         super.saveSettingsTo(config);
         config.setKernelOptions(getSelectedPythonVersion(), m_convertToPython.isSelected(),
             m_convertFromPython.isSelected(), getSelectedSentinelOption(), m_sentinelValue,
-            ((Integer)m_chunkSize.getValue()).intValue(), m_python2Command, m_python3Command);
+            ((Integer)m_chunkSize.getValue()).intValue(), ((Integer)m_transferQueueDepth.getValue()).intValue(),
+            m_python2Command, m_python3Command);
+        config.setInferOutputSpec(m_inferOutputSpec.isSelected());
+        config.setStreamingEnabled(m_streamingEnabled.isSelected());
     }
 
     /**
@@ -352,9 +416,11 @@ private PythonKernelOptions.PythonVersionOption getSelectedPythonVersion() {
     }
 
     private PythonKernelOptions getSelectedOpitons() {
-        return new PythonKernelOptions(getSelectedPythonVersion(), m_convertToPython.isSelected(),
-            m_convertFromPython.isSelected(), getSelectedSentinelOption(), m_sentinelValue,
-            ((Integer)m_chunkSize.getValue()).intValue(), m_python2Command, m_python3Command);
+        final PythonKernelOptions options = new PythonKernelOptions(getSelectedPythonVersion(),
+            m_convertToPython.isSelected(), m_convertFromPython.isSelected(), getSelectedSentinelOption(),
+            m_sentinelValue, ((Integer)m_chunkSize.getValue()).intValue(), m_python2Command, m_python3Command);
+        options.setTransferQueueDepth(((Integer)m_transferQueueDepth.getValue()).intValue());
+        return options;
     }
 
 }
@@ -0,0 +1,155 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.extensions.serializationlibrary.interfaces;
+
+/**
+ * A chunk of a table in columnar form. Values of primitive and string columns are accessed via typed accessors which
+ * do not require any per-cell objects. Values of all other columns (collections) are accessed via
+ * {@link #getCell(int, int)}.
+ * <P>
+ * A batch may be reused by its producer once the next batch is requested. Consumers must therefore not hold on to a
+ * batch (or the arrays it returns) beyond the processing of the current chunk.
+ */
+public interface ColumnBatch {
+
+    /**
+     * @return The {@link TableSpec}.
+     */
+    TableSpec getTableSpec();
+
+    /**
+     * @return The number of rows in this batch.
+     */
+    int getNumberRows();
+
+    /**
+     * @param row the row index
+     * @return Row key of the given row.
+     */
+    String getRowKey(int row);
+
+    /**
+     * @param column the column index
+     * @return The bit encoded validity of the values in the given column (bit <code>row</code> is 0 if the value is
+     *         missing). May be longer than required by the number of rows in this batch.
+     */
+    byte[] getValidity(int column);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return true if the value at the given position is missing, false otherwise.
+     */
+    boolean isMissing(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The boolean value at the given position. Undefined if the value is missing.
+     * @throws ClassCastException If the type of the column is not {@link Type#BOOLEAN}.
+     */
+    boolean getBooleanValue(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The integer value at the given position. Undefined if the value is missing.
+     * @throws ClassCastException If the type of the column is not {@link Type#INTEGER}.
+     */
+    int getIntegerValue(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The long value at the given position. Undefined if the value is missing.
+     * @throws ClassCastException If the type of the column is neither {@link Type#LONG} nor a
+     *             {@link Type#isTemporal() temporal type}.
+     */
+    long getLongValue(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The double value at the given position. Undefined if the value is missing.
+     * @throws ClassCastException If the type of the column is not {@link Type#DOUBLE}.
+     */
+    double getDoubleValue(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The float value at the given position. Undefined if the value is missing.
+     * @throws ClassCastException If the type of the column is not {@link Type#FLOAT}.
+     */
+    float getFloatValue(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The string value at the given position, <code>null</code> if the value is missing.
+     * @throws ClassCastException If the type of the column is not {@link Type#STRING}.
+     */
+    String getStringValue(int column, int row);
+
+    /**
+     * @param column the column index
+     * @param row the row index
+     * @return The bytes value at the given position, <code>null</code> if the value is missing.
+     * @throws ClassCastException If the type of the column is not {@link Type#BYTES}.
+     */
+    byte[] getBytesValue(int column, int row);
+
+    /**
+     * Works for columns of any type. For primitive and string columns, a new {@link Cell} is created on each call, the
+     * typed accessors should be preferred there.
+     *
+     * @param column the column index
+     * @param row the row index
+     * @return The {@link Cell} at the given position.
+     */
+    Cell getCell(int column, int row);
+
+}
@@ -99,4 +99,14 @@ void bytesIntoTable(TableCreator<?> tableCreator, byte[] bytes, SerializationOpt
      */
     TableSpec tableSpecFromBytes(byte[] bytes, PythonCancelable cancelable)
         throws SerializationException, PythonCanceledExecutionException;
+
+    /**
+     * Returns whether this library is able to transfer columns of the {@link Type#isTemporal() temporal types}. If
+     * not, date and time columns are transferred via their type extensions instead.
+     *
+     * @return true if temporal types are supported, false otherwise
+     */
+    default boolean supportsTemporalTypes() {
+        return false;
+    }
 }
@@ -47,6 +47,11 @@
 
 /**
  * Contains the possible column types.
+ * <P>
+ * Values of the temporal types are represented as long values: {@link #LOCAL_DATE_TIME} as microseconds since
+ * 1970-01-01T00:00 (without time zone), {@link #LOCAL_DATE} as days since 1970-01-01, {@link #LOCAL_TIME} as
+ * microseconds since midnight and {@link #DURATION} as microseconds. Serialization libraries that do not support them
+ * never encounter them, see {@link SerializationLibrary#supportsTemporalTypes()}.
  *
  * @author Patrick Winter
  */
@@ -55,7 +60,8 @@ public enum Type {
 
     BOOLEAN(1), BOOLEAN_LIST(2), BOOLEAN_SET(3), INTEGER(4), INTEGER_LIST(5), INTEGER_SET(6), LONG(7), LONG_LIST(8),
     LONG_SET(9), DOUBLE(10), DOUBLE_LIST(11), DOUBLE_SET(12), STRING(13), STRING_LIST(14), STRING_SET(15),
-    BYTES(16), BYTES_LIST(17), BYTES_SET(18), FLOAT(19), FLOAT_LIST(20), FLOAT_SET(21);
+    BYTES(16), BYTES_LIST(17), BYTES_SET(18), FLOAT(19), FLOAT_LIST(20), FLOAT_SET(21),
+    LOCAL_DATE_TIME(22), LOCAL_DATE(23), LOCAL_TIME(24), DURATION(25);
 
     private final int m_id;
 
@@ -77,6 +83,13 @@ public int getId() {
         return m_id;
     }
 
+    /**
+     * @return true if this is one of the temporal types whose values are represented as long values, false otherwise
+     */
+    public boolean isTemporal() {
+        return this == LOCAL_DATE_TIME || this == LOCAL_DATE || this == LOCAL_TIME || this == DURATION;
+    }
+
     /**
      * Get the type associated with a specific id.
      *
@@ -57,4 +57,18 @@ public interface VectorInserter {
      * @param cell a cell in the python table format
      */
     void put(Cell cell);
+
+    /**
+     * Add all values of the given column of the batch to the end of the managed table column. The default
+     * implementation {@link #put(Cell) puts} one cell per row. Implementations for primitive and string columns should
+     * override this method to read the values directly from the batch.
+     *
+     * @param batch a batch of rows in columnar form
+     * @param column the index of the column in the batch
+     */
+    default void putColumn(final ColumnBatch batch, final int column) {
+        for (int row = 0; row < batch.getNumberRows(); row++) {
+            put(batch.getCell(column, row));
+        }
+    }
 }
\ No newline at end of file
@@ -49,9 +49,11 @@
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableChunker;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
  * Used for splitting a {@link BufferedDataTable} into chunks. Assures that only one {@link TableIterator} on the
@@ -84,6 +86,21 @@ public BufferedDataTableChunker(final DataTableSpec spec, final CloseableRowIter
         this(BufferedDataTableIterator.dataTableSpecToTableSpec(spec), rowIterator, numberRows);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param spec the spec of the table to chunk in the standard KNIME format
+     * @param rowIterator an iterator for the table to chunk
+     * @param numberRows the number of rows of the table to chunk
+     * @param temporalTypes true if date and time columns are mapped to the {@link Type#isTemporal() temporal types},
+     *            which requires a serialization library that {@link SerializationLibrary#supportsTemporalTypes()
+     *            supports them}, false if they are transferred via their type extensions
+     */
+    public BufferedDataTableChunker(final DataTableSpec spec, final CloseableRowIterator rowIterator,
+        final int numberRows, final boolean temporalTypes) {
+        this(BufferedDataTableIterator.dataTableSpecToTableSpec(spec, temporalTypes), rowIterator, numberRows);
+    }
+
     /**
      * Constructor.
      *
@@ -157,9 +174,21 @@ public TableSpec getTableSpec() {
     class IterationProperties {
         public int m_remainingRows;
 
+        /**
+         * Lazily created, reused by all {@link BufferedDataTableIterator#nextBatch() batches} of the chunked table.
+         */
+        private ColumnBatchImpl m_columnBatch;
+
         private IterationProperties(final int numRows) {
             m_remainingRows = numRows;
         }
+
+        ColumnBatchImpl getColumnBatch(final TableSpec spec) {
+            if (m_columnBatch == null) {
+                m_columnBatch = new ColumnBatchImpl(spec);
+            }
+            return m_columnBatch;
+        }
     }
 
 }
@@ -51,6 +51,8 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -81,16 +83,18 @@
 import org.knime.python.typeextension.Deserializer;
 import org.knime.python.typeextension.PythonToKnimeExtensions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
-import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
  * Used for creating a {@link BufferedDataTable} out of a python integration specific table structure.
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  */
-public class BufferedDataTableCreator implements TableCreator<BufferedDataTable> {
+public class BufferedDataTableCreator implements ColumnarTableCreator<BufferedDataTable> {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableCreator.class);
 
@@ -132,7 +136,33 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
         m_exec = context;
         m_columnsToRetype = new HashMap<Integer, DataTypeContainer>();
         m_pythonToKnimeExtensions = new PythonToKnimeExtensions();
-        final DataColumnSpec[] colSpecs = new DataColumnSpec[m_spec.getNumberColumns()];
+        final Map<Integer, ResultType> columnsToRetype = new HashMap<>();
+        final DataColumnSpec[] colSpecs = createColumnSpecs(spec, columnsToRetype);
+        for (final Entry<Integer, ResultType> entry : columnsToRetype.entrySet()) {
+            m_columnsToRetype.put(entry.getKey(), new DataTypeContainer(entry.getValue()));
+        }
+        m_dataTableSpec = new DataTableSpec(colSpecs);
+        m_container = context.createDataContainer(m_dataTableSpec);
+    }
+
+    /**
+     * Creates the spec of the table that is created from data of the given spec. This is only possible if the types of
+     * all columns are known in advance, which is not the case for columns whose type is determined by the deserialized
+     * values.
+     *
+     * @param spec a table spec in the python integration specific format
+     * @return the spec of the created table, <code>null</code> if the type of some columns depends on the actual values
+     * @since 3.8
+     */
+    public static DataTableSpec createDataTableSpec(final TableSpec spec) {
+        final Map<Integer, ResultType> columnsToRetype = new HashMap<>();
+        final DataColumnSpec[] colSpecs = createColumnSpecs(spec, columnsToRetype);
+        return columnsToRetype.isEmpty() ? new DataTableSpec(colSpecs) : null;
+    }
+
+    private static DataColumnSpec[] createColumnSpecs(final TableSpec spec,
+        final Map<Integer, ResultType> columnsToRetype) {
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[spec.getNumberColumns()];
         String key;
         for (int i = 0; i < colSpecs.length; i++) {
             final String columnName = spec.getColumnNames()[i];
@@ -195,13 +225,20 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                     colSpecs[i] =
                         new DataColumnSpecCreator(columnName, SetCell.getCollectionType(StringCell.TYPE)).createSpec();
                     break;
+                case LOCAL_DATE_TIME:
+                case LOCAL_DATE:
+                case LOCAL_TIME:
+                case DURATION:
+                    colSpecs[i] = new DataColumnSpecCreator(columnName,
+                        TemporalCells.getDataType(spec.getColumnTypes()[i])).createSpec();
+                    break;
                 case BYTES:
                     key = spec.getColumnSerializers().get(columnName);
                     if (key != null) {
                         final DataType type =
                             PythonToKnimeExtensions.getExtension(key).getJavaDeserializerFactory().getDataType();
                         if (type.getCellClass() == null) {
-                            m_columnsToRetype.put(i, new DataTypeContainer(ResultType.PRIMITIVE));
+                            columnsToRetype.put(i, ResultType.PRIMITIVE);
                         }
                         colSpecs[i] = new DataColumnSpecCreator(columnName, type).createSpec();
                     } else {
@@ -214,7 +251,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                         final DataType list_type =
                             PythonToKnimeExtensions.getExtension(key).getJavaDeserializerFactory().getDataType();
                         if (list_type.getCellClass() == null) {
-                            m_columnsToRetype.put(i, new DataTypeContainer(ResultType.LIST));
+                            columnsToRetype.put(i, ResultType.LIST);
                         }
                         colSpecs[i] =
                             new DataColumnSpecCreator(columnName, ListCell.getCollectionType(list_type)).createSpec();
@@ -229,7 +266,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                         final DataType set_type =
                             PythonToKnimeExtensions.getExtension(key).getJavaDeserializerFactory().getDataType();
                         if (set_type.getCellClass() == null) {
-                            m_columnsToRetype.put(i, new DataTypeContainer(ResultType.SET));
+                            columnsToRetype.put(i, ResultType.SET);
                         }
                         colSpecs[i] =
                             new DataColumnSpecCreator(columnName, SetCell.getCollectionType(set_type)).createSpec();
@@ -243,8 +280,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                     break;
             }
         }
-        m_dataTableSpec = new DataTableSpec(colSpecs);
-        m_container = context.createDataContainer(m_dataTableSpec);
+        return colSpecs;
     }
 
     @Override
@@ -257,310 +293,376 @@ public void addRow(final Row row) {
         final DataCell[] cells = new DataCell[row.getNumberCells()];
         int i = 0;
         for (final Cell cell : row) {
-            if (cell.isMissing()) {
-                cells[i] = new MissingCell(null);
-            } else {
-                switch (cell.getColumnType()) {
+            cells[i] = toDataCell(cell, i);
+            i++;
+        }
+        m_container.addRowToTable(new DefaultRow(row.getRowKey(), cells));
+        m_rowsDone++;
+        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+    }
+
+    /**
+     * {@inheritDoc} Cells of primitive and string columns are created directly from the batch's typed accessors. Cells
+     * of all other columns are converted the same way as in {@link #addRow(Row)}.
+     */
+    @Override
+    public void addBatch(final ColumnBatch batch) {
+        final Type[] types = m_spec.getColumnTypes();
+        final int numRows = batch.getNumberRows();
+        for (int row = 0; row < numRows; row++) {
+            try {
+                m_executionMonitor.checkCanceled();
+            } catch (final CanceledExecutionException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            final DataCell[] cells = new DataCell[types.length];
+            for (int column = 0; column < types.length; column++) {
+                if (batch.isMissing(column, row)) {
+                    cells[column] = new MissingCell(null);
+                    continue;
+                }
+                switch (types[column]) {
                     case BOOLEAN:
-                        cells[i] = BooleanCellFactory.create(cell.getBooleanValue());
-                        break;
-                    case BOOLEAN_LIST:
-                        final List<DataCell> booleanListCells = new ArrayList<DataCell>();
-                        int pos = 0;
-                        for (final boolean value : cell.getBooleanArrayValue()) {
-                            if (cell.isMissing(pos)) {
-                                booleanListCells.add(new MissingCell(null));
-                            } else {
-                                booleanListCells.add(BooleanCellFactory.create(value));
-                            }
-                            pos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(booleanListCells);
-                        break;
-                    case BOOLEAN_SET:
-                        final List<DataCell> booleanSetCells = new ArrayList<DataCell>();
-                        for (final boolean value : cell.getBooleanArrayValue()) {
-                            booleanSetCells.add(BooleanCellFactory.create(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            booleanSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(booleanSetCells);
+                        cells[column] = BooleanCellFactory.create(batch.getBooleanValue(column, row));
                         break;
                     case INTEGER:
-                        cells[i] = new IntCell(cell.getIntegerValue());
-                        break;
-                    case INTEGER_LIST:
-                        final List<DataCell> integerListCells = new ArrayList<DataCell>();
-                        for (int ipos = 0; ipos < cell.getIntegerArrayValue().length; ipos++) {
-                            if (cell.isMissing(ipos)) {
-                                integerListCells.add(new MissingCell(null));
-                            } else {
-                                integerListCells.add(new IntCell(cell.getIntegerArrayValue()[ipos]));
-                            }
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(integerListCells);
-                        break;
-                    case INTEGER_SET:
-                        final List<DataCell> integerSetCells = new ArrayList<DataCell>();
-                        for (final Integer value : cell.getIntegerArrayValue()) {
-                            integerSetCells.add(new IntCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            integerSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(integerSetCells);
+                        cells[column] = new IntCell(batch.getIntegerValue(column, row));
                         break;
                     case LONG:
-                        cells[i] = new LongCell(cell.getLongValue());
-                        break;
-                    case LONG_LIST:
-                        final List<DataCell> longListCells = new ArrayList<DataCell>();
-                        int lpos = 0;
-                        for (final long value : cell.getLongArrayValue()) {
-                            if (cell.isMissing(lpos)) {
-                                longListCells.add(new MissingCell(null));
-                            } else {
-                                longListCells.add(new LongCell(value));
-                            }
-                            lpos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(longListCells);
-                        break;
-                    case LONG_SET:
-                        final List<DataCell> longSetCells = new ArrayList<DataCell>();
-                        for (final long value : cell.getLongArrayValue()) {
-                            longSetCells.add(new LongCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            longSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(longSetCells);
+                        cells[column] = new LongCell(batch.getLongValue(column, row));
                         break;
                     case DOUBLE:
-                        cells[i] = new DoubleCell(cell.getDoubleValue());
-                        break;
-                    case DOUBLE_LIST:
-                        final List<DataCell> doubleListCells = new ArrayList<DataCell>();
-                        int dpos = 0;
-                        for (final double value : cell.getDoubleArrayValue()) {
-                            if (cell.isMissing(dpos)) {
-                                doubleListCells.add(new MissingCell(null));
-                            } else {
-                                doubleListCells.add(new DoubleCell(value));
-                            }
-                            dpos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(doubleListCells);
-                        break;
-                    case DOUBLE_SET:
-                        final List<DataCell> doubleSetCells = new ArrayList<DataCell>();
-                        for (final double value : cell.getDoubleArrayValue()) {
-                            doubleSetCells.add(new DoubleCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            doubleSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(doubleSetCells);
+                        cells[column] = new DoubleCell(batch.getDoubleValue(column, row));
                         break;
                     case FLOAT:
                         // Use DoubleCell for now.
-                        cells[i] = new DoubleCell(cell.getFloatValue());
-                        break;
-                    case FLOAT_LIST:
-                        final List<DataCell> floatListCells = new ArrayList<>();
-                        int fpos = 0;
-                        for (final float value : cell.getFloatArrayValue()) {
-                            if (cell.isMissing(fpos)) {
-                                floatListCells.add(new MissingCell(null));
-                            } else {
-                                // Use DoubleCell for now.
-                                floatListCells.add(new DoubleCell(value));
-                            }
-                            fpos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(floatListCells);
-                        break;
-                    case FLOAT_SET:
-                        final List<DataCell> floatSetCells = new ArrayList<>();
-                        for (final float value : cell.getFloatArrayValue()) {
-                            // Use DoubleCell for now.
-                            floatSetCells.add(new DoubleCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            floatSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(floatSetCells);
+                        cells[column] = new DoubleCell(batch.getFloatValue(column, row));
                         break;
                     case STRING:
-                        cells[i] = new StringCell(cell.getStringValue());
+                        cells[column] = new StringCell(batch.getStringValue(column, row));
                         break;
-                    case STRING_LIST:
-                        final List<DataCell> stringListCells = new ArrayList<DataCell>();
-                        int spos = 0;
-                        for (final String value : cell.getStringArrayValue()) {
-                            if (cell.isMissing(spos)) {
-                                stringListCells.add(new MissingCell(null));
-                            } else {
-                                stringListCells.add(new StringCell(value));
-                            }
-                            spos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(stringListCells);
+                    case LOCAL_DATE_TIME:
+                    case LOCAL_DATE:
+                    case LOCAL_TIME:
+                    case DURATION:
+                        cells[column] = TemporalCells.toDataCell(batch.getLongValue(column, row), types[column]);
                         break;
-                    case STRING_SET:
-                        final List<DataCell> stringSetCells = new ArrayList<DataCell>();
-                        for (final String value : cell.getStringArrayValue()) {
-                            stringSetCells.add(new StringCell(value));
+                    default:
+                        cells[column] = toDataCell(batch.getCell(column, row), column);
+                }
+            }
+            m_container.addRowToTable(new DefaultRow(batch.getRowKey(row), cells));
+        }
+        m_rowsDone += numRows;
+        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+    }
+
+    private DataCell toDataCell(final Cell cell, final int column) {
+        if (cell.isMissing()) {
+            return new MissingCell(null);
+        }
+        final Type columnType = m_spec.getColumnTypes()[column];
+        if (columnType.isTemporal()) {
+            // Values of temporal columns are held in long cells.
+            return TemporalCells.toDataCell(cell.getLongValue(), columnType);
+        }
+        DataCell dataCell;
+        switch (cell.getColumnType()) {
+            case BOOLEAN:
+                dataCell = BooleanCellFactory.create(cell.getBooleanValue());
+                break;
+            case BOOLEAN_LIST:
+                final List<DataCell> booleanListCells = new ArrayList<DataCell>();
+                int pos = 0;
+                for (final boolean value : cell.getBooleanArrayValue()) {
+                    if (cell.isMissing(pos)) {
+                        booleanListCells.add(new MissingCell(null));
+                    } else {
+                        booleanListCells.add(BooleanCellFactory.create(value));
+                    }
+                    pos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(booleanListCells);
+                break;
+            case BOOLEAN_SET:
+                final List<DataCell> booleanSetCells = new ArrayList<DataCell>();
+                for (final boolean value : cell.getBooleanArrayValue()) {
+                    booleanSetCells.add(BooleanCellFactory.create(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    booleanSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(booleanSetCells);
+                break;
+            case INTEGER:
+                dataCell = new IntCell(cell.getIntegerValue());
+                break;
+            case INTEGER_LIST:
+                final List<DataCell> integerListCells = new ArrayList<DataCell>();
+                for (int ipos = 0; ipos < cell.getIntegerArrayValue().length; ipos++) {
+                    if (cell.isMissing(ipos)) {
+                        integerListCells.add(new MissingCell(null));
+                    } else {
+                        integerListCells.add(new IntCell(cell.getIntegerArrayValue()[ipos]));
+                    }
+                }
+                dataCell = CollectionCellFactory.createListCell(integerListCells);
+                break;
+            case INTEGER_SET:
+                final List<DataCell> integerSetCells = new ArrayList<DataCell>();
+                for (final Integer value : cell.getIntegerArrayValue()) {
+                    integerSetCells.add(new IntCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    integerSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(integerSetCells);
+                break;
+            case LONG:
+                dataCell = new LongCell(cell.getLongValue());
+                break;
+            case LONG_LIST:
+                final List<DataCell> longListCells = new ArrayList<DataCell>();
+                int lpos = 0;
+                for (final long value : cell.getLongArrayValue()) {
+                    if (cell.isMissing(lpos)) {
+                        longListCells.add(new MissingCell(null));
+                    } else {
+                        longListCells.add(new LongCell(value));
+                    }
+                    lpos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(longListCells);
+                break;
+            case LONG_SET:
+                final List<DataCell> longSetCells = new ArrayList<DataCell>();
+                for (final long value : cell.getLongArrayValue()) {
+                    longSetCells.add(new LongCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    longSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(longSetCells);
+                break;
+            case DOUBLE:
+                dataCell = new DoubleCell(cell.getDoubleValue());
+                break;
+            case DOUBLE_LIST:
+                final List<DataCell> doubleListCells = new ArrayList<DataCell>();
+                int dpos = 0;
+                for (final double value : cell.getDoubleArrayValue()) {
+                    if (cell.isMissing(dpos)) {
+                        doubleListCells.add(new MissingCell(null));
+                    } else {
+                        doubleListCells.add(new DoubleCell(value));
+                    }
+                    dpos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(doubleListCells);
+                break;
+            case DOUBLE_SET:
+                final List<DataCell> doubleSetCells = new ArrayList<DataCell>();
+                for (final double value : cell.getDoubleArrayValue()) {
+                    doubleSetCells.add(new DoubleCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    doubleSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(doubleSetCells);
+                break;
+            case FLOAT:
+                // Use DoubleCell for now.
+                dataCell = new DoubleCell(cell.getFloatValue());
+                break;
+            case FLOAT_LIST:
+                final List<DataCell> floatListCells = new ArrayList<>();
+                int fpos = 0;
+                for (final float value : cell.getFloatArrayValue()) {
+                    if (cell.isMissing(fpos)) {
+                        floatListCells.add(new MissingCell(null));
+                    } else {
+                        // Use DoubleCell for now.
+                        floatListCells.add(new DoubleCell(value));
+                    }
+                    fpos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(floatListCells);
+                break;
+            case FLOAT_SET:
+                final List<DataCell> floatSetCells = new ArrayList<>();
+                for (final float value : cell.getFloatArrayValue()) {
+                    // Use DoubleCell for now.
+                    floatSetCells.add(new DoubleCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    floatSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(floatSetCells);
+                break;
+            case STRING:
+                dataCell = new StringCell(cell.getStringValue());
+                break;
+            case STRING_LIST:
+                final List<DataCell> stringListCells = new ArrayList<DataCell>();
+                int spos = 0;
+                for (final String value : cell.getStringArrayValue()) {
+                    if (cell.isMissing(spos)) {
+                        stringListCells.add(new MissingCell(null));
+                    } else {
+                        stringListCells.add(new StringCell(value));
+                    }
+                    spos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(stringListCells);
+                break;
+            case STRING_SET:
+                final List<DataCell> stringSetCells = new ArrayList<DataCell>();
+                for (final String value : cell.getStringArrayValue()) {
+                    stringSetCells.add(new StringCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    stringSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(stringSetCells);
+                break;
+            case BYTES:
+                final String bytesTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[column]);
+                if (bytesTypeId != null) {
+                    final Deserializer bytesDeserializer = m_pythonToKnimeExtensions
+                        .getDeserializer(PythonToKnimeExtensions.getExtension(bytesTypeId).getId());
+                    try {
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
+                        } else {
+                            dataCell = bytesDeserializer.deserialize(cell.getBytesValue(), m_fileStoreFactory);
                         }
-                        if (cell.hasMissingInSet()) {
-                            stringSetCells.add(new MissingCell(null));
+                        final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(column);
+                        if (dataTypeContainer != null) {
+                            dataTypeContainer.m_dataTypes.add(dataCell.getType());
                         }
-                        cells[i] = CollectionCellFactory.createSetCell(stringSetCells);
-                        break;
-                    case BYTES:
-                        final String bytesTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesTypeId != null) {
-                            final Deserializer bytesDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesTypeId).getId());
-                            try {
-                                if (cell.isMissing()) {
-                                    cells[i] = new MissingCell(null);
-                                } else {
-                                    cells[i] = bytesDeserializer.deserialize(cell.getBytesValue(), m_fileStoreFactory);
-                                }
-                                final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                if (dataTypeContainer != null) {
-                                    dataTypeContainer.m_dataTypes.add(cells[i].getType());
-                                }
-                            } catch (IllegalStateException | IOException e) {
-                                LOGGER.error(e.getMessage(), e);
-                                cells[i] = new MissingCell(null);
-                            }
+                    } catch (IllegalStateException | IOException e) {
+                        LOGGER.error(e.getMessage(), e);
+                        dataCell = new MissingCell(null);
+                    }
+                } else {
+                    try {
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
                         } else {
-                            try {
-                                if (cell.isMissing()) {
-                                    cells[i] = new MissingCell(null);
-                                } else {
-                                    cells[i] = new DenseByteVectorCellFactory(new DenseByteVector(cell.getBytesValue()))
-                                        .createDataCell();
-                                }
-                            } catch (final IllegalStateException e) {
-                                LOGGER.error(e.getMessage(), e);
-                                cells[i] = new MissingCell(null);
-                            }
+                            dataCell = new DenseByteVectorCellFactory(new DenseByteVector(cell.getBytesValue()))
+                                .createDataCell();
                         }
-                        break;
-                    case BYTES_LIST:
-                        final String bytesListTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesListTypeId != null) {
-                            final Deserializer bytesListDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesListTypeId).getId());
-                            final List<DataCell> listCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
+                    } catch (final IllegalStateException e) {
+                        LOGGER.error(e.getMessage(), e);
+                        dataCell = new MissingCell(null);
+                    }
+                }
+                break;
+            case BYTES_LIST:
+                final String bytesListTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[column]);
+                if (bytesListTypeId != null) {
+                    final Deserializer bytesListDeserializer = m_pythonToKnimeExtensions
+                        .getDeserializer(PythonToKnimeExtensions.getExtension(bytesListTypeId).getId());
+                    final List<DataCell> listCells = new ArrayList<DataCell>();
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        int blpos = 0;
+                        for (final byte[] value : cell.getBytesArrayValue()) {
+                            if (cell.isMissing(blpos)) {
+                                listCells.add(new MissingCell(null));
                             } else {
-                                int blpos = 0;
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    if (cell.isMissing(blpos)) {
-                                        listCells.add(new MissingCell(null));
-                                    } else {
-                                        try {
-                                            final DataCell dc =
-                                                bytesListDeserializer.deserialize(value, m_fileStoreFactory);
-                                            final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                            if (dataTypeContainer != null) {
-                                                dataTypeContainer.m_dataTypes.add(dc.getType());
-                                            }
-                                            listCells.add(dc);
-                                        } catch (IllegalStateException | IOException e) {
-                                            LOGGER.error(e.getMessage(), e);
-                                            listCells.add(new MissingCell(null));
-                                        }
+                                try {
+                                    final DataCell dc =
+                                        bytesListDeserializer.deserialize(value, m_fileStoreFactory);
+                                    final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(column);
+                                    if (dataTypeContainer != null) {
+                                        dataTypeContainer.m_dataTypes.add(dc.getType());
                                     }
-                                    blpos++;
+                                    listCells.add(dc);
+                                } catch (IllegalStateException | IOException e) {
+                                    LOGGER.error(e.getMessage(), e);
+                                    listCells.add(new MissingCell(null));
                                 }
-                                cells[i] = CollectionCellFactory.createListCell(listCells);
                             }
-                        } else {
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
+                            blpos++;
+                        }
+                        dataCell = CollectionCellFactory.createListCell(listCells);
+                    }
+                } else {
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        final List<DataCell> listCells = new ArrayList<DataCell>();
+                        int blpos = 0;
+                        for (final byte[] value : cell.getBytesArrayValue()) {
+                            if (cell.isMissing(blpos)) {
+                                listCells.add(new MissingCell(null));
                             } else {
-                                final List<DataCell> listCells = new ArrayList<DataCell>();
-                                int blpos = 0;
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    if (cell.isMissing(blpos)) {
-                                        listCells.add(new MissingCell(null));
-                                    } else {
-                                        try {
-                                            listCells.add(new StringCell(value.toString()));
-                                        } catch (final IllegalStateException e) {
-                                            LOGGER.error(e.getMessage(), e);
-                                            listCells.add(new MissingCell(null));
-                                        }
-                                    }
+                                try {
+                                    listCells.add(new StringCell(value.toString()));
+                                } catch (final IllegalStateException e) {
+                                    LOGGER.error(e.getMessage(), e);
+                                    listCells.add(new MissingCell(null));
                                 }
-                                cells[i] = CollectionCellFactory.createListCell(listCells);
                             }
                         }
-                        break;
-                    case BYTES_SET:
-                        final String bytesSetTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesSetTypeId != null) {
-                            final Deserializer bytesSetDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesSetTypeId).getId());
-                            final List<DataCell> setCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    try {
-                                        final DataCell dc = bytesSetDeserializer.deserialize(value, m_fileStoreFactory);
-                                        final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                        if (dataTypeContainer != null) {
-                                            dataTypeContainer.m_dataTypes.add(dc.getType());
-                                        }
-                                        setCells.add(dc);
-                                    } catch (IllegalStateException | IOException e) {
-                                        LOGGER.error(e.getMessage(), e);
-                                        setCells.add(new MissingCell(null));
-                                    }
-
-                                }
-                                if (cell.hasMissingInSet()) {
-                                    setCells.add(new MissingCell(null));
+                        dataCell = CollectionCellFactory.createListCell(listCells);
+                    }
+                }
+                break;
+            case BYTES_SET:
+                final String bytesSetTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[column]);
+                if (bytesSetTypeId != null) {
+                    final Deserializer bytesSetDeserializer = m_pythonToKnimeExtensions
+                        .getDeserializer(PythonToKnimeExtensions.getExtension(bytesSetTypeId).getId());
+                    final List<DataCell> setCells = new ArrayList<DataCell>();
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        for (final byte[] value : cell.getBytesArrayValue()) {
+                            try {
+                                final DataCell dc = bytesSetDeserializer.deserialize(value, m_fileStoreFactory);
+                                final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(column);
+                                if (dataTypeContainer != null) {
+                                    dataTypeContainer.m_dataTypes.add(dc.getType());
                                 }
-                                cells[i] = CollectionCellFactory.createSetCell(setCells);
+                                setCells.add(dc);
+                            } catch (IllegalStateException | IOException e) {
+                                LOGGER.error(e.getMessage(), e);
+                                setCells.add(new MissingCell(null));
                             }
-                        } else {
-                            final List<DataCell> setCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    try {
-                                        setCells.add(new StringCell(value.toString()));
-                                    } catch (final IllegalStateException e) {
-                                        LOGGER.error(e.getMessage(), e);
-                                        setCells.add(new MissingCell(null));
-                                    }
-                                }
-                                if (cell.hasMissingInSet()) {
-                                    setCells.add(new MissingCell(null));
-                                }
-                                cells[i] = CollectionCellFactory.createSetCell(setCells);
+
+                        }
+                        if (cell.hasMissingInSet()) {
+                            setCells.add(new MissingCell(null));
+                        }
+                        dataCell = CollectionCellFactory.createSetCell(setCells);
+                    }
+                } else {
+                    final List<DataCell> setCells = new ArrayList<DataCell>();
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        for (final byte[] value : cell.getBytesArrayValue()) {
+                            try {
+                                setCells.add(new StringCell(value.toString()));
+                            } catch (final IllegalStateException e) {
+                                LOGGER.error(e.getMessage(), e);
+                                setCells.add(new MissingCell(null));
                             }
                         }
-                        break;
-                    default:
-                        cells[i] = new MissingCell(null);
+                        if (cell.hasMissingInSet()) {
+                            setCells.add(new MissingCell(null));
+                        }
+                        dataCell = CollectionCellFactory.createSetCell(setCells);
+                    }
                 }
-            }
-            i++;
+                break;
+            default:
+                dataCell = new MissingCell(null);
         }
-        m_container.addRowToTable(new DefaultRow(row.getRowKey(), cells));
-        m_rowsDone++;
-        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+        return dataCell;
     }
 
     @Override
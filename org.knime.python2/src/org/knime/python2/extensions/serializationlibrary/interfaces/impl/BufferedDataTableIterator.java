@@ -73,8 +73,10 @@
 import org.knime.python.typeextension.KnimeToPythonExtension;
 import org.knime.python.typeextension.KnimeToPythonExtensions;
 import org.knime.python.typeextension.Serializer;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
-import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
@@ -84,7 +86,7 @@
  * @author Clemens von Schwerin, KNIME.com, Konstanz, Germany
  */
 
-public class BufferedDataTableIterator implements TableIterator {
+public class BufferedDataTableIterator implements ColumnarTableIterator {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableIterator.class);
 
@@ -142,22 +144,90 @@ public BufferedDataTableIterator(final TableSpec spec, final CloseableRowIterato
     @Override
     public Row next() {
         if (m_remainingRows > 0) {
-            if (m_executionMonitor != null) {
-                try {
-                    m_executionMonitor.checkCanceled();
-                    m_executionMonitor.setProgress((m_numberRows - m_remainingRows) / (double)m_numberRows);
-                } catch (final CanceledExecutionException e) {
-                    throw new RuntimeException(e.getMessage(), e);
-                }
-            }
-            m_remainingRows--;
-            m_iterIterationProperties.m_remainingRows--;
-            return dataRowToRow(m_iterator.next());
+            return dataRowToRow(nextDataRow());
         } else {
             return null;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <P>
+     * The returned batch is shared by all iterators of the associated {@link BufferedDataTableChunker} and is refilled
+     * by the next call of this method on any of them.
+     */
+    @Override
+    public ColumnBatch nextBatch() {
+        final ColumnBatchImpl batch = m_iterIterationProperties.getColumnBatch(m_spec);
+        final int numRows = m_remainingRows;
+        batch.reset(numRows);
+        final Type[] types = m_spec.getColumnTypes();
+        for (int row = 0; row < numRows; row++) {
+            final DataRow dataRow = nextDataRow();
+            batch.setRowKey(row, dataRow.getKey().getString());
+            for (int column = 0; column < types.length; column++) {
+                final DataCell dataCell = dataRow.getCell(column);
+                if (dataCell.isMissing()) {
+                    batch.setMissing(column, row);
+                    continue;
+                }
+                switch (types[column]) {
+                    case BOOLEAN:
+                        batch.setBooleanValue(column, row, ((BooleanValue)dataCell).getBooleanValue());
+                        break;
+                    case INTEGER:
+                        batch.setIntegerValue(column, row, ((IntValue)dataCell).getIntValue());
+                        break;
+                    case LONG:
+                        batch.setLongValue(column, row, ((LongValue)dataCell).getLongValue());
+                        break;
+                    case DOUBLE:
+                        batch.setDoubleValue(column, row, ((DoubleValue)dataCell).getDoubleValue());
+                        break;
+                    case FLOAT:
+                        // Use DoubleValue for now.
+                        batch.setFloatValue(column, row, (float)((DoubleValue)dataCell).getDoubleValue());
+                        break;
+                    case STRING:
+                        batch.setStringValue(column, row, dataCell.getType().isCompatible(StringValue.class)
+                            ? ((StringValue)dataCell).getStringValue() : dataCell.toString());
+                        break;
+                    case LOCAL_DATE_TIME:
+                    case LOCAL_DATE:
+                    case LOCAL_TIME:
+                    case DURATION:
+                        batch.setLongValue(column, row, TemporalCells.toLong(dataCell, types[column]));
+                        break;
+                    case BYTES:
+                        final Cell bytesCell = dataCellToCell(dataCell, Type.BYTES);
+                        if (bytesCell.isMissing()) {
+                            batch.setMissing(column, row);
+                        } else {
+                            batch.setBytesValue(column, row, bytesCell.getBytesValue());
+                        }
+                        break;
+                    default:
+                        batch.setCell(column, row, dataCellToCell(dataCell, types[column]));
+                }
+            }
+        }
+        return batch;
+    }
+
+    private DataRow nextDataRow() {
+        if (m_executionMonitor != null) {
+            try {
+                m_executionMonitor.checkCanceled();
+                m_executionMonitor.setProgress((m_numberRows - m_remainingRows) / (double)m_numberRows);
+            } catch (final CanceledExecutionException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+        m_remainingRows--;
+        m_iterIterationProperties.m_remainingRows--;
+        return m_iterator.next();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -195,306 +265,332 @@ public void close() {
      * @param dataRow a {@link DataRow}
      * @return a {@link Row}
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
     private Row dataRowToRow(final DataRow dataRow) {
         final Row row = new RowImpl(dataRow.getKey().getString(), dataRow.getNumCells());
         for (int i = 0; i < dataRow.getNumCells(); i++) {
-            final DataCell dataCell = dataRow.getCell(i);
-            final Type type = m_spec.getColumnTypes()[i];
-            if (dataCell.isMissing()) {
-                row.setCell(new CellImpl(), i);
-            } else if (type == Type.BOOLEAN) {
-                final boolean value = ((BooleanValue)dataCell).getBooleanValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.BOOLEAN_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final boolean[] values = new boolean[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((BooleanValue)innerCell).getBooleanValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.BOOLEAN_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                boolean[] values = new boolean[colCell.size()];
-                boolean hasMissing = false;
-                int ctr = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[ctr] = ((BooleanValue)innerCell).getBooleanValue();
-                        ctr++;
-                    } else {
-                        hasMissing = true;
-                    }
+            row.setCell(dataCellToCell(dataRow.getCell(i), m_spec.getColumnTypes()[i]), i);
+        }
+        return row;
+    }
+
+    /**
+     * Convert a {@link DataCell} to a {@link Cell}
+     *
+     * @param dataCell a {@link DataCell}
+     * @param type the type of the column containing the cell
+     * @return a {@link Cell}
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Cell dataCellToCell(final DataCell dataCell, final Type type) {
+        if (dataCell.isMissing()) {
+            return new CellImpl();
+        } else if (type == Type.BOOLEAN) {
+            final boolean value = ((BooleanValue)dataCell).getBooleanValue();
+            return new CellImpl(value);
+        } else if (type == Type.BOOLEAN_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final boolean[] values = new boolean[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((BooleanValue)innerCell).getBooleanValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.BOOLEAN_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            boolean[] values = new boolean[colCell.size()];
+            boolean hasMissing = false;
+            int ctr = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[ctr] = ((BooleanValue)innerCell).getBooleanValue();
+                    ctr++;
                 } else {
-                    row.setCell(new CellImpl(ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(values, hasMissing);
+            } else {
+                return new CellImpl(ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+            }
 
-            } else if (type == Type.INTEGER) {
-                final int value = ((IntValue)dataCell).getIntValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.INTEGER_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final int[] values = new int[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((IntValue)innerCell).getIntValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.INTEGER_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                IntBuffer buff = IntBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((IntValue)innerCell).getIntValue());
-                    } else {
-                        hasMissing = true;
-                    }
+        } else if (type == Type.INTEGER) {
+            final int value = ((IntValue)dataCell).getIntValue();
+            return new CellImpl(value);
+        } else if (type == Type.INTEGER_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final int[] values = new int[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((IntValue)innerCell).getIntValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.INTEGER_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            IntBuffer buff = IntBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    buff.put(((IntValue)innerCell).getIntValue());
                 } else {
-                    int[] values = new int[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                int[] values = new int[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
 
-            } else if (type == Type.LONG) {
-                final long value = ((LongValue)dataCell).getLongValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.LONG_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final long[] values = new long[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((LongValue)innerCell).getLongValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
+        } else if (type == Type.LONG) {
+            final long value = ((LongValue)dataCell).getLongValue();
+            return new CellImpl(value);
+        } else if (type == Type.LONG_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final long[] values = new long[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((LongValue)innerCell).getLongValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.LONG_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                LongBuffer buff = LongBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((LongValue)innerCell).getLongValue());
-                    } else {
-                        hasMissing = true;
-                    }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.LONG_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            LongBuffer buff = LongBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    buff.put(((LongValue)innerCell).getLongValue());
                 } else {
-                    long[] values = new long[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                long[] values = new long[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
 
-            } else if (type == Type.DOUBLE) {
-                final double value = ((DoubleValue)dataCell).getDoubleValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.DOUBLE_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final double[] values = new double[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((DoubleValue)innerCell).getDoubleValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.DOUBLE_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                DoubleBuffer buff = DoubleBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((DoubleValue)innerCell).getDoubleValue());
-                    } else {
-                        hasMissing = true;
-                    }
+        } else if (type == Type.DOUBLE) {
+            final double value = ((DoubleValue)dataCell).getDoubleValue();
+            return new CellImpl(value);
+        } else if (type == Type.DOUBLE_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final double[] values = new double[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((DoubleValue)innerCell).getDoubleValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.DOUBLE_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            DoubleBuffer buff = DoubleBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    buff.put(((DoubleValue)innerCell).getDoubleValue());
                 } else {
-                    double[] values = new double[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                double[] values = new double[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
 
-            } else if (type == Type.FLOAT) {
-                // Use DoubleValue for now.
-                final float value = (float)((DoubleValue)dataCell).getDoubleValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.FLOAT_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final float[] values = new float[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0 : 1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        // Use DoubleValue for now.
-                        values[j] = (float)((DoubleValue)innerCell).getDoubleValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
+        } else if (type == Type.FLOAT) {
+            // Use DoubleValue for now.
+            final float value = (float)((DoubleValue)dataCell).getDoubleValue();
+            return new CellImpl(value);
+        } else if (type == Type.FLOAT_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final float[] values = new float[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0 : 1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    // Use DoubleValue for now.
+                    values[j] = (float)((DoubleValue)innerCell).getDoubleValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                row.setCell(new CellImpl(values, missings), i);
-            } else if (type == Type.FLOAT_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                FloatBuffer buff = FloatBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        // Use DoubleValue for now.
-                        buff.put((float)((DoubleValue)innerCell).getDoubleValue());
-                    } else {
-                        hasMissing = true;
-                    }
-                }
-                if (!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+        } else if (type == Type.FLOAT_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            FloatBuffer buff = FloatBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    // Use DoubleValue for now.
+                    buff.put((float)((DoubleValue)innerCell).getDoubleValue());
                 } else {
-                    float[] values = new float[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
-            } else if (type == Type.STRING) {
-                String value;
-                if (dataCell.getType().isCompatible(StringValue.class)) {
-                    value = ((StringValue)dataCell).getStringValue();
-                } else {
-                    value = dataCell.toString();
+            }
+            if (!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                float[] values = new float[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
+        } else if (type == Type.STRING) {
+            String value;
+            if (dataCell.getType().isCompatible(StringValue.class)) {
+                value = ((StringValue)dataCell).getStringValue();
+            } else {
+                value = dataCell.toString();
+            }
+            return new CellImpl(value);
+        } else if (type == Type.STRING_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final String[] values = new String[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((StringValue)innerCell).getStringValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.STRING_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final String[] values = new String[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((StringValue)innerCell).getStringValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.STRING_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final String[] values = new String[colCell.size()];
+            boolean hasMissing = false;
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((StringValue)innerCell).getStringValue();
                     j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.STRING_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final String[] values = new String[colCell.size()];
-                boolean hasMissing = false;
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((StringValue)innerCell).getStringValue();
-                        j++;
-                    } else {
-                        hasMissing = true;
-                    }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
                 } else {
-                    row.setCell(new CellImpl((String[]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(values, hasMissing);
+            } else {
+                return new CellImpl((String[]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+            }
 
-            } else if (type == Type.BYTES) {
-                final Serializer serializer = m_knimeToPythonExtensions
-                        .getSerializer(KnimeToPythonExtensions.getExtension(dataCell.getType()).getId());
-                try {
-                    final byte[] value = serializer.serialize(dataCell);
-                    row.setCell(new CellImpl(value), i);
-                } catch (final IOException e) {
-                    LOGGER.error(e.getMessage(), e);
-                    row.setCell(new CellImpl(), i);
-                }
-            } else if (type == Type.BYTES_LIST) {
-                final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
-                    KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final byte[][] values = new byte[colCell.size()][];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        try {
-                            values[j] = serializer.serialize(innerCell);
-                            missings[j / 8] += (1 << (j % 8));
-                        } catch (final IOException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
+        } else if (type.isTemporal()) {
+            return new CellImpl(TemporalCells.toLong(dataCell, type));
+        } else if (type == Type.BYTES) {
+            final Serializer serializer = m_knimeToPythonExtensions
+                    .getSerializer(KnimeToPythonExtensions.getExtension(dataCell.getType()).getId());
+            try {
+                final byte[] value = serializer.serialize(dataCell);
+                return new CellImpl(value);
+            } catch (final IOException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new CellImpl();
+            }
+        } else if (type == Type.BYTES_LIST) {
+            final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
+                KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final byte[][] values = new byte[colCell.size()][];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    try {
+                        values[j] = serializer.serialize(innerCell);
+                        missings[j / 8] += (1 << (j % 8));
+                    } catch (final IOException e) {
+                        LOGGER.error(e.getMessage(), e);
                     }
-                    j++;
                 }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.BYTES_SET) {
-                final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
-                    KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final byte[][] values = new byte[colCell.size()][];
-                boolean hasMissing = false;
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        try {
-                            values[j] = serializer.serialize(innerCell);
-                        } catch (final IOException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
-                        j++;
-                    } else {
-                        hasMissing = true;
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.BYTES_SET) {
+            final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
+                KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final byte[][] values = new byte[colCell.size()][];
+            boolean hasMissing = false;
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    try {
+                        values[j] = serializer.serialize(innerCell);
+                    } catch (final IOException e) {
+                        LOGGER.error(e.getMessage(), e);
                     }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    j++;
                 } else {
-                    row.setCell(new CellImpl((byte[][]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    hasMissing = true;
                 }
             }
+            if(!hasMissing) {
+                return new CellImpl(values, hasMissing);
+            } else {
+                return new CellImpl((byte[][]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+            }
         }
-        return row;
+        throw new IllegalStateException("Serialization is not implemented for type: " + type.name() + ".");
     }
 
     /**
-     * Convert a {@link DataTableSpec} to a {@link TableSpec}
+     * Convert a {@link DataTableSpec} to a {@link TableSpec}. Date and time columns are transferred via their type
+     * extensions.
      *
      * @param dataRow a {@link DataTableSpec}
      * @return a {@link TableSpec}
      */
     static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec) {
+        return dataTableSpecToTableSpec(dataTableSpec, false);
+    }
+
+    /**
+     * Convert a {@link DataTableSpec} to a {@link TableSpec}
+     *
+     * @param dataRow a {@link DataTableSpec}
+     * @param temporalTypes true if local date and time, local date, local time, and duration columns are mapped to
+     *            their {@link Type#isTemporal() temporal types}, false if they are transferred via their type
+     *            extensions
+     * @return a {@link TableSpec}
+     */
+    static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec, final boolean temporalTypes) {
         // TODO: We do not yet implement Type.FLOAT, FLOAT_LIST, and FLOAT_SET here.
         final Type[] types = new Type[dataTableSpec.getNumColumns()];
         final String[] names = new String[dataTableSpec.getNumColumns()];
@@ -510,6 +606,8 @@ static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec) {
                 types[i] = Type.LONG;
             } else if (colSpec.getType().isCompatible(DoubleValue.class)) {
                 types[i] = Type.DOUBLE;
+            } else if (temporalTypes && TemporalCells.getTemporalType(colSpec.getType()) != null) {
+                types[i] = TemporalCells.getTemporalType(colSpec.getType());
             } else if (colSpec.getType().isCollectionType()) {
                 if (colSpec.getType().getCollectionElementType().isCollectionType()) {
                     //List in list not supported
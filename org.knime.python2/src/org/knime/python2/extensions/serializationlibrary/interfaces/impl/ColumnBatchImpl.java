@@ -0,0 +1,282 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.util.Arrays;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * {@link ColumnBatch} whose arrays are allocated once and reused for all subsequent batches of the same table as long
+ * as they are large enough. Primitive and string columns are stored in typed arrays, all other columns as
+ * {@link Cell}s.
+ */
+final class ColumnBatchImpl implements ColumnBatch {
+
+    private final TableSpec m_spec;
+
+    private final Type[] m_types;
+
+    /**
+     * One typed array per column: boolean[], int[], long[], double[], float[], String[], byte[][] or Cell[].
+     */
+    private final Object[] m_columns;
+
+    private final byte[][] m_validity;
+
+    private String[] m_rowKeys = new String[0];
+
+    private int m_capacity = 0;
+
+    private int m_numRows = 0;
+
+    ColumnBatchImpl(final TableSpec spec) {
+        m_spec = spec;
+        m_types = spec.getColumnTypes();
+        m_columns = new Object[m_types.length];
+        m_validity = new byte[m_types.length][];
+    }
+
+    /**
+     * Prepares this batch for being filled with the given number of rows. All values are initially missing.
+     */
+    void reset(final int numRows) {
+        if (numRows > m_capacity) {
+            m_capacity = numRows;
+            m_rowKeys = new String[numRows];
+            for (int i = 0; i < m_types.length; i++) {
+                m_columns[i] = allocateColumn(m_types[i], numRows);
+                m_validity[i] = new byte[numRows / 8 + (numRows % 8 == 0 ? 0 : 1)];
+            }
+        } else {
+            final int numValidityBytes = numRows / 8 + (numRows % 8 == 0 ? 0 : 1);
+            for (int i = 0; i < m_types.length; i++) {
+                Arrays.fill(m_validity[i], 0, numValidityBytes, (byte)0);
+            }
+        }
+        m_numRows = numRows;
+    }
+
+    private static Object allocateColumn(final Type type, final int capacity) {
+        switch (type) {
+            case BOOLEAN:
+                return new boolean[capacity];
+            case INTEGER:
+                return new int[capacity];
+            case LONG:
+            case LOCAL_DATE_TIME:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+            case DURATION:
+                return new long[capacity];
+            case DOUBLE:
+                return new double[capacity];
+            case FLOAT:
+                return new float[capacity];
+            case STRING:
+                return new String[capacity];
+            case BYTES:
+                return new byte[capacity][];
+            default:
+                return new Cell[capacity];
+        }
+    }
+
+    void setRowKey(final int row, final String rowKey) {
+        m_rowKeys[row] = rowKey;
+    }
+
+    void setMissing(final int column, final int row) {
+        // Validity bit is already cleared by #reset(int). Only references must not survive from a previous batch.
+        final Object values = m_columns[column];
+        if (values instanceof Object[]) {
+            ((Object[])values)[row] = null;
+        }
+    }
+
+    void setBooleanValue(final int column, final int row, final boolean value) {
+        ((boolean[])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setIntegerValue(final int column, final int row, final int value) {
+        ((int[])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setLongValue(final int column, final int row, final long value) {
+        ((long[])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setDoubleValue(final int column, final int row, final double value) {
+        ((double[])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setFloatValue(final int column, final int row, final float value) {
+        ((float[])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setStringValue(final int column, final int row, final String value) {
+        ((String[])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setBytesValue(final int column, final int row, final byte[] value) {
+        ((byte[][])m_columns[column])[row] = value;
+        setValid(column, row);
+    }
+
+    void setCell(final int column, final int row, final Cell cell) {
+        ((Cell[])m_columns[column])[row] = cell;
+        if (!cell.isMissing()) {
+            setValid(column, row);
+        }
+    }
+
+    private void setValid(final int column, final int row) {
+        m_validity[column][row >> 3] |= 1 << (row & 7);
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    @Override
+    public int getNumberRows() {
+        return m_numRows;
+    }
+
+    @Override
+    public String getRowKey(final int row) {
+        return m_rowKeys[row];
+    }
+
+    @Override
+    public byte[] getValidity(final int column) {
+        return m_validity[column];
+    }
+
+    @Override
+    public boolean isMissing(final int column, final int row) {
+        return (m_validity[column][row >> 3] & (1 << (row & 7))) == 0;
+    }
+
+    @Override
+    public boolean getBooleanValue(final int column, final int row) {
+        return ((boolean[])m_columns[column])[row];
+    }
+
+    @Override
+    public int getIntegerValue(final int column, final int row) {
+        return ((int[])m_columns[column])[row];
+    }
+
+    @Override
+    public long getLongValue(final int column, final int row) {
+        return ((long[])m_columns[column])[row];
+    }
+
+    @Override
+    public double getDoubleValue(final int column, final int row) {
+        return ((double[])m_columns[column])[row];
+    }
+
+    @Override
+    public float getFloatValue(final int column, final int row) {
+        return ((float[])m_columns[column])[row];
+    }
+
+    @Override
+    public String getStringValue(final int column, final int row) {
+        return ((String[])m_columns[column])[row];
+    }
+
+    @Override
+    public byte[] getBytesValue(final int column, final int row) {
+        return ((byte[][])m_columns[column])[row];
+    }
+
+    @Override
+    public Cell getCell(final int column, final int row) {
+        final Object values = m_columns[column];
+        if (values instanceof Cell[]) {
+            final Cell cell = ((Cell[])values)[row];
+            return cell != null ? cell : new CellImpl();
+        }
+        if (isMissing(column, row)) {
+            return new CellImpl();
+        }
+        switch (m_types[column]) {
+            case BOOLEAN:
+                return new CellImpl(getBooleanValue(column, row));
+            case INTEGER:
+                return new CellImpl(getIntegerValue(column, row));
+            case LONG:
+            case LOCAL_DATE_TIME:
+            case LOCAL_DATE:
+            case LOCAL_TIME:
+            case DURATION:
+                return new CellImpl(getLongValue(column, row));
+            case DOUBLE:
+                return new CellImpl(getDoubleValue(column, row));
+            case FLOAT:
+                return new CellImpl(getFloatValue(column, row));
+            case STRING:
+                return new CellImpl(getStringValue(column, row));
+            case BYTES:
+                return new CellImpl(getBytesValue(column, row));
+            default:
+                throw new IllegalStateException("Unexpected column type: " + m_types[column].name() + ".");
+        }
+    }
+}
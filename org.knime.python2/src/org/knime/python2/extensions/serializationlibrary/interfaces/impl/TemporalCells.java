@@ -0,0 +1,166 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.time.duration.DurationCellFactory;
+import org.knime.core.data.time.duration.DurationValue;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdate.LocalDateValue;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeValue;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * Converts between KNIME's date and time cells and the long values of the {@link Type#isTemporal() temporal types}.
+ * Microseconds are the finest unit that is transferred because they are the finest unit supported by Python's
+ * datetime module. They also allow to represent all dates that are relevant in practice without overflow.
+ */
+final class TemporalCells {
+
+    private static final long MICROS_PER_SECOND = 1000000L;
+
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private TemporalCells() {
+        // utility class
+    }
+
+    /**
+     * @param dataType a column type
+     * @return the temporal type that represents columns of the given type, <code>null</code> if there is none
+     */
+    static Type getTemporalType(final DataType dataType) {
+        if (dataType.isCompatible(LocalDateTimeValue.class)) {
+            return Type.LOCAL_DATE_TIME;
+        } else if (dataType.isCompatible(LocalDateValue.class)) {
+            return Type.LOCAL_DATE;
+        } else if (dataType.isCompatible(LocalTimeValue.class)) {
+            return Type.LOCAL_TIME;
+        } else if (dataType.isCompatible(DurationValue.class)) {
+            return Type.DURATION;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param type a temporal type
+     * @return the KNIME column type of the given temporal type
+     */
+    static DataType getDataType(final Type type) {
+        switch (type) {
+            case LOCAL_DATE_TIME:
+                return LocalDateTimeCellFactory.TYPE;
+            case LOCAL_DATE:
+                return LocalDateCellFactory.TYPE;
+            case LOCAL_TIME:
+                return LocalTimeCellFactory.TYPE;
+            case DURATION:
+                return DurationCellFactory.TYPE;
+            default:
+                throw new IllegalArgumentException("Type " + type + " is not a temporal type.");
+        }
+    }
+
+    /**
+     * @param dataCell a non-missing cell of a column of the given type
+     * @param type a temporal type
+     * @return the long representation of the cell's value
+     * @throws ArithmeticException if the value cannot be represented as long value
+     */
+    static long toLong(final DataCell dataCell, final Type type) {
+        switch (type) {
+            case LOCAL_DATE_TIME:
+                final LocalDateTime dateTime = ((LocalDateTimeValue)dataCell).getLocalDateTime();
+                return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), MICROS_PER_SECOND),
+                    dateTime.getNano() / NANOS_PER_MICRO);
+            case LOCAL_DATE:
+                return ((LocalDateValue)dataCell).getLocalDate().toEpochDay();
+            case LOCAL_TIME:
+                return ((LocalTimeValue)dataCell).getLocalTime().toNanoOfDay() / NANOS_PER_MICRO;
+            case DURATION:
+                final Duration duration = ((DurationValue)dataCell).getDuration();
+                // The nano adjustment is always positive.
+                return Math.addExact(Math.multiplyExact(duration.getSeconds(), MICROS_PER_SECOND),
+                    duration.getNano() / NANOS_PER_MICRO);
+            default:
+                throw new IllegalArgumentException("Type " + type + " is not a temporal type.");
+        }
+    }
+
+    /**
+     * @param value the long representation of a value of the given type
+     * @param type a temporal type
+     * @return the corresponding cell
+     */
+    static DataCell toDataCell(final long value, final Type type) {
+        switch (type) {
+            case LOCAL_DATE_TIME:
+                return LocalDateTimeCellFactory.create(LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(value, MICROS_PER_SECOND),
+                    (int)(Math.floorMod(value, MICROS_PER_SECOND) * NANOS_PER_MICRO), ZoneOffset.UTC));
+            case LOCAL_DATE:
+                return LocalDateCellFactory.create(LocalDate.ofEpochDay(value));
+            case LOCAL_TIME:
+                return LocalTimeCellFactory.create(LocalTime.ofNanoOfDay(value * NANOS_PER_MICRO));
+            case DURATION:
+                return DurationCellFactory.create(Duration.ofSeconds(Math.floorDiv(value, MICROS_PER_SECOND),
+                    Math.floorMod(value, MICROS_PER_SECOND) * NANOS_PER_MICRO));
+            default:
+                throw new IllegalArgumentException("Type " + type + " is not a temporal type.");
+        }
+    }
+}
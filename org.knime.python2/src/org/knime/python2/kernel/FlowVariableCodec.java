@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.knime.core.node.workflow.FlowVariable;
+
+/**
+ * Encodes and decodes flow variables in a compact binary format that is sent inline in the payload of the
+ * <code>putFlowVariables</code> and <code>getFlowVariables</code> messages. This avoids routing the few values through
+ * the serialization library which would e.g. create temporary files.
+ * <P>
+ * Format (big-endian): <code>(number of variables: int32)(type: uint8)(name: string)(value)...</code>, where a string
+ * is <code>(length: int32)(UTF-8 bytes)</code> and the value is an <code>int32</code>, a <code>float64</code>, or a
+ * string depending on the type (see {@link #TYPE_INTEGER}, {@link #TYPE_DOUBLE}, and {@link #TYPE_STRING}).
+ * <P>
+ * Must be kept in sync with FlowVariableCodec on Python side.
+ */
+final class FlowVariableCodec {
+
+    private static final byte TYPE_INTEGER = 0;
+
+    private static final byte TYPE_DOUBLE = 1;
+
+    private static final byte TYPE_STRING = 2;
+
+    private FlowVariableCodec() {
+        // utility class
+    }
+
+    /**
+     * @param flowVariables the flow variables to encode. Variables that are neither of integer, double, nor string type
+     *            are encoded as strings.
+     * @return the encoded flow variables
+     */
+    static byte[] encode(final Collection<FlowVariable> flowVariables) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + flowVariables.size() * 32);
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(flowVariables.size());
+            for (final FlowVariable flowVariable : flowVariables) {
+                switch (flowVariable.getType()) {
+                    case INTEGER:
+                        out.writeByte(TYPE_INTEGER);
+                        writeString(flowVariable.getName(), out);
+                        out.writeInt(flowVariable.getIntValue());
+                        break;
+                    case DOUBLE:
+                        out.writeByte(TYPE_DOUBLE);
+                        writeString(flowVariable.getName(), out);
+                        out.writeDouble(flowVariable.getDoubleValue());
+                        break;
+                    case STRING:
+                        out.writeByte(TYPE_STRING);
+                        writeString(flowVariable.getName(), out);
+                        writeString(flowVariable.getStringValue(), out);
+                        break;
+                    default:
+                        out.writeByte(TYPE_STRING);
+                        writeString(flowVariable.getName(), out);
+                        writeString(flowVariable.getValueAsString(), out);
+                        break;
+                }
+            }
+        } catch (final IOException ex) {
+            // Cannot happen when writing to memory.
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes the encoded flow variables
+     * @return the decoded flow variables in their encoded order
+     */
+    static List<FlowVariable> decode(final byte[] bytes) {
+        final ByteBuffer in = ByteBuffer.wrap(bytes);
+        final int numFlowVariables = in.getInt();
+        final List<FlowVariable> flowVariables = new ArrayList<>(numFlowVariables);
+        for (int i = 0; i < numFlowVariables; i++) {
+            final byte type = in.get();
+            final String name = readString(in);
+            switch (type) {
+                case TYPE_INTEGER:
+                    flowVariables.add(new FlowVariable(name, in.getInt()));
+                    break;
+                case TYPE_DOUBLE:
+                    flowVariables.add(new FlowVariable(name, in.getDouble()));
+                    break;
+                case TYPE_STRING:
+                    flowVariables.add(new FlowVariable(name, readString(in)));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown flow variable type: " + type + ".");
+            }
+        }
+        return flowVariables;
+    }
+
+    private static void writeString(final String value, final DataOutputStream out) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer in) {
+        final int length = in.getInt();
+        final String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -45,17 +45,20 @@
 
 package org.knime.python2.kernel;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RunnableFuture;
 
+import org.knime.core.data.filestore.FileStore;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.ThreadUtils;
 import org.knime.python2.kernel.messaging.AbstractTaskHandler;
 import org.knime.python2.kernel.messaging.DefaultMessage;
+import org.knime.python2.kernel.messaging.DefaultMessage.GatheringPayloadEncoder;
 import org.knime.python2.kernel.messaging.DefaultMessage.PayloadDecoder;
 import org.knime.python2.kernel.messaging.DefaultMessage.PayloadEncoder;
 import org.knime.python2.kernel.messaging.DefaultTaskFactory;
@@ -65,10 +68,11 @@
 import org.knime.python2.kernel.messaging.MessageHandlerCollection;
 import org.knime.python2.kernel.messaging.PythonMessaging;
 import org.knime.python2.kernel.messaging.TaskHandler;
+import org.knime.python2.port.PickledObject;
+import org.knime.python2.port.PickledObjectFileStorePortObject;
 import org.knime.python2.util.PythonUtils;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Used for communicating with the Python kernel via commands.
@@ -83,6 +87,39 @@ public final class PythonCommands implements AutoCloseable {
 
     private static final String PAYLOAD_NAME = "payload_name";
 
+    private static final String CHUNK_INDEX = "chunk_index";
+
+    private static final String NUM_CHUNKS = "num_chunks";
+
+    private static final String NUM_ROWS = "num_rows";
+
+    /**
+     * Header field that marks object requests whose payload contains the path of the file from which Python reads the
+     * object or to which it writes the object. The path is not sent as a header field since textual headers cannot
+     * hold arbitrary strings.
+     */
+    private static final String OBJECT_FILE = "object_file";
+
+    private static final String OBJECT_TYPE = "object_type";
+
+    private static final String OBJECT_KEY = "object_key";
+
+    private static final String STREAM_OUTPUT = "stream_output";
+
+    private static final String SCRIPT_KEY = "script_key";
+
+    private static final String SCRIPT_MISSING = "script_missing";
+
+    /**
+     * Category of the messages in which Python forwards the output of an execution whose output is streamed. Their
+     * payload is a string of one or more lines, their {@link #OUTPUT_STREAM} header field is either "stdout" or
+     * "stderr".
+     */
+    static final String OUTPUT_MESSAGE_CATEGORY = "output";
+
+    /** Header field of {@link #OUTPUT_MESSAGE_CATEGORY output messages} that denotes the originating stream. */
+    static final String OUTPUT_STREAM = "output_stream";
+
     private final PythonMessaging m_messaging;
 
     private final PythonExecutionMonitor m_monitor;
@@ -97,8 +134,7 @@ public PythonCommands(final OutputStream outToPython, final InputStream inFromPy
         final PythonExecutionMonitor monitor) {
         m_messaging = new PythonMessaging(outToPython, inFromPython, monitor);
         m_monitor = monitor;
-        m_executor = ThreadUtils.executorServiceWithContext(
-            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-task-%d").build()));
+        m_executor = ThreadUtils.executorServiceWithContext(PythonKernelRuntime.newExecutor("python-task"));
     }
 
     public MessageHandlerCollection getMessageHandlers() {
@@ -106,8 +142,20 @@ public MessageHandlerCollection getMessageHandlers() {
     }
 
     public Message createExecuteCommand(final String sourceCode) {
+        return createExecuteCommand(sourceCode, false);
+    }
+
+    /**
+     * @param sourceCode the source code to execute
+     * @param streamOutput if <code>true</code>, Python forwards standard and error output line by line in
+     *            {@link #OUTPUT_MESSAGE_CATEGORY output messages} while executing instead of returning it in the
+     *            response
+     * @return the execute message
+     */
+    public Message createExecuteCommand(final String sourceCode, final boolean streamOutput) {
         final byte[] payload = new PayloadEncoder().putString(sourceCode).get();
-        return new DefaultMessage(m_messaging.createNextMessageId(), "execute", payload, null);
+        return new DefaultMessage(m_messaging.createNextMessageId(), "execute", payload,
+            streamOutput ? ImmutableMap.of(STREAM_OUTPUT, "true") : null);
     }
 
     public Message createExecuteAsyncCommand(final String sourceCode) {
@@ -133,6 +181,26 @@ public synchronized RunnableFuture<Integer> getPid() {
             new DefaultMessage(m_messaging.createNextMessageId(), "getpid", null, null));
     }
 
+    /**
+     * Creates a runnable future that asks the Python kernel to accept messages with the compact binary header format.
+     * The request itself is sent with a textual header. If Python acknowledges the request, all subsequently sent
+     * messages use binary headers. If the request fails (e.g., because the Python side does not know about binary
+     * headers), textual headers continue to be used.
+     *
+     * @return a runnable future that negotiates the header format with the Python kernel
+     */
+    public synchronized RunnableFuture<Void> enableBinaryHeaders() {
+        final byte[] payload = new PayloadEncoder().putString("binary").get();
+        return createTask(new AbstractTaskHandler<Void>() {
+
+            @Override
+            protected Void handleSuccessMessage(final Message response) throws ExecutionException {
+                m_messaging.enableBinaryHeaders();
+                return null;
+            }
+        }, new DefaultMessage(m_messaging.createNextMessageId(), "setHeaderFormat", payload, null));
+    }
+
     /**
      * Creates a runnable future that puts some serialized flow variables into the Python workspace. The flow variables
      * should be serialized using the currently active serialization library.
@@ -168,10 +236,30 @@ public synchronized RunnableFuture<byte[]> getFlowVariables(final String name) {
      * @return a runnable future that puts the table into the Python workspace
      */
     public synchronized RunnableFuture<Void> putTable(final String name, final byte[] table) {
-        // FIXME: Avoid array creation. We effectively double the memory requirements of "table".
-        final byte[] payload = new PayloadEncoder().putBytes(table).get();
-        return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
-            "putTable", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
+        final ByteBuffer[] payload = new GatheringPayloadEncoder().putBytes(table).get();
+        return createTask(new VoidReturningTaskHandler(), DefaultMessage.fromPayloadBuffers(
+            m_messaging.createNextMessageId(), "putTable", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
+    }
+
+    /**
+     * Creates a runnable future that puts the first chunk of a serialized KNIME table into the Python workspace (as
+     * pandas.DataFrame) and announces the size of the entire table. The remaining chunks must be sent via
+     * {@link #appendToTable(String, byte[], int)}. Python collects them and assembles the table once all of them have
+     * been received instead of appending them one by one, which would copy the growing table for each chunk.
+     *
+     * @param name the variable name of the table in the Python workspace
+     * @param table the first chunk of the serialized KNIME table as byte array
+     * @param numRows the total number of rows of the table
+     * @param numChunks the total number of chunks of the table, including the first one
+     * @return a runnable future that puts the first chunk of the table into the Python workspace
+     */
+    public synchronized RunnableFuture<Void> putTable(final String name, final byte[] table, final int numRows,
+        final int numChunks) {
+        final ByteBuffer[] payload = new GatheringPayloadEncoder().putBytes(table).get();
+        return createTask(new VoidReturningTaskHandler(),
+            DefaultMessage.fromPayloadBuffers(m_messaging.createNextMessageId(), "putTable", payload,
+                ImmutableMap.of(PAYLOAD_NAME, name, NUM_ROWS, Integer.toString(numRows), NUM_CHUNKS,
+                    Integer.toString(numChunks))));
     }
 
     /**
@@ -183,10 +271,29 @@ public synchronized RunnableFuture<Void> putTable(final String name, final byte[
      * @return a runnable future that appends the chunk of table rows to the table
      */
     public synchronized RunnableFuture<Void> appendToTable(final String name, final byte[] table) {
-        // FIXME: Avoid array creation. We effectively double the memory requirements of "table".
-        final byte[] payload = new PayloadEncoder().putBytes(table).get();
-        return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
-            "appendToTable", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
+        final ByteBuffer[] payload = new GatheringPayloadEncoder().putBytes(table).get();
+        return createTask(new VoidReturningTaskHandler(), DefaultMessage.fromPayloadBuffers(
+            m_messaging.createNextMessageId(), "appendToTable", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
+    }
+
+    /**
+     * Creates a runnable future that appends a chunk of table rows to a table represented as pandas.DataFrame in the
+     * Python workspace. In contrast to {@link #appendToTable(String, byte[])}, several of these chunks may be in flight
+     * at the same time. Python appends them in the order of their indices, regardless of the order in which they are
+     * received. The first chunk of the table (index zero) must be put via {@link #putTable(String, byte[])} and must
+     * be completed before any of its successors are sent.
+     *
+     * @param name the variable name of the table in the Python workspace
+     * @param table the serialized table chunk as byte array
+     * @param chunkIndex the index of the chunk within the table, must be greater than zero
+     * @return a runnable future that appends the chunk of table rows to the table
+     */
+    public synchronized RunnableFuture<Void> appendToTable(final String name, final byte[] table,
+        final int chunkIndex) {
+        final ByteBuffer[] payload = new GatheringPayloadEncoder().putBytes(table).get();
+        return createTask(new VoidReturningTaskHandler(),
+            DefaultMessage.fromPayloadBuffers(m_messaging.createNextMessageId(), "appendToTable", payload,
+                ImmutableMap.of(PAYLOAD_NAME, name, CHUNK_INDEX, Integer.toString(chunkIndex))));
     }
 
     /**
@@ -236,9 +343,9 @@ public synchronized RunnableFuture<byte[]> getTableChunk(final String name, fina
      * @return a runnable future that puts the serialized Python object in the Python workspace
      */
     public synchronized RunnableFuture<Void> putObject(final String name, final byte[] object) {
-        final byte[] payload = new PayloadEncoder().putBytes(object).get();
-        return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
-            "putObject", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
+        final ByteBuffer[] payload = new GatheringPayloadEncoder().putBytes(object).get();
+        return createTask(new VoidReturningTaskHandler(), DefaultMessage.fromPayloadBuffers(
+            m_messaging.createNextMessageId(), "putObject", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
     }
 
     /**
@@ -246,12 +353,79 @@ public synchronized RunnableFuture<Void> putObject(final String name, final byte
      * representation, a type and a string representation.
      *
      * @param name the variable name of the object in the Python workspace
-     * @return a runnable future that returns the serialized Python object
+     * @return a runnable future that returns the Python object
      */
-    public synchronized RunnableFuture<byte[]> getObject(final String name) {
+    public synchronized RunnableFuture<PickledObject> getObject(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
-        return createTask(new ByteArrayReturningTaskHandler(),
-            new DefaultMessage(m_messaging.createNextMessageId(), "getObject", payload, null));
+        return createTask(new AbstractTaskHandler<PickledObject>() {
+
+            @Override
+            protected PickledObject handleSuccessMessage(final Message response) throws ExecutionException {
+                final PayloadDecoder decoder = new PayloadDecoder(response.getPayload());
+                final byte[] pickledObject = decoder.getNextBytes();
+                return new PickledObject(pickledObject, decoder.getNextString(), decoder.getNextString());
+            }
+        }, new DefaultMessage(m_messaging.createNextMessageId(), "getObject", payload, null));
+    }
+
+    /**
+     * Creates a runnable future that puts a Python object into the Python workspace. Python directly reads the object
+     * from the given file, the pickled representation of the object is not sent via the socket.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param file the file that contains the object in the format of {@link PickledObject#save(OutputStream)}
+     * @return a runnable future that puts the Python object in the Python workspace
+     */
+    public synchronized RunnableFuture<Void> putObject(final String name, final File file) {
+        final byte[] payload = new PayloadEncoder().putString(file.getAbsolutePath()).get();
+        return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
+            "putObject", payload, ImmutableMap.of(PAYLOAD_NAME, name, OBJECT_FILE, "true")));
+    }
+
+    /**
+     * Creates a runnable future that puts a Python object into the Python workspace and keeps it resident in the
+     * Python process under the given key, replacing any previously resident object. If the object with the given key
+     * is already resident, it is neither read from the file nor unpickled again.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param file the file that contains the object in the format of {@link PickledObject#save(OutputStream)}
+     * @param key the key that identifies the object
+     * @return a runnable future that puts the Python object in the Python workspace
+     */
+    public synchronized RunnableFuture<Void> putResidentObject(final String name, final File file,
+        final String key) {
+        final byte[] payload = new PayloadEncoder().putString(file.getAbsolutePath()).get();
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "putObject", payload,
+                ImmutableMap.of(PAYLOAD_NAME, name, OBJECT_FILE, "true", OBJECT_KEY, key)));
+    }
+
+    /**
+     * Creates a runnable future that makes Python write a Python object directly into the given file store, in the
+     * format of {@link PickledObject#save(OutputStream)}. The pickled representation of the object is not sent via the
+     * socket.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param fileStore the file store to write the object to, its file is overwritten if it exists
+     * @return a runnable future that returns a port object that is backed by the file store
+     */
+    public synchronized RunnableFuture<PickledObjectFileStorePortObject> getObject(final String name,
+        final FileStore fileStore) {
+        final byte[] payload =
+            new PayloadEncoder().putString(name).putString(fileStore.getFile().getAbsolutePath()).get();
+        return createTask(new AbstractTaskHandler<PickledObjectFileStorePortObject>() {
+
+            @Override
+            protected PickledObjectFileStorePortObject handleSuccessMessage(final Message response)
+                throws ExecutionException {
+                final PayloadDecoder decoder = new PayloadDecoder(response.getPayload());
+                final String representation = decoder.getNextString();
+                final byte[] digest = decoder.getNextBytes();
+                return new PickledObjectFileStorePortObject(fileStore, response.getHeaderField(OBJECT_TYPE),
+                    representation, digest);
+            }
+        }, new DefaultMessage(m_messaging.createNextMessageId(), "getObject", payload,
+            ImmutableMap.of(OBJECT_FILE, "true")));
     }
 
     /**
@@ -393,17 +567,64 @@ public synchronized RunnableFuture<Void> addToPythonPath(final String paths) {
      *         emitted during execution
      */
     public synchronized RunnableFuture<String[]> execute(final String sourceCode) {
+        return execute(sourceCode, false);
+    }
+
+    /**
+     * @param sourceCode the source code to execute
+     * @param streamOutput if <code>true</code>, standard and error output are sent in separate
+     *            {@link #OUTPUT_MESSAGE_CATEGORY output messages} while executing. The returned standard output is
+     *            empty in this case, the returned error output only contains the error that caused the execution to
+     *            fail, if any.
+     * @return a runnable future that executes the snippet and returns output and error/warning messages that were
+     *         emitted during execution
+     */
+    public synchronized RunnableFuture<String[]> execute(final String sourceCode, final boolean streamOutput) {
+        return createTask(new AbstractTaskHandler<String[]>() {
+
+            @Override
+            protected String[] handleSuccessMessage(final Message response) throws ExecutionException {
+                final PayloadDecoder decoder = new PayloadDecoder(response.getPayload());
+                final String[] outputs = new String[2];
+                outputs[0] = decoder.getNextString();
+                outputs[1] = decoder.getNextString();
+                return outputs;
+            }
+        }, createExecuteCommand(sourceCode, streamOutput));
+    }
+
+    /**
+     * Creates a runnable future that executes a prepared script. If source code is given, Python compiles it, caches it
+     * under the given key, and executes it. The cache outlives {@link #reset() workspace resets}. Otherwise only the
+     * script's key is sent and Python executes the script that is cached under that key.
+     *
+     * @param scriptKey the key that identifies the script, see {@link PythonPreparedScript#getKey()}
+     * @param sourceCode the source code of the script, or <code>null</code> if the script is expected to be cached on
+     *            Python side already
+     * @param streamOutput see {@link #execute(String, boolean)}
+     * @return a runnable future that executes the script and returns output and error/warning messages that were
+     *         emitted during execution, or <code>null</code> if no source code was given and Python does not (or no
+     *         longer) cache a script under the given key. The source code needs to be sent in the latter case.
+     */
+    public synchronized RunnableFuture<String[]> executePrepared(final String scriptKey, final String sourceCode,
+        final boolean streamOutput) {
+        final byte[] payload = sourceCode != null ? new PayloadEncoder().putString(sourceCode).get() : null;
         return createTask(new AbstractTaskHandler<String[]>() {
 
             @Override
             protected String[] handleSuccessMessage(final Message response) throws ExecutionException {
+                if ("true".equals(response.getHeaderField(SCRIPT_MISSING))) {
+                    return null;
+                }
                 final PayloadDecoder decoder = new PayloadDecoder(response.getPayload());
                 final String[] outputs = new String[2];
                 outputs[0] = decoder.getNextString();
                 outputs[1] = decoder.getNextString();
                 return outputs;
             }
-        }, createExecuteCommand(sourceCode));
+        }, new DefaultMessage(m_messaging.createNextMessageId(), "executePrepared", payload,
+            streamOutput ? ImmutableMap.of(SCRIPT_KEY, scriptKey, STREAM_OUTPUT, "true")
+                : ImmutableMap.of(SCRIPT_KEY, scriptKey)));
     }
 
     public synchronized RunnableFuture<String[]> executeAsync(final String sourceCode) {
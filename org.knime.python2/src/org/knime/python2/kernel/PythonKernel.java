@@ -60,30 +60,38 @@
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
 
 import javax.imageio.ImageIO;
 
 import org.apache.batik.dom.svg.SAXSVGDocumentFactory;
 import org.apache.batik.util.XMLResourceDescriptor;
 import org.eclipse.core.runtime.Platform;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.filestore.FileStore;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -107,7 +115,6 @@
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
 import org.knime.python2.extensions.serializationlibrary.SentinelOption;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableChunker;
@@ -133,10 +140,11 @@
 import org.knime.python2.kernel.messaging.Message;
 import org.knime.python2.kernel.messaging.TaskHandler;
 import org.knime.python2.port.PickledObject;
+import org.knime.python2.port.PickledObjectFileStorePortObject;
 import org.knime.python2.util.PythonUtils;
 import org.w3c.dom.svg.SVGDocument;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
  * Provides operations on a Python kernel running in another process.
@@ -154,6 +162,10 @@ public class PythonKernel implements AutoCloseable {
 
     private static final String CLEANUP_TIMEOUT_VM_OPT = "knime.python.cleanuptimeout";
 
+    private static final String TRANSFER_BUDGET_VM_OPT = "knime.python.transferbudget";
+
+    private static final String SHUTDOWN_TIMEOUT_VM_OPT = "knime.python.shutdowntimeout";
+
     // Do not change. Used on Python side.
     private static final String WARNING_MESSAGE_PREFIX = "[WARN]";
 
@@ -190,6 +202,43 @@ public static int getCleanupTimeoutInMillis() {
         }
     }
 
+    /**
+     * @return the duration, in milliseconds, to wait for Python to acknowledge a shutdown request and to terminate
+     *         afterwards before its process is forcibly killed
+     * @since 3.8
+     */
+    public static int getShutdownTimeoutInMillis() {
+        final String defaultTimeout = "5000";
+        try {
+            final String timeout = System.getProperty(SHUTDOWN_TIMEOUT_VM_OPT, defaultTimeout);
+            return Integer.parseInt(timeout);
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + SHUTDOWN_TIMEOUT_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultTimeout
+                + " ms.");
+            return Integer.parseInt(defaultTimeout);
+        }
+    }
+
+    /**
+     * @return the maximum number of bytes, in megabytes, of serialized table chunks that are held in memory at the same
+     *         time when transferring multiple tables {@link #putDataTables(String[], BufferedDataTable[],
+     *         ExecutionMonitor, int) concurrently}
+     * @since 3.8
+     */
+    public static int getTransferBudgetInMegabytes() {
+        final String defaultBudget = "256";
+        try {
+            final String budget = System.getProperty(TRANSFER_BUDGET_VM_OPT, defaultBudget);
+            return Math.max(1, Integer.parseInt(budget));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + TRANSFER_BUDGET_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultBudget
+                + " MB.");
+            return Integer.parseInt(defaultBudget);
+        }
+    }
+
     private final PythonKernelOptions m_kernelOptions;
 
     private final Process m_process;
@@ -204,6 +253,14 @@ public static int getCleanupTimeoutInMillis() {
 
     private final SerializationLibrary m_serializer;
 
+    /**
+     * Instances of the serialization library that {@link #putDataTables(String[], BufferedDataTable[],
+     * ExecutionMonitor, int) concurrent transfers} use in addition to {@link #m_serializer}. Kept for the lifetime of
+     * this kernel since a library may allocate resources on both sides (e.g., a shared memory ring) that Python only
+     * releases once the kernel is closed. Guarded by itself.
+     */
+    private final List<SerializationLibrary> m_additionalSerializers = new ArrayList<>();
+
     private final InputStream m_stdoutStream;
 
     private final InputStream m_stderrStream;
@@ -216,6 +273,33 @@ public static int getCleanupTimeoutInMillis() {
 
     private final ConfigurableErrorLogger m_defaultStderrListener;
 
+    /** Receives the standard output of the currently running streamed execution, if any. */
+    private volatile PythonOutputListener m_streamedStdoutListener;
+
+    /** Receives the error output of the currently running streamed execution, if any. */
+    private volatile PythonOutputListener m_streamedStderrListener;
+
+    /**
+     * Maximum number of prepared scripts that are cached on Python side. Must match
+     * <code>PythonKernelBase._MAX_NUM_PREPARED_SCRIPTS</code>.
+     */
+    private static final int MAX_NUM_PREPARED_SCRIPTS = 64;
+
+    /**
+     * Keys of the scripts that are presumably cached on Python side, in access order. Evicts in the same least recently
+     * used order as the cache on Python side.
+     */
+    private final Set<String> m_preparedScriptKeys =
+        Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_NUM_PREPARED_SCRIPTS;
+            }
+        }));
+
     private final List<ProcessEndAction> m_processEndActions = Collections.synchronizedList(new ArrayList<>());
 
     private final ProcessEndAction m_segfaultDuringSerializationAction;
@@ -226,9 +310,11 @@ public static int getCleanupTimeoutInMillis() {
 
     private final AtomicBoolean m_closed = new AtomicBoolean(false);
 
+    private volatile PythonTableTransferStatistics m_lastTableTransferStatistics;
+
     /** Used to make kernel operations cancelable. */
-    private final ExecutorService m_executorService = ThreadUtils.executorServiceWithContext(
-        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-worker-%d").build()));
+    private final ExecutorService m_executorService =
+        ThreadUtils.executorServiceWithContext(PythonKernelRuntime.newExecutor("python-worker"));
 
     /**
      * Creates a new Python kernel by starting a Python process and connecting to it.
@@ -330,6 +416,9 @@ public void messageReceived(final String message, final boolean isWarningMessage
             // Start commands/messaging system once everything is set up.
             m_commands.start();
 
+            // Switch to binary message headers if possible. Must precede any other command.
+            setupMessageHeaderFormat();
+
             // PID of Python process.
             m_pid = m_commands.getPid().get();
             LOGGER.debug("Python PID: " + m_pid);
@@ -392,7 +481,7 @@ private SerializationLibrary setupSerializationLibrary() throws PythonIOExceptio
     }
 
     private Future<Socket> setupSocket() {
-        return Executors.newSingleThreadExecutor().submit(m_serverSocket::accept);
+        return PythonKernelRuntime.submit("python-socket-accept", m_serverSocket::accept);
     }
 
     private Process setupPythonProcess() throws IOException {
@@ -461,8 +550,7 @@ private ProcessEndAction setupSegfaultAction() {
 
     private Future<PythonIOException> setupProcessEndActions() {
         // Capture process end and run registered actions.
-        final ExecutorService service = Executors.newSingleThreadExecutor();
-        return service.submit(() -> {
+        return PythonKernelRuntime.submit("python-process-monitor", () -> {
             final int exitCode = m_process.waitFor();
             synchronized (m_processEndActions) {
                 for (final ProcessEndAction action : m_processEndActions) {
@@ -552,6 +640,34 @@ protected Message respond(final Message request, final int responseMessageId) {
                 }
             }
         });
+
+        // Output of streamed executions, see execute(String, PythonCancelable, PythonOutputListener,
+        // PythonOutputListener).
+        m_commands.getMessageHandlers().registerMessageHandler(PythonCommands.OUTPUT_MESSAGE_CATEGORY, message -> {
+            if (message.getPayload() == null) {
+                // Poison pill, messaging is shutting down.
+                return true;
+            }
+            final PythonOutputListener listener =
+                "stderr".equals(message.getHeaderField(PythonCommands.OUTPUT_STREAM)) ? m_streamedStderrListener
+                    : m_streamedStdoutListener;
+            if (listener != null) {
+                final String output = new PayloadDecoder(message.getPayload()).getNextString();
+                for (final String line : output.split("\n", -1)) {
+                    listener.messageReceived(line, false);
+                }
+            }
+            return true;
+        });
+    }
+
+    private void setupMessageHeaderFormat() throws InterruptedException {
+        try {
+            m_commands.enableBinaryHeaders().get();
+        } catch (final ExecutionException ex) {
+            LOGGER.debug("Python kernel does not accept binary message headers. Textual headers will be used. Cause: "
+                + ex.getMessage(), ex);
+        }
     }
 
     private boolean checkHasAutoComplete() {
@@ -583,9 +699,22 @@ private void setupSentinelConstants() throws InterruptedException, ExecutionExce
         }
     }
 
-    private boolean isPythonProcessAlive() {
+    boolean isPythonProcessAlive() {
         return m_process != null && m_process.isAlive();
     }
+
+    /**
+     * Adopts the options that only affect the Java side of this kernel, i.e. the chunk size and the transfer queue
+     * depth of table transfers, from the given options. Used by the kernel pools when handing out a kernel that was
+     * started for options that only differ in these settings, see {@link PythonKernelPoolKey}. Must only be called by
+     * the kernel's owner while no table transfer is ongoing.
+     *
+     * @param kernelOptions the options of the kernel's new owner
+     */
+    void adoptJavaSideOptions(final PythonKernelOptions kernelOptions) {
+        m_kernelOptions.setChunkSize(kernelOptions.getChunkSize());
+        m_kernelOptions.setTransferQueueDepth(kernelOptions.getTransferQueueDepth());
+    }
     // End of setup methods.
 
     /**
@@ -641,58 +770,7 @@ public void removeProcessEndAction(final ProcessEndAction ac) {
      */
     public void putFlowVariables(final String name, final Collection<FlowVariable> flowVariables)
         throws IOException, InterruptedException, ExecutionException {
-        final byte[] bytes = flowVariablesToBytes(flowVariables);
-        m_commands.putFlowVariables(name, bytes).get();
-    }
-
-    /**
-     * Serialize a collection of flow variables to a {@link Row}.
-     *
-     * @param flowVariables
-     * @return the serialized flow variables
-     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
-     */
-    private byte[] flowVariablesToBytes(final Collection<FlowVariable> flowVariables) throws IOException {
-        final Type[] types = new Type[flowVariables.size()];
-        final String[] columnNames = new String[flowVariables.size()];
-        final RowImpl row = new RowImpl("0", flowVariables.size());
-        int i = 0;
-        for (final FlowVariable flowVariable : flowVariables) {
-            final String key = flowVariable.getName();
-            columnNames[i] = key;
-            switch (flowVariable.getType()) {
-                case INTEGER:
-                    types[i] = Type.INTEGER;
-                    final int iValue = flowVariable.getIntValue();
-                    row.setCell(new CellImpl(iValue), i);
-                    break;
-                case DOUBLE:
-                    types[i] = Type.DOUBLE;
-                    final double dValue = flowVariable.getDoubleValue();
-                    row.setCell(new CellImpl(dValue), i);
-                    break;
-                case STRING:
-                    types[i] = Type.STRING;
-                    final String sValue = flowVariable.getStringValue();
-                    row.setCell(new CellImpl(sValue), i);
-                    break;
-                default:
-                    types[i] = Type.STRING;
-                    final String defValue = flowVariable.getValueAsString();
-                    row.setCell(new CellImpl(defValue), i);
-                    break;
-            }
-            i++;
-        }
-        final TableSpec spec = new TableSpecImpl(types, columnNames, new HashMap<String, String>());
-        final TableIterator tableIterator = new KeyValueTableIterator(spec, row);
-        try {
-            return m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions(),
-                PythonCancelable.NOT_CANCELABLE);
-        } catch (final PythonCanceledExecutionException ignore) {
-            // Does not happen.
-            throw new IllegalStateException("Implementation error.");
-        }
+        m_commands.putFlowVariables(name, FlowVariableCodec.encode(flowVariables)).get();
     }
 
     /**
@@ -705,62 +783,16 @@ private byte[] flowVariablesToBytes(final Collection<FlowVariable> flowVariables
     public Collection<FlowVariable> getFlowVariables(final String name) throws IOException {
         try {
             final byte[] bytes = m_commands.getFlowVariables(name).get();
-            return bytesToFlowVariables(bytes);
-        } catch (EOFException | InterruptedException | ExecutionException ex) {
-            throw getMostSpecificPythonKernelException(ex);
-        }
-    }
-
-    /**
-     * Deserialize a collection of flow variables received from the python workspace.
-     *
-     * @param bytes the serialized representation of the flow variables
-     * @return a collection of {@link FlowVariable}s
-     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
-     */
-    private Collection<FlowVariable> bytesToFlowVariables(final byte[] bytes) throws IOException {
-        try {
-            final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, PythonCancelable.NOT_CANCELABLE);
-            final KeyValueTableCreator tableCreator = new KeyValueTableCreator(spec);
-            m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(),
-                PythonCancelable.NOT_CANCELABLE);
             // Use LinkedHashSet for preserving insertion order.
             final Set<FlowVariable> flowVariables = new LinkedHashSet<>();
-            if (tableCreator.getTable() == null) {
-                return flowVariables;
-            }
-            int i = 0;
-            for (final Cell cell : tableCreator.getTable()) {
-                final String columnName = tableCreator.getTableSpec().getColumnNames()[i++];
-                switch (cell.getColumnType()) {
-                    case INTEGER:
-                        if (isValidFlowVariableName(columnName)) {
-                            flowVariables.add(new FlowVariable(columnName, cell.getIntegerValue()));
-                        }
-                        break;
-                    case DOUBLE:
-                        if (isValidFlowVariableName(columnName)) {
-                            flowVariables.add(new FlowVariable(columnName, cell.getDoubleValue()));
-                        }
-                        break;
-                    case FLOAT:
-                        if (isValidFlowVariableName(columnName)) {
-                            flowVariables.add(new FlowVariable(columnName, cell.getFloatValue()));
-                        }
-                        break;
-                    case STRING:
-                        if (isValidFlowVariableName(columnName)) {
-                            flowVariables.add(new FlowVariable(columnName, cell.getStringValue()));
-                        }
-                        break;
-                    default:
-                        break;
+            for (final FlowVariable flowVariable : FlowVariableCodec.decode(bytes)) {
+                if (isValidFlowVariableName(flowVariable.getName())) {
+                    flowVariables.add(flowVariable);
                 }
             }
             return flowVariables;
-        } catch (final PythonCanceledExecutionException ignore) {
-            // Does not happen.
-            throw new IllegalStateException("Implementation error.");
+        } catch (EOFException | InterruptedException | ExecutionException ex) {
+            throw getMostSpecificPythonKernelException(ex);
         }
     }
 
@@ -791,6 +823,17 @@ private boolean isValidFlowVariableName(final String name) {
      */
     public void putDataTable(final String name, final BufferedDataTable table, final ExecutionMonitor executionMonitor,
         final int rowLimit) throws IOException, CanceledExecutionException {
+        putDataTable(name, table, executionMonitor, rowLimit, m_serializer, null);
+    }
+
+    /**
+     * @param serializer the serialization library to use, must not be used by any other thread at the same time
+     * @param budget limits the bytes in flight if multiple tables are transferred concurrently, may be
+     *            <code>null</code>
+     */
+    private void putDataTable(final String name, final BufferedDataTable table,
+        final ExecutionMonitor executionMonitor, final int rowLimit, final SerializationLibrary serializer,
+        final TransferBudget budget) throws IOException, CanceledExecutionException {
         // TODO: Use #putData(..) internally.
         if (table == null) {
             throw new IOException("Table " + name + " is not available.");
@@ -811,31 +854,30 @@ public void putDataTable(final String name, final BufferedDataTable table, final
                     numberChunks = 1;
                 }
                 int rowsDone = 0;
-                final TableChunker tableChunker =
-                    new BufferedDataTableChunker(table.getDataTableSpec(), iterator, rowCount);
-                RunnableFuture<Void> putChunkTask = null;
-                for (int i = 0; i < numberChunks; i++) {
-                    final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
-                    final ExecutionMonitor chunkProgress =
-                        serializationMonitor.createSubProgress(rowsInThisIteration / (double)numberRows);
-                    final TableIterator tableIterator =
-                        ((BufferedDataTableChunker)tableChunker).nextChunk(rowsInThisIteration, chunkProgress);
-                    final byte[] bytes =
-                        m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions(), cancelable);
-                    chunkProgress.setProgress(1);
-                    rowsDone += rowsInThisIteration;
-                    serializationMonitor.setProgress(rowsDone / (double)numberRows);
-                    if (i == 0) {
-                        putChunkTask = m_commands.putTable(name, bytes);
-                        putChunkTask.run();
-                    } else {
-                        waitForFutureCancelable(putChunkTask, cancelable);
-                        putChunkTask = m_commands.appendToTable(name, bytes);
-                        putChunkTask.run();
+                final TableChunker tableChunker = new BufferedDataTableChunker(table.getDataTableSpec(), iterator,
+                    rowCount, serializer.supportsTemporalTypes());
+                final int chunkSize = m_kernelOptions.getChunkSize();
+                try (final TableChunkPipeline pipeline = new TableChunkPipeline(name, numberRows, numberChunks,
+                    cancelable, chunkIndex -> deserializationMonitor
+                        .setProgress(Math.min((chunkIndex + 1) * (long)chunkSize, numberRows) / (double)numberRows),
+                    budget)) {
+                    for (int i = 0; i < numberChunks; i++) {
+                        final int rowsInThisIteration = Math.min(numberRows - rowsDone, chunkSize);
+                        final ExecutionMonitor chunkProgress =
+                            serializationMonitor.createSubProgress(rowsInThisIteration / (double)numberRows);
+                        final long serializationStart = System.nanoTime();
+                        final TableIterator tableIterator =
+                            ((BufferedDataTableChunker)tableChunker).nextChunk(rowsInThisIteration, chunkProgress);
+                        final byte[] bytes = serializer.tableToBytes(tableIterator,
+                            m_kernelOptions.getSerializationOptions(), cancelable);
+                        final long serializationNanos = System.nanoTime() - serializationStart;
+                        chunkProgress.setProgress(1);
+                        rowsDone += rowsInThisIteration;
+                        serializationMonitor.setProgress(rowsDone / (double)numberRows);
+                        pipeline.send(bytes, serializationNanos);
                     }
-                    deserializationMonitor.setProgress(rowsDone / (double)numberRows);
+                    pipeline.finish();
                 }
-                waitForFutureCancelable(putChunkTask, cancelable);
             }
         } catch (final PythonCanceledExecutionException ex) {
             throw new CanceledExecutionException(ex.getMessage());
@@ -865,6 +907,107 @@ public void putDataTable(final String name, final BufferedDataTable table, final
         putDataTable(name, table, executionMonitor, (int)table.size());
     }
 
+    /**
+     * Put the given {@link BufferedDataTable tables} into the workspace concurrently while still checking whether the
+     * execution has been canceled. Each table is serialized on its own thread by its own instance of the serialization
+     * library and transferred through its own chunk pipeline. The bytes of serialized chunks that were not yet
+     * received by Python are limited by {@link #getTransferBudgetInMegabytes()} in total.
+     *
+     * The tables will be available as pandas.DataFrames.
+     *
+     * @param names The names of the tables
+     * @param tables The tables, in the same order as their names
+     * @param executionMonitor The monitor that will be updated about progress
+     * @param rowLimit The amount of rows that will be transfered per table
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     * @since 3.8
+     */
+    public void putDataTables(final String[] names, final BufferedDataTable[] tables,
+        final ExecutionMonitor executionMonitor, final int rowLimit) throws IOException, CanceledExecutionException {
+        if (tables.length <= 1) {
+            for (int i = 0; i < tables.length; i++) {
+                putDataTable(names[i], tables[i], executionMonitor, rowLimit);
+            }
+            return;
+        }
+        final TransferBudget budget = new TransferBudget(getTransferBudgetInMegabytes() * 1024L * 1024L);
+        final List<Future<Void>> transfers = new ArrayList<>(tables.length);
+        final List<AtomicBoolean> transfersClaimed = new ArrayList<>(tables.length);
+        final CountDownLatch transfersDone = new CountDownLatch(tables.length);
+        try {
+            for (int i = 0; i < tables.length; i++) {
+                final String name = names[i];
+                final BufferedDataTable table = tables[i];
+                final ExecutionMonitor tableMonitor = executionMonitor.createSubProgress(1 / (double)tables.length);
+                final SerializationLibrary serializer = i == 0 ? m_serializer : getAdditionalSerializer(i - 1);
+                // Claimed by either the transfer when it starts or by the cancellation below if it did not start yet.
+                // Whoever claims it counts down the latch once the transfer can no longer touch its serializer.
+                final AtomicBoolean claimed = new AtomicBoolean();
+                transfersClaimed.add(claimed);
+                transfers.add(m_executorService.submit(() -> {
+                    if (claimed.compareAndSet(false, true)) {
+                        try {
+                            putDataTable(name, table, tableMonitor, rowLimit, serializer, budget);
+                        } finally {
+                            transfersDone.countDown();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // Wait for all transfers, even if one of them failed.
+            Exception firstFailure = null;
+            for (final Future<Void> transfer : transfers) {
+                try {
+                    transfer.get();
+                } catch (final ExecutionException ex) {
+                    if (firstFailure == null) {
+                        firstFailure = ex;
+                    }
+                }
+            }
+            if (firstFailure != null) {
+                final Throwable cause = firstFailure.getCause();
+                if (cause instanceof CanceledExecutionException) {
+                    throw (CanceledExecutionException)cause;
+                }
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                }
+                throw getMostSpecificPythonKernelException(firstFailure);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException(ex.getMessage());
+        } finally {
+            // Transfers may still be running if waiting was interrupted or the submission of a transfer failed. They
+            // must not outlive this call since their serializers are reused by the next one.
+            for (int i = 0; i < transfers.size(); i++) {
+                transfers.get(i).cancel(true);
+                if (transfersClaimed.get(i).compareAndSet(false, true)) {
+                    transfersDone.countDown();
+                }
+            }
+            for (int i = transfers.size(); i < tables.length; i++) {
+                transfersDone.countDown();
+            }
+            // Keeps the interrupt flag set if waiting was interrupted.
+            Uninterruptibles.awaitUninterruptibly(transfersDone);
+        }
+    }
+
+    private SerializationLibrary getAdditionalSerializer(final int index) {
+        synchronized (m_additionalSerializers) {
+            while (m_additionalSerializers.size() <= index) {
+                m_additionalSerializers
+                    .add(SerializationLibraryExtensions.getSerializationLibrary(m_kernelOptions.getSerializerId()));
+            }
+            return m_additionalSerializers.get(index);
+        }
+    }
+
     /**
      * Put the data underlying the given {@link TableChunker} into the workspace while still checking whether the
      * execution has been canceled.
@@ -888,23 +1031,19 @@ public void putData(final String name, final TableChunker tableChunker, final in
                 numberChunks = 1;
             }
             int rowsDone = 0;
-            RunnableFuture<Void> putChunkTask = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
-                final TableIterator tableIterator = tableChunker.nextChunk(rowsInThisIteration);
-                final byte[] bytes =
-                    m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions(), cancelable);
-                rowsDone += rowsInThisIteration;
-                if (i == 0) {
-                    putChunkTask = m_commands.putTable(name, bytes);
-                    putChunkTask.run();
-                } else {
-                    waitForFutureCancelable(putChunkTask, cancelable);
-                    putChunkTask = m_commands.appendToTable(name, bytes);
-                    putChunkTask.run();
+            try (final TableChunkPipeline pipeline =
+                new TableChunkPipeline(name, numberRows, numberChunks, cancelable)) {
+                for (int i = 0; i < numberChunks; i++) {
+                    final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
+                    final long serializationStart = System.nanoTime();
+                    final TableIterator tableIterator = tableChunker.nextChunk(rowsInThisIteration);
+                    final byte[] bytes =
+                        m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions(), cancelable);
+                    rowsDone += rowsInThisIteration;
+                    pipeline.send(bytes, System.nanoTime() - serializationStart);
                 }
+                pipeline.finish();
             }
-            waitForFutureCancelable(putChunkTask, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
             throw ex;
         } catch (final Exception ex) {
@@ -912,6 +1051,57 @@ public void putData(final String name, final TableChunker tableChunker, final in
         }
     }
 
+    /**
+     * Put the given rows into the workspace while still checking whether the execution has been canceled. Used to
+     * process a streamed table chunk by chunk, where the rows of one chunk are buffered by the caller.
+     *
+     * The rows will be available as a pandas.DataFrame.
+     *
+     * @param name The name of the table
+     * @param spec The spec of the table the rows belong to
+     * @param rows The rows to put, typically at most {@link PythonKernelOptions#getChunkSize()} many
+     * @param cancelable The cancelable to check if execution has been canceled
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws PythonCanceledExecutionException if canceled. This instance must not be used after a cancellation
+     *             occurred and must be {@link #close() closed}.
+     * @since 3.8
+     */
+    public void putDataRows(final String name, final DataTableSpec spec, final List<DataRow> rows,
+        final PythonCancelable cancelable) throws IOException, PythonCanceledExecutionException {
+        final Iterator<DataRow> rowIterator = rows.iterator();
+        final CloseableRowIterator iterator = new CloseableRowIterator() {
+
+            @Override
+            public boolean hasNext() {
+                return rowIterator.hasNext();
+            }
+
+            @Override
+            public DataRow next() {
+                return rowIterator.next();
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close.
+            }
+        };
+        final TableChunker tableChunker =
+            new BufferedDataTableChunker(spec, iterator, rows.size(), m_serializer.supportsTemporalTypes());
+        putData(name, tableChunker, rows.size(), cancelable);
+    }
+
+    /**
+     * Returns timing information about the most recent table transfer to or from Python that completed successfully.
+     * Can be used to find the slowest stage of a transfer and to tune the {@link PythonKernelOptions#getChunkSize()
+     * chunk size} and {@link PythonKernelOptions#getTransferQueueDepth() transfer queue depth} accordingly.
+     *
+     * @return the statistics of the most recent table transfer, <code>null</code> if no transfer has completed yet
+     */
+    public PythonTableTransferStatistics getLastTableTransferStatistics() {
+        return m_lastTableTransferStatistics;
+    }
+
     /**
      * Get a {@link BufferedDataTable} from the workspace while still checking whether the execution has been canceled.
      *
@@ -936,24 +1126,23 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
             try {
                 addProcessEndAction(pea);
                 final int tableSize = m_commands.getTableSize(name).get();
-                int numberChunks = (int)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
-                if (numberChunks == 0) {
-                    numberChunks = 1;
-                }
                 BufferedDataTableCreator tableCreator = null;
-                for (int i = 0; i < numberChunks; i++) {
-                    final int start = m_kernelOptions.getChunkSize() * i;
-                    final int end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
-                    final byte[] bytes =
-                        waitForFutureCancelable(m_commands.getTableChunk(name, start, end), cancelable);
-                    serializationMonitor.setProgress((end + 1) / (double)tableSize);
-                    if (tableCreator == null) {
-                        final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
-                        tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
+                try (final TableChunkPrefetcher prefetcher = new TableChunkPrefetcher(name, tableSize, cancelable)) {
+                    while (prefetcher.hasNextChunk()) {
+                        final byte[] bytes = prefetcher.nextChunk();
+                        final int end = prefetcher.getEndOfLastChunk();
+                        serializationMonitor.setProgress((end + 1) / (double)tableSize);
+                        final long deserializationStart = System.nanoTime();
+                        if (tableCreator == null) {
+                            final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
+                            tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
+                        }
+                        m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(),
+                            cancelable);
+                        prefetcher.addDeserializationTime(System.nanoTime() - deserializationStart);
+                        deserializationMonitor.setProgress((end + 1) / (double)tableSize);
                     }
-                    m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(),
-                        cancelable);
-                    deserializationMonitor.setProgress((end + 1) / (double)tableSize);
+                    prefetcher.finish();
                 }
                 if (tableCreator != null) {
                     return tableCreator.getTable();
@@ -987,20 +1176,20 @@ public TableCreator<?> getData(final String name, final TableCreatorFactory tabl
         try {
             addProcessEndAction(pea);
             final int tableSize = m_commands.getTableSize(name).get();
-            int numberChunks = (int)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
-            if (numberChunks == 0) {
-                numberChunks = 1;
-            }
             TableCreator<?> tableCreator = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int start = m_kernelOptions.getChunkSize() * i;
-                final int end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
-                final byte[] bytes = waitForFutureCancelable(m_commands.getTableChunk(name, start, end), cancelable);
-                if (tableCreator == null) {
-                    final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
-                    tableCreator = tableCreatorFactory.createTableCreator(spec, tableSize);
+            try (final TableChunkPrefetcher prefetcher = new TableChunkPrefetcher(name, tableSize, cancelable)) {
+                while (prefetcher.hasNextChunk()) {
+                    final byte[] bytes = prefetcher.nextChunk();
+                    final long deserializationStart = System.nanoTime();
+                    if (tableCreator == null) {
+                        final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
+                        tableCreator = tableCreatorFactory.createTableCreator(spec, tableSize);
+                    }
+                    m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(),
+                        cancelable);
+                    prefetcher.addDeserializationTime(System.nanoTime() - deserializationStart);
                 }
-                m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(), cancelable);
+                prefetcher.finish();
             }
             return tableCreator;
         } catch (final PythonCanceledExecutionException ex) {
@@ -1012,6 +1201,46 @@ public TableCreator<?> getData(final String name, final TableCreatorFactory tabl
         }
     }
 
+    /**
+     * Get the spec of a table in the workspace while still checking whether the execution has been canceled. The rows
+     * of the table are transferred but discarded, so this is intended for small tables, e.g. the result of a script
+     * that was executed on an empty input table.
+     *
+     * @param name The name of the table
+     * @param cancelable The cancelable to check if execution has been canceled
+     * @return The spec of the table that {@link #getDataTable(String, ExecutionContext, ExecutionMonitor)} would
+     *         return, <code>null</code> if it depends on the table's values (see
+     *         {@link BufferedDataTableCreator#createDataTableSpec(TableSpec)})
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws PythonCanceledExecutionException if canceled. This instance must not be used after a cancellation
+     *             occurred and must be {@link #close() closed}.
+     * @since 3.8
+     */
+    public DataTableSpec getDataTableSpec(final String name, final PythonCancelable cancelable)
+        throws IOException, PythonCanceledExecutionException {
+        final TableCreator<?> tableCreator = getData(name, (spec, tableSize) -> new TableCreator<TableSpec>() {
+
+            @Override
+            public void addRow(final Row row) {
+                // Only the spec is of interest.
+            }
+
+            @Override
+            public TableSpec getTableSpec() {
+                return spec;
+            }
+
+            @Override
+            public TableSpec getTable() {
+                return spec;
+            }
+        }, cancelable);
+        if (tableCreator == null) {
+            throw new PythonIOException("Invalid serialized table received.");
+        }
+        return BufferedDataTableCreator.createDataTableSpec(tableCreator.getTableSpec());
+    }
+
     /**
      * Put a {@link PickledObject} into the python workspace.
      *
@@ -1052,6 +1281,62 @@ public void putObject(final String name, final PickledObject object, final Execu
         }
     }
 
+    /**
+     * Put the pickled object of a {@link PickledObjectFileStorePortObject} into the python workspace while still
+     * checking whether the execution has been canceled. Python directly reads the object from the port object's file
+     * store, it is never loaded into memory on Java side.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param object the port object that contains the pickled object
+     * @param executionMonitor the {@link ExecutionMonitor} of the calling node
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public void putObject(final String name, final PickledObjectFileStorePortObject object,
+        final ExecutionMonitor executionMonitor) throws IOException, CanceledExecutionException {
+        try {
+            PythonUtils.Misc.awaitCancelable(m_commands.putObject(name, object.getPickledObjectFile()),
+                new PythonExecutionMonitorCancelable(executionMonitor));
+        } catch (final PythonCanceledExecutionException ex) {
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Like {@link #putObject(String, PickledObjectFileStorePortObject, ExecutionMonitor)} but keeps the unpickled object
+     * resident in the Python process, where it survives {@link #resetWorkspace() workspace resets}. Putting the same
+     * port object again, e.g. in the next execution of a predictor that reuses this kernel, neither reads nor unpickles
+     * it again. Only one object is resident at a time.
+     * <P>
+     * The workspace variable refers to the resident object itself, not to a copy of it (copying would cost about as
+     * much as unpickling). Scripts that modify the object in place therefore affect all subsequent puts of the same
+     * port object into this kernel. Callers that reuse kernels must only do so for scripts that treat the object as
+     * read-only.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param object the port object that contains the pickled object
+     * @param executionMonitor the {@link ExecutionMonitor} of the calling node
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     * @see PythonModelKernelPool
+     */
+    public void putResidentObject(final String name, final PickledObjectFileStorePortObject object,
+        final ExecutionMonitor executionMonitor) throws IOException, CanceledExecutionException {
+        try {
+            PythonUtils.Misc.awaitCancelable(
+                m_commands.putResidentObject(name, object.getPickledObjectFile(), object.getKey().toString()),
+                new PythonExecutionMonitorCancelable(executionMonitor));
+        } catch (final PythonCanceledExecutionException ex) {
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
     /**
      * Get a {@link PickledObject} from the python workspace while still checking whether the execution has been
      * canceled.
@@ -1066,20 +1351,34 @@ public void putObject(final String name, final PickledObject object, final Execu
      */
     public PickledObject getObject(final String name, final ExecutionMonitor executionMonitor)
         throws IOException, CanceledExecutionException {
-        final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(executionMonitor);
         try {
-            final byte[] bytes = PythonUtils.Misc.executeCancelable(() -> m_commands.getObject(name).get(),
-                m_executorService, cancelable);
-            final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
-            final KeyValueTableCreator tableCreator = new KeyValueTableCreator(spec);
-            m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(), cancelable);
-            final Row row = tableCreator.getTable();
-            final int bytesIndex = spec.findColumn("bytes");
-            final int typeIndex = spec.findColumn("type");
-            final int representationIndex = spec.findColumn("representation");
-            final byte[] objectBytes = row.getCell(bytesIndex).getBytesValue();
-            return new PickledObject(objectBytes, row.getCell(typeIndex).getStringValue(),
-                row.getCell(representationIndex).getStringValue());
+            return PythonUtils.Misc.awaitCancelable(m_commands.getObject(name),
+                new PythonExecutionMonitorCancelable(executionMonitor));
+        } catch (final PythonCanceledExecutionException ex) {
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Get a {@link PickledObject} from the python workspace while still checking whether the execution has been
+     * canceled. The pickled object representation is directly written to the given file store by Python and is never
+     * held in memory on Java side.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param fileStore the file store that will back the returned port object
+     * @param executionMonitor the {@link ExecutionMonitor} of the calling KNIME node
+     * @return a {@link PickledObjectFileStorePortObject} that contains the pickled object
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public PickledObjectFileStorePortObject getObject(final String name, final FileStore fileStore,
+        final ExecutionMonitor executionMonitor) throws IOException, CanceledExecutionException {
+        try {
+            return PythonUtils.Misc.awaitCancelable(m_commands.getObject(name, fileStore),
+                new PythonExecutionMonitorCancelable(executionMonitor));
         } catch (final PythonCanceledExecutionException ex) {
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
@@ -1350,6 +1649,153 @@ public String[] execute(final String sourceCode, final PythonCancelable cancelab
         }
     }
 
+    /**
+     * Execute the given source code while still checking whether the execution has been canceled. Standard and error
+     * output are not collected and returned but passed to the given listeners line by line while the code runs. This
+     * avoids holding the complete output of long-running or chatty scripts in memory at once.
+     *
+     * @param sourceCode The source code to execute
+     * @param cancelable The cancelable to check if execution has been canceled
+     * @param stdoutListener Receives the lines of standard output
+     * @param stderrListener Receives the lines of error output, including the error that caused the execution to fail
+     * @throws IOException If an error occurred while communicating with the Python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     * @since 3.8
+     */
+    public void execute(final String sourceCode, final PythonCancelable cancelable,
+        final PythonOutputListener stdoutListener, final PythonOutputListener stderrListener)
+        throws IOException, CanceledExecutionException {
+        executeWithStreamedOutput(() -> m_commands.execute(sourceCode, true).get(), cancelable, stdoutListener,
+            stderrListener);
+    }
+
+    /**
+     * Creates a handle via which the given source code can be {@link #executePrepared(PythonPreparedScript,
+     * PythonCancelable) executed} repeatedly. The first execution sends the source code along with the handle's key,
+     * Python compiles and caches it and executes the compiled code. Subsequent executions only send the key. The cache
+     * holds the {@value #MAX_NUM_PREPARED_SCRIPTS} most recently executed scripts and outlives
+     * {@link #resetWorkspace() workspace resets}.
+     *
+     * @param sourceCode The source code to prepare
+     * @return The handle via which to execute the prepared source code
+     * @since 3.8
+     */
+    public PythonPreparedScript prepare(final String sourceCode) {
+        return new PythonPreparedScript(sourceCode);
+    }
+
+    /**
+     * Execute the given prepared script while still checking whether the execution has been canceled. Behaves like
+     * {@link #execute(String, PythonCancelable)} but, once the script is cached on Python side, only sends its key and
+     * executes the cached compiled code.
+     *
+     * @param script The script to execute, as returned by {@link #prepare(String)}
+     * @param cancelable The cancelable to check if execution has been canceled
+     * @return Standard console output
+     * @throws IOException If an error occurred while communicating with the Python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     * @since 3.8
+     */
+    public String[] executePrepared(final PythonPreparedScript script, final PythonCancelable cancelable)
+        throws IOException, CanceledExecutionException {
+        try {
+            return PythonUtils.Misc.executeCancelable(() -> {
+                final String[] out;
+                try {
+                    routeErrorMessagesToWarningLog(true);
+                    out = executePreparedInPython(script, false);
+                } finally {
+                    routeErrorMessagesToWarningLog(false);
+                }
+                if (out[0].length() > 0) {
+                    LOGGER.debug(ScriptingNodeUtils.shortenString(out[0], 1000));
+                }
+                // If the error log has content, throw it as exception.
+                if (!out[1].isEmpty()) {
+                    throw new PythonIOException(out[1]);
+                }
+                return out;
+            }, m_executorService, cancelable);
+        } catch (final PythonCanceledExecutionException ex) {
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Execute the given prepared script while still checking whether the execution has been canceled. Behaves like
+     * {@link #execute(String, PythonCancelable, PythonOutputListener, PythonOutputListener)} but, once the script is
+     * cached on Python side, only sends its key and executes the cached compiled code.
+     *
+     * @param script The script to execute, as returned by {@link #prepare(String)}
+     * @param cancelable The cancelable to check if execution has been canceled
+     * @param stdoutListener Receives the lines of standard output
+     * @param stderrListener Receives the lines of error output, including the error that caused the execution to fail
+     * @throws IOException If an error occurred while communicating with the Python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     * @since 3.8
+     */
+    public void executePrepared(final PythonPreparedScript script, final PythonCancelable cancelable,
+        final PythonOutputListener stdoutListener, final PythonOutputListener stderrListener)
+        throws IOException, CanceledExecutionException {
+        executeWithStreamedOutput(() -> executePreparedInPython(script, true), cancelable, stdoutListener,
+            stderrListener);
+    }
+
+    private String[] executePreparedInPython(final PythonPreparedScript script, final boolean streamOutput)
+        throws InterruptedException, ExecutionException {
+        final String key = script.getKey();
+        String[] out = m_commands.executePrepared(key, m_preparedScriptKeys.contains(key) ? null
+            : script.getSourceCode(), streamOutput).get();
+        if (out == null) {
+            // The cache on Python side got out of sync with the keys tracked here. Resend the source code.
+            out = m_commands.executePrepared(key, script.getSourceCode(), streamOutput).get();
+            if (out == null) {
+                throw new IllegalStateException("Prepared script '" + key + "' is not available in the Python kernel.");
+            }
+        }
+        // Also marks a known key as most recently used, like Python does upon each execution.
+        m_preparedScriptKeys.add(key);
+        return out;
+    }
+
+    private void executeWithStreamedOutput(final Callable<String[]> execution, final PythonCancelable cancelable,
+        final PythonOutputListener stdoutListener, final PythonOutputListener stderrListener)
+        throws IOException, CanceledExecutionException {
+        m_streamedStdoutListener = stdoutListener;
+        m_streamedStderrListener = stderrListener;
+        try {
+            PythonUtils.Misc.executeCancelable(() -> {
+                final String[] out;
+                try {
+                    routeErrorMessagesToWarningLog(true);
+                    out = execution.call();
+                } finally {
+                    routeErrorMessagesToWarningLog(false);
+                }
+                // If the error log has content, throw it as exception.
+                if (!out[1].isEmpty()) {
+                    for (final String line : out[1].split("\n", -1)) {
+                        stderrListener.messageReceived(line, false);
+                    }
+                    throw new PythonIOException(out[1]);
+                }
+                return null;
+            }, m_executorService, cancelable);
+        } catch (final PythonCanceledExecutionException ex) {
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        } finally {
+            m_streamedStdoutListener = null;
+            m_streamedStderrListener = null;
+        }
+    }
+
     /**
      * Execute the given source code asynchronously on Python side.
      *
@@ -1428,13 +1874,9 @@ public void resetWorkspace() throws IOException {
     @Override
     public void close() throws PythonKernelCleanupException {
         if (m_closed.compareAndSet(false, true)) {
-            // Sleep independent of any cleanup. This is needed to give the Python kernel some time to finish
-            // write into streams, etc. before all systems are shut down.
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
+            // Python flushes its output streams before it responds to the cleanup request and again before it
+            // acknowledges the shutdown request that is sent when closing the commands below. No need to wait for
+            // pending output here.
 
             // Closing the database connections must be done synchronously. Otherwise Python database testflows fail
             // because the test framework's database janitors try to clean up the databases before the connections are
@@ -1456,7 +1898,7 @@ public void close() throws PythonKernelCleanupException {
             }
 
             // Async. closing.
-            new Thread(() -> {
+            PythonKernelRuntime.execute("python-kernel-shutdown", () -> {
                 // Order is intended.
                 synchronized (m_stderrListeners) {
                     PythonUtils.Misc.invokeSafely(LOGGER::debug, l -> l.setSilenced(true),
@@ -1468,30 +1910,17 @@ public void close() throws PythonKernelCleanupException {
                 }
                 PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executorService);
                 PythonUtils.Misc.closeSafely(LOGGER::debug, m_commands, m_serverSocket, m_socket, m_serializer);
+                synchronized (m_additionalSerializers) {
+                    PythonUtils.Misc.closeSafely(LOGGER::debug, m_additionalSerializers);
+                }
                 PythonUtils.Misc.invokeSafely(LOGGER::debug, List<PythonOutputListener>::clear, m_stdoutListeners,
                     m_stderrListeners);
-                // If the original process was a script, we have to kill the actual Python process by PID.
-                if (m_pid != null) {
-                    try {
-                        ProcessBuilder pb;
-                        if (System.getProperty("os.name").toLowerCase().contains("win")) {
-                            pb = new ProcessBuilder("taskkill", "/F", "/PID", "" + m_pid);
-                        } else {
-                            pb = new ProcessBuilder("kill", "-KILL", "" + m_pid);
-                        }
-                        final Process p = pb.start();
-                        p.waitFor();
-                    } catch (final InterruptedException ex) {
-                        // Closing the kernel should not be interrupted.
-                        Thread.currentThread().interrupt();
-                    } catch (final Exception ignore) {
-                        // Ignore.
-                    }
+                // Python terminates by itself once it acknowledged the shutdown request (or once the connection was
+                // lost). Only kill it if it does not do so in time.
+                if (m_process != null && !waitForProcessTermination()) {
+                    killProcess();
                 }
-                if (m_process != null) {
-                    m_process.destroy();
-                }
-            }).start();
+            });
 
             // (Re-)Throw exception after the rest of the kernel shutdown was initiated.
             if (cleanupException != null) {
@@ -1500,6 +1929,41 @@ public void close() throws PythonKernelCleanupException {
         }
     }
 
+    private boolean waitForProcessTermination() {
+        try {
+            return m_process.waitFor(getShutdownTimeoutInMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            // Closing the kernel should not be interrupted.
+            Thread.currentThread().interrupt();
+            return !m_process.isAlive();
+        }
+    }
+
+    private void killProcess() {
+        LOGGER.debug("Python process did not terminate in time after shutdown request. Process will be killed.");
+        // If the original process was a script, we have to kill the actual Python process by PID. Java 8 offers no
+        // means to terminate a process that was not started by the JVM, so an external command is the last resort
+        // here. This only happens if the script process is still alive, i.e. if Python hung.
+        if (m_pid != null) {
+            try {
+                ProcessBuilder pb;
+                if (System.getProperty("os.name").toLowerCase().contains("win")) {
+                    pb = new ProcessBuilder("taskkill", "/F", "/PID", "" + m_pid);
+                } else {
+                    pb = new ProcessBuilder("kill", "-KILL", "" + m_pid);
+                }
+                final Process p = pb.start();
+                p.waitFor();
+            } catch (final InterruptedException ex) {
+                // Closing the kernel should not be interrupted.
+                Thread.currentThread().interrupt();
+            } catch (final Exception ignore) {
+                // Ignore.
+            }
+        }
+        m_process.destroyForcibly();
+    }
+
     @Override
     protected void finalize() throws Throwable {
         close();
@@ -1597,7 +2061,7 @@ private String stripWarningMessagePrefix(final String message) {
     }
 
     private void startPipeListeners() {
-        new Thread(() -> {
+        PythonKernelRuntime.execute("python-stdout-reader", () -> {
             String message;
             final BufferedReader reader = new BufferedReader(new InputStreamReader(m_stdoutStream));
             try {
@@ -1608,9 +2072,9 @@ private void startPipeListeners() {
                 LOGGER.warn("Exception during interactive logging: " + ex.getMessage(), ex);
             }
 
-        }).start();
+        });
 
-        new Thread(() -> {
+        PythonKernelRuntime.execute("python-stderr-reader", () -> {
             String message;
             final BufferedReader reader = new BufferedReader(new InputStreamReader(m_stderrStream));
             try {
@@ -1621,7 +2085,7 @@ private void startPipeListeners() {
                 LOGGER.debug("Exception during interactive logging: " + ex.getMessage(), ex);
             }
 
-        }).start();
+        });
     }
 
     private PythonIOException getMostSpecificPythonKernelException(final Exception exception) {
@@ -1658,11 +2122,257 @@ private PythonIOException getMostSpecificPythonKernelException(final Exception e
 
     private <T> T waitForFutureCancelable(final Future<T> future, final PythonCancelable cancelable)
         throws PythonExecutionException, PythonCanceledExecutionException {
-        try {
-            return PythonUtils.Misc.executeCancelable(future::get, m_executorService, cancelable);
-        } catch (final PythonCanceledExecutionException ex) {
-            future.cancel(true);
-            throw ex;
+        return PythonUtils.Misc.awaitCancelable(future, cancelable);
+    }
+
+    /**
+     * Sends the serialized chunks of a table to Python. Up to {@link PythonKernelOptions#getTransferQueueDepth()}
+     * chunks are in flight at the same time. This allows the caller to serialize the next chunk while its predecessors
+     * are being transmitted by the message sender and appended to the table in Python. Python is responsible for
+     * appending the chunks in order.
+     */
+    private final class TableChunkPipeline implements AutoCloseable {
+
+        private final String m_name;
+
+        private final int m_numRows;
+
+        private final int m_numChunks;
+
+        private final PythonCancelable m_cancelable;
+
+        private final IntConsumer m_chunkReceivedListener;
+
+        private final int m_queueDepth = m_kernelOptions.getTransferQueueDepth();
+
+        private final Deque<RunnableFuture<Void>> m_chunksInFlight = new ArrayDeque<>(m_queueDepth);
+
+        private final PythonTableTransferStatistics m_statistics;
+
+        private final TransferBudget m_budget;
+
+        /** Sizes of the chunks in {@link #m_chunksInFlight}, only tracked if there is a budget. */
+        private final Deque<Integer> m_chunkSizesInFlight = new ArrayDeque<>();
+
+        private int m_numChunksSent = 0;
+
+        private int m_numChunksReceived = 0;
+
+        private TableChunkPipeline(final String name, final int numRows, final int numChunks,
+            final PythonCancelable cancelable) {
+            this(name, numRows, numChunks, cancelable, chunkIndex -> {
+                // Nothing to do.
+            }, null);
+        }
+
+        /**
+         * @param numRows the total number of rows that will be sent, announced to Python along with the first chunk
+         * @param numChunks the total number of chunks that will be sent, announced to Python along with the first chunk
+         * @param chunkReceivedListener notified with the index of each chunk that was received by Python, in order
+         * @param budget shared with the pipelines of concurrent transfers, may be <code>null</code>
+         */
+        private TableChunkPipeline(final String name, final int numRows, final int numChunks,
+            final PythonCancelable cancelable, final IntConsumer chunkReceivedListener, final TransferBudget budget) {
+            m_name = name;
+            m_budget = budget;
+            m_numRows = numRows;
+            m_numChunks = numChunks;
+            m_cancelable = cancelable;
+            m_chunkReceivedListener = chunkReceivedListener;
+            m_statistics = new PythonTableTransferStatistics(name);
+        }
+
+        private void send(final byte[] chunk, final long serializationNanos)
+            throws PythonExecutionException, PythonCanceledExecutionException {
+            m_statistics.addChunk(chunk.length);
+            m_statistics.addSerialization(serializationNanos);
+            if (m_budget != null) {
+                // Free up budget by waiting for our own chunks first, only then for the ones of concurrent transfers.
+                while (!m_budget.tryAcquire(chunk.length)) {
+                    if (m_chunksInFlight.isEmpty()) {
+                        m_budget.acquire(chunk.length, m_cancelable);
+                        break;
+                    }
+                    awaitChunks(m_chunksInFlight.size() - 1);
+                }
+                m_chunkSizesInFlight.add(chunk.length);
+            }
+            final int chunkIndex = m_numChunksSent++;
+            final RunnableFuture<Void> putChunkTask;
+            if (chunkIndex == 0) {
+                // Announcing the size allows Python to assemble the table once instead of appending chunk by chunk.
+                putChunkTask = m_commands.putTable(m_name, chunk, m_numRows, m_numChunks);
+            } else {
+                // The first chunk (re)creates the table in Python, so it must be in place before any successor arrives.
+                awaitChunks(chunkIndex == 1 ? 0 : m_queueDepth - 1);
+                putChunkTask = m_commands.appendToTable(m_name, chunk, chunkIndex);
+            }
+            putChunkTask.run();
+            m_chunksInFlight.add(putChunkTask);
+        }
+
+        private void finish() throws PythonExecutionException, PythonCanceledExecutionException {
+            awaitChunks(0);
+            m_statistics.finish();
+            m_lastTableTransferStatistics = m_statistics;
+            LOGGER.debug(m_statistics);
+        }
+
+        private void awaitChunks(final int maxChunksInFlight)
+            throws PythonExecutionException, PythonCanceledExecutionException {
+            while (m_chunksInFlight.size() > maxChunksInFlight) {
+                final long waitStart = System.nanoTime();
+                waitForFutureCancelable(m_chunksInFlight.peek(), m_cancelable);
+                m_statistics.addWait(System.nanoTime() - waitStart);
+                m_chunksInFlight.poll();
+                releaseBudget();
+                m_chunkReceivedListener.accept(m_numChunksReceived++);
+            }
+        }
+
+        /**
+         * Cancels all chunks that are still in flight. Only has an effect if the transfer did not {@link #finish()}.
+         */
+        @Override
+        public void close() {
+            for (final RunnableFuture<Void> putChunkTask : m_chunksInFlight) {
+                putChunkTask.cancel(true);
+            }
+            m_chunksInFlight.clear();
+            while (!m_chunkSizesInFlight.isEmpty()) {
+                releaseBudget();
+            }
+        }
+
+        private void releaseBudget() {
+            if (m_budget != null) {
+                m_budget.release(m_chunkSizesInFlight.poll());
+            }
+        }
+    }
+
+    /**
+     * Limits the total number of bytes of serialized table chunks that are in flight across concurrent
+     * {@link TableChunkPipeline pipelines}. A chunk that is larger than the entire budget takes up the entire budget.
+     */
+    private static final class TransferBudget {
+
+        private final long m_capacity;
+
+        private long m_available;
+
+        private TransferBudget(final long capacity) {
+            m_capacity = capacity;
+            m_available = capacity;
+        }
+
+        private synchronized boolean tryAcquire(final int bytes) {
+            final long required = Math.min(bytes, m_capacity);
+            if (m_available >= required) {
+                m_available -= required;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void acquire(final int bytes, final PythonCancelable cancelable)
+            throws PythonCanceledExecutionException {
+            final long required = Math.min(bytes, m_capacity);
+            // Woken up by #release(int) or upon cancellation.
+            PythonUtils.Misc.awaitCancelable(this, () -> m_available >= required, cancelable);
+            m_available -= required;
+        }
+
+        private synchronized void release(final int bytes) {
+            m_available += Math.min(bytes, m_capacity);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Requests the serialized chunks of a table from Python. Up to {@link PythonKernelOptions#getTransferQueueDepth()}
+     * chunk requests are outstanding at the same time, so Python serializes the next chunks while the caller is still
+     * deserializing the current one. Chunks are handed out in order.
+     */
+    private final class TableChunkPrefetcher implements AutoCloseable {
+
+        private final String m_name;
+
+        private final int m_tableSize;
+
+        private final int m_numChunks;
+
+        private final int m_chunkSize = m_kernelOptions.getChunkSize();
+
+        private final PythonCancelable m_cancelable;
+
+        private final int m_queueDepth = m_kernelOptions.getTransferQueueDepth();
+
+        private final Deque<RunnableFuture<byte[]>> m_requestedChunks = new ArrayDeque<>(m_queueDepth);
+
+        private final PythonTableTransferStatistics m_statistics;
+
+        private int m_numChunksRequested = 0;
+
+        private int m_numChunksReceived = 0;
+
+        private TableChunkPrefetcher(final String name, final int tableSize, final PythonCancelable cancelable) {
+            m_name = name;
+            m_tableSize = tableSize;
+            // An empty table still consists of one chunk that carries its spec.
+            m_numChunks = Math.max(1, (int)Math.ceil(tableSize / (double)m_chunkSize));
+            m_cancelable = cancelable;
+            m_statistics = new PythonTableTransferStatistics(name);
+        }
+
+        private boolean hasNextChunk() {
+            return m_numChunksReceived < m_numChunks;
+        }
+
+        private byte[] nextChunk() throws PythonExecutionException, PythonCanceledExecutionException {
+            while (m_numChunksRequested < m_numChunks && m_requestedChunks.size() < m_queueDepth) {
+                final int start = m_chunkSize * m_numChunksRequested;
+                final int end = Math.min(m_tableSize, (start + m_chunkSize) - 1);
+                final RunnableFuture<byte[]> getChunkTask = m_commands.getTableChunk(m_name, start, end);
+                getChunkTask.run();
+                m_requestedChunks.add(getChunkTask);
+                m_numChunksRequested++;
+            }
+            final long waitStart = System.nanoTime();
+            final byte[] chunk = waitForFutureCancelable(m_requestedChunks.peek(), m_cancelable);
+            m_statistics.addWait(System.nanoTime() - waitStart);
+            m_requestedChunks.poll();
+            m_numChunksReceived++;
+            m_statistics.addChunk(chunk.length);
+            return chunk;
+        }
+
+        /**
+         * @return the index of the last row of the chunk that was most recently returned by {@link #nextChunk()}
+         */
+        private int getEndOfLastChunk() {
+            return Math.min(m_tableSize, (m_chunkSize * m_numChunksReceived) - 1);
+        }
+
+        private void addDeserializationTime(final long deserializationNanos) {
+            m_statistics.addSerialization(deserializationNanos);
+        }
+
+        private void finish() {
+            m_statistics.finish();
+            m_lastTableTransferStatistics = m_statistics;
+            LOGGER.debug(m_statistics);
+        }
+
+        /**
+         * Cancels all chunk requests that are still outstanding. Only has an effect if not all chunks were consumed.
+         */
+        @Override
+        public void close() {
+            for (final RunnableFuture<byte[]> getChunkTask : m_requestedChunks) {
+                getChunkTask.cancel(true);
+            }
+            m_requestedChunks.clear();
         }
     }
 
@@ -238,10 +238,7 @@ public void run() {
                     for (int i = 0; i < objects.length; i++) {
                         kernel.putObject(objectNames[i], objects[i]);
                     }
-                    for (int i = 0; i < tables.length; i++) {
-                        kernel.putDataTable(tableNames[i], tables[i],
-                            executionMonitor.createSubProgress(1 / (double)tables.length), rowLimit);
-                    }
+                    kernel.putDataTables(tableNames, tables, executionMonitor, rowLimit);
                 } catch (final Exception e) {
                     exception = e;
                 }
@@ -94,6 +94,15 @@ public class PythonKernelOptions {
 
     private int m_chunkSize = DEFAULT_CHUNK_SIZE;
 
+    /**
+     * The default maximum number of table chunks that are in flight at the same time when transferring a table between
+     * Java and Python. A depth of one disables pipelining, i.e. each chunk is only requested or sent after its
+     * predecessor has been processed by the other side.
+     */
+    public static final int DEFAULT_TRANSFER_QUEUE_DEPTH = 2;
+
+    private int m_transferQueueDepth = DEFAULT_TRANSFER_QUEUE_DEPTH;
+
     /**
      * Default constructor. Consults the {@link PythonPreferencePage} for the default python version to use.
      */
@@ -145,6 +154,8 @@ public PythonKernelOptions(final PythonKernelOptions other) {
         this.m_flowVariableOptions = FlowVariableOptions.create(other.m_flowVariableOptions);
         this.m_additionalRequiredModules = new HashSet<>(other.getAdditionalRequiredModules());
         this.m_kernelScriptPath = other.getKernelScriptPath();
+        this.m_externalCustomPath = other.getExternalCustomPath();
+        this.m_transferQueueDepth = other.getTransferQueueDepth();
     }
 
     /**
@@ -404,6 +415,32 @@ public int getChunkSize() {
         return m_chunkSize;
     }
 
+    /**
+     * Sets the maximum number of serialized table chunks that may be in flight at the same time when transferring a
+     * table between Java and Python. When putting a table, the next chunk is already serialized on the Java side while
+     * its predecessors are being transmitted and deserialized by Python. When getting a table, Python already
+     * serializes the next chunks while the current one is being deserialized on the Java side. Each chunk in flight
+     * occupies memory in the size of its serialized representation.
+     *
+     * @param transferQueueDepth the new transfer queue depth, must be at least one
+     */
+    public void setTransferQueueDepth(final int transferQueueDepth) {
+        if (transferQueueDepth < 1) {
+            throw new IllegalArgumentException("Transfer queue depth must be at least one.");
+        }
+        m_transferQueueDepth = transferQueueDepth;
+    }
+
+    /**
+     * Gets the maximum number of serialized table chunks that may be in flight at the same time when transferring a
+     * table between Java and Python.
+     *
+     * @return the transfer queue depth
+     */
+    public int getTransferQueueDepth() {
+        return m_transferQueueDepth;
+    }
+
     /**
      * Gets the kernel script path.
      *
@@ -442,6 +479,7 @@ public int hashCode() {
         int result = 1;
         result = prime * result + ((m_additionalRequiredModules == null) ? 0 : m_additionalRequiredModules.hashCode());
         result = prime * result + m_chunkSize;
+        result = prime * result + m_transferQueueDepth;
         result = prime * result + ((m_flowVariableOptions == null) ? 0 : m_flowVariableOptions.hashCode());
         result = prime * result + ((m_serializationOptions == null) ? 0 : m_serializationOptions.hashCode());
         result = prime * result + ((m_usePython3 == null) ? 0 : m_usePython3.hashCode());
@@ -470,6 +508,9 @@ public boolean equals(final Object obj) {
         if (m_chunkSize != other.m_chunkSize) {
             return false;
         }
+        if (m_transferQueueDepth != other.m_transferQueueDepth) {
+            return false;
+        }
         if (m_flowVariableOptions == null) {
             if (other.m_flowVariableOptions != null) {
                 return false;
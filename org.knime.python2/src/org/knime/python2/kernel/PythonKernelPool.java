@@ -0,0 +1,418 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.util.ThreadUtils;
+import org.knime.python2.util.PythonUtils;
+
+/**
+ * Keeps a number of idle, fully initialized {@link PythonKernel Python kernels} per distinct set of
+ * {@link PythonKernelOptions} (see {@link PythonKernelPoolKey}) in order to hide the cost of starting and setting up
+ * a kernel from the client.
+ * <P>
+ * Kernels are handed out exactly once and are never returned to the pool. The client takes over ownership of a kernel
+ * obtained via {@link #getNextKernel(PythonKernelOptions)} and must {@link PythonKernel#close() close} it when it is no
+ * longer needed, just like a kernel that was created via its constructor. Consequently, each kernel that is handed out
+ * has a pristine workspace, i.e. the same state as after a {@link PythonKernel#resetWorkspace() reset}. The pool is
+ * refilled in the background whenever a kernel was taken from it. Idle kernels are closed if they were not requested
+ * within a configurable timeout or if memory gets low.
+ * <P>
+ * The number of idle kernels per set of options and the idle timeout can be configured via the VM options
+ * <code>-D{@value #POOL_SIZE_VM_OPT}</code> and <code>-D{@value #IDLE_TIMEOUT_VM_OPT}</code>. The pool size
+ * defaults to zero which disables pooling, in which case {@link #getNextKernel(PythonKernelOptions)} simply creates a
+ * new kernel. Pooling is opt-in since each pooled kernel is an additional Python process that stays alive while idle.
+ * <P>
+ * Kernels are started in the background within the {@link NodeContext} of the node whose request triggered the
+ * refill of the pool. Starting and closing kernels and checking for expired ones happens on the
+ * {@link PythonKernelRuntime}.
+ */
+public final class PythonKernelPool implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelPool.class);
+
+    private static final String POOL_SIZE_VM_OPT = "knime.python.kernelpool.size";
+
+    private static final String IDLE_TIMEOUT_VM_OPT = "knime.python.kernelpool.idletimeout";
+
+    /** Created on first use. Guarded by <code>PythonKernelPool.class</code>. */
+    private static PythonKernelPool instance;
+
+    /**
+     * @return the singleton instance of this pool
+     */
+    public static synchronized PythonKernelPool getInstance() {
+        if (instance == null) {
+            instance = new PythonKernelPool(getPoolSize(), getIdleTimeoutInMillis());
+        }
+        return instance;
+    }
+
+    /**
+     * {@link #close() Closes} the singleton instance of this pool if it was ever {@link #getInstance() obtained} and
+     * discards it. Does not create the instance otherwise.
+     */
+    public static synchronized void closeInstance() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return the maximum number of idle kernels to keep per distinct set of kernel options
+     */
+    public static int getPoolSize() {
+        final String defaultSize = "0";
+        try {
+            final String size = System.getProperty(POOL_SIZE_VM_OPT, defaultSize);
+            return Math.max(0, Integer.parseInt(size));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + POOL_SIZE_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultSize + ".");
+            return Integer.parseInt(defaultSize);
+        }
+    }
+
+    /**
+     * @return the duration, in milliseconds, after which an idle kernel that was not requested is closed
+     */
+    public static int getIdleTimeoutInMillis() {
+        final String defaultTimeout = "60000";
+        try {
+            final String timeout = System.getProperty(IDLE_TIMEOUT_VM_OPT, defaultTimeout);
+            return Math.max(1, Integer.parseInt(timeout));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + IDLE_TIMEOUT_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultTimeout
+                + " ms.");
+            return Integer.parseInt(defaultTimeout);
+        }
+    }
+
+    private final int m_poolSize;
+
+    private final long m_idleTimeoutInMillis;
+
+    /** Guarded by <code>this</code>. */
+    private final Map<PythonKernelPoolKey, Deque<IdleKernel>> m_idleKernels = new HashMap<>();
+
+    /** Number of kernels per set of options that are currently being started. Guarded by <code>this</code>. */
+    private final Map<PythonKernelPoolKey, Integer> m_pendingStarts = new HashMap<>();
+
+    /** Used to start and close kernels in the background. */
+    private final ExecutorService m_executor = PythonKernelRuntime.newExecutor("python-kernel-pool");
+
+    private final MemoryAlertListener m_memoryAlertListener = new MemoryAlertListener() {
+
+        @Override
+        protected boolean memoryAlert(final MemoryAlert alert) {
+            LOGGER.debug("Closing idle Python kernels due to low memory.");
+            evictAllKernels();
+            return false;
+        }
+    };
+
+    /** Guarded by <code>this</code>. */
+    private boolean m_closed = false;
+
+    /**
+     * Use {@link #getInstance()} outside of tests.
+     *
+     * @param poolSize the maximum number of idle kernels to keep per distinct set of kernel options
+     * @param idleTimeoutInMillis the duration after which an idle kernel that was not requested is closed
+     */
+    PythonKernelPool(final int poolSize, final long idleTimeoutInMillis) {
+        m_poolSize = poolSize;
+        m_idleTimeoutInMillis = idleTimeoutInMillis;
+        if (m_poolSize > 0) {
+            PythonKernelRuntime.execute("python-kernel-pool-evictor", this::evictExpiredKernelsUntilClosed);
+            MemoryAlertSystem.getInstance().addListener(m_memoryAlertListener);
+        }
+    }
+
+    /**
+     * Returns a started and fully initialized kernel that was configured using the given options. The kernel is taken
+     * from the pool if an idle one is available, otherwise it is created on the fly. Either way, the pool is refilled
+     * in the background.
+     *
+     * @param kernelOptions the options of the requested kernel
+     * @return a kernel that is exclusively owned by the caller and must be {@link PythonKernel#close() closed} by the
+     *         caller when it is no longer needed
+     * @throws IOException if creating a new kernel failed
+     */
+    public PythonKernel getNextKernel(final PythonKernelOptions kernelOptions) throws IOException {
+        final PythonKernelOptions options = new PythonKernelOptions(kernelOptions);
+        if (m_poolSize == 0) {
+            return new PythonKernel(options);
+        }
+        // Pin the commands so that kernels started in the background use the same ones as the key, even if the
+        // preferences change in the meantime.
+        options.setPython2Command(options.getPython2Command());
+        options.setPython3Command(options.getPython3Command());
+        final PythonKernelPoolKey key = new PythonKernelPoolKey(options);
+        PythonKernel kernel = null;
+        final List<PythonKernel> deadKernels = new ArrayList<>();
+        synchronized (this) {
+            final Deque<IdleKernel> idleKernels = m_idleKernels.get(key);
+            while (kernel == null && idleKernels != null && !idleKernels.isEmpty()) {
+                final PythonKernel candidate = idleKernels.pollFirst().m_kernel;
+                if (candidate.isPythonProcessAlive()) {
+                    kernel = candidate;
+                } else {
+                    deadKernels.add(candidate);
+                }
+            }
+        }
+        closeKernelsAsync(deadKernels);
+        if (kernel == null) {
+            LOGGER.debug("No idle Python kernel available. Starting a new one.");
+            // Refill first so that the next kernel is being started while the client waits for this one.
+            refill(key, options);
+            return new PythonKernel(options);
+        }
+        refill(key, options);
+        kernel.adoptJavaSideOptions(options);
+        return kernel;
+    }
+
+    /**
+     * Closes all idle kernels and prevents the pool from starting new ones. Subsequent calls to
+     * {@link #getNextKernel(PythonKernelOptions)} create kernels on the fly.
+     */
+    @Override
+    public void close() {
+        final List<PythonKernel> kernels;
+        synchronized (this) {
+            if (m_closed) {
+                return;
+            }
+            m_closed = true;
+            kernels = removeKernels(m_idleKernels.values(), 0);
+            m_idleKernels.clear();
+            // Wakes up the evictor.
+            notifyAll();
+        }
+        if (m_poolSize > 0) {
+            MemoryAlertSystem.getInstance().removeListener(m_memoryAlertListener);
+        }
+        closeKernelsAsync(kernels);
+        PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdown, m_executor);
+    }
+
+    private void refill(final PythonKernelPoolKey key, final PythonKernelOptions options) {
+        final int numKernelsToStart;
+        synchronized (this) {
+            if (m_closed) {
+                return;
+            }
+            final Deque<IdleKernel> idleKernels = m_idleKernels.get(key);
+            final int numIdle = idleKernels != null ? idleKernels.size() : 0;
+            final int numPending = m_pendingStarts.getOrDefault(key, 0);
+            numKernelsToStart = m_poolSize - numIdle - numPending;
+            if (numKernelsToStart <= 0) {
+                return;
+            }
+            m_pendingStarts.put(key, numPending + numKernelsToStart);
+        }
+        for (int i = 0; i < numKernelsToStart; i++) {
+            try {
+                m_executor.execute(ThreadUtils.runnableWithContext(() -> startKernel(key, options)));
+            } catch (final RejectedExecutionException ex) {
+                // Pool is being closed.
+                decrementPendingStarts(key);
+            }
+        }
+    }
+
+    private void startKernel(final PythonKernelPoolKey key, final PythonKernelOptions options) {
+        PythonKernel kernel = null;
+        try {
+            kernel = new PythonKernel(options);
+        } catch (final IOException ex) {
+            // Do not retry. The client will encounter (and report) the same error when creating a kernel on the fly.
+            LOGGER.debug("Failed to start a Python kernel in the background. Cause: " + ex.getMessage(), ex);
+        }
+        boolean addedToPool = false;
+        synchronized (this) {
+            decrementPendingStarts(key);
+            if (kernel != null && !m_closed) {
+                final Deque<IdleKernel> idleKernels = m_idleKernels.computeIfAbsent(key, k -> new ArrayDeque<>());
+                if (idleKernels.size() < m_poolSize) {
+                    idleKernels.addLast(new IdleKernel(kernel));
+                    addedToPool = true;
+                }
+            }
+        }
+        if (kernel != null && !addedToPool) {
+            closeKernel(kernel);
+        }
+    }
+
+    /**
+     * @param kernelOptions the options of the kernels to count
+     * @return the number of idle kernels that are currently kept for the given options
+     */
+    synchronized int getNumIdleKernels(final PythonKernelOptions kernelOptions) {
+        final Deque<IdleKernel> idleKernels = m_idleKernels.get(new PythonKernelPoolKey(kernelOptions));
+        return idleKernels != null ? idleKernels.size() : 0;
+    }
+
+    private synchronized void decrementPendingStarts(final PythonKernelPoolKey key) {
+        final int numPending = m_pendingStarts.getOrDefault(key, 0) - 1;
+        if (numPending > 0) {
+            m_pendingStarts.put(key, numPending);
+        } else {
+            m_pendingStarts.remove(key);
+        }
+    }
+
+    /**
+     * Blocks a thread of the runtime's I/O pool until this pool is closed.
+     */
+    private void evictExpiredKernelsUntilClosed() {
+        final long evictionInterval = Math.max(1, m_idleTimeoutInMillis / 2);
+        while (true) {
+            synchronized (this) {
+                try {
+                    if (!m_closed) {
+                        wait(evictionInterval);
+                    }
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (m_closed) {
+                    return;
+                }
+            }
+            evictExpiredKernels();
+        }
+    }
+
+    private void evictExpiredKernels() {
+        final List<PythonKernel> kernels;
+        synchronized (this) {
+            kernels = removeKernels(m_idleKernels.values(), m_idleTimeoutInMillis);
+            m_idleKernels.values().removeIf(Deque::isEmpty);
+        }
+        if (!kernels.isEmpty()) {
+            LOGGER.debug("Closing " + kernels.size() + " idle Python kernel(s) due to idle timeout.");
+        }
+        closeKernelsAsync(kernels);
+    }
+
+    private void evictAllKernels() {
+        final List<PythonKernel> kernels;
+        synchronized (this) {
+            kernels = removeKernels(m_idleKernels.values(), 0);
+            m_idleKernels.clear();
+        }
+        closeKernelsAsync(kernels);
+    }
+
+    /**
+     * Must be called while holding the lock on <code>this</code>.
+     */
+    private static List<PythonKernel> removeKernels(final Iterable<Deque<IdleKernel>> idleKernelsPerOptions,
+        final long minIdleTimeInMillis) {
+        final long now = System.currentTimeMillis();
+        final List<PythonKernel> removed = new ArrayList<>();
+        for (final Deque<IdleKernel> idleKernels : idleKernelsPerOptions) {
+            for (final Iterator<IdleKernel> iter = idleKernels.iterator(); iter.hasNext();) {
+                final IdleKernel idleKernel = iter.next();
+                if (now - idleKernel.m_idleSince >= minIdleTimeInMillis) {
+                    removed.add(idleKernel.m_kernel);
+                    iter.remove();
+                }
+            }
+        }
+        return removed;
+    }
+
+    private void closeKernelsAsync(final List<PythonKernel> kernels) {
+        for (final PythonKernel kernel : kernels) {
+            try {
+                m_executor.execute(() -> closeKernel(kernel));
+            } catch (final RejectedExecutionException ex) {
+                closeKernel(kernel);
+            }
+        }
+    }
+
+    private static void closeKernel(final PythonKernel kernel) {
+        try {
+            kernel.close();
+        } catch (final PythonKernelCleanupException ex) {
+            LOGGER.debug("An exception occurred while closing an idle Python kernel. Cause: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static final class IdleKernel {
+
+        private final PythonKernel m_kernel;
+
+        private final long m_idleSince = System.currentTimeMillis();
+
+        private IdleKernel(final PythonKernel kernel) {
+            m_kernel = kernel;
+        }
+    }
+}
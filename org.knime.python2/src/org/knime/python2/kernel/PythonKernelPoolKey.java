@@ -0,0 +1,120 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.knime.python2.PythonModuleSpec;
+import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+
+/**
+ * Identifies the {@link PythonKernelOptions kernel options} under which pooled {@link PythonKernel Python kernels} are
+ * interchangeable. Unlike the options themselves, a key is immutable and resolves all settings that fall back to the
+ * preferences (the Python command and the serialization library) when it is created. A key therefore keeps its hash
+ * code when the preferences change.
+ * <P>
+ * Options that only affect the Java side of the kernel, i.e. the {@link PythonKernelOptions#getChunkSize() chunk size}
+ * and the {@link PythonKernelOptions#getTransferQueueDepth() transfer queue depth}, are not part of the key. Pooled
+ * kernels adopt them from the client that obtains the kernel, see
+ * {@link PythonKernel#adoptJavaSideOptions(PythonKernelOptions)}.
+ */
+final class PythonKernelPoolKey {
+
+    private final boolean m_usePython3;
+
+    private final String m_pythonCommand;
+
+    private final String m_serializerId;
+
+    private final SerializationOptions m_serializationOptions;
+
+    private final Set<PythonModuleSpec> m_additionalRequiredModules;
+
+    private final String m_kernelScriptPath;
+
+    private final String m_externalCustomPath;
+
+    /**
+     * @param kernelOptions the options from which to create the key
+     */
+    PythonKernelPoolKey(final PythonKernelOptions kernelOptions) {
+        m_usePython3 = kernelOptions.getUsePython3();
+        m_pythonCommand = m_usePython3 ? kernelOptions.getPython3Command() : kernelOptions.getPython2Command();
+        m_serializerId = kernelOptions.getSerializerId();
+        m_serializationOptions = new SerializationOptions(kernelOptions.getSerializationOptions());
+        m_additionalRequiredModules =
+            Collections.unmodifiableSet(new HashSet<>(kernelOptions.getAdditionalRequiredModules()));
+        m_kernelScriptPath = kernelOptions.getKernelScriptPath();
+        m_externalCustomPath = kernelOptions.getExternalCustomPath();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(m_usePython3, m_pythonCommand, m_serializerId, m_serializationOptions,
+            m_additionalRequiredModules, m_kernelScriptPath, m_externalCustomPath);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final PythonKernelPoolKey other = (PythonKernelPoolKey)obj;
+        return m_usePython3 == other.m_usePython3 //
+            && Objects.equals(m_pythonCommand, other.m_pythonCommand) //
+            && Objects.equals(m_serializerId, other.m_serializerId) //
+            && Objects.equals(m_serializationOptions, other.m_serializationOptions) //
+            && Objects.equals(m_additionalRequiredModules, other.m_additionalRequiredModules) //
+            && Objects.equals(m_kernelScriptPath, other.m_kernelScriptPath) //
+            && Objects.equals(m_externalCustomPath, other.m_externalCustomPath);
+    }
+}
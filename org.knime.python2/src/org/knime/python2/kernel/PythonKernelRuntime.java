@@ -0,0 +1,355 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.NodeLogger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Process-wide thread infrastructure shared by all {@link PythonKernel Python kernels}, their messaging systems, and
+ * the serialization libraries.
+ * <P>
+ * Previously, each kernel created a number of dedicated executors and raw threads (about ten per kernel), some of which
+ * were never shut down. That work now runs on two shared pools whose threads are reused across kernels and expire
+ * once they have been idle for a configurable time (VM option <code>-D{@value #IDLE_THREAD_TIMEOUT_VM_OPT}</code>, in
+ * milliseconds). Per-kernel work is routed through lightweight executors obtained via {@link #newExecutor(String)},
+ * {@link #newSerialExecutor(String)}, and {@link #newComputeExecutor(String)}. These keep their own life cycle
+ * (shutting them down only affects their own tasks) and optionally bound their own parallelism.
+ * <ul>
+ * <li>The I/O pool runs blocking work. It is not bounded: each kernel's message receive loop, message distribution
+ * loop, and output stream readers block one of its threads each for the kernel's entire lifetime, since the socket and
+ * process streams are read with blocking I/O. Bounding this pool could starve kernels of the threads they need to make
+ * progress. Sharing it only saves creating and destroying threads per kernel; it does not reduce the number of threads
+ * that concurrently running kernels occupy.</li>
+ * <li>The compute pool runs CPU-bound work, i.e. the (de)serialization of tables. It is bounded by the number of
+ * available processors by default (VM option <code>-D{@value #COMPUTE_THREADS_VM_OPT}</code>). Excess tasks are
+ * queued.</li>
+ * </ul>
+ *
+ * @since 3.8
+ */
+public final class PythonKernelRuntime {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelRuntime.class);
+
+    private static final String IDLE_THREAD_TIMEOUT_VM_OPT = "knime.python.runtime.idlethreadtimeout";
+
+    private static final String COMPUTE_THREADS_VM_OPT = "knime.python.runtime.computethreads";
+
+    private static final ThreadPoolExecutor SHARED_POOL = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+        getIdleThreadTimeoutInMillis(), TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("python-runtime-%d").setDaemon(true).build());
+
+    private static final ThreadPoolExecutor COMPUTE_POOL = createComputePool();
+
+    private static ThreadPoolExecutor createComputePool() {
+        final int numThreads = getNumComputeThreads();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(numThreads, numThreads, getIdleThreadTimeoutInMillis(),
+            TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("python-runtime-compute-%d").setDaemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static int getNumComputeThreads() {
+        final String defaultNumThreads = Integer.toString(Runtime.getRuntime().availableProcessors());
+        try {
+            final String numThreads = System.getProperty(COMPUTE_THREADS_VM_OPT, defaultNumThreads);
+            return Math.max(1, Integer.parseInt(numThreads));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + COMPUTE_THREADS_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultNumThreads
+                + ".");
+            return Integer.parseInt(defaultNumThreads);
+        }
+    }
+
+    /**
+     * @return the duration, in milliseconds, after which an idle thread of the shared pools is terminated
+     */
+    public static int getIdleThreadTimeoutInMillis() {
+        final String defaultTimeout = "30000";
+        try {
+            final String timeout = System.getProperty(IDLE_THREAD_TIMEOUT_VM_OPT, defaultTimeout);
+            return Math.max(1, Integer.parseInt(timeout));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + IDLE_THREAD_TIMEOUT_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultTimeout
+                + " ms.");
+            return Integer.parseInt(defaultTimeout);
+        }
+    }
+
+    /**
+     * Creates a new executor whose tasks run on the bounded compute pool one at a time and in submission order.
+     * Intended for CPU-bound work that does not block on I/O or on other tasks, e.g. the (de)serialization of tables.
+     * The executor must be shut down by its owner once it is no longer needed. This does not affect the compute pool.
+     *
+     * @param name the name of the executor, used to name the threads while they run its tasks
+     * @return the new executor
+     */
+    public static ExecutorService newComputeExecutor(final String name) {
+        return new ScopedExecutor(name, 1, COMPUTE_POOL);
+    }
+
+    /**
+     * Creates a new executor whose tasks run on the bounded compute pool, at most the given number of them at a time.
+     * Like {@link #newComputeExecutor(String)}, but for CPU-bound work that is split into independent parts. Tasks must
+     * not block on each other, since they compete with all other compute work for the threads of the pool. The
+     * executor must be shut down by its owner once it is no longer needed. This does not affect the compute pool.
+     *
+     * @param name the name of the executor, used to name the threads while they run its tasks
+     * @param maxParallelism the maximum number of tasks of this executor that run concurrently, must be positive
+     * @return the new executor
+     */
+    public static ExecutorService newComputeExecutor(final String name, final int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        return new ScopedExecutor(name, maxParallelism, COMPUTE_POOL);
+    }
+
+    /**
+     * Creates a new executor whose tasks run on the shared I/O pool without any limit on their parallelism. The
+     * executor must be shut down by its owner once it is no longer needed. This does not affect the I/O pool.
+     *
+     * @param name the name of the executor, used to name the threads while they run its tasks
+     * @return the new executor
+     */
+    public static ExecutorService newExecutor(final String name) {
+        return new ScopedExecutor(name, Integer.MAX_VALUE, SHARED_POOL);
+    }
+
+    /**
+     * Creates a new executor whose tasks run on the shared I/O pool one at a time and in submission order. This is the
+     * shared equivalent of a single thread executor. The executor must be shut down by its owner once it is no longer
+     * needed. This does not affect the I/O pool.
+     *
+     * @param name the name of the executor, used to name the threads while they run its tasks
+     * @return the new executor
+     */
+    public static ExecutorService newSerialExecutor(final String name) {
+        return new ScopedExecutor(name, 1, SHARED_POOL);
+    }
+
+    /**
+     * Runs the given fire-and-forget task on the shared I/O pool.
+     *
+     * @param name used to name the thread while it runs the task
+     * @param task the task to run
+     */
+    public static void execute(final String name, final Runnable task) {
+        SHARED_POOL.execute(() -> runNamed(name, task));
+    }
+
+    /**
+     * Runs the given task on the shared I/O pool.
+     *
+     * @param name used to name the thread while it runs the task
+     * @param task the task to run
+     * @param <T> the type of the task's result
+     * @return the future result of the task
+     */
+    public static <T> Future<T> submit(final String name, final Callable<T> task) {
+        final FutureTask<T> future = new FutureTask<>(task);
+        execute(name, future);
+        return future;
+    }
+
+    private static void runNamed(final String name, final Runnable task) {
+        final Thread thread = Thread.currentThread();
+        final String originalName = thread.getName();
+        thread.setName(name);
+        try {
+            task.run();
+        } finally {
+            thread.setName(originalName);
+        }
+    }
+
+    private PythonKernelRuntime() {
+    }
+
+    /**
+     * View on a shared pool with its own life cycle and an optional bound on the number of its tasks that run
+     * concurrently. Tasks beyond that bound are queued and dispatched to the pool in submission order.
+     */
+    private static final class ScopedExecutor extends AbstractExecutorService {
+
+        private static final AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+
+        private final String m_name;
+
+        private final int m_maxParallelism;
+
+        private final ThreadPoolExecutor m_pool;
+
+        /** Guarded by <code>this</code>. */
+        private final Deque<Runnable> m_queued = new ArrayDeque<>();
+
+        /** Threads that currently run tasks of this executor. Guarded by <code>this</code>. */
+        private final Set<Thread> m_running = new HashSet<>();
+
+        /**
+         * Number of tasks that were dispatched to the pool but did not finish yet. Guarded by <code>this</code>.
+         */
+        private int m_numDispatched = 0;
+
+        /** Guarded by <code>this</code>. */
+        private boolean m_isShutdown = false;
+
+        private ScopedExecutor(final String name, final int maxParallelism, final ThreadPoolExecutor pool) {
+            m_name = name + "-" + EXECUTOR_COUNTER.getAndIncrement();
+            m_maxParallelism = maxParallelism;
+            m_pool = pool;
+        }
+
+        @Override
+        public synchronized void execute(final Runnable command) {
+            if (m_isShutdown) {
+                throw new RejectedExecutionException("Executor '" + m_name + "' has been shut down.");
+            }
+            m_queued.add(command);
+            dispatchQueued();
+        }
+
+        /** Must be called while holding the lock on <code>this</code>. */
+        private void dispatchQueued() {
+            while (m_numDispatched < m_maxParallelism && !m_queued.isEmpty()) {
+                final Runnable command = m_queued.poll();
+                m_numDispatched++;
+                try {
+                    m_pool.execute(() -> run(command));
+                } catch (final RejectedExecutionException ex) {
+                    m_numDispatched--;
+                    throw ex;
+                }
+            }
+        }
+
+        private void run(final Runnable command) {
+            synchronized (this) {
+                m_running.add(Thread.currentThread());
+            }
+            try {
+                runNamed(m_name, command);
+            } finally {
+                synchronized (this) {
+                    m_running.remove(Thread.currentThread());
+                    m_numDispatched--;
+                    if (!m_queued.isEmpty()) {
+                        dispatchQueued();
+                    } else if (m_numDispatched == 0 && m_isShutdown) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            m_isShutdown = true;
+            if (m_numDispatched == 0 && m_queued.isEmpty()) {
+                notifyAll();
+            }
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            shutdown();
+            final List<Runnable> notRun = new ArrayList<>(m_queued);
+            m_queued.clear();
+            // The pools clear the interrupted status of their threads before they run their next task.
+            for (final Thread thread : m_running) {
+                thread.interrupt();
+            }
+            return notRun;
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return m_isShutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return m_isShutdown && m_numDispatched == 0 && m_queued.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+            final long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+}
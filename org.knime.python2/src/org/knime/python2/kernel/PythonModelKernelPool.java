@@ -0,0 +1,385 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.port.PickledObjectFileStorePortObject;
+import org.knime.python2.util.PythonUtils;
+
+/**
+ * Keeps {@link PythonKernel Python kernels} alive after a model was applied in them, together with the unpickled model
+ * (see {@link PythonKernel#putResidentObject(String, PickledObjectFileStorePortObject, ExecutionMonitor)
+ * putResidentObject}). Subsequent applications of the same model, e.g. in a loop, get such a kernel back and skip
+ * transferring and unpickling the model.
+ * <P>
+ * Kernels are obtained via {@link #getKernel(PythonKernelOptions, UUID)} and returned by closing the obtained
+ * {@link Lease}. Only kernels whose lease was marked {@link Lease#setReusable() reusable} are kept, all others are
+ * closed. Kept kernels have their workspace {@link PythonKernel#resetWorkspace() reset}, only the resident model
+ * survives. If no kernel with the requested model is available, a kernel is taken from the {@link PythonKernelPool}.
+ * <P>
+ * The maximum number of kept kernels (and hence resident models) can be configured via the VM option
+ * <code>-D{@value #CAPACITY_VM_OPT}</code>. It defaults to zero, which disables keeping kernels, since scripts that
+ * modify the model would otherwise affect subsequent executions. The least recently used kernel is closed if the
+ * capacity is exceeded. Kept kernels are also closed if they were not requested within the
+ * {@link PythonKernelPool#getIdleTimeoutInMillis() idle timeout of the kernel pool} or if memory gets low. Closing
+ * kernels and checking for expired ones happens on the {@link PythonKernelRuntime}.
+ */
+public final class PythonModelKernelPool implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonModelKernelPool.class);
+
+    private static final String CAPACITY_VM_OPT = "knime.python.residentmodels";
+
+    /** Created on first use. Guarded by <code>PythonModelKernelPool.class</code>. */
+    private static PythonModelKernelPool instance;
+
+    /**
+     * @return the singleton instance of this pool
+     */
+    public static synchronized PythonModelKernelPool getInstance() {
+        if (instance == null) {
+            instance = new PythonModelKernelPool(getCapacity(), PythonKernelPool.getIdleTimeoutInMillis());
+        }
+        return instance;
+    }
+
+    /**
+     * {@link #close() Closes} the singleton instance of this pool if it was ever {@link #getInstance() obtained} and
+     * discards it. Does not create the instance otherwise.
+     */
+    public static synchronized void closeInstance() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return the maximum number of kernels that are kept alive together with their resident model
+     */
+    public static int getCapacity() {
+        final String defaultCapacity = "0";
+        try {
+            final String capacity = System.getProperty(CAPACITY_VM_OPT, defaultCapacity);
+            return Math.max(0, Integer.parseInt(capacity));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + CAPACITY_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultCapacity
+                + ".");
+            return Integer.parseInt(defaultCapacity);
+        }
+    }
+
+    private final int m_capacity;
+
+    private final long m_idleTimeoutInMillis;
+
+    /** Most recently used first. Guarded by <code>this</code>. */
+    private final Deque<IdleKernel> m_idleKernels = new ArrayDeque<>();
+
+    /** Used to close kernels in the background. */
+    private final ExecutorService m_executor = PythonKernelRuntime.newExecutor("python-model-kernel-pool");
+
+    private final MemoryAlertListener m_memoryAlertListener = new MemoryAlertListener() {
+
+        @Override
+        protected boolean memoryAlert(final MemoryAlert alert) {
+            LOGGER.debug("Closing Python kernels with resident models due to low memory.");
+            evictKernels(0);
+            return false;
+        }
+    };
+
+    /** Guarded by <code>this</code>. */
+    private boolean m_closed = false;
+
+    private PythonModelKernelPool(final int capacity, final long idleTimeoutInMillis) {
+        m_capacity = capacity;
+        m_idleTimeoutInMillis = idleTimeoutInMillis;
+        if (m_capacity > 0) {
+            PythonKernelRuntime.execute("python-model-kernel-pool-evictor", this::evictExpiredKernelsUntilClosed);
+            MemoryAlertSystem.getInstance().addListener(m_memoryAlertListener);
+        }
+    }
+
+    /**
+     * Returns a started and fully initialized kernel that was configured using the given options. If available, a
+     * kernel in which the given model is already resident is returned.
+     *
+     * @param kernelOptions the options of the requested kernel
+     * @param modelKey the {@link PickledObjectFileStorePortObject#getKey() key} of the model that is going to be
+     *            applied in the kernel
+     * @return a lease of a kernel that is exclusively owned by the caller and must be {@link Lease#close() closed} by
+     *         the caller when it is no longer needed
+     * @throws IOException if creating a new kernel failed
+     */
+    public Lease getKernel(final PythonKernelOptions kernelOptions, final UUID modelKey) throws IOException {
+        final PythonKernelOptions options = new PythonKernelOptions(kernelOptions);
+        final PythonKernelPoolKey key = new PythonKernelPoolKey(options);
+        PythonKernel kernel = null;
+        final List<PythonKernel> deadKernels = new ArrayList<>();
+        synchronized (this) {
+            for (final Iterator<IdleKernel> iter = m_idleKernels.iterator(); kernel == null && iter.hasNext();) {
+                final IdleKernel idleKernel = iter.next();
+                if (idleKernel.m_modelKey.equals(modelKey) && idleKernel.m_key.equals(key)) {
+                    iter.remove();
+                    if (idleKernel.m_kernel.isPythonProcessAlive()) {
+                        kernel = idleKernel.m_kernel;
+                    } else {
+                        deadKernels.add(idleKernel.m_kernel);
+                    }
+                }
+            }
+        }
+        closeKernelsAsync(deadKernels);
+        if (kernel == null) {
+            kernel = PythonKernelPool.getInstance().getNextKernel(options);
+        } else {
+            kernel.adoptJavaSideOptions(options);
+        }
+        return new Lease(kernel, key, modelKey);
+    }
+
+    /**
+     * Closes all kept kernels and stops keeping kernels. Kernels of leases that are closed afterwards are closed as
+     * well.
+     */
+    @Override
+    public void close() {
+        final List<PythonKernel> kernels;
+        synchronized (this) {
+            if (m_closed) {
+                return;
+            }
+            m_closed = true;
+            kernels = new ArrayList<>();
+            for (final IdleKernel idleKernel : m_idleKernels) {
+                kernels.add(idleKernel.m_kernel);
+            }
+            m_idleKernels.clear();
+            // Wakes up the evictor.
+            notifyAll();
+        }
+        if (m_capacity > 0) {
+            MemoryAlertSystem.getInstance().removeListener(m_memoryAlertListener);
+        }
+        closeKernelsAsync(kernels);
+        PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdown, m_executor);
+    }
+
+    private void release(final Lease lease) throws PythonKernelCleanupException {
+        if (m_capacity == 0 || !lease.m_reusable || isClosed()) {
+            lease.m_kernel.close();
+            return;
+        }
+        try {
+            lease.m_kernel.resetWorkspace();
+        } catch (final IOException ex) {
+            LOGGER.debug("Failed to reset the workspace of a Python kernel. The kernel is closed. Cause: "
+                + ex.getMessage(), ex);
+            lease.m_kernel.close();
+            return;
+        }
+        final List<PythonKernel> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (m_closed) {
+                evicted.add(lease.m_kernel);
+            } else {
+                m_idleKernels.addFirst(new IdleKernel(lease.m_kernel, lease.m_key, lease.m_modelKey));
+            }
+            while (m_idleKernels.size() > m_capacity) {
+                evicted.add(m_idleKernels.removeLast().m_kernel);
+            }
+        }
+        closeKernelsAsync(evicted);
+    }
+
+    private synchronized boolean isClosed() {
+        return m_closed;
+    }
+
+    /**
+     * Blocks a thread of the runtime's I/O pool until this pool is closed.
+     */
+    private void evictExpiredKernelsUntilClosed() {
+        final long evictionInterval = Math.max(1, m_idleTimeoutInMillis / 2);
+        while (true) {
+            synchronized (this) {
+                try {
+                    if (!m_closed) {
+                        wait(evictionInterval);
+                    }
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (m_closed) {
+                    return;
+                }
+            }
+            evictExpiredKernels();
+        }
+    }
+
+    private void evictExpiredKernels() {
+        final List<PythonKernel> kernels = evictKernels(m_idleTimeoutInMillis);
+        if (!kernels.isEmpty()) {
+            LOGGER.debug("Closed " + kernels.size() + " Python kernel(s) with resident models due to idle timeout.");
+        }
+    }
+
+    private List<PythonKernel> evictKernels(final long minIdleTimeInMillis) {
+        final long now = System.currentTimeMillis();
+        final List<PythonKernel> evicted = new ArrayList<>();
+        synchronized (this) {
+            for (final Iterator<IdleKernel> iter = m_idleKernels.iterator(); iter.hasNext();) {
+                final IdleKernel idleKernel = iter.next();
+                if (now - idleKernel.m_idleSince >= minIdleTimeInMillis) {
+                    evicted.add(idleKernel.m_kernel);
+                    iter.remove();
+                }
+            }
+        }
+        closeKernelsAsync(evicted);
+        return evicted;
+    }
+
+    private void closeKernelsAsync(final List<PythonKernel> kernels) {
+        for (final PythonKernel kernel : kernels) {
+            try {
+                m_executor.execute(() -> closeKernel(kernel));
+            } catch (final RejectedExecutionException ex) {
+                closeKernel(kernel);
+            }
+        }
+    }
+
+    private static void closeKernel(final PythonKernel kernel) {
+        try {
+            kernel.close();
+        } catch (final PythonKernelCleanupException ex) {
+            LOGGER.debug("An exception occurred while closing a Python kernel with a resident model. Cause: "
+                + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Exclusive access to a kernel obtained via {@link PythonModelKernelPool#getKernel(PythonKernelOptions, UUID)}.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final PythonKernel m_kernel;
+
+        private final PythonKernelPoolKey m_key;
+
+        private final UUID m_modelKey;
+
+        private boolean m_reusable = false;
+
+        private Lease(final PythonKernel kernel, final PythonKernelPoolKey key, final UUID modelKey) {
+            m_kernel = kernel;
+            m_key = key;
+            m_modelKey = modelKey;
+        }
+
+        /**
+         * @return the leased kernel, must not be closed directly
+         */
+        public PythonKernel getKernel() {
+            return m_kernel;
+        }
+
+        /**
+         * Marks the leased kernel as reusable by subsequent applications of the same model. To be called once the
+         * model was successfully applied. The kernel of a lease that is not marked reusable (e.g. because the execution
+         * failed or was canceled) is closed when the lease is closed.
+         */
+        public void setReusable() {
+            m_reusable = true;
+        }
+
+        /**
+         * Returns the kernel to the pool or closes it, see {@link #setReusable()}.
+         *
+         * @throws PythonKernelCleanupException if closing the kernel failed
+         */
+        @Override
+        public void close() throws PythonKernelCleanupException {
+            release(this);
+        }
+    }
+
+    private static final class IdleKernel {
+
+        private final PythonKernel m_kernel;
+
+        private final PythonKernelPoolKey m_key;
+
+        private final UUID m_modelKey;
+
+        private final long m_idleSince = System.currentTimeMillis();
+
+        private IdleKernel(final PythonKernel kernel, final PythonKernelPoolKey key, final UUID modelKey) {
+            m_kernel = kernel;
+            m_key = key;
+            m_modelKey = modelKey;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * {@link PythonOutputListener} that retains the most recent lines of a Python output stream in a bounded ring buffer.
+ * Older lines are dropped once the buffer is full, which keeps the memory footprint of heavily logging scripts
+ * constant. The capacity defaults to the value of the VM option <code>-D{@value #MAX_LINES_VM_OPT}</code>.
+ * <P>
+ * Instances are thread-safe. They are meant to be passed to
+ * {@link PythonKernel#execute(String, PythonCancelable, PythonOutputListener, PythonOutputListener)}, after which
+ * {@link #getLines()} yields the output to display to the user (e.g., via <code>setExternalOutput</code>).
+ *
+ * @since 3.8
+ */
+public final class PythonOutputBuffer implements PythonOutputListener {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonOutputBuffer.class);
+
+    private static final String MAX_LINES_VM_OPT = "knime.python.outputlines";
+
+    /**
+     * @return the default maximum number of lines of standard or error output that are retained per node execution
+     */
+    public static int getDefaultMaxNumLines() {
+        final String defaultMaxNumLines = "10000";
+        try {
+            final String maxNumLines = System.getProperty(MAX_LINES_VM_OPT, defaultMaxNumLines);
+            return Math.max(1, Integer.parseInt(maxNumLines));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + MAX_LINES_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultMaxNumLines
+                + ".");
+            return Integer.parseInt(defaultMaxNumLines);
+        }
+    }
+
+    private final int m_maxNumLines;
+
+    /** Guarded by <code>this</code>. */
+    private final Deque<String> m_lines = new ArrayDeque<>();
+
+    /** Guarded by <code>this</code>. */
+    private long m_numDroppedLines = 0;
+
+    /** Guarded by <code>this</code>. */
+    private boolean m_silenced = false;
+
+    /**
+     * Creates a buffer that retains up to {@link #getDefaultMaxNumLines()} lines.
+     */
+    public PythonOutputBuffer() {
+        this(getDefaultMaxNumLines());
+    }
+
+    /**
+     * @param maxNumLines the maximum number of lines to retain, must be positive
+     */
+    public PythonOutputBuffer(final int maxNumLines) {
+        if (maxNumLines < 1) {
+            throw new IllegalArgumentException("Maximum number of lines must be positive.");
+        }
+        m_maxNumLines = maxNumLines;
+    }
+
+    @Override
+    public synchronized void setSilenced(final boolean silenced) {
+        m_silenced = silenced;
+    }
+
+    @Override
+    public synchronized void messageReceived(final String message, final boolean isWarningMessage) {
+        if (!m_silenced) {
+            if (m_lines.size() == m_maxNumLines) {
+                m_lines.removeFirst();
+                m_numDroppedLines++;
+            }
+            m_lines.addLast(message);
+        }
+    }
+
+    /**
+     * @return a copy of the retained lines, in the order in which they were received. If lines had to be dropped, the
+     *         first line notes how many.
+     */
+    public synchronized LinkedList<String> getLines() {
+        final LinkedList<String> lines = new LinkedList<>(m_lines);
+        if (m_numDroppedLines > 0) {
+            lines.addFirst("[" + m_numDroppedLines + " earlier lines omitted]");
+        }
+        return lines;
+    }
+}
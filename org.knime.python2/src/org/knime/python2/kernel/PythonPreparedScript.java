@@ -0,0 +1,108 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Handle to source code that was {@link PythonKernel#prepare(String) prepared} for a Python kernel. The first
+ * {@link PythonKernel#executePrepared(PythonPreparedScript, PythonCancelable) execution} of the handle sends the source
+ * code along with the script's {@link #getKey() key} to Python which compiles and caches it. Later executions only
+ * send the key, the source code is then neither re-sent nor re-compiled.
+ * <P>
+ * The key is a hash of the source code. Handles of equal source code are therefore interchangeable, and the cache on
+ * Python side outlives {@link PythonKernel#resetWorkspace() workspace resets} which lets pooled kernels skip compiling
+ * scripts that were already executed before.
+ *
+ * @since 3.8
+ */
+public final class PythonPreparedScript {
+
+    private final String m_sourceCode;
+
+    private final String m_key;
+
+    PythonPreparedScript(final String sourceCode) {
+        m_sourceCode = sourceCode;
+        m_key = computeKey(sourceCode);
+    }
+
+    private static String computeKey(final String sourceCode) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(sourceCode.getBytes(StandardCharsets.UTF_8));
+        } catch (final NoSuchAlgorithmException ex) {
+            // Every Java platform implementation is required to support SHA-256.
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        final StringBuilder key = new StringBuilder(digest.length * 2);
+        for (final byte b : digest) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the source code of this script
+     */
+    public String getSourceCode() {
+        return m_sourceCode;
+    }
+
+    /**
+     * @return the key that identifies this script in the cache of the Python kernel, a hash of its source code
+     */
+    public String getKey() {
+        return m_key;
+    }
+
+    @Override
+    public String toString() {
+        return m_key;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.python2.kernel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing information about a single table transfer between Java and Python. The transfer is split into the stage that
+ * runs on the Java side ((de)serialization of the table chunks) and the time the Java side spent waiting for Python,
+ * i.e., for the transmission of the chunks and their processing in Python. As these stages overlap if chunks are
+ * pipelined, the total duration of a transfer is usually less than the sum of its stages.
+ */
+public final class PythonTableTransferStatistics {
+
+    private final String m_tableName;
+
+    private final long m_startNanos = System.nanoTime();
+
+    private long m_totalNanos = -1;
+
+    private int m_numChunks;
+
+    private long m_numBytes;
+
+    private long m_serializationNanos;
+
+    private long m_waitNanos;
+
+    PythonTableTransferStatistics(final String tableName) {
+        m_tableName = tableName;
+    }
+
+    void addChunk(final long numBytes) {
+        m_numChunks++;
+        m_numBytes += numBytes;
+    }
+
+    void addSerialization(final long serializationNanos) {
+        m_serializationNanos += serializationNanos;
+    }
+
+    void addWait(final long waitNanos) {
+        m_waitNanos += waitNanos;
+    }
+
+    void finish() {
+        m_totalNanos = System.nanoTime() - m_startNanos;
+    }
+
+    /**
+     * @return the name of the transferred table in the Python workspace
+     */
+    public String getTableName() {
+        return m_tableName;
+    }
+
+    /**
+     * @return the number of transferred table chunks
+     */
+    public int getNumChunks() {
+        return m_numChunks;
+    }
+
+    /**
+     * @return the total number of transferred bytes, excluding message headers
+     */
+    public long getNumBytes() {
+        return m_numBytes;
+    }
+
+    /**
+     * @param unit the time unit of the returned duration
+     * @return the time spent on serializing (when putting) or deserializing (when getting) table chunks on the Java
+     *         side
+     */
+    public long getSerializationTime(final TimeUnit unit) {
+        return unit.convert(m_serializationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit the time unit of the returned duration
+     * @return the time the Java side was blocked waiting for Python, i.e., the part of the transmission and of the
+     *         processing in Python that could not be overlapped with work on the Java side
+     */
+    public long getWaitTime(final TimeUnit unit) {
+        return unit.convert(m_waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit the time unit of the returned duration
+     * @return the wall-clock duration of the entire transfer or <code>-1</code> if the transfer did not complete
+     */
+    public long getTotalTime(final TimeUnit unit) {
+        return m_totalNanos < 0 ? -1 : unit.convert(m_totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "Transfer of table '" + m_tableName + "': " + m_numChunks + " chunk(s), " + m_numBytes
+            + " bytes, serialization: " + getSerializationTime(TimeUnit.MILLISECONDS) + " ms, waiting for Python: "
+            + getWaitTime(TimeUnit.MILLISECONDS) + " ms, total: " + getTotalTime(TimeUnit.MILLISECONDS) + " ms";
+    }
+}
@@ -50,18 +50,16 @@
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.knime.core.util.ThreadUtils;
 import org.knime.python2.kernel.PythonExecutionMonitor;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelRuntime;
 import org.knime.python2.util.PythonNodeLogger;
 import org.knime.python2.util.PythonUtils;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
@@ -102,8 +100,7 @@ protected static void clearQueueAndPutMessage(final BlockingQueue<Message> queue
 
     public AbstractMessageLoop(final PythonExecutionMonitor monitor, final String loopThreadName) {
         m_monitor = monitor;
-        m_executor = ThreadUtils.executorServiceWithContext(Executors
-            .newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(loopThreadName + "-%d").build()));
+        m_executor = ThreadUtils.executorServiceWithContext(PythonKernelRuntime.newSerialExecutor(loopThreadName));
     }
 
     /**
@@ -144,6 +141,7 @@ public void close() throws Exception {
             try {
                 m_isClosedOrClosing.set(true);
                 PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdown, m_executor);
+                wakeUpLoop();
                 try {
                     if (!(m_executor.awaitTermination(1, TimeUnit.SECONDS))) {
                         PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executor);
@@ -162,6 +160,15 @@ public void close() throws Exception {
         }
     }
 
+    /**
+     * Called in the course of {@link #close()} before waiting for the loop to terminate. Loops that may be blocked
+     * waiting for input they produce themselves (e.g., a queue) should unblock here such that closing does not have to
+     * wait for a timeout.
+     */
+    protected void wakeUpLoop() {
+        // No-op by default.
+    }
+
     /**
      * Called at the end of {@link #close()}.
      *
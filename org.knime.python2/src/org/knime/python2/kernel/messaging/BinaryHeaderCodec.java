@@ -0,0 +1,220 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.python2.kernel.messaging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Encodes and decodes message headers in a compact binary format that is used instead of the textual
+ * <code>@key=value</code> format once both sides have agreed on it. Frames that carry a binary header are marked by
+ * the {@link #BINARY_HEADER_FLAG highest bit} of their header size. Receivers therefore always accept both formats.
+ * <P>
+ * Format (big-endian): <code>(id: int32)(category: token)(number of additional fields: uint16)(key: token)(value:
+ * token)...</code>, where a token is one of:
+ * <ul>
+ * <li><code>(0: uint8)(length: int32)(UTF-8 bytes)</code> for an arbitrary string</li>
+ * <li><code>(1: uint8)(index: uint8)</code> for a string from the table of interned strings known to both sides</li>
+ * <li><code>(2: uint8)(value: int32)</code> for the decimal representation of an integer, e.g. task categories and
+ * reply-to fields which are message ids</li>
+ * </ul>
+ */
+final class BinaryHeaderCodec {
+
+    /**
+     * Set in the header size of a frame if its header is encoded in the binary format.
+     */
+    static final int BINARY_HEADER_FLAG = Integer.MIN_VALUE;
+
+    private static final byte TOKEN_LITERAL = 0;
+
+    private static final byte TOKEN_INTERNED = 1;
+
+    private static final byte TOKEN_INT = 2;
+
+    /**
+     * Do not reorder, only append. Must match the table on Python side.
+     */
+    private static final String[] INTERNED_STRINGS = {AbstractTaskHandler.FIELD_KEY_MESSAGE_TYPE,
+        AbstractTaskHandler.FIELD_KEY_REPLY_TO, AbstractTaskHandler.MESSAGE_TYPE_SUCCESS,
+        AbstractTaskHandler.MESSAGE_TYPE_FAILURE, "payload_name", "chunk_index", "getpid", "putFlowVariables",
+        "getFlowVariables", "putTable", "appendToTable", "getTableSize", "getTable", "getTableChunk", "putObject",
+        "getObject", "putSql", "getSql", "getImage", "listVariables", "hasAutoComplete", "autoComplete",
+        "addSerializer", "addDeserializer", "setCustomModulePaths", "execute", "execute_async", "reset", "cleanup",
+        "shutdown", "setHeaderFormat", "serializer_request", "deserializer_request", "resolve_knime_url",
+        "num_chunks", "num_rows", "file_path", "object_type",
+        "object_key", "stream_output", "output", "output_stream", "stdout", "stderr", "prepareScript",
+        "executePrepared", "script_key", "script_missing", "object_file"};
+
+    private static final Map<String, Integer> INTERNED_STRING_INDICES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < INTERNED_STRINGS.length; i++) {
+            INTERNED_STRING_INDICES.put(INTERNED_STRINGS[i], i);
+        }
+    }
+
+    private BinaryHeaderCodec() {
+        // utility class
+    }
+
+    /**
+     * @param message the message whose header to encode
+     * @return the encoded header
+     */
+    static byte[] encode(final DefaultMessage message) {
+        final Map<String, String> fields = message.getHeaderFields();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(message.getId());
+            writeToken(message.getCategory(), out);
+            // Id and category are always part of the header fields.
+            out.writeShort(fields.size() - 2);
+            for (final Entry<String, String> field : fields.entrySet()) {
+                final String key = field.getKey();
+                if (!DefaultMessage.KEY_ID.equals(key) && !DefaultMessage.KEY_CATEGORY.equals(key)) {
+                    writeToken(key, out);
+                    writeToken(String.valueOf(field.getValue()), out);
+                }
+            }
+        } catch (final IOException ex) {
+            // Cannot happen when writing to memory.
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param header the buffer that contains the encoded header
+     * @param headerSize the size of the encoded header
+     * @param payload the message's payload, may be <code>null</code>
+     * @return the decoded message
+     */
+    static DefaultMessage decode(final byte[] header, final int headerSize, final byte[] payload) {
+        final ByteBuffer in = ByteBuffer.wrap(header, 0, headerSize);
+        final int id = in.getInt();
+        final String category = readToken(in);
+        final int numFields = in.getShort() & 0xFFFF;
+        final Map<String, String> additionalFields = new LinkedHashMap<>(numFields + 1, 1f);
+        for (int i = 0; i < numFields; i++) {
+            final String key = readToken(in);
+            additionalFields.put(key, readToken(in));
+        }
+        return new DefaultMessage(id, category, payload, additionalFields);
+    }
+
+    private static void writeToken(final String value, final DataOutputStream out) throws IOException {
+        final Integer internedIndex = INTERNED_STRING_INDICES.get(value);
+        if (internedIndex != null) {
+            out.writeByte(TOKEN_INTERNED);
+            out.writeByte(internedIndex);
+            return;
+        }
+        final Integer intValue = parseCanonicalInt(value);
+        if (intValue != null) {
+            out.writeByte(TOKEN_INT);
+            out.writeInt(intValue);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(TOKEN_LITERAL);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readToken(final ByteBuffer in) {
+        final byte tokenType = in.get();
+        switch (tokenType) {
+            case TOKEN_INTERNED:
+                return INTERNED_STRINGS[in.get() & 0xFF];
+            case TOKEN_INT:
+                return Integer.toString(in.getInt());
+            case TOKEN_LITERAL:
+                final int length = in.getInt();
+                final String value = new String(in.array(), in.arrayOffset() + in.position(), length,
+                    StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+                return value;
+            default:
+                throw new IllegalStateException("Unknown header token type: " + tokenType + ".");
+        }
+    }
+
+    /**
+     * @return the integer whose decimal representation is exactly the given string, <code>null</code> if there is none
+     *         (this includes strings with leading zeros or a plus sign which would not survive a round trip)
+     */
+    private static Integer parseCanonicalInt(final String value) {
+        final int length = value.length();
+        if (length == 0 || length > 11) {
+            return null;
+        }
+        final int firstDigit = value.charAt(0) == '-' ? 1 : 0;
+        if (firstDigit == length || (value.charAt(firstDigit) == '0' && length > firstDigit + 1)) {
+            return null;
+        }
+        for (int i = firstDigit; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        try {
+            final int parsed = Integer.parseInt(value);
+            // Excludes "-0".
+            return Integer.toString(parsed).equals(value) ? parsed : null;
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+}
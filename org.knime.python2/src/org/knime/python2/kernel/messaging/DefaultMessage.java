@@ -51,7 +51,10 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -86,7 +89,15 @@ public final class DefaultMessage implements Message {
      */
     private final String m_category;
 
-    private final byte[] m_payload;
+    /**
+     * Lazily assembled from {@link #m_payloadBuffers} if the message was created from payload buffers.
+     */
+    private byte[] m_payload;
+
+    /**
+     * Non-<code>null</code> only if the message was created from payload buffers.
+     */
+    private final ByteBuffer[] m_payloadBuffers;
 
     /**
      * @param id the message's identifier, must be unique within the same kernel session
@@ -101,9 +112,34 @@ public final class DefaultMessage implements Message {
      */
     public DefaultMessage(final int id, final String category, final byte[] payload,
         final Map<String, String> additionalOptions) {
+        this(id, category, payload, null, additionalOptions);
+    }
+
+    /**
+     * @param id the message's identifier, must be unique within the same kernel session
+     * @param category the message's category which is used to forward the message to an appropriate
+     *            {@link MessageHandler handler}, must not contain the characters '@' or '='. These conditions are not
+     *            checked and must be ensured by the caller.
+     * @param payloadBuffers the message's payload as a sequence of buffers, may be <code>null</code>. Neither the
+     *            buffers nor their contents are copied. The buffers' contents must not be modified until the message
+     *            was sent. {@link GatheringPayloadEncoder} can be used to encode the payload.
+     * @param additionalOptions custom fields to include in the message's {@link #getHeaderField(String) header fields},
+     *            may be <code>null</code>. If non-<code>null</code>, must not contain strings (neither keys nor values)
+     *            which contain the characters '@' or '='. Must not contain fields with keys {@link #KEY_ID} or
+     *            {@link #KEY_CATEGORY}}. These conditions are not checked and must be ensured by the caller.
+     * @return the created message
+     */
+    public static DefaultMessage fromPayloadBuffers(final int id, final String category,
+        final ByteBuffer[] payloadBuffers, final Map<String, String> additionalOptions) {
+        return new DefaultMessage(id, category, null, payloadBuffers, additionalOptions);
+    }
+
+    private DefaultMessage(final int id, final String category, final byte[] payload,
+        final ByteBuffer[] payloadBuffers, final Map<String, String> additionalOptions) {
         m_id = id;
         m_category = checkNotNull(category);
         m_payload = payload;
+        m_payloadBuffers = payloadBuffers;
 
         m_headerFields = new LinkedHashMap<>(2 + (additionalOptions != null ? additionalOptions.size() : 0));
         m_headerFields.put(KEY_ID, Integer.toString(id));
@@ -121,6 +157,7 @@ public DefaultMessage(final int id, final String category, final byte[] payload,
      */
     public DefaultMessage(final String header, final byte[] payload) {
         m_payload = payload;
+        m_payloadBuffers = null;
 
         m_headerFields = new LinkedHashMap<>();
         final String[] fields = header.split("@");
@@ -159,11 +196,11 @@ public String getCategory() {
 
     @Override
     public String getHeader() {
-        String header = "";
+        final StringBuilder header = new StringBuilder();
         for (final Entry<String, String> entry : m_headerFields.entrySet()) {
-            header += "@" + entry.getKey() + "=" + entry.getValue();
+            header.append('@').append(entry.getKey()).append('=').append(entry.getValue());
         }
-        return header;
+        return header.toString();
     }
 
     @Override
@@ -171,11 +208,50 @@ public String getHeaderField(final String fieldKey) {
         return m_headerFields.get(fieldKey);
     }
 
+    /**
+     * @return all header fields of this message, including {@link #KEY_ID id} and {@link #KEY_CATEGORY category}, in
+     *         insertion order. Used by {@link BinaryHeaderCodec}.
+     */
+    Map<String, String> getHeaderFields() {
+        return Collections.unmodifiableMap(m_headerFields);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <P>
+     * If this message was created from payload buffers, the first call of this method copies their contents into a
+     * single array.
+     */
     @Override
-    public byte[] getPayload() {
+    public synchronized byte[] getPayload() {
+        if (m_payload == null && m_payloadBuffers != null) {
+            final ByteBuffer[] buffers = getPayloadBuffers();
+            int payloadSize = 0;
+            for (final ByteBuffer buffer : buffers) {
+                payloadSize += buffer.remaining();
+            }
+            final ByteBuffer payload = ByteBuffer.allocate(payloadSize);
+            for (final ByteBuffer buffer : buffers) {
+                payload.put(buffer);
+            }
+            m_payload = payload.array();
+        }
         return m_payload;
     }
 
+    @Override
+    public ByteBuffer[] getPayloadBuffers() {
+        if (m_payloadBuffers == null) {
+            return Message.super.getPayloadBuffers();
+        }
+        // Duplicate the buffers such that consumers do not affect each other (or this message).
+        final ByteBuffer[] buffers = new ByteBuffer[m_payloadBuffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = m_payloadBuffers[i].duplicate();
+        }
+        return buffers;
+    }
+
     @Override
     public String toString() {
         return getHeader();
@@ -320,19 +396,84 @@ public PayloadEncoder putString(final String value) {
         }
 
         /**
-         * If the buffer has less capacity then needed to accommodate <code>requiredSpace</code> bytes, double the
-         * buffer's capacity.
+         * If the buffer has less capacity then needed to accommodate <code>requiredSpace</code> bytes, grow the
+         * buffer's capacity to at least twice its current capacity in a single step.
          *
          * @param requiredSpace the size of the next entry to write
          */
         private void makeSpace(final int requiredSpace) {
-            while (m_buffer.capacity() - m_position < requiredSpace) {
+            if (m_buffer.capacity() - m_position < requiredSpace) {
                 final ByteBuffer tmp = m_buffer;
-                m_buffer = ByteBuffer.allocate(tmp.capacity() * 2);
+                m_buffer = ByteBuffer.allocate(Math.max(tmp.capacity() * 2, m_position + requiredSpace));
                 tmp.position(0);
+                tmp.limit(m_position);
                 m_buffer.put(tmp);
                 m_buffer.position(m_position);
             }
         }
     }
+
+    /**
+     * Utility class for encoding a {@link Message#getPayloadBuffers() message's payload} without copying the encoded
+     * byte arrays or buffers. Produces the same encoding as {@link PayloadEncoder}. Intended for messages that carry
+     * large payloads such as serialized tables.
+     */
+    public static final class GatheringPayloadEncoder {
+
+        private final List<ByteBuffer> m_buffers = new ArrayList<>(4);
+
+        /**
+         * Get the encoded payload.
+         *
+         * @return the encoded payload as a sequence of buffers that reference the encoded values.
+         */
+        public ByteBuffer[] get() {
+            return m_buffers.toArray(new ByteBuffer[m_buffers.size()]);
+        }
+
+        /**
+         * Add a byte array to the payload. The array is not copied and must not be modified until the message that
+         * carries the payload was sent.
+         *
+         * @param value a byte array
+         * @return this instance
+         */
+        public GatheringPayloadEncoder putBytes(final byte[] value) {
+            return putBytes(ByteBuffer.wrap(value));
+        }
+
+        /**
+         * Add the remaining bytes of the given buffer to the payload. The buffer may be direct or map a file region.
+         * Its contents are not copied and must not be modified until the message that carries the payload was sent.
+         *
+         * @param value a buffer
+         * @return this instance
+         */
+        public GatheringPayloadEncoder putBytes(final ByteBuffer value) {
+            putInt(value.remaining());
+            m_buffers.add(value.slice());
+            return this;
+        }
+
+        /**
+         * Encode and add an integer to the payload.
+         *
+         * @param value the integer
+         * @return this instance
+         */
+        public GatheringPayloadEncoder putInt(final int value) {
+            m_buffers.add((ByteBuffer)ByteBuffer.allocate(4).putInt(value).flip());
+            return this;
+        }
+
+        /**
+         * Encode and add a string to the payload.
+         *
+         * @param value the string
+         * @return this instance
+         */
+        public GatheringPayloadEncoder putString(final String value) {
+            return putBytes(PythonMessagingUtils.utf8StringToBytes(value));
+        }
+    }
 }
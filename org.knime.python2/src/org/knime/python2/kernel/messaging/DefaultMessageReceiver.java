@@ -49,16 +49,20 @@
 package org.knime.python2.kernel.messaging;
 
 import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readBytes;
-import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readInt;
-import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readUtf8String;
 
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.knime.python2.util.PythonNodeLogger;
 
 /**
+ * Messages are received one at a time, so the buffer that holds the sizes and the header of a message is allocated
+ * once and reused for all messages. Only the payload of each message is read into an array of its own, as it is handed
+ * out to the message's consumers.
+ *
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
  */
@@ -66,8 +70,16 @@ final class DefaultMessageReceiver implements MessageReceiver {
 
     private static final PythonNodeLogger LOGGER = PythonNodeLogger.getLogger(DefaultMessageReceiver.class);
 
+    private static final int INITIAL_HEADER_BUFFER_SIZE = 1024;
+
     private final DataInputStream m_inFromPython;
 
+    private final byte[] m_sizes = new byte[8];
+
+    private final ByteBuffer m_sizesBuffer = ByteBuffer.wrap(m_sizes);
+
+    private byte[] m_headerBuffer = new byte[INITIAL_HEADER_BUFFER_SIZE];
+
     /**
      * @param inFromPython the input stream via which messages from Python are received
      */
@@ -77,11 +89,23 @@ public DefaultMessageReceiver(final InputStream inFromPython) {
 
     @Override
     public Message receive() throws IOException {
-        final int headerSize = readInt(m_inFromPython);
-        final int payloadSize = readInt(m_inFromPython);
-        final String header = readUtf8String(headerSize, m_inFromPython);
+        m_inFromPython.readFully(m_sizes);
+        final int headerSizeField = m_sizesBuffer.getInt(0);
+        final int payloadSize = m_sizesBuffer.getInt(4);
+        // Both header formats are always accepted, independent of which format was negotiated for outgoing messages.
+        final boolean binaryHeader = (headerSizeField & BinaryHeaderCodec.BINARY_HEADER_FLAG) != 0;
+        final int headerSize = headerSizeField & ~BinaryHeaderCodec.BINARY_HEADER_FLAG;
+        if (m_headerBuffer.length < headerSize) {
+            m_headerBuffer = new byte[Math.max(headerSize, m_headerBuffer.length * 2)];
+        }
+        m_inFromPython.readFully(m_headerBuffer, 0, headerSize);
         final byte[] payload = payloadSize > 0 ? readBytes(payloadSize, m_inFromPython) : null;
-        Message message = new DefaultMessage(header, payload);
+        final Message message;
+        if (binaryHeader) {
+            message = BinaryHeaderCodec.decode(m_headerBuffer, headerSize, payload);
+        } else {
+            message = new DefaultMessage(new String(m_headerBuffer, 0, headerSize, StandardCharsets.UTF_8), payload);
+        }
         LOGGER.debug("Java - Received message: " + message);
         return message;
     }
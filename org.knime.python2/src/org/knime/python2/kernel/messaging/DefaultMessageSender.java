@@ -48,14 +48,19 @@
  */
 package org.knime.python2.kernel.messaging;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 
 import org.knime.python2.util.PythonNodeLogger;
 
 /**
+ * Writes each message's payload directly from the buffers provided by {@link Message#getPayloadBuffers()}, i.e.
+ * without assembling the message in an intermediate array first.
+ *
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
  */
@@ -63,25 +68,70 @@ final class DefaultMessageSender implements MessageSender {
 
     private static final PythonNodeLogger LOGGER = PythonNodeLogger.getLogger(DefaultMessageSender.class);
 
-    private final DataOutputStream m_outToPython;
+    private final OutputStream m_outToPython;
+
+    /**
+     * Used to write buffers that are not backed by an accessible array (e.g., direct or file-mapped buffers).
+     */
+    private final WritableByteChannel m_outChannelToPython;
+
+    private volatile boolean m_binaryHeaders = false;
 
     /**
      * @param outToPython the output stream via which messages to Python are sent
      */
     public DefaultMessageSender(final OutputStream outToPython) {
-        m_outToPython = new DataOutputStream(outToPython);
+        m_outToPython = outToPython;
+        m_outChannelToPython = Channels.newChannel(outToPython);
+    }
+
+    /**
+     * Switches the header format of all subsequently sent messages. Must only be enabled once the Python side is known
+     * to understand binary headers. Messages that are not {@link DefaultMessage default messages} are always sent with
+     * a textual header.
+     *
+     * @param binaryHeaders <code>true</code> to send {@link BinaryHeaderCodec binary headers}, <code>false</code> to
+     *            send textual headers
+     */
+    void setBinaryHeaders(final boolean binaryHeaders) {
+        m_binaryHeaders = binaryHeaders;
     }
 
     @Override
     public void send(final Message message) throws IOException {
         LOGGER.debug("Java - Send message: " + message);
-        final byte[] header = message.getHeader().getBytes(StandardCharsets.UTF_8);
-        final byte[] payload = message.getPayload();
-        m_outToPython.writeInt(header.length);
-        m_outToPython.writeInt(payload != null ? payload.length : 0);
-        m_outToPython.write(header);
-        if (payload != null) {
-            m_outToPython.write(payload);
+        final byte[] header;
+        final int headerSizeField;
+        if (m_binaryHeaders && message instanceof DefaultMessage) {
+            header = BinaryHeaderCodec.encode((DefaultMessage)message);
+            headerSizeField = header.length | BinaryHeaderCodec.BINARY_HEADER_FLAG;
+        } else {
+            header = message.getHeader().getBytes(StandardCharsets.UTF_8);
+            headerSizeField = header.length;
+        }
+        final ByteBuffer[] payloadBuffers = message.getPayloadBuffers();
+        int payloadSize = 0;
+        if (payloadBuffers != null) {
+            for (final ByteBuffer payloadBuffer : payloadBuffers) {
+                payloadSize += payloadBuffer.remaining();
+            }
+        }
+        // Header size, payload size and header are written in one go to avoid a write per integer.
+        final ByteBuffer frameStart = ByteBuffer.allocate(8 + header.length);
+        frameStart.putInt(headerSizeField).putInt(payloadSize).put(header);
+        m_outToPython.write(frameStart.array());
+        if (payloadBuffers != null) {
+            for (final ByteBuffer payloadBuffer : payloadBuffers) {
+                if (payloadBuffer.hasArray()) {
+                    m_outToPython.write(payloadBuffer.array(), payloadBuffer.arrayOffset() + payloadBuffer.position(),
+                        payloadBuffer.remaining());
+                } else {
+                    while (payloadBuffer.hasRemaining()) {
+                        m_outChannelToPython.write(payloadBuffer);
+                    }
+                }
+            }
         }
+        m_outToPython.flush();
     }
 }
@@ -90,6 +90,11 @@ protected void loop() throws Exception {
         }
     }
 
+    @Override
+    protected void wakeUpLoop() {
+        clearQueueAndPutMessage(m_sendQueue, m_monitor.getPoisonPill());
+    }
+
     @Override
     protected void closeInternal() throws Exception {
         clearQueueAndPutMessage(m_sendQueue, m_monitor.getPoisonPill());
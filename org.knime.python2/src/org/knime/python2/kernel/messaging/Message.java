@@ -48,6 +48,8 @@
  */
 package org.knime.python2.kernel.messaging;
 
+import java.nio.ByteBuffer;
+
 /**
  * A message that can be sent to or received from Python. Contains a header that consists of named fields (string
  * key-value pairs). May contain an arbitrary payload.
@@ -87,6 +89,19 @@ public interface Message {
      */
     byte[] getPayload();
 
+    /**
+     * Returns the message's payload as a sequence of buffers whose remaining bytes, concatenated, form the payload.
+     * Senders should prefer this method over {@link #getPayload()} as it allows messages to reference large payloads
+     * instead of having to copy them into a single array. Reading the returned buffers must not affect the state of
+     * this message.
+     *
+     * @return the message's payload buffers, may be <code>null</code> if the message carries no payload
+     */
+    default ByteBuffer[] getPayloadBuffers() {
+        final byte[] payload = getPayload();
+        return payload != null ? new ByteBuffer[]{ByteBuffer.wrap(payload)} : null;
+    }
+
     /**
      * @return an informative description of this message, could e.g. forward to {@link #getHeader()}
      */
@@ -53,11 +53,14 @@
 import java.io.OutputStream;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.knime.core.node.NodeLogger;
 import org.knime.python2.kernel.PythonExecutionMonitor;
+import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.util.PythonUtils;
 
 /**
@@ -82,6 +85,8 @@ public final class PythonMessaging implements MessageSender, MessageHandlerColle
 
     private final OutputStream m_outToPython;
 
+    private final DefaultMessageSender m_sender;
+
     private final DefaultMessageSenderLoop m_sendLoop;
 
     // Receive:
@@ -97,8 +102,8 @@ public final class PythonMessaging implements MessageSender, MessageHandlerColle
     public PythonMessaging(final OutputStream outToPython, final InputStream inFromPython,
         final PythonExecutionMonitor monitor) {
         m_outToPython = outToPython;
-        m_sendLoop = new DefaultMessageSenderLoop(new DefaultMessageSender(outToPython),
-            new ArrayBlockingQueue<>(SEND_QUEUE_LENGTH), monitor);
+        m_sender = new DefaultMessageSender(outToPython);
+        m_sendLoop = new DefaultMessageSenderLoop(m_sender, new ArrayBlockingQueue<>(SEND_QUEUE_LENGTH), monitor);
 
         m_receiveQueue = new ArrayBlockingQueue<>(RECEIVE_QUEUE_LENGTH);
         m_receiveLoop =
@@ -125,6 +130,15 @@ public boolean unregisterMessageHandler(final String messageCategory) {
         return m_distributeLoop.unregisterMessageHandler(messageCategory);
     }
 
+    /**
+     * Makes all subsequently sent messages use the compact binary header format instead of the textual one. Must only
+     * be called after the Python side agreed to accept binary headers. Incoming messages are accepted in either format
+     * regardless of this setting.
+     */
+    public void enableBinaryHeaders() {
+        m_sender.setBinaryHeaders(true);
+    }
+
     public void start() {
         if (m_isRunning.compareAndSet(false, true)) {
             // Order is intended.
@@ -149,10 +163,17 @@ public boolean handle(final Message message) throws Exception {
         }
     }
 
+    /**
+     * Shuts down Python and closes the messaging system. Python acknowledges the shutdown request once it has cleaned
+     * up and flushed its output streams. The message loops are closed as soon as either this acknowledgement or the
+     * end of the connection is received, or after {@link PythonKernel#getShutdownTimeoutInMillis() a timeout}.
+     */
     @Override
     public void close() {
         if (m_isRunning.compareAndSet(true, false)) {
-            sendShutdownMessage();
+            if (!shutDownPython()) {
+                LOGGER.debug("Python did not acknowledge the shutdown request in time.");
+            }
             // Order is intended.
             final Error error =
                 PythonUtils.Misc.closeSafely(LOGGER::debug, m_sendLoop, m_receiveLoop, m_distributeLoop);
@@ -165,23 +186,35 @@ public void close() {
         }
     }
 
-    private void sendShutdownMessage() {
+    /**
+     * @return <code>true</code> if Python acknowledged the shutdown request or closed the connection within the
+     *         shutdown timeout, <code>false</code> otherwise
+     */
+    private boolean shutDownPython() {
+        final Message message = new DefaultMessage(createNextMessageId(), "shutdown", null, null);
+        final String responseCategory = Integer.toString(message.getId());
+        // Either the acknowledgement or, if the connection ends first, the poison pill with which the distributor
+        // loop closes all registered handlers.
+        final CountDownLatch acknowledged = new CountDownLatch(1);
+        if (!registerMessageHandler(responseCategory, m -> {
+            acknowledged.countDown();
+            return true;
+        })) {
+            return false;
+        }
         try {
-            final Message message = new DefaultMessage(createNextMessageId(), "shutdown", null, null);
             send(message);
+            return acknowledged.await(PythonKernel.getShutdownTimeoutInMillis(), TimeUnit.MILLISECONDS);
         } catch (final IOException ex) {
             LOGGER.debug("Exception occurred while shutting down Python messaging system. Cause: " + ex.getMessage(),
                 ex);
+            return false;
         } catch (final InterruptedException ex) {
             // Closing the messaging system should not be interrupted.
             Thread.currentThread().interrupt();
-        }
-        try {
-            // Give Python some time to shutdown.
-            Thread.sleep(1000);
-        } catch (final InterruptedException ex) {
-            // Closing the messaging system should not be interrupted.
-            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            unregisterMessageHandler(responseCategory);
         }
     }
 
@@ -49,14 +49,17 @@
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.zip.ZipEntry;
@@ -99,10 +102,23 @@ public final class PickledObjectFileStorePortObject extends FileStorePortObject
      */
     private static final MemoryAlertAwareGuavaCache CACHE = MemoryAlertAwareGuavaCache.getInstance();
 
+    /**
+     * The algorithm of the digests that identify pickled objects, see {@link #createDigest()}.
+     *
+     * @since 3.8
+     */
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
     private final PickledObjectPortObjectSpec m_spec;
 
     private final UUID m_key;
 
+    /**
+     * Digest of the pickled object's byte representation. Computed once when the object is written, used for hashing
+     * and equality without loading the object. Lazily computed for objects that were saved by older versions.
+     */
+    private byte[] m_digest;
+
     /**
      * @param pickledObject the pickled object to save
      * @param fileStore the file store at which to save the pickled object
@@ -117,12 +133,49 @@ public PickledObjectFileStorePortObject(final PickledObject pickledObject, final
         flushToFileStore();
     }
 
+    /**
+     * Creates a port object from a file store that already contains a pickled object, e.g. because it was directly
+     * written there by Python. The pickled object is only loaded into memory on demand.
+     *
+     * @param fileStore the file store that contains the pickled object in the format of
+     *            {@link PickledObject#save(java.io.OutputStream)}
+     * @param type the type of the pickled object (in python)
+     * @param stringRepresentation a representation of the pickled object as a string
+     * @since 3.8
+     */
+    public PickledObjectFileStorePortObject(final FileStore fileStore, final String type,
+        final String stringRepresentation) {
+        this(fileStore, type, stringRepresentation, null);
+    }
+
+    /**
+     * Creates a port object from a file store that already contains a pickled object, e.g. because it was directly
+     * written there by Python. The pickled object is only loaded into memory on demand.
+     *
+     * @param fileStore the file store that contains the pickled object in the format of
+     *            {@link PickledObject#save(java.io.OutputStream)}
+     * @param type the type of the pickled object (in python)
+     * @param stringRepresentation a representation of the pickled object as a string
+     * @param digest the {@link #DIGEST_ALGORITHM} digest of the byte representation of the pickled object, computed
+     *            while writing it. May be <code>null</code> in which case it is computed from the file store on demand.
+     * @since 3.8
+     */
+    public PickledObjectFileStorePortObject(final FileStore fileStore, final String type,
+        final String stringRepresentation, final byte[] digest) {
+        super(Arrays.asList(fileStore));
+        m_spec = new PickledObjectPortObjectSpec(type, stringRepresentation);
+        m_key = UUID.randomUUID();
+        m_digest = digest;
+    }
+
     /**
      * Deserialization constructor.
      */
-    private PickledObjectFileStorePortObject(final PickledObjectPortObjectSpec spec, final UUID key) {
+    private PickledObjectFileStorePortObject(final PickledObjectPortObjectSpec spec, final UUID key,
+        final byte[] digest) {
         m_spec = spec;
         m_key = key;
+        m_digest = digest;
     }
 
     /**
@@ -148,15 +201,66 @@ private PickledObject getPickledObjectFromFileStore() throws IOException {
         }
     }
 
-    @Override
-    public String getSummary() {
+    /**
+     * @return the key that identifies this port object, also across workflow saves and loads
+     * @since 3.8
+     */
+    public UUID getKey() {
+        return m_key;
+    }
+
+    /**
+     * Gives direct access to the file that backs this port object, e.g. to let Python read the pickled object from it
+     * instead of loading it into memory first. The file must not be modified.
+     *
+     * @return the file that contains the pickled object in the format of
+     *         {@link PickledObject#save(java.io.OutputStream)}
+     * @since 3.8
+     */
+    public File getPickledObjectFile() {
+        return getFileStore(0).getFile();
+    }
+
+    private synchronized byte[] getDigest() throws IOException {
+        if (m_digest == null) {
+            // Stream the pickled object's bytes through the digest instead of loading them as a whole.
+            try (final DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(getPickledObjectFile())))) {
+                final MessageDigest digest = createDigest();
+                final byte[] buffer = new byte[8192];
+                int remaining = in.readInt();
+                while (remaining > 0) {
+                    final int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+                    if (read < 0) {
+                        throw new IOException("Failed to read in pickled object.");
+                    }
+                    digest.update(buffer, 0, read);
+                    remaining -= read;
+                }
+                m_digest = digest.digest();
+            }
+        }
+        return m_digest;
+    }
+
+    /**
+     * @return a new digest of the algorithm that is used to identify pickled objects
+     * @since 3.8
+     */
+    public static MessageDigest createDigest() {
         try {
-            return shortenString(getPickledObject().toString(), 60, "...");
-        } catch (final IOException ex) {
-            return "[Failed to load pickled object.]";
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support the algorithm.
+            throw new IllegalStateException(ex);
         }
     }
 
+    @Override
+    public String getSummary() {
+        return shortenString(m_spec.getPickledObjectType() + "\n" + m_spec.getPickledObjectString(), 60, "...");
+    }
+
     @Override
     public PortObjectSpec getSpec() {
         return m_spec;
@@ -165,16 +269,10 @@ public PortObjectSpec getSpec() {
     @Override
     public JComponent[] getViews() {
         String text;
-        PickledObject pickledObject;
-        try {
-            pickledObject = getPickledObject();
-        } catch (final IOException ex) {
-            throw new IllegalStateException("Failed to load pickled object.");
-        }
-        if (pickledObject != null) {
-            String pickledObjectString = pickledObject.getStringRepresentation();
+        if (m_spec.getPickledObjectType() != null) {
+            String pickledObjectString = m_spec.getPickledObjectString();
             pickledObjectString = shortenString(pickledObjectString, 1000, "\n...");
-            text = "<html><b>" + pickledObject.getType() + "</b><br><br><code>"
+            text = "<html><b>" + m_spec.getPickledObjectType() + "</b><br><br><code>"
                 + pickledObjectString.replace("\n", "<br>") + "</code></html>";
         } else {
             text = "No object available";
@@ -208,7 +306,7 @@ private static String shortenString(final String string, final int maxLength, fi
     @Override
     public int hashCode() {
         try {
-            return Objects.hashCode(getPickledObject());
+            return Arrays.hashCode(getDigest());
         } catch (final IOException ex) {
             throw new IllegalStateException("Failed to load pickled object.", ex);
         }
@@ -224,7 +322,7 @@ public boolean equals(final Object obj) {
         }
         final PickledObjectFileStorePortObject other = (PickledObjectFileStorePortObject)obj;
         try {
-            return Objects.equals(getPickledObject(), other.getPickledObject());
+            return m_spec.equals(other.m_spec) && Arrays.equals(getDigest(), other.getDigest());
         } catch (final IOException ex) {
             throw new IllegalStateException("Failed to load pickled object.", ex);
         }
@@ -232,9 +330,19 @@ public boolean equals(final Object obj) {
 
     @Override
     protected void flushToFileStore() throws IOException {
-        final File file = getFileStore(0).getFile();
-        try (FileOutputStream out = new FileOutputStream(file)) {
-            getPickledObject().save(out);
+        // Pickled objects that are not cached were loaded from or directly written to the file store which is therefore
+        // up to date. Loading them here would also fail since the output stream below truncates the file.
+        final Optional<Object> pickledObject = CACHE.get(m_key);
+        if (pickledObject.isPresent()) {
+            final File file = getFileStore(0).getFile();
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                ((PickledObject)pickledObject.get()).save(out);
+            }
+            synchronized (this) {
+                if (m_digest == null) {
+                    m_digest = createDigest().digest(((PickledObject)pickledObject.get()).getPickledObject());
+                }
+            }
         }
     }
 
@@ -258,8 +366,15 @@ public void savePortObject(final PickledObjectFileStorePortObject portObject,
             out.putNextEntry(new ZipEntry(ZIP_ENTRY_NAME));
             DataOutputStream dataOut = new DataOutputStream(out);
             // Save "version" for forward compatibility reasons.
-            dataOut.writeInt(1);
+            dataOut.writeInt(2);
             dataOut.writeUTF(portObject.m_key.toString());
+            // Since version 2. Empty if not yet known, it is computed on demand then.
+            final byte[] digest;
+            synchronized (portObject) {
+                digest = portObject.m_digest != null ? portObject.m_digest : new byte[0];
+            }
+            dataOut.writeInt(digest.length);
+            dataOut.write(digest);
             dataOut.flush();
         }
 
@@ -272,9 +387,17 @@ public PickledObjectFileStorePortObject loadPortObject(final PortObjectZipInputS
                     + entry.getName() + "', expected '" + ZIP_ENTRY_NAME + "'.");
             }
             DataInputStream dataIn = new DataInputStream(in);
-            dataIn.readInt(); // ignore for now
+            final int version = dataIn.readInt();
             UUID key = UUID.fromString(dataIn.readUTF());
-            return new PickledObjectFileStorePortObject((PickledObjectPortObjectSpec)spec, key);
+            byte[] digest = null;
+            if (version >= 2) {
+                final int digestLength = dataIn.readInt();
+                if (digestLength > 0) {
+                    digest = new byte[digestLength];
+                    dataIn.readFully(digest);
+                }
+            }
+            return new PickledObjectFileStorePortObject((PickledObjectPortObjectSpec)spec, key, digest);
         }
     }
 }
@@ -98,6 +98,22 @@ public PickledObjectPortObjectSpec(final String pickledObjectType, final String
         m_pickledObjectString = pickledObjectString;
     }
 
+    /**
+     * @return the type of the contained pickled object, <code>null</code> if there is none
+     * @since 3.8
+     */
+    public String getPickledObjectType() {
+        return m_pickledObjectType;
+    }
+
+    /**
+     * @return the string representation of the contained pickled object, <code>null</code> if there is none
+     * @since 3.8
+     */
+    public String getPickledObjectString() {
+        return m_pickledObjectString;
+    }
+
     /**
      * {@inheritDoc}
      */
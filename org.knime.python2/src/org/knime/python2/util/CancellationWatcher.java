@@ -0,0 +1,184 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.kernel.PythonCancelable;
+import org.knime.python2.kernel.PythonCanceledExecutionException;
+
+/**
+ * Bridges {@link PythonCancelable cancelables}, which can only be polled, to {@link Future futures}, which notify their
+ * waiters.
+ * <P>
+ * The prompt path for noticing a cancellation is an interrupt: KNIME interrupts the thread that executes a node when
+ * the node is canceled, and {@link PythonUtils.Misc#awaitCancelable(Future, PythonCancelable)} checks the cancelable as
+ * soon as its waiting thread is interrupted. This watcher is the fallback for cancelables that are not accompanied by
+ * an interrupt. A single process-wide watcher thread checks the cancelables of all registered {@link Watch watches} at
+ * a configurable interval (VM option <code>-D{@value #CHECK_INTERVAL_VM_OPT}</code>, in milliseconds) and cancels the
+ * respective futures if cancellation was requested. The thread is parked, i.e. does not wake up at all, while no
+ * watches are registered.
+ */
+final class CancellationWatcher {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CancellationWatcher.class);
+
+    private static final String CHECK_INTERVAL_VM_OPT = "knime.python.cancelcheckinterval";
+
+    private static final long CHECK_INTERVAL_IN_MILLIS = getCheckIntervalInMillis();
+
+    /** Guarded by itself. Notified when a watch is registered. */
+    private static final Set<Watch> WATCHES = new HashSet<>();
+
+    /** Guarded by {@link #WATCHES}. Started lazily. */
+    private static Thread watcherThread = null;
+
+    private static long getCheckIntervalInMillis() {
+        final String defaultInterval = "200";
+        try {
+            final String interval = System.getProperty(CHECK_INTERVAL_VM_OPT, defaultInterval);
+            return Math.max(1, Integer.parseInt(interval));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + CHECK_INTERVAL_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultInterval
+                + " ms.");
+            return Integer.parseInt(defaultInterval);
+        }
+    }
+
+    /**
+     * Starts watching the given cancelable on behalf of the given future. The returned watch must be
+     * {@link Watch#close() closed} once the future is done.
+     */
+    static Watch watch(final Future<?> future, final PythonCancelable cancelable) {
+        final Watch watch = new Watch(future, cancelable);
+        synchronized (WATCHES) {
+            if (watcherThread == null) {
+                watcherThread = new Thread(CancellationWatcher::checkWatches, "python-cancellation-watcher");
+                watcherThread.setDaemon(true);
+                watcherThread.start();
+            }
+            if (WATCHES.isEmpty()) {
+                // Unparks the watcher thread.
+                WATCHES.notifyAll();
+            }
+            WATCHES.add(watch);
+        }
+        return watch;
+    }
+
+    private static void checkWatches() {
+        while (true) {
+            final List<Watch> watches;
+            synchronized (WATCHES) {
+                try {
+                    while (WATCHES.isEmpty()) {
+                        WATCHES.wait();
+                    }
+                    // Also gives recently registered futures the chance to complete before their first check.
+                    WATCHES.wait(CHECK_INTERVAL_IN_MILLIS);
+                } catch (final InterruptedException ex) {
+                    // Keep watching, the registered waiters rely on it. Nobody but this class owns the thread.
+                }
+                watches = new ArrayList<>(WATCHES);
+            }
+            for (final Watch watch : watches) {
+                watch.check();
+            }
+        }
+    }
+
+    private CancellationWatcher() {
+    }
+
+    static final class Watch implements AutoCloseable {
+
+        private final Future<?> m_future;
+
+        private final PythonCancelable m_cancelable;
+
+        private volatile PythonCanceledExecutionException m_cancellation;
+
+        private Watch(final Future<?> future, final PythonCancelable cancelable) {
+            m_future = future;
+            m_cancelable = cancelable;
+        }
+
+        /**
+         * @return the exception with which the cancelable signaled cancellation if the future was canceled by the
+         *         watcher, <code>null</code> otherwise
+         */
+        PythonCanceledExecutionException getCancellation() {
+            return m_cancellation;
+        }
+
+        private void check() {
+            if (m_future.isDone()) {
+                return;
+            }
+            try {
+                m_cancelable.checkCanceled();
+            } catch (final PythonCanceledExecutionException ex) {
+                m_cancellation = ex;
+                m_future.cancel(true);
+            } catch (final RuntimeException ex) {
+                LOGGER.debug("Failed to check for cancellation. Cause: " + ex.getMessage(), ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (WATCHES) {
+                WATCHES.remove(this);
+            }
+        }
+    }
+}
@@ -53,14 +53,14 @@
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 import org.knime.core.node.CanceledExecutionException;
@@ -176,6 +176,57 @@ public static class Misc {
         private Misc() {
         }
 
+        /**
+         * Waits on the given monitor until the given condition holds or the execution is canceled. Must be called
+         * while holding the monitor's lock, and whoever makes the condition hold must call
+         * {@link Object#notifyAll()} on the monitor. The wait is not timed: cancellation is noticed the same way as in
+         * {@link #awaitCancelable(Future, PythonCancelable)}, i.e. right away if the calling thread is interrupted and
+         * via the process-wide watcher otherwise, which then notifies the monitor.
+         *
+         * @param monitor the monitor to wait on, its lock must be held by the calling thread
+         * @param condition the condition to wait for, is evaluated while holding the monitor's lock
+         * @param cancelable the cancelable to check for cancellation
+         * @throws PythonCanceledExecutionException if canceled before the condition holds
+         * @since 3.8
+         */
+        public static void awaitCancelable(final Object monitor, final BooleanSupplier condition,
+            final PythonCancelable cancelable) throws PythonCanceledExecutionException {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            cancelable.checkCanceled();
+            final CompletableFuture<Void> cancellationSignal = new CompletableFuture<>();
+            cancellationSignal.whenComplete((r, e) -> {
+                if (e != null) {
+                    // Canceled by the watcher.
+                    synchronized (monitor) {
+                        monitor.notifyAll();
+                    }
+                }
+            });
+            boolean interrupted = false;
+            try (final CancellationWatcher.Watch watch = CancellationWatcher.watch(cancellationSignal, cancelable)) {
+                while (!condition.getAsBoolean()) {
+                    if (cancellationSignal.isCancelled()) {
+                        final PythonCanceledExecutionException cancellation = watch.getCancellation();
+                        throw cancellation != null ? cancellation : new PythonCanceledExecutionException();
+                    }
+                    try {
+                        monitor.wait();
+                    } catch (final InterruptedException ex) {
+                        interrupted = true;
+                        cancelable.checkCanceled();
+                    }
+                }
+            } finally {
+                // Also stops the watcher from checking the cancelable on our behalf.
+                cancellationSignal.complete(null);
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
         /**
          * @param exceptionConsumer may be <code>null</code>. If non-<code>null</code>, is used to report exceptions
          *            that occur while closing the individual given closeables.
@@ -232,39 +283,67 @@ public static Error closeSafely(final BiConsumer<String, Exception> exceptionCon
          */
         public static <T> T executeCancelable(final Callable<T> task, final ExecutorService executorService,
             final PythonCancelable cancelable) throws PythonExecutionException, PythonCanceledExecutionException {
-            final Future<T> future = executorService.submit(task);
-            // Wait until execution is done or cancelled.
-            final int waitTimeoutMilliseconds = 1000;
-            while (true) {
-                try {
-                    return future.get(waitTimeoutMilliseconds, TimeUnit.MILLISECONDS);
-                } catch (TimeoutException | InterruptedException ex) {
-                    // The current thread has been interrupted or the task is not done yet.
-                    if (ex instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
+            return awaitCancelable(executorService.submit(task), cancelable);
+        }
+
+        /**
+         * Blocks until the given future is done, an exception occurs, or the execution is canceled. Unlike
+         * {@link #executeCancelable(Callable, ExecutorService, PythonCancelable)}, this does not occupy an additional
+         * thread, which makes it the method of choice if the work is already running asynchronously (e.g., a task of
+         * the Python messaging system). The future is {@link Future#cancel(boolean) canceled} (with interruption) if a
+         * cancellation occurs.
+         * <P>
+         * Completion of the future is noticed immediately. So is cancellation if the calling thread is interrupted
+         * while waiting, which KNIME does when it cancels the execution of a node: the cancelable is checked right
+         * away, and the thread's interrupted status is restored before this method returns. Otherwise, cancellation
+         * is noticed by a process-wide watcher that checks the cancelables of all waiting callers at an interval and
+         * cancels their futures, which in turn wakes up the waiting callers.
+         *
+         * @param future the future to wait for
+         * @param cancelable the cancelable to check for cancellation
+         * @return the result of the future, if any
+         * @throws PythonExecutionException if any exception occurred during execution (except cancellation, see below)
+         * @throws PythonCanceledExecutionException if canceled, is also thrown if the underlying task itself
+         *             terminates due to {@link PythonCanceledExecutionException}, {@link CanceledExecutionException},
+         *             or {@link CancellationException}
+         * @since 3.8
+         */
+        public static <T> T awaitCancelable(final Future<T> future, final PythonCancelable cancelable)
+            throws PythonExecutionException, PythonCanceledExecutionException {
+            boolean interrupted = false;
+            try (final CancellationWatcher.Watch watch = CancellationWatcher.watch(future, cancelable)) {
+                while (true) {
                     try {
-                        cancelable.checkCanceled();
-                    } catch (final PythonCanceledExecutionException cancellation) {
-                        // Execution was canceled, cancel task.
-                        future.cancel(true);
-                        throw cancellation;
-                    }
-                } catch (final CancellationException ex) {
-                    // Should not happen since the handle to the future is local to this method.
-                    throw new PythonCanceledExecutionException();
-                } catch (final ExecutionException wrapper) {
-                    final Throwable ex = unwrapExecutionException(wrapper).orElse(wrapper);
-                    if (ex instanceof PythonCanceledExecutionException) {
-                        // May happen if the executed task checks for cancellation itself.
-                        throw (PythonCanceledExecutionException)ex;
-                    } else if (ex instanceof CanceledExecutionException || ex instanceof CancellationException) {
-                        // May happen if the executed task checks for cancellation itself.
-                        throw new PythonCanceledExecutionException(ex.getMessage());
-                    } else {
-                        throw new PythonExecutionException(ex.getMessage(), ex);
+                        return future.get();
+                    } catch (final InterruptedException ex) {
+                        interrupted = true;
+                        try {
+                            cancelable.checkCanceled();
+                        } catch (final PythonCanceledExecutionException cancellation) {
+                            // Execution was canceled, cancel task.
+                            future.cancel(true);
+                            throw cancellation;
+                        }
+                    } catch (final CancellationException ex) {
+                        final PythonCanceledExecutionException cancellation = watch.getCancellation();
+                        throw cancellation != null ? cancellation : new PythonCanceledExecutionException();
+                    } catch (final ExecutionException wrapper) {
+                        final Throwable ex = unwrapExecutionException(wrapper).orElse(wrapper);
+                        if (ex instanceof PythonCanceledExecutionException) {
+                            // May happen if the executed task checks for cancellation itself.
+                            throw (PythonCanceledExecutionException)ex;
+                        } else if (ex instanceof CanceledExecutionException || ex instanceof CancellationException) {
+                            // May happen if the executed task checks for cancellation itself.
+                            throw new PythonCanceledExecutionException(ex.getMessage());
+                        } else {
+                            throw new PythonExecutionException(ex.getMessage(), ex);
+                        }
                     }
                 }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
             }
         }
 